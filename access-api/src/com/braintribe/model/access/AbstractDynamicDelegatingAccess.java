@@ -62,6 +62,11 @@ public abstract class AbstractDynamicDelegatingAccess implements IncrementalAcce
 		return getDelegate().query(query);
 	}
 
+	@Override
+	public SelectQueryResultStream queryStream(SelectQuery query) throws ModelAccessException {
+		return getDelegate().queryStream(query);
+	}
+
 	@Override
 	public ReferencesResponse getReferences(ReferencesRequest referencesRequest)
 			throws ModelAccessException {
@@ -109,6 +109,17 @@ public interface IncrementalAccess extends ModelAccess, HasAccessId {
 	 */
 	SelectQueryResult query(SelectQuery query) throws ModelAccessException;
 
+	/**
+	 * Evaluates given {@link SelectQuery} like {@link #query(SelectQuery)}, but returns the rows as a {@link SelectQueryResultStream}, which
+	 * implementations may evaluate lazily, so that the whole result does not have to be held in memory at once.
+	 * <p>
+	 * The returned stream must be {@link SelectQueryResultStream#close() closed}. The snapshot/locking semantics while the stream is open are up to
+	 * the implementation. The default implementation evaluates the query via {@link #query(SelectQuery)} and iterates over the result.
+	 */
+	default SelectQueryResultStream queryStream(SelectQuery query) throws ModelAccessException {
+		return SelectQueryResultStream.of(query(query));
+	}
+
 	/**
 	 * Queries for a list of {@link GenericEntity}.
 	 */
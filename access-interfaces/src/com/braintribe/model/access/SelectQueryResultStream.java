@@ -0,0 +1,58 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access;
+
+import java.util.Iterator;
+
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.query.SelectQueryResult;
+
+/**
+ * Lazily evaluated result of a {@link SelectQuery}, see {@link IncrementalAccess#queryStream(SelectQuery)}.
+ * <p>
+ * Iterates over the same rows which would be contained in {@link SelectQueryResult#getResults()}, i.e. the selected value itself if the query
+ * selects a single value, or a <tt>ListRecord</tt> otherwise.
+ * <p>
+ * The stream might hold resources of the underlying access (e.g. a lock) until it is exhausted or {@link #close() closed}, so it should always
+ * be used within a try-with-resources block.
+ */
+public interface SelectQueryResultStream extends Iterator<Object>, AutoCloseable {
+
+	/**
+	 * Same as {@link SelectQueryResult#getHasMore()}. Only available once the stream was iterated through, otherwise an
+	 * {@link IllegalStateException} is thrown.
+	 */
+	boolean hasMore();
+
+	/** Releases the resources held by this stream. Invoking this method more than once has no effect. */
+	@Override
+	void close();
+
+	/** Returns a stream which iterates over the rows of an already evaluated {@link SelectQueryResult}. */
+	static SelectQueryResultStream of(SelectQueryResult result) {
+		Iterator<Object> it = result.getResults().iterator();
+
+		return new SelectQueryResultStream() {
+			// @formatter:off
+			@Override public boolean hasNext() { return it.hasNext(); }
+			@Override public Object next() { return it.next(); }
+			@Override public boolean hasMore() { return result.getHasMore(); }
+			@Override public void close() { /* NO OP */ }
+			// @formatter:on
+		};
+	}
+
+}
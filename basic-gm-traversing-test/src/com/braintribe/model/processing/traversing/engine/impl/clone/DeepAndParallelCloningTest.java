@@ -0,0 +1,132 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.traversing.engine.impl.clone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.braintribe.model.processing.traversing.engine.GMT;
+import com.braintribe.model.processing.traversing.engine.impl.misc.model.BinaryTreeNode;
+import com.braintribe.utils.lcd.CollectionTools2;
+
+/**
+ * Tests for cloning of deep graphs (which must not depend on the call stack) and for the {@link ClonerConfigurerImpl#parallel parallel}
+ * cloning of root collections.
+ */
+public class DeepAndParallelCloningTest {
+
+	private static ExecutorService executor;
+
+	@BeforeClass
+	public static void startExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public static void stopExecutor() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void deepChainDoesNotOverflowStack() throws Exception {
+		int depth = 100_000;
+		BinaryTreeNode root = chain("node", depth);
+
+		BinaryTreeNode clone = GMT.clone(root);
+
+		int clonedDepth = 0;
+		for (BinaryTreeNode node = clone; node != null; node = node.getLeft())
+			clonedDepth++;
+
+		assertThat(clonedDepth).isEqualTo(depth);
+		assertThat(clone).isNotSameAs(root);
+	}
+
+	@Test
+	public void parallelCloningOfList_KeepsOrderAndIdentity() throws Exception {
+		BinaryTreeNode shared = node("shared");
+
+		List<BinaryTreeNode> list = CollectionTools2.newList();
+		for (int i = 0; i < 100; i++) {
+			BinaryTreeNode node = chain("n" + i, 50);
+			node.setRight(shared);
+			list.add(node);
+		}
+		list.add(list.get(0));
+
+		Cloner cloner = new Cloner();
+		GMT.doClone().parallel(executor, 4).visitor(cloner).doFor(list);
+
+		List<BinaryTreeNode> clone = cloner.getClonedValue();
+		assertThat(clone).hasSize(list.size());
+		assertThat(clone.get(100)).isSameAs(clone.get(0));
+
+		BinaryTreeNode sharedClone = clone.get(0).getRight();
+		assertThat(sharedClone).isNotSameAs(shared);
+		assertThat(sharedClone.getName()).isEqualTo("shared");
+
+		for (int i = 0; i < 100; i++) {
+			BinaryTreeNode nodeClone = clone.get(i);
+			assertThat(nodeClone).isNotSameAs(list.get(i));
+			assertThat(nodeClone.getName()).isEqualTo("n" + i + "-0");
+			assertThat(nodeClone.getRight()).isSameAs(sharedClone);
+			assertThat(nodeClone.getLeft().getName()).isEqualTo("n" + i + "-1");
+		}
+	}
+
+	@Test
+	public void parallelCloningOfMap() throws Exception {
+		Map<String, BinaryTreeNode> map = CollectionTools2.newMap();
+		for (int i = 0; i < 10; i++)
+			map.put("n" + i, chain("n" + i, 5));
+
+		Cloner cloner = new Cloner();
+		GMT.doClone().parallel(executor, 3).visitor(cloner).doFor(map);
+
+		Map<String, BinaryTreeNode> clone = cloner.getClonedValue();
+		assertThat(clone).hasSize(10);
+		for (int i = 0; i < 10; i++) {
+			BinaryTreeNode nodeClone = clone.get("n" + i);
+			assertThat(nodeClone).isNotSameAs(map.get("n" + i));
+			assertThat(nodeClone.getName()).isEqualTo("n" + i + "-0");
+		}
+	}
+
+	private static BinaryTreeNode chain(String prefix, int length) {
+		BinaryTreeNode first = null;
+		for (int i = length - 1; i >= 0; i--) {
+			BinaryTreeNode node = node(prefix + "-" + i);
+			node.setLeft(first);
+			first = node;
+		}
+		return first;
+	}
+
+	private static BinaryTreeNode node(String name) {
+		BinaryTreeNode result = BinaryTreeNode.T.create();
+		result.setName(name);
+		return result;
+	}
+
+}
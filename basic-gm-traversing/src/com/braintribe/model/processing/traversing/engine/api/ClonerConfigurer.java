@@ -15,6 +15,8 @@
 // ============================================================================
 package com.braintribe.model.processing.traversing.engine.api;
 
+import java.util.concurrent.Executor;
+
 import com.braintribe.model.processing.traversing.engine.api.customize.ClonerCustomization;
 
 public interface ClonerConfigurer<C extends ClonerConfigurer<C>> extends TraversingConfigurer<C> {
@@ -25,4 +27,16 @@ public interface ClonerConfigurer<C extends ClonerConfigurer<C>> extends Travers
 	 */
 	C customize(ClonerCustomization customization);
 
+	/**
+	 * Splits the cloning of a root collection (or map) into up to {@code parallelism} partitions of its elements, which are cloned
+	 * concurrently by the given executor. Entities reachable from more than one partition are still cloned exactly once, and their
+	 * properties are walked by whichever worker reaches them first. For any other root value, or when a custom walker is configured, the
+	 * cloning is done sequentially.
+	 * <p>
+	 * This is only correct if the source graph is not modified while being cloned, and if all the configured visitors (e.g. skippers) and
+	 * the {@link ClonerCustomization} are thread-safe. Also note that each partition is traversed with its own root, so skippers which
+	 * depend on the root or on list indices see partition-relative values.
+	 */
+	C parallel(Executor executor, int parallelism);
+
 }
@@ -66,6 +66,16 @@ public abstract class AbstractTraversingConfigurer<T extends AbstractTraversingC
 		worker.run();
 	}
 
+	/** @return all the configured visitors, in the order they are invoked. */
+	protected List<GmTraversingVisitor> getVisitors() {
+		return visitors;
+	}
+
+	/** @return the default walker, which might not be part of {@link #getVisitors()} in case a {@link #customWalk custom walker} was configured. */
+	protected ModelWalker getDefaultWalker() {
+		return modelWalker;
+	}
+
 	@Override
 	public T customizeDefaultWalker(ModelWalkerCustomization customization) {
 		modelWalker.setWalkerCustomization(customization);
@@ -55,9 +55,22 @@ public class Cloner implements GmTraversingVisitor {
 
 	private ClonerCustomization customizer = new BasicClonerCustomization();
 	private Object clonedRootValue;
-	private final Map<GenericEntity, GenericEntity> clonedEntitiesMap = new HashMap<>();
+	private final Map<GenericEntity, GenericEntity> clonedEntitiesMap;
 	private final PropertyTransferContextImpl propertyTransferContext = new PropertyTransferContextImpl();
 
+	public Cloner() {
+		this.clonedEntitiesMap = new HashMap<>();
+	}
+
+	/**
+	 * Creates a cloner which registers the clones in given map. Cloners working concurrently on the same source graph share a concurrent
+	 * map, so every entity is still cloned exactly once (see {@link ClonerConfigurerImpl#parallel}).
+	 */
+	Cloner(ClonerCustomization customizer, Map<GenericEntity, GenericEntity> clonedEntitiesMap) {
+		this.customizer = customizer;
+		this.clonedEntitiesMap = clonedEntitiesMap;
+	}
+
 	@Override
 	public void onElementEnter(GmTraversingContext context, TraversingModelPathElement pathElement) throws GmTraversingException {
 
@@ -364,31 +377,18 @@ public class Cloner implements GmTraversingVisitor {
 			GenericModelType type = pathElement.getType();
 			switch (type.getTypeCode()) {
 				case listType:
-					clonedValue = new EnhancedList<>((ListType) type);
-					context.setSharedCustomValue(pathElement, clonedValue);
-					break;
 				case mapType:
-					clonedValue = new EnhancedMap<>((MapType)type);
-					context.setSharedCustomValue(pathElement, clonedValue);
-					break;
 				case setType:
-					clonedValue = new EnhancedSet<>((SetType)type);
+					clonedValue = newEmptyCollection(type);
 					context.setSharedCustomValue(pathElement, clonedValue);
 					break;
 				case entityType: {
 					GenericEntity entityToBeCloned = (GenericEntity) clonedValue;
 
-					// check the map to see if there was a hit
-					GenericEntity clonedEntity = clonedEntitiesMap.get(entityToBeCloned);
+					// clone entities one time only, keep it in a map (computeIfAbsent is atomic in case the map is shared by parallel cloners)
+					GenericEntity clonedEntity = clonedEntitiesMap.computeIfAbsent(entityToBeCloned,
+							e -> customizer.supplyRawClone(e, context, pathElement, (EntityType<GenericEntity>) type));
 
-					// there was no match in the map
-					if (clonedEntity == null) {
-						// clone the entity
-						clonedEntity = customizer.supplyRawClone(entityToBeCloned, context, pathElement, (EntityType<GenericEntity>) type);
-
-						// clone entities one time only, keep it in a map
-						clonedEntitiesMap.put(entityToBeCloned, clonedEntity);
-					}
 					clonedValue = clonedEntity;
 					context.setSharedCustomValue(pathElement, clonedEntity);
 					break;
@@ -401,6 +401,20 @@ public class Cloner implements GmTraversingVisitor {
 
 	}
 
+	/** @return new empty (enhanced) collection of given collection type, i.e. the raw clone of a collection. */
+	static Object newEmptyCollection(GenericModelType type) {
+		switch (type.getTypeCode()) {
+			case listType:
+				return new EnhancedList<>((ListType) type);
+			case mapType:
+				return new EnhancedMap<>((MapType) type);
+			case setType:
+				return new EnhancedSet<>((SetType) type);
+			default:
+				throw new IllegalArgumentException("Not a collection type: " + type.getTypeSignature());
+		}
+	}
+
 	@Override
 	public void onElementLeave(GmTraversingContext context, TraversingModelPathElement pathElement) throws GmTraversingException {
 		// All the work is done by onElementEnter
@@ -414,4 +428,12 @@ public class Cloner implements GmTraversingVisitor {
 		return (V) clonedRootValue;
 	}
 
+	void setClonedValue(Object clonedRootValue) {
+		this.clonedRootValue = clonedRootValue;
+	}
+
+	ClonerCustomization getCustomizer() {
+		return customizer;
+	}
+
 }
@@ -15,21 +15,50 @@
 // ============================================================================
 package com.braintribe.model.processing.traversing.engine.impl.clone;
 
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.braintribe.model.generic.GMF;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.GenericModelType;
+import com.braintribe.model.processing.traversing.api.GmTraversingException;
 import com.braintribe.model.processing.traversing.api.GmTraversingVisitor;
 import com.braintribe.model.processing.traversing.engine.api.ClonerConfigurer;
 import com.braintribe.model.processing.traversing.engine.api.customize.ClonerCustomization;
 import com.braintribe.model.processing.traversing.engine.impl.AbstractTraversingConfigurer;
+import com.braintribe.model.processing.traversing.engine.impl.TraversingWorker;
+import com.braintribe.model.processing.traversing.engine.impl.walk.ModelWalker;
 
 public class ClonerConfigurerImpl extends AbstractTraversingConfigurer<ClonerConfigurerImpl> implements ClonerConfigurer<ClonerConfigurerImpl> {
 
 	ClonerCustomization customizer = new BasicClonerCustomization();
 
+	private Executor executor;
+	private int parallelism;
+
 	@Override
 	public ClonerConfigurerImpl customize(ClonerCustomization customization) {
 		this.customizer = customization;
 		return this;
 	}
 
+	@Override
+	public ClonerConfigurerImpl parallel(Executor executor, int parallelism) {
+		this.executor = executor;
+		this.parallelism = parallelism;
+		return this;
+	}
+
 	@Override
 	public ClonerConfigurerImpl visitor(GmTraversingVisitor visitor) {
 		if (visitor instanceof Cloner) {
@@ -38,4 +67,143 @@ public class ClonerConfigurerImpl extends AbstractTraversingConfigurer<ClonerCon
 		return super.visitor(visitor);
 	}
 
+	@Override
+	public void doFor(Object target) throws GmTraversingException {
+		List<Object> partitions = executor == null || !getVisitors().contains(getDefaultWalker()) ? null : partition(target);
+
+		if (partitions == null || partitions.size() < 2)
+			super.doFor(target);
+		else
+			doForInParallel(target, partitions);
+	}
+
+	private List<Object> partition(Object target) {
+		if (target instanceof List || target instanceof Set)
+			return partitionCollection((Collection<?>) target);
+
+		if (target instanceof Map)
+			return partitionMap((Map<?, ?>) target);
+
+		return null;
+	}
+
+	private List<Object> partitionCollection(Collection<?> collection) {
+		int partitionCount = partitionCount(collection.size());
+
+		List<Object> result = newList(partitionCount);
+		Iterator<?> it = collection.iterator();
+		for (int i = 0; i < partitionCount; i++) {
+			int partitionSize = partitionSize(collection.size(), partitionCount, i);
+			List<Object> partition = newList(partitionSize);
+			while (partitionSize-- > 0)
+				partition.add(it.next());
+
+			result.add(partition);
+		}
+
+		return result;
+	}
+
+	private List<Object> partitionMap(Map<?, ?> map) {
+		int partitionCount = partitionCount(map.size());
+
+		List<Object> result = newList(partitionCount);
+		Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+		for (int i = 0; i < partitionCount; i++) {
+			int partitionSize = partitionSize(map.size(), partitionCount, i);
+			Map<Object, Object> partition = new LinkedHashMap<>();
+			while (partitionSize-- > 0) {
+				Map.Entry<?, ?> entry = it.next();
+				partition.put(entry.getKey(), entry.getValue());
+			}
+
+			result.add(partition);
+		}
+
+		return result;
+	}
+
+	private int partitionCount(int size) {
+		return Math.max(1, Math.min(parallelism, size));
+	}
+
+	private static int partitionSize(int size, int partitionCount, int partitionIndex) {
+		return size / partitionCount + (partitionIndex < size % partitionCount ? 1 : 0);
+	}
+
+	/**
+	 * Each partition is traversed by its own {@link TraversingWorker}, with its own copies of the {@link ModelWalker} and the
+	 * {@link Cloner}s. The copies share a concurrent set of walked entities and concurrent maps of cloned entities, so every entity is cloned
+	 * and walked exactly once, no matter how many partitions reference it. At the end the partition clones are merged into a single root
+	 * clone for every configured {@link Cloner}.
+	 */
+	private void doForInParallel(Object target, List<Object> partitions) {
+		List<GmTraversingVisitor> visitors = getVisitors();
+		ModelWalker defaultWalker = getDefaultWalker();
+
+		Set<GenericEntity> walkedEntities = ConcurrentHashMap.newKeySet();
+		Map<Cloner, Map<GenericEntity, GenericEntity>> clonedEntitiesMaps = new LinkedHashMap<>();
+		for (GmTraversingVisitor visitor : visitors)
+			if (visitor instanceof Cloner)
+				clonedEntitiesMaps.put((Cloner) visitor, new ConcurrentHashMap<>());
+
+		List<CompletableFuture<GmTraversingVisitor[]>> futures = newList(partitions.size());
+		for (Object partition : partitions) {
+			GmTraversingVisitor[] partitionVisitors = new GmTraversingVisitor[visitors.size()];
+			for (int i = 0; i < partitionVisitors.length; i++) {
+				GmTraversingVisitor visitor = visitors.get(i);
+				if (visitor == defaultWalker)
+					visitor = defaultWalker.copyWithWalkedEntities(walkedEntities);
+				else if (visitor instanceof Cloner)
+					visitor = new Cloner(((Cloner) visitor).getCustomizer(), clonedEntitiesMaps.get(visitor));
+
+				partitionVisitors[i] = visitor;
+			}
+
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				new TraversingWorker(partitionVisitors, partition).run();
+				return partitionVisitors;
+			}, executor));
+		}
+
+		List<GmTraversingVisitor[]> partitionResults = newList(futures.size());
+		for (CompletableFuture<GmTraversingVisitor[]> future : futures)
+			partitionResults.add(join(future));
+
+		mergeClonedValues(target, visitors, partitionResults);
+	}
+
+	private static GmTraversingVisitor[] join(CompletableFuture<GmTraversingVisitor[]> future) {
+		try {
+			return future.join();
+
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof GmTraversingException)
+				throw (GmTraversingException) cause;
+			else
+				throw new GmTraversingException("Error while cloning a partition of the root value.", cause);
+		}
+	}
+
+	private static void mergeClonedValues(Object target, List<GmTraversingVisitor> visitors, List<GmTraversingVisitor[]> partitionResults) {
+		GenericModelType rootType = GMF.getTypeReflection().getBaseType().getActualType(target);
+
+		for (int i = 0; i < visitors.size(); i++) {
+			if (!(visitors.get(i) instanceof Cloner))
+				continue;
+
+			Object rootClone = Cloner.newEmptyCollection(rootType);
+			for (GmTraversingVisitor[] partitionVisitors : partitionResults) {
+				Object partitionClone = ((Cloner) partitionVisitors[i]).getClonedValue();
+				if (rootClone instanceof Map)
+					((Map<Object, Object>) rootClone).putAll((Map<?, ?>) partitionClone);
+				else
+					((Collection<Object>) rootClone).addAll((Collection<?>) partitionClone);
+			}
+
+			((Cloner) visitors.get(i)).setClonedValue(rootClone);
+		}
+	}
+
 }
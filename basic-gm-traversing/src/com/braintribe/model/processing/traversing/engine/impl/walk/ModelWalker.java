@@ -49,7 +49,28 @@ public class ModelWalker extends GmTraversingVisitorAdapter {
 	private ModelWalkerCustomization walkerCustomization;
 	/** When appending events, the appended event will be placed immediately after cursor. */
 	private GmTraversingEvent cursor;
-	private final Set<GenericEntity> walkedEntities = newSet();
+	private final Set<GenericEntity> walkedEntities;
+
+	public ModelWalker() {
+		this(newSet());
+	}
+
+	/**
+	 * @param walkedEntities
+	 *            set used to track the entities whose properties were already walked. Walkers running concurrently on the same (immutable)
+	 *            graph may share a concurrent set, so that the properties of every entity are walked by exactly one of them.
+	 */
+	public ModelWalker(Set<GenericEntity> walkedEntities) {
+		this.walkedEntities = walkedEntities;
+	}
+
+	/** @return new walker with the same configuration as this one, which uses given set to track walked entities. */
+	public ModelWalker copyWithWalkedEntities(Set<GenericEntity> walkedEntities) {
+		ModelWalker result = new ModelWalker(walkedEntities);
+		result.breadthFirst = breadthFirst;
+		result.walkerCustomization = walkerCustomization;
+		return result;
+	}
 
 	/** @see ModelWalkerCustomization */
 	public void setWalkerCustomization(ModelWalkerCustomization modelWalkerCustomization) {
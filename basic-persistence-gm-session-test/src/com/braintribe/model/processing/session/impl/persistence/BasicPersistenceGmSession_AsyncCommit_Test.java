@@ -0,0 +1,181 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.session.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.common.lcd.EmptyReadWriteLock;
+import com.braintribe.model.access.AbstractDelegatingAccess;
+import com.braintribe.model.access.IncrementalAccess;
+import com.braintribe.model.access.ModelAccessException;
+import com.braintribe.model.access.smood.basic.SmoodAccess;
+import com.braintribe.model.accessapi.ManipulationRequest;
+import com.braintribe.model.accessapi.ManipulationResponse;
+import com.braintribe.model.generic.manipulation.ChangeValueManipulation;
+import com.braintribe.model.generic.manipulation.EntityProperty;
+import com.braintribe.model.generic.manipulation.Manipulation;
+import com.braintribe.model.generic.session.exception.GmSessionException;
+import com.braintribe.model.processing.model.tools.MetaModelTools;
+import com.braintribe.model.processing.session.test.data.Person;
+import com.braintribe.testing.tools.gm.access.TransientNonIncrementalAccess;
+
+/**
+ * Tests for {@link AbstractPersistenceGmSession#commitAsync()}.
+ */
+public class BasicPersistenceGmSession_AsyncCommit_Test {
+
+	private SmoodAccess smoodAccess;
+	private BasicPersistenceGmSession session;
+
+	/** Each request sent to the access takes one permit, i.e. the access is blocked if there are none. */
+	private final Semaphore gate = new Semaphore(0);
+	/** Names set by the requests, in the order the requests were applied on the access. */
+	private final List<String> appliedNames = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void setup() throws Exception {
+		smoodAccess = new SmoodAccess();
+		smoodAccess.setDataDelegate(new TransientNonIncrementalAccess(MetaModelTools.provideRawModel(Person.T)));
+		smoodAccess.setAccessId("access.asyncCommit");
+		smoodAccess.setReadWriteLock(EmptyReadWriteLock.INSTANCE);
+
+		IncrementalAccess access = new AbstractDelegatingAccess() {
+			@Override
+			protected IncrementalAccess getDelegate() {
+				return smoodAccess;
+			}
+
+			@Override
+			public ManipulationResponse applyManipulation(ManipulationRequest manipulationRequest) throws ModelAccessException {
+				gate.acquireUninterruptibly();
+
+				List<String> names = namesOf(manipulationRequest.getManipulation());
+				appliedNames.addAll(names);
+				if (names.contains("fail"))
+					throw new ModelAccessException("Failing on purpose.");
+
+				return smoodAccess.applyManipulation(manipulationRequest);
+			}
+		};
+
+		session = new BasicPersistenceGmSession(access);
+	}
+
+	@Test
+	public void nextFrameStartsWhileCommitIsInFlight() throws Exception {
+		Person p1 = newPerson("p1");
+		CompletableFuture<ManipulationResponse> f1 = session.commitAsync();
+
+		Person p2 = newPerson("p2");
+		CompletableFuture<ManipulationResponse> f2 = session.commitAsync();
+
+		assertThat(f1).isNotDone();
+		assertThat(f2).isNotDone();
+		assertThat(session.getTransaction().getManipulationsDone()).isEmpty();
+
+		gate.release(2);
+		session.awaitPendingCommits();
+
+		assertThat(f1).isCompleted();
+		assertThat(f2).isCompleted();
+		assertThat(appliedNames).containsExactly("p1", "p2");
+
+		assertThat(p1.<Object> getId()).isNotNull();
+		assertThat(p2.<Object> getId()).isNotNull();
+	}
+
+	@Test
+	public void waitsForCommitWhichCreatedReferencedEntity() throws Exception {
+		gate.release(100);
+
+		Person p1 = newPerson("p1");
+		session.commitAsync();
+
+		Person p2 = newPerson("p2");
+		p2.setBestFriend(p1);
+		session.commitAsync();
+
+		// the second commit needed the id of p1, so the first one had to be finished
+		assertThat(p1.<Object> getId()).isNotNull();
+
+		session.awaitPendingCommits();
+
+		Person loadedP2 = new BasicPersistenceGmSession(smoodAccess).query().entity(Person.T, p2.getId()).find();
+		assertThat(loadedP2.getBestFriend().<Object> getId()).isEqualTo(p1.getId());
+	}
+
+	@Test
+	public void syncCommitWaitsForPendingCommits() throws Exception {
+		gate.release(100);
+
+		Person p1 = newPerson("p1");
+		session.commitAsync();
+
+		Person p2 = newPerson("p2");
+		session.commit();
+
+		assertThat(appliedNames).containsExactly("p1", "p2");
+		assertThat(p1.<Object> getId()).isNotNull();
+		assertThat(p2.<Object> getId()).isNotNull();
+	}
+
+	@Test
+	public void commitsAfterFailedOneAreNotSent() throws Exception {
+		newPerson("fail");
+		CompletableFuture<ManipulationResponse> f1 = session.commitAsync();
+
+		newPerson("p2");
+		CompletableFuture<ManipulationResponse> f2 = session.commitAsync();
+
+		gate.release(2);
+
+		assertThatThrownBy(session::awaitPendingCommits).isInstanceOf(GmSessionException.class);
+
+		assertThat(f1).isCompletedExceptionally();
+		assertThat(f2).isCompletedExceptionally();
+		assertThat(appliedNames).containsExactly("fail");
+	}
+
+	private Person newPerson(String name) {
+		Person result = session.create(Person.T);
+		result.setName(name);
+		return result;
+	}
+
+	private static List<String> namesOf(Manipulation manipulation) {
+		List<String> result = new ArrayList<>();
+		for (Manipulation m : manipulation.inline()) {
+			if (!(m instanceof ChangeValueManipulation))
+				continue;
+
+			ChangeValueManipulation cvm = (ChangeValueManipulation) m;
+			if ("name".equals(((EntityProperty) cvm.getOwner()).getPropertyName()))
+				result.add((String) cvm.getNewValue());
+		}
+		return result;
+	}
+
+}
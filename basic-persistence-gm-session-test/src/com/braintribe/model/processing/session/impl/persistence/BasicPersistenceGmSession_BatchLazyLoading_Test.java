@@ -0,0 +1,205 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.session.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.model.access.smood.basic.SmoodAccess;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.pr.criteria.TraversingCriterion;
+import com.braintribe.model.generic.processing.pr.fluent.TC;
+import com.braintribe.model.processing.query.fluent.EntityQueryBuilder;
+import com.braintribe.model.processing.session.impl.persistence.eagerloader.helpers.QueryCounter;
+import com.braintribe.model.processing.session.impl.persistence.eagerloader.helpers.QueryTrackingAccess;
+import com.braintribe.model.processing.session.impl.persistence.eagerloader.model.EagerItem;
+import com.braintribe.model.processing.session.impl.persistence.eagerloader.model.EagerLoaderTestModel;
+import com.braintribe.model.processing.session.impl.persistence.eagerloader.model.EagerOwner;
+import com.braintribe.model.processing.smood.Smood;
+import com.braintribe.model.query.EntityQuery;
+import com.braintribe.testing.tools.gm.GmTestTools;
+
+/**
+ * Tests for batched lazy loading of {@link BasicPersistenceGmSession}, i.e. {@link LazyLoader} with batch size and/or
+ * property prefetch size configured.
+ */
+public class BasicPersistenceGmSession_BatchLazyLoading_Test {
+
+	private static final int NUMBER_OF_OWNERS = 250;
+	private static final int BATCH_SIZE = 100;
+
+	private Smood smood;
+	private QueryCounter queryCounter;
+	private BasicPersistenceGmSession session;
+
+	@Before
+	public void init() {
+		SmoodAccess smoodAccess = GmTestTools.newSmoodAccessMemoryOnly("test.BatchLazyLoading", EagerLoaderTestModel.raw());
+		smood = smoodAccess.getDatabase();
+
+		queryCounter = new QueryCounter();
+
+		session = new BasicPersistenceGmSession(new QueryTrackingAccess(smoodAccess, queryCounter));
+
+		for (int i = 0; i < NUMBER_OF_OWNERS; i++)
+			newOwner(i);
+	}
+
+	@Test
+	public void noBatchingByDefault() throws Exception {
+		List<EagerOwner> owners = loadOwners(null);
+
+		for (int i = 0; i < 5; i++)
+			owners.get(i).getEntity();
+
+		assertThat(queryCounter.totalCount).isEqualTo(5);
+	}
+
+	@Test
+	public void loadsPropertyOfSiblingsInBatches() throws Exception {
+		session.setLazyLoadingBatchSize(BATCH_SIZE);
+
+		List<EagerOwner> owners = loadOwners(null);
+
+		for (EagerOwner owner : owners) {
+			EagerItem item = owner.getEntity();
+
+			assertThat(item).isNotNull();
+			assertThat(item.getName()).isEqualTo(itemName(owner.getName()));
+		}
+
+		// 250 owners, 100 per batch
+		assertThat(queryCounter.totalCount).isEqualTo(3);
+	}
+
+	@Test
+	public void batchStartsAtAccessedEntity() throws Exception {
+		session.setLazyLoadingBatchSize(BATCH_SIZE);
+
+		List<EagerOwner> owners = loadOwners(null);
+
+		EagerOwner last = owners.get(NUMBER_OF_OWNERS - 1);
+		assertThat(last.getEntity().getName()).isEqualTo(itemName(last.getName()));
+		assertThat(queryCounter.totalCount).isEqualTo(1);
+
+		// the batch wraps around to the beginning of the result
+		owners.get(0).getEntity();
+		assertThat(queryCounter.totalCount).isEqualTo(1);
+	}
+
+	@Test
+	public void prefetchesOtherAbsentProperties() throws Exception {
+		session.setLazyLoadingBatchSize(BATCH_SIZE);
+		session.setLazyLoadingPropertyPrefetchSize(10);
+
+		List<EagerOwner> owners = loadOwners(onlyIdentifyingPropertiesTc());
+
+		for (EagerOwner owner : owners.subList(0, BATCH_SIZE)) {
+			assertThat(owner.getName()).isNotNull();
+			assertThat(owner.getEntity().getName()).isEqualTo(itemName(owner.getName()));
+		}
+
+		assertThat(queryCounter.totalCount).isEqualTo(1);
+	}
+
+	@Test
+	public void prefetchesOtherAbsentPropertiesWithoutBatching() throws Exception {
+		session.setLazyLoadingPropertyPrefetchSize(10);
+
+		List<EagerOwner> owners = loadOwners(onlyIdentifyingPropertiesTc());
+
+		EagerOwner owner = owners.get(0);
+		assertThat(owner.getName()).isNotNull();
+		assertThat(owner.getEntity().getName()).isEqualTo(itemName(owner.getName()));
+		assertThat(queryCounter.totalCount).isEqualTo(1);
+
+		owners.get(1).getName();
+		assertThat(queryCounter.totalCount).isEqualTo(2);
+	}
+
+	@Test
+	public void doesNotOverwriteLocalChanges() throws Exception {
+		session.setLazyLoadingBatchSize(BATCH_SIZE);
+		session.setLazyLoadingPropertyPrefetchSize(10);
+
+		List<EagerOwner> owners = loadOwners(onlyIdentifyingPropertiesTc());
+
+		EagerOwner changed = owners.get(1);
+		changed.setName("changed");
+
+		owners.get(0).getName();
+
+		assertThat(changed.getName()).isEqualTo("changed");
+		assertThat(changed.getEntity().getName()).isEqualTo(itemName(ownerName(1)));
+		assertThat(queryCounter.totalCount).isEqualTo(1);
+	}
+
+	private List<EagerOwner> loadOwners(TraversingCriterion tc) {
+		EntityQuery query = EntityQueryBuilder.from(EagerOwner.T).orderBy(GenericEntity.id).done();
+		if (tc != null)
+			query.setTraversingCriterion(tc);
+
+		List<EagerOwner> result = session.query().entities(query).list();
+		queryCounter.reset();
+		return result;
+	}
+
+	private static TraversingCriterion onlyIdentifyingPropertiesTc() {
+		// @formatter:off
+		return TC.create()
+				.conjunction()
+					.property()
+					.negation()
+						.disjunction()
+							.property(GenericEntity.id)
+							.property(GenericEntity.partition)
+							.property(GenericEntity.globalId)
+						.close()
+				.close()
+			.done();
+		// @formatter:on
+	}
+
+	private void newOwner(int i) {
+		String name = ownerName(i);
+
+		EagerItem item = EagerItem.T.create();
+		item.setGlobalId(itemName(name));
+		item.setId(itemName(name));
+		item.setName(itemName(name));
+
+		EagerOwner owner = EagerOwner.T.create();
+		owner.setGlobalId(name);
+		owner.setId(i);
+		owner.setName(name);
+		owner.setEntity(item);
+
+		smood.registerEntity(owner, false);
+	}
+
+	private static String ownerName(int i) {
+		return "owner_" + i;
+	}
+
+	private static String itemName(String ownerName) {
+		return ownerName + "_item";
+	}
+
+}
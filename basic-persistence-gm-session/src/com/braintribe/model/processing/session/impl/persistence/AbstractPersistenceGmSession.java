@@ -19,12 +19,19 @@ import static com.braintribe.model.generic.manipulation.util.ManipulationBuilder
 import static com.braintribe.model.generic.manipulation.util.ManipulationBuilder.localEntityProperty;
 import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import com.braintribe.cfg.Configurable;
@@ -49,6 +56,7 @@ import com.braintribe.model.generic.eval.EvalContext;
 import com.braintribe.model.generic.eval.EvalContextAspect;
 import com.braintribe.model.generic.eval.EvalException;
 import com.braintribe.model.generic.eval.Evaluator;
+import com.braintribe.model.generic.manipulation.AtomicManipulation;
 import com.braintribe.model.generic.manipulation.EntityProperty;
 import com.braintribe.model.generic.manipulation.LocalEntityProperty;
 import com.braintribe.model.generic.manipulation.Manipulation;
@@ -136,6 +144,11 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 
 	private Supplier<? extends PersistenceGmSession> equivalentSessionFactory;
 	protected final boolean manifestUnknownEntities = true;
+
+	private static volatile ExecutorService defaultAsyncCommitExecutor;
+	private Executor asyncCommitExecutor;
+	private final Deque<PendingCommit> pendingCommits = new ArrayDeque<>();
+	private CompletableFuture<ManipulationResponse> lastAsyncCommit;
 	
 	public AbstractPersistenceGmSession() {
 		transaction = new BasicTransaction(this);
@@ -150,6 +163,15 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 		this.equivalentSessionFactory = equivalentSessionFactory;
 	}
 	
+	/**
+	 * Executor which sends the manipulation requests of {@link #commitAsync()} to the access. Requests are sent one after
+	 * another, so a single thread is enough. By default, a shared pool of daemon threads is used.
+	 */
+	@Configurable
+	public void setAsyncCommitExecutor(Executor asyncCommitExecutor) {
+		this.asyncCommitExecutor = asyncCommitExecutor;
+	}
+
 	protected SessionQueryBuilderImpl newSessionQueryBuilder(boolean detached) {
 		return new SessionQueryBuilderImpl(detached);
 	}
@@ -219,6 +241,12 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 	}
 	
 	protected ManipulationReport processManipulationResponse(ManipulationResponse manipulationResponse) throws GmSessionException {
+		ManipulationReport result = applyInducedManipulation(manipulationResponse);
+		transaction.clear();
+		return result;
+	}
+
+	private ManipulationReport applyInducedManipulation(ManipulationResponse manipulationResponse) throws GmSessionException {
 		suspendHistory();
 		try {
 			Manipulation inducedManipulation = manipulationResponse.getInducedManipulation();
@@ -228,7 +256,6 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 				result = applyManipulation(inducedManipulation, manipulate().mode(ManipulationMode.REMOTE).lenience(lenience()).context());
 			}
 			
-			transaction.clear();
 			return result;
 			
 		} catch (Exception e) {
@@ -245,11 +272,15 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 
 	@Override
 	public ManipulationResponse commit() throws GmSessionException {
+		awaitPendingCommits();
+
 		ManipulationRequest manipulationRequest = createManipulationRequest();			
 		return commit(manipulationRequest); 
 	}
 
 	protected ManipulationResponse commit(ManipulationRequest manipulationRequest) {
+		awaitPendingCommits();
+
 		if (manipulationRequest == null)
 			return ManipulationResponse.T.create();
 
@@ -264,6 +295,108 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 
 		return manipulationResponse;
 	}
+
+	/**
+	 * The request is sent to the access by the {@link #setAsyncCommitExecutor(Executor) async commit executor}, chained
+	 * after the previous async commit, so requests reach the access in order and none is sent after a failed one.
+	 * Everything else, i.e. creating the request and applying the response, happens on the calling thread - the
+	 * response is applied by the first commit related method invoked after it has arrived.
+	 */
+	@Override
+	public CompletableFuture<ManipulationResponse> commitAsync() {
+		processFinishedCommits();
+
+		List<AtomicManipulation> manipulations = inlineManipulationsDone();
+		if (manipulations.isEmpty())
+			return CompletableFuture.completedFuture(ManipulationResponse.T.create());
+
+		if (referencesEntitiesInFlight(manipulations))
+			awaitPendingCommits();
+
+		ManipulationRequest manipulationRequest = createManipulationRequest();
+
+		fireOnBeforeCommit(manipulationRequest.getManipulation());
+		transaction.clear();
+
+		IncrementalAccess access = getIncrementalAccess();
+		Executor executor = resolveAsyncCommitExecutor();
+
+		CompletableFuture<ManipulationResponse> response = lastAsyncCommit == null //
+				? CompletableFuture.supplyAsync(() -> access.applyManipulation(manipulationRequest), executor)
+				: lastAsyncCommit.thenApplyAsync(previous -> access.applyManipulation(manipulationRequest), executor);
+
+		lastAsyncCommit = response;
+		pendingCommits.add(new PendingCommit(manipulationRequest, manipulations, response));
+
+		return response;
+	}
+
+	@Override
+	public void awaitPendingCommits() throws GmSessionException {
+		while (!pendingCommits.isEmpty())
+			processResponse(pendingCommits.peekFirst());
+	}
+
+	private void processFinishedCommits() {
+		while (!pendingCommits.isEmpty() && pendingCommits.peekFirst().response.isDone())
+			processResponse(pendingCommits.peekFirst());
+	}
+
+	private void processResponse(PendingCommit pendingCommit) {
+		ManipulationResponse manipulationResponse;
+		try {
+			manipulationResponse = pendingCommit.response.join();
+
+		} catch (CompletionException e) {
+			// all the following commits were chained after this one, thus were not sent to the access
+			pendingCommits.clear();
+			lastAsyncCommit = null;
+			throw new GmSessionException("Asynchronous commit failed. Commits issued after this one were not applied either.", e.getCause());
+		}
+
+		pendingCommits.removeFirst();
+
+		ManipulationReport report = applyInducedManipulation(manipulationResponse);
+
+		if (manifestUnknownEntities && report != null)
+			refreshManifestedEntities(report.getLenientManifestations());
+
+		fireOnAfterCommit(pendingCommit.request.getManipulation(), manipulationResponse.getInducedManipulation());
+	}
+
+	private List<AtomicManipulation> inlineManipulationsDone() {
+		List<AtomicManipulation> result = new ArrayList<>();
+		for (Manipulation m : transaction.getManipulationsDone())
+			result.addAll(m.inline());
+
+		return result;
+	}
+
+	private boolean referencesEntitiesInFlight(List<AtomicManipulation> manipulations) {
+		for (PendingCommit pendingCommit : pendingCommits)
+			if (pendingCommit.isReferencedBy(manipulations))
+				return true;
+
+		return false;
+	}
+
+	private Executor resolveAsyncCommitExecutor() {
+		if (asyncCommitExecutor != null)
+			return asyncCommitExecutor;
+
+		if (defaultAsyncCommitExecutor == null) {
+			synchronized (AbstractPersistenceGmSession.class) {
+				if (defaultAsyncCommitExecutor == null)
+					defaultAsyncCommitExecutor = Executors.newCachedThreadPool(runnable -> {
+						Thread thread = new Thread(runnable, "persistence-session-async-commit");
+						thread.setDaemon(true);
+						return thread;
+					});
+			}
+		}
+
+		return defaultAsyncCommitExecutor;
+	}
 	
 	private ManipulationResponse applyRequestOnAccess(ManipulationRequest request) throws ModelAccessException {
 		return getIncrementalAccess().applyManipulation(request);
@@ -274,6 +407,8 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 	 */
 	@Override
 	public void commit(AsyncCallback<ManipulationResponse> callback) {
+		awaitPendingCommits();
+
 		ManipulationRequest manipulationRequest = createManipulationRequest();
 		commit(manipulationRequest, callback);
 	}
@@ -289,6 +424,7 @@ public abstract class AbstractPersistenceGmSession extends AbstractManagedGmSess
 
 	@Override
 	public CommitContext prepareCommit() {
+		awaitPendingCommits();
 		return new BasicCommitContext(this);
 	}
 
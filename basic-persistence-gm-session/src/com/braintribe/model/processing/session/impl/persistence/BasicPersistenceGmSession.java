@@ -46,7 +46,9 @@ import com.braintribe.model.service.api.ServiceRequest;
  * 
  * <h4>{@link LazyLoader}</h4><br>
  * get - do a property query if the property is absent set - <no effect> <br>
- * set - <no effect>
+ * set - <no effect> <br>
+ * See {@link #setLazyLoadingBatchSize(int)} and {@link #setLazyLoadingPropertyPrefetchSize(int)} for loading multiple
+ * absent properties with one query.
  *
  * <h4>{@link ManipulationTrackingPropertyAccessInterceptor}</h4><br>
  * get - <no effect> <br>
@@ -71,12 +73,14 @@ public class BasicPersistenceGmSession extends AbstractPersistenceGmSession {
 	private ResourceAccess resourcesAccess;
 	private SessionAuthorization sessionAuthorization;
 	private Evaluator<ServiceRequest> requestEvaluator;
+	private final LazyLoader lazyLoader;
 	
 	public BasicPersistenceGmSession() {
-		LazyLoader lazyLoader = new LazyLoader();
+		lazyLoader = new LazyLoader();
 		lazyLoader.setPersistenceSession(this);
 		interceptors().with(com.braintribe.model.processing.session.api.notifying.interceptors.LazyLoader.class).after(VdEvaluation.class)
 				.before(ManipulationTracking.class).before(CollectionEnhancer.class).add(lazyLoader);
+		listeners().add(lazyLoader);
 	}
 	
 	public BasicPersistenceGmSession(IncrementalAccess incrementalAccess) {
@@ -90,6 +94,24 @@ public class BasicPersistenceGmSession extends AbstractPersistenceGmSession {
 		this.requestEvaluator = requestEvaluator;
 	}
 	
+	/**
+	 * Maximum number of entities from the same query result for which an absent property is loaded with a single query
+	 * when accessed on one of them. Default is 1, i.e. each absent property is loaded separately.
+	 */
+	@Configurable
+	public void setLazyLoadingBatchSize(int lazyLoadingBatchSize) {
+		lazyLoader.setBatchSize(lazyLoadingBatchSize);
+	}
+
+	/**
+	 * Maximum number of absent non-collection properties of an entity, which are loaded together when one of them is
+	 * accessed. Default is 1, i.e. only the accessed property is loaded.
+	 */
+	@Configurable
+	public void setLazyLoadingPropertyPrefetchSize(int lazyLoadingPropertyPrefetchSize) {
+		lazyLoader.setPropertyPrefetchSize(lazyLoadingPropertyPrefetchSize);
+	}
+
 	@Required
 	public void setIncrementalAccess(IncrementalAccess incrementalAccess) {
 		this.incrementalAccess = incrementalAccess;
@@ -163,6 +185,8 @@ public class BasicPersistenceGmSession extends AbstractPersistenceGmSession {
 		result.setResourcesAccessFactory(resourcesAccessFactory);
 		result.setRequestEvaluator(requestEvaluator);
 		result.setSessionAuthorization(sessionAuthorization);
+		result.setLazyLoadingBatchSize(lazyLoader.getBatchSize());
+		result.setLazyLoadingPropertyPrefetchSize(lazyLoader.getPropertyPrefetchSize());
 		result.sessionAspects.putAll(sessionAspects);
 
 		if (modelAccessory != null)
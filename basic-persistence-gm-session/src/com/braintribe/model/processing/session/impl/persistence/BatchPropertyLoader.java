@@ -0,0 +1,286 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.session.impl.persistence;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.enhance.EntityFlags;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.GenericModelType;
+import com.braintribe.model.generic.reflection.Property;
+import com.braintribe.model.generic.reflection.VdHolder;
+import com.braintribe.model.processing.query.fluent.SelectQueryBuilder;
+import com.braintribe.model.processing.query.tools.PreparedTcs;
+import com.braintribe.model.processing.session.api.persistence.PersistenceGmSession;
+import com.braintribe.model.query.EntityQueryResult;
+import com.braintribe.model.query.PropertyQueryResult;
+import com.braintribe.model.query.QueryResult;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.query.SelectQueryResult;
+import com.braintribe.model.record.ListRecord;
+
+/**
+ * Batching part of the {@link LazyLoader}. When an absent property is accessed, the property is not only loaded for the
+ * accessed entity, but also for its siblings, i.e. entities which were part of the same query result, and which have
+ * that property absent as well. The number of such owners loaded by a single query is limited by the batch size.
+ * <p>
+ * Besides that, other absent properties of the accessed entity can be loaded with the same query, up to the property
+ * prefetch size. Loading is done with a single {@link SelectQuery} which selects id, partition and all the properties of
+ * the owners, with entity properties being left-joined.
+ * <p>
+ * Only non-collection properties whose type is not the base type are loaded this way. Absent collections are handled by
+ * the collection enhancer anyway.
+ * <p>
+ * Entities of a query result are remembered as siblings when the result is merged into the session, this includes the
+ * results of the queries issued here, so navigating further along a loaded property is also batched. An entity is
+ * forgotten again once a batch leaves it without any absent batchable property, as there is nothing left to batch for
+ * it.
+ */
+class BatchPropertyLoader {
+
+	private static final int ID_POSITION = 0;
+	private static final int PARTITION_POSITION = 1;
+	private static final int FIRST_VALUE_POSITION = 2;
+
+	private final LazyLoader lazyLoader;
+	private final PersistenceGmSession session;
+	private final int batchSize;
+	private final int propertyPrefetchSize;
+
+	private final Map<GenericEntity, List<GenericEntity>> siblings = new IdentityHashMap<>();
+
+	public BatchPropertyLoader(LazyLoader lazyLoader, PersistenceGmSession session, int batchSize, int propertyPrefetchSize) {
+		this.lazyLoader = lazyLoader;
+		this.session = session;
+		this.batchSize = Math.max(1, batchSize);
+		this.propertyPrefetchSize = Math.max(1, propertyPrefetchSize);
+	}
+
+	public static boolean isBatchable(Property property) {
+		GenericModelType type = property.getType();
+		return !property.isIdentifying() && !type.isCollection() && !type.isBase();
+	}
+
+	// ###############################################
+	// ## . . . . . . . Sibling tracking . . . . . . ##
+	// ###############################################
+
+	public void onQueryResultMerged(QueryResult queryResult) {
+		if (batchSize == 1)
+			return;
+
+		Set<GenericEntity> entities = new LinkedHashSet<>();
+
+		if (queryResult instanceof EntityQueryResult)
+			collectEntities(((EntityQueryResult) queryResult).getEntities(), entities);
+		else if (queryResult instanceof SelectQueryResult)
+			collectEntities(((SelectQueryResult) queryResult).getResults(), entities);
+		else if (queryResult instanceof PropertyQueryResult)
+			collectEntities(((PropertyQueryResult) queryResult).getPropertyValue(), entities);
+
+		if (entities.size() < 2)
+			return;
+
+		List<GenericEntity> group = newList(entities);
+		for (GenericEntity entity : group)
+			siblings.put(entity, group);
+	}
+
+	private void collectEntities(Object value, Set<GenericEntity> entities) {
+		if (value instanceof GenericEntity) {
+			entities.add((GenericEntity) value);
+
+		} else if (value instanceof ListRecord) {
+			collectEntities(((ListRecord) value).getValues(), entities);
+
+		} else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value)
+				if (element instanceof GenericEntity)
+					entities.add((GenericEntity) element);
+				else if (element instanceof ListRecord)
+					collectEntities(element, entities);
+
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			collectEntities(map.keySet(), entities);
+			collectEntities(map.values(), entities);
+		}
+	}
+
+	// ###############################################
+	// ## . . . . . . . . . Loading . . . . . . . . ##
+	// ###############################################
+
+	public void load(Property property, GenericEntity entity) {
+		List<GenericEntity> owners = findOwners(property, entity);
+		List<Property> properties = findProperties(property, entity);
+
+		SelectQuery query = buildQuery(property.getDeclaringType(), owners, properties);
+
+		List<ListRecord> records = session.query().select(query).list();
+
+		session.suspendHistory();
+		try {
+			setPropertyValues(property, owners, properties, records);
+		} finally {
+			session.resumeHistory();
+		}
+
+		forgetFullyLoaded(owners);
+	}
+
+	/** The entity itself, followed by its siblings which have given property absent, in the order of the query result. */
+	private List<GenericEntity> findOwners(Property property, GenericEntity entity) {
+		List<GenericEntity> result = newList();
+		result.add(entity);
+
+		List<GenericEntity> group = siblings.get(entity);
+		if (group == null)
+			return result;
+
+		EntityType<?> ownerType = property.getDeclaringType();
+
+		int size = group.size();
+		int start = group.indexOf(entity) + 1;
+		for (int i = 0; i < size - 1 && result.size() < batchSize; i++) {
+			GenericEntity sibling = group.get((start + i) % size);
+
+			if (ownerType.isAssignableFrom(sibling.entityType()) && !EntityFlags.isShallow(sibling) && isAbsent(sibling, property))
+				result.add(sibling);
+		}
+
+		return result;
+	}
+
+	/** The property itself, followed by other absent properties of the entity which we can load together. */
+	private List<Property> findProperties(Property property, GenericEntity entity) {
+		List<Property> result = newList();
+		result.add(property);
+
+		if (propertyPrefetchSize == 1)
+			return result;
+
+		for (Property p : property.getDeclaringType().getProperties()) {
+			if (result.size() >= propertyPrefetchSize)
+				break;
+
+			if (p != property && isBatchable(p) && isAbsent(entity, p))
+				result.add(p);
+		}
+
+		return result;
+	}
+
+	private SelectQuery buildQuery(EntityType<?> ownerType, List<GenericEntity> owners, List<Property> properties) {
+		SelectQueryBuilder builder = new SelectQueryBuilder() //
+				.from(ownerType, "o") //
+				.select("o", GenericEntity.id) //
+				.select("o", GenericEntity.partition);
+
+		int i = 0;
+		for (Property property : properties) {
+			if (property.getType().isEntity()) {
+				String alias = "p" + i++;
+				builder.leftJoin("o", property.getName(), alias).select(alias);
+			} else {
+				builder.select("o", property.getName());
+			}
+		}
+
+		return builder //
+				.where() //
+				.entity("o").inEntities(new LinkedHashSet<>(owners)) //
+				.tc(PreparedTcs.scalarOnlyTc) //
+				.done();
+	}
+
+	private void setPropertyValues(Property property, List<GenericEntity> owners, List<Property> properties, List<ListRecord> records) {
+		Map<Object, Map<Object, GenericEntity>> ownerIndex = newMap();
+		for (GenericEntity owner : owners)
+			ownerIndex.computeIfAbsent(owner.getPartition(), p -> newMap()).put(owner.getId(), owner);
+
+		for (ListRecord record : records) {
+			List<Object> row = record.getValues();
+
+			Map<Object, GenericEntity> partitionOwners = ownerIndex.get(row.get(PARTITION_POSITION));
+			GenericEntity owner = partitionOwners == null ? null : partitionOwners.remove(row.get(ID_POSITION));
+			if (owner == null)
+				continue;
+
+			for (int i = 0; i < properties.size(); i++) {
+				Property p = properties.get(i);
+				if (isAbsent(owner, p))
+					lazyLoader.setLoadedValue(p, owner, row.get(FIRST_VALUE_POSITION + i));
+			}
+		}
+
+		// owners without a row, e.g. deleted in the meantime
+		for (Map<Object, GenericEntity> partitionOwners : ownerIndex.values())
+			for (GenericEntity owner : partitionOwners.values())
+				if (isAbsent(owner, property))
+					lazyLoader.setLoadedValue(property, owner, null);
+	}
+
+	private void forgetFullyLoaded(List<GenericEntity> owners) {
+		Set<GenericEntity> loaded = newIdentitySet();
+		Set<List<GenericEntity>> groups = newIdentitySet();
+
+		for (GenericEntity owner : owners) {
+			if (hasAbsentBatchableProperty(owner))
+				continue;
+
+			List<GenericEntity> group = siblings.remove(owner);
+			if (group != null) {
+				loaded.add(owner);
+				groups.add(group);
+			}
+		}
+
+		for (List<GenericEntity> group : groups) {
+			group.removeIf(loaded::contains);
+			if (group.size() == 1)
+				siblings.remove(group.remove(0));
+		}
+	}
+
+	private static boolean hasAbsentBatchableProperty(GenericEntity entity) {
+		for (Property property : entity.entityType().getProperties())
+			if (isBatchable(property) && isAbsent(entity, property))
+				return true;
+
+		return false;
+	}
+
+	private static <T> Set<T> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	private static boolean isAbsent(GenericEntity entity, Property property) {
+		Object fieldValue = property.getDirectUnsafe(entity);
+		return VdHolder.isVdHolder(fieldValue) && ((VdHolder) fieldValue).isAbsenceInformation;
+	}
+
+}
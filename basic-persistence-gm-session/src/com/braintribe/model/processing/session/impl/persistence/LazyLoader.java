@@ -30,14 +30,71 @@ import com.braintribe.model.generic.session.exception.GmSessionException;
 import com.braintribe.model.generic.typecondition.basic.TypeKind;
 import com.braintribe.model.generic.value.PersistentEntityReference;
 import com.braintribe.model.processing.session.api.persistence.PersistenceGmSession;
+import com.braintribe.model.processing.session.api.persistence.QueryResultMergeListener;
 import com.braintribe.model.query.PropertyQuery;
-
-public class LazyLoader extends PropertyAccessInterceptor {
+import com.braintribe.model.query.QueryResult;
+
+/**
+ * Loads absent properties on access.
+ * <p>
+ * By default every absent property is loaded with its own {@link PropertyQuery}. With {@link #setBatchSize(int) batch
+ * size} or {@link #setPropertyPrefetchSize(int) property prefetch size} bigger than one, the property is loaded for
+ * multiple entities of the same query result and/or together with other absent properties of the accessed entity, see
+ * {@link BatchPropertyLoader}. For this to work the loader has to be registered as a {@link QueryResultMergeListener}
+ * of the session.
+ */
+public class LazyLoader extends PropertyAccessInterceptor implements QueryResultMergeListener {
 
 	private PersistenceGmSession persistenceSession;
+	private int batchSize = 1;
+	private int propertyPrefetchSize = 1;
+	private BatchPropertyLoader batchLoader;
 
 	public void setPersistenceSession(PersistenceGmSession persistenceSession) {
 		this.persistenceSession = persistenceSession;
+		this.batchLoader = null;
+	}
+
+	/**
+	 * Maximum number of entities of the same query result, for which an absent property is loaded with a single query.
+	 * Default is 1, i.e. no batching.
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+		this.batchLoader = null;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Maximum number of absent (non-collection) properties of an entity which are loaded together, including the one
+	 * being accessed. Default is 1, i.e. only the accessed property is loaded.
+	 */
+	public void setPropertyPrefetchSize(int propertyPrefetchSize) {
+		this.propertyPrefetchSize = propertyPrefetchSize;
+		this.batchLoader = null;
+	}
+
+	public int getPropertyPrefetchSize() {
+		return propertyPrefetchSize;
+	}
+
+	private boolean isBatching() {
+		return batchSize > 1 || propertyPrefetchSize > 1;
+	}
+
+	private BatchPropertyLoader batchLoader() {
+		if (batchLoader == null)
+			batchLoader = new BatchPropertyLoader(this, persistenceSession, batchSize, propertyPrefetchSize);
+		return batchLoader;
+	}
+
+	@Override
+	public void onAfterQueryResultMerged(PersistenceGmSession session, QueryResult queryResult) {
+		if (batchSize > 1)
+			batchLoader().onQueryResultMerged(queryResult);
 	}
 
 	@Override
@@ -59,24 +116,45 @@ public class LazyLoader extends PropertyAccessInterceptor {
 						property.getName() + ") is absent.");
 			}
 
-			try {
-				value = persistenceSession.query().property(preparePropertyQuery(property, entity)).value();
-			} catch (Exception e) {
-				throw new GenericModelException("Error while resolving absent " + property, e);
-			}
-
-			persistenceSession.suspendHistory();
-			try {
-				next.setProperty(property, entity, value, false);
-			} finally {
-				persistenceSession.resumeHistory();
-			}
+			if (isBatching() && BatchPropertyLoader.isBatchable(property))
+				loadInBatch(property, entity);
+			else
+				loadSingle(property, entity);
 
 			value = next.getProperty(property, entity, false);
 		}
 		return value;
 	}
 
+	private void loadInBatch(Property property, GenericEntity entity) {
+		try {
+			batchLoader().load(property, entity);
+		} catch (Exception e) {
+			throw new GenericModelException("Error while resolving absent " + property, e);
+		}
+	}
+
+	private void loadSingle(Property property, GenericEntity entity) {
+		Object value;
+		try {
+			value = persistenceSession.query().property(preparePropertyQuery(property, entity)).value();
+		} catch (Exception e) {
+			throw new GenericModelException("Error while resolving absent " + property, e);
+		}
+
+		persistenceSession.suspendHistory();
+		try {
+			setLoadedValue(property, entity, value);
+		} finally {
+			persistenceSession.resumeHistory();
+		}
+	}
+
+	/** Sets the loaded value directly, i.e. bypassing the interceptors configured before this one. */
+	void setLoadedValue(Property property, GenericEntity entity, Object value) {
+		next.setProperty(property, entity, value, false);
+	}
+
 	private PropertyQuery preparePropertyQuery(Property property, GenericEntity entity) {
 		PropertyQuery query = PropertyQuery.T.create();
 		query.setPropertyName(property.getName());
@@ -0,0 +1,124 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.session.impl.persistence;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.braintribe.model.accessapi.ManipulationRequest;
+import com.braintribe.model.accessapi.ManipulationResponse;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.manipulation.AddManipulation;
+import com.braintribe.model.generic.manipulation.AtomicManipulation;
+import com.braintribe.model.generic.manipulation.ChangeValueManipulation;
+import com.braintribe.model.generic.manipulation.DeleteManipulation;
+import com.braintribe.model.generic.manipulation.InstantiationManipulation;
+import com.braintribe.model.generic.manipulation.LocalEntityProperty;
+import com.braintribe.model.generic.manipulation.PropertyManipulation;
+import com.braintribe.model.generic.manipulation.RemoveManipulation;
+
+/**
+ * A commit issued via {@link AbstractPersistenceGmSession#commitAsync()} whose response was not applied to the session
+ * yet.
+ */
+class PendingCommit {
+
+	final ManipulationRequest request;
+	final CompletableFuture<ManipulationResponse> response;
+
+	/** Entities instantiated by this commit. Until its response is applied, they do not have an id assigned. */
+	private final Set<GenericEntity> newEntities;
+
+	PendingCommit(ManipulationRequest request, List<AtomicManipulation> localManipulations, CompletableFuture<ManipulationResponse> response) {
+		this.request = request;
+		this.response = response;
+		this.newEntities = instantiatedEntities(localManipulations);
+	}
+
+	private static Set<GenericEntity> instantiatedEntities(List<AtomicManipulation> localManipulations) {
+		Set<GenericEntity> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (AtomicManipulation m : localManipulations)
+			if (m instanceof InstantiationManipulation)
+				result.add(((InstantiationManipulation) m).getEntity());
+
+		return result;
+	}
+
+	/**
+	 * Returns <tt>true</tt> iff given (local) manipulations reference an entity instantiated by this commit, which does
+	 * not have an id yet. Such manipulations cannot be remotified before the response of this commit is applied.
+	 */
+	boolean isReferencedBy(List<AtomicManipulation> localManipulations) {
+		if (newEntities.isEmpty())
+			return false;
+
+		for (AtomicManipulation m : localManipulations)
+			if (references(m))
+				return true;
+
+		return false;
+	}
+
+	private boolean references(AtomicManipulation m) {
+		if (m instanceof PropertyManipulation) {
+			PropertyManipulation pm = (PropertyManipulation) m;
+			if (pm.getOwner() instanceof LocalEntityProperty && isNewEntity(((LocalEntityProperty) pm.getOwner()).getEntity()))
+				return true;
+		}
+
+		if (m instanceof ChangeValueManipulation)
+			return referencesValue(((ChangeValueManipulation) m).getNewValue());
+
+		if (m instanceof AddManipulation)
+			return referencesValue(((AddManipulation) m).getItemsToAdd());
+
+		if (m instanceof RemoveManipulation)
+			return referencesValue(((RemoveManipulation) m).getItemsToRemove());
+
+		if (m instanceof DeleteManipulation)
+			return referencesValue(((DeleteManipulation) m).getEntity());
+
+		return false;
+	}
+
+	private boolean referencesValue(Object value) {
+		if (value instanceof GenericEntity)
+			return isNewEntity((GenericEntity) value);
+
+		if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value)
+				if (referencesValue(element))
+					return true;
+
+		} else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+				if (referencesValue(entry.getKey()) || referencesValue(entry.getValue()))
+					return true;
+		}
+
+		return false;
+	}
+
+	private boolean isNewEntity(GenericEntity entity) {
+		return newEntities.contains(entity) && entity.getId() == null;
+	}
+
+}
@@ -15,6 +15,8 @@
 // ============================================================================
 package com.braintribe.model.processing.session.impl.persistence;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.braintribe.model.access.IncrementalAccess;
 import com.braintribe.model.accessapi.ManipulationResponse;
 import com.braintribe.model.generic.session.exception.GmSessionException;
@@ -80,4 +82,9 @@ public class TransientPersistenceGmSession extends AbstractPersistenceGmSession
 	public void commit(AsyncCallback<ManipulationResponse> callback) {
 		callback.onSuccess(commit());
 	}
+
+	@Override
+	public CompletableFuture<ManipulationResponse> commitAsync() {
+		return CompletableFuture.completedFuture(commit());
+	}
 }
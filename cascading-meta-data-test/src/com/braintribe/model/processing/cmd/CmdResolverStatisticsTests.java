@@ -0,0 +1,109 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.cmd;
+
+import static com.braintribe.utils.lcd.CollectionTools2.asSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.model.processing.cmd.test.meta.aspects.StaticAspect;
+import com.braintribe.model.processing.cmd.test.meta.model.SessionScopedMetaData;
+import com.braintribe.model.processing.cmd.test.meta.model.UseCaseMetaData;
+import com.braintribe.model.processing.cmd.test.meta.selector.SimpleSelector;
+import com.braintribe.model.processing.cmd.test.meta.selector.SimpleSelectorExpert;
+import com.braintribe.model.processing.cmd.test.meta.selector.StaticContextSelector;
+import com.braintribe.model.processing.cmd.test.meta.selector.StaticContextSelectorExpert;
+import com.braintribe.model.processing.cmd.test.provider.ModelMdProvider;
+import com.braintribe.model.processing.meta.cmd.CmdResolverImpl;
+import com.braintribe.model.processing.meta.cmd.context.aspects.RoleAspect;
+import com.braintribe.model.processing.meta.cmd.statistics.CmdResolverStatistics;
+import com.braintribe.model.processing.meta.cmd.statistics.DurationHistogram;
+import com.braintribe.model.processing.meta.cmd.statistics.MdIndexStatistics;
+import com.braintribe.model.processing.meta.cmd.statistics.MdTypeResolutionStatistics;
+import com.braintribe.model.processing.meta.oracle.BasicModelOracle;
+
+/**
+ * Tests for {@link CmdResolverImpl#getStatistics()}.
+ */
+public class CmdResolverStatisticsTests {
+
+	private CmdResolverImpl cmdResolver;
+
+	@Before
+	public void setup() {
+		cmdResolver = (CmdResolverImpl) CmdResolverImpl.create(new BasicModelOracle(new ModelMdProvider().get())) //
+				.addExpert(SimpleSelector.T, new SimpleSelectorExpert()) //
+				.addExpert(StaticContextSelector.T, new StaticContextSelectorExpert()) //
+				.addStaticAspect(StaticAspect.class, "YES") //
+				.setMaxSessionCacheSize(1) //
+				.done();
+	}
+
+	@Test
+	public void nothingCollectedByDefault() {
+		cmdResolver.getMetaData().useCase("test-case").meta(UseCaseMetaData.T).list();
+
+		CmdResolverStatistics stats = cmdResolver.getStatistics();
+		assertThat(stats.getMetaDataTypes()).isEmpty();
+		assertThat(stats.getIndexLevels()).isEmpty();
+	}
+
+	@Test
+	public void countsResolutionsAndValueCacheHits() {
+		cmdResolver.setCollectStatistics(true);
+
+		cmdResolver.getMetaData().useCase("test-case").meta(UseCaseMetaData.T).list();
+		cmdResolver.getMetaData().useCase("test-case").meta(UseCaseMetaData.T).list();
+		cmdResolver.getMetaData().meta(UseCaseMetaData.T).list();
+
+		MdTypeResolutionStatistics mdStats = cmdResolver.getStatistics().getMetaDataTypes().get(UseCaseMetaData.T.getTypeSignature());
+		assertThat(mdStats.getResolutions()).isEqualTo(3);
+		assertThat(mdStats.getValueCacheHits()).isEqualTo(1);
+		assertThat(mdStats.getValueCacheMisses()).isEqualTo(2);
+
+		DurationHistogram histogram = mdStats.getSelectorEvaluation();
+		assertThat(histogram.getCount()).isEqualTo(2);
+		assertThat(histogram.getBucketCounts()).hasSize(histogram.getBucketLimitsNanos().size() + 1);
+	}
+
+	@Test
+	public void countsIndexAccesses() {
+		cmdResolver.setCollectStatistics(true);
+
+		cmdResolver.getMetaData().meta(UseCaseMetaData.T).list();
+
+		MdIndexStatistics indexStats = cmdResolver.getStatistics().getIndexLevels().get("ModelMdIndex");
+		assertThat(indexStats).isNotNull();
+		assertThat(indexStats.getMisses()).isPositive();
+	}
+
+	@Test
+	public void countsEvictions() {
+		cmdResolver.setCollectStatistics(true);
+
+		cmdResolver.getMetaData().with(RoleAspect.class, asSet("admin")).meta(SessionScopedMetaData.T).list();
+		cmdResolver.getMetaData().with(RoleAspect.class, asSet("user")).meta(SessionScopedMetaData.T).list();
+		cmdResolver.getMetaData().with(RoleAspect.class, asSet("admin")).meta(SessionScopedMetaData.T).list();
+
+		assertThat(cmdResolver.getStatistics().getCacheEvictions()).isEqualTo(2);
+
+		cmdResolver.resetStatistics();
+		assertThat(cmdResolver.getStatistics().getCacheEvictions()).isZero();
+	}
+
+}
@@ -127,6 +127,26 @@ public class ModelMetaDataResolvingTests extends MetaDataResolvingTestBase {
 		assertOneMetaData(SessionScopedMetaData.T, mmds);
 	}
 
+	/**
+	 * Session-scoped MD are cached by the values of the relevant aspects (roles), not by the session itself, so different roles within one
+	 * session (thread) resolve different MD.
+	 * 
+	 * @see ModelMdProvider#addSessionModelMD()
+	 */
+	@Test
+	public void model_SessionScope_CachedPerRoles() {
+		model_SessionScope();
+
+		List<? extends ActivableMetaData> mmds = getMetaData().with(RoleAspect.class, asSet("user")).meta(SessionScopedMetaData.T).list();
+		assertThat(mmds).hasSize(1);
+		assertThat(mmds.get(0).getActive()).isFalse();
+
+		mmds = getMetaData().with(RoleAspect.class, asSet("guest")).meta(SessionScopedMetaData.T).list();
+		assertEmptyMd(mmds);
+
+		model_SessionScope();
+	}
+
 	/** @see ModelMdProvider#addStaticContextMD() */
 	@Test
 	public void model_StaticContext() {
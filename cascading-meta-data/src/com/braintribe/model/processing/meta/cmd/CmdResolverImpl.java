@@ -31,6 +31,7 @@ import com.braintribe.model.processing.meta.cmd.context.SelectorContextImpl;
 import com.braintribe.model.processing.meta.cmd.index.MetaDataIndexStructure;
 import com.braintribe.model.processing.meta.cmd.index.MetaDataIndexStructure.ModelMdIndex;
 import com.braintribe.model.processing.meta.cmd.resolvers.ModelMdAggregator;
+import com.braintribe.model.processing.meta.cmd.statistics.CmdResolverStatistics;
 import com.braintribe.model.processing.meta.oracle.ModelOracle;
 
 /**
@@ -82,6 +83,23 @@ public class CmdResolverImpl implements CmdResolver {
 		resolutionContext.setDefaultMetaData(defaultValues);
 	}
 
+	/**
+	 * If set to {@code true} the resolver collects statistics about resolved meta-data types, index and cache usage and the time spent evaluating
+	 * selectors. These can be retrieved via {@link #getStatistics()}. Collection is disabled by default.
+	 */
+	public void setCollectStatistics(boolean collectStatistics) {
+		resolutionContext.getStatistics().setEnabled(collectStatistics);
+	}
+
+	/** Returns a snapshot of the statistics collected so far. See {@link #setCollectStatistics(boolean)}. */
+	public CmdResolverStatistics getStatistics() {
+		return resolutionContext.getStatistics().snapshot();
+	}
+
+	public void resetStatistics() {
+		resolutionContext.getStatistics().reset();
+	}
+
 	@Override
 	public ModelOracle getModelOracle() {
 		return resolutionContext.modelOracle;
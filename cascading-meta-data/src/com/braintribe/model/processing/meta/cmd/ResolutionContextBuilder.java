@@ -41,7 +41,7 @@ public class ResolutionContextBuilder implements CmdResolverBuilder {
 	private final Map<Class<? extends SelectorContextAspect<?>>, Supplier<?>> dynamicAspectValueProviders = newMap();
 	private Set<MetaData> defaultMetaData = Collections.emptySet();
 	private Supplier<?> sessionProvider;
-	private int maxSessionCacheSize = 50;
+	private int maxSessionCacheSize = 500;
 
 	public ResolutionContextBuilder(ModelOracle modelOracle) {
 		this.rci = new ResolutionContextInfo(modelOracle);
@@ -100,7 +100,10 @@ public class ResolutionContextInfo {
 	/**
 	 * Sets a provider, which provides an object that represents a given session. The provided object itself doesn't
 	 * have to be the session, it's just important, that the provider returns the same value for all invocations within
-	 * the same session. This object is merely used as a key in the session-scoped cache.
+	 * the same session.
+	 * <p>
+	 * Note that session-scoped meta-data are not cached per session, but per values of the relevant session-scoped aspects (e.g. roles), so
+	 * that sessions with equal roles share the cached values.
 	 */
 	public void setSessionProvider(Supplier<?> sessionProvider) {
 		this.sessionProvider = sessionProvider;
@@ -111,9 +114,9 @@ public class ResolutionContextInfo {
 	}
 
 	/**
-	 * Sets the maximum number of sessions for which meta data are cached at the same time. If we try to retrieve meta
-	 * data for more sessions at once, some of the cached entries must be removed before we put new entries to the
-	 * cache.
+	 * Sets the maximum number of distinct aspect value combinations (e.g. role sets and use-cases) for which meta data
+	 * of given type are cached at the same time. If we try to retrieve meta data for more combinations at once, some of
+	 * the cached entries must be removed before we put new entries to the cache.
 	 */
 	public void setMaxSessionCacheSize(int maxSessionCacheSize) {
 		this.maxSessionCacheSize = maxSessionCacheSize;
@@ -32,6 +32,7 @@ import com.braintribe.model.processing.meta.cmd.CmdResolverImpl;
 import com.braintribe.model.processing.meta.cmd.ResolutionContextInfo;
 import com.braintribe.model.processing.meta.cmd.context.experts.SelectorExpert;
 import com.braintribe.model.processing.meta.cmd.context.scope.ScopeUtils;
+import com.braintribe.model.processing.meta.cmd.statistics.CmdStatisticsCollector;
 import com.braintribe.model.processing.meta.cmd.tools.CmdTools;
 import com.braintribe.model.processing.meta.oracle.ModelOracle;
 import com.braintribe.model.processing.meta.oracle.QualifiedMetaData;
@@ -49,6 +50,7 @@ public class ResolutionContext {
 	private final StaticContext staticContext;
 	private final Supplier<?> sessionProvider; // nullable
 	private final ScopeUtils scopeUtils = new ScopeUtils();
+	private final CmdStatisticsCollector statistics = new CmdStatisticsCollector();
 	private final int maxSessionCacheSize;
 
 	private Map<EntityType<? extends MetaData>, MetaData> defaultMetaData = Collections.emptyMap();
@@ -74,6 +76,10 @@ public class ResolutionContext {
 		return scopeUtils;
 	}
 
+	public CmdStatisticsCollector getStatistics() {
+		return statistics;
+	}
+
 	public Supplier<?> getSessionProvider() {
 		return sessionProvider;
 	}
@@ -15,12 +15,18 @@
 // ============================================================================
 package com.braintribe.model.processing.meta.cmd.context.scope;
 
+import static com.braintribe.utils.lcd.CollectionTools2.asSet;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.braintribe.model.processing.meta.cmd.CmdResolverImpl;
 import com.braintribe.model.processing.meta.cmd.context.SelectorContextAspect;
+import com.braintribe.model.processing.meta.cmd.context.aspects.UseCaseAspect;
 
 public class ScopeUtils {
 
@@ -34,6 +40,12 @@ public class ScopeUtils {
 		}
 	}
 
+	/**
+	 * Volatile aspects whose values are simple value objects, i.e. the result of evaluating selectors which depend on them can be cached with
+	 * these values as a key.
+	 */
+	private static final Set<Class<? extends SelectorContextAspect<?>>> valueKeyedVolatileAspects = asSet(UseCaseAspect.class);
+
 	private boolean singleSession = false;
 
 	/** @See {@link CmdResolverImpl#setSingleSession(boolean)} */
@@ -75,6 +87,28 @@ public class ScopeUtils {
 		return true;
 	}
 
+	/**
+	 * @return aspects whose values determine the result of evaluating selectors relevant for given aspects, or <tt>null</tt> if such result
+	 *         cannot be cached by aspect values (e.g. when it depends on the entity being resolved). Static aspects are not part of the result, as
+	 *         their values never change.
+	 */
+	public List<Class<? extends SelectorContextAspect<?>>> getValueKeyAspects(Collection<Class<? extends SelectorContextAspect<?>>> aspects) {
+		List<Class<? extends SelectorContextAspect<?>>> result = newList();
+
+		for (Class<? extends SelectorContextAspect<?>> aspect: aspects) {
+			CmdScope cs = getScope(aspect);
+			if (cs == CmdScope.STATIC)
+				continue;
+
+			if (cs != CmdScope.SESSION && !valueKeyedVolatileAspects.contains(aspect))
+				return null;
+
+			result.add(aspect);
+		}
+
+		return result;
+	}
+
 	private static final CmdScope DEFAULT_SCOPE = CmdScope.VOLATILE;
 
 	private CmdScope getScope(Class<? extends SelectorContextAspect<?>> s) {
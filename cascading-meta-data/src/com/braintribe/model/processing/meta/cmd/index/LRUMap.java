@@ -37,6 +37,7 @@ public final class LRUMap<K, V> implements Map<K, V> {
 	private ReentrantLock lock = new ReentrantLock();
 
 	private int mod;
+	private Runnable evictionListener;
 
 	private static class LinkedEntry<K, V> {
 		K key;
@@ -84,6 +85,11 @@ public final class LRUMap<K, V> implements Map<K, V> {
 		sentinel.next = sentinel.previous = sentinel;
 	}
 
+	/** Sets a listener which is notified every time an entry is evicted due to the size limit. */
+	public void setEvictionListener(Runnable evictionListener) {
+		this.evictionListener = evictionListener;
+	}
+
 	@Override
 	public int size() {
 		return m.size();
@@ -169,6 +175,9 @@ public final class LRUMap<K, V> implements Map<K, V> {
 		LinkedEntry<K, V> lru = sentinel.previous;
 		m.remove(lru.key);
 		removeEntry(lru);
+
+		if (evictionListener != null)
+			evictionListener.run();
 	}
 
 	private void removeEntry(LinkedEntry<K, V> entry) {
@@ -85,11 +85,13 @@ public class MetaDataIndexStructure {
 		}
 
 		public MetaDataBox acquireMetaData(MetaDataIndexKey indexKey) {
+			resolutionContext.getStatistics().onIndexAccess(indexLevel());
 			return acquireFor(indexKey);
 		}
 
 		@Override
 		protected MetaDataBox provideValueFor(MetaDataIndexKey indexKey) {
+			resolutionContext.getStatistics().onIndexMiss(indexLevel());
 			loadAllMd();
 
 			if (allMd == MetaDataBox.EMPTY_BOX)
@@ -106,6 +108,10 @@ public class MetaDataIndexStructure {
 			}
 		}
 
+		private String indexLevel() {
+			return getClass().getSimpleName();
+		}
+
 		private void loadAllMd() {
 			if (allMd != null)
 				return;
@@ -17,32 +17,45 @@ package com.braintribe.model.processing.meta.cmd.resolvers;
 
 import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.braintribe.common.lcd.UnsupportedEnumException;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.meta.data.MetaData;
 import com.braintribe.model.processing.meta.cmd.context.ExtendedSelectorContext;
 import com.braintribe.model.processing.meta.cmd.context.ResolutionContext;
 import com.braintribe.model.processing.meta.cmd.context.SelectorContext;
 import com.braintribe.model.processing.meta.cmd.context.SelectorContextAspect;
 import com.braintribe.model.processing.meta.cmd.context.scope.CmdScope;
 import com.braintribe.model.processing.meta.cmd.context.scope.ScopeUtils;
+import com.braintribe.model.processing.meta.cmd.statistics.CmdStatisticsCollector;
 import com.braintribe.model.processing.meta.cmd.tools.CmdGwtUtils;
 import com.braintribe.model.processing.meta.oracle.QualifiedMetaData;
 
 /**
- * 
+ * Resolves the value for given meta-data type based on the {@link ExtendedSelectorContext}.
+ * <p>
+ * On first access, the aspects relevant for all the selectors are examined, which decides how the value is cached:
+ * <ul>
+ * <li>if all the aspects are static, the value is computed once and then never again
+ * <li>if all non-static aspects are session-scoped or simple values (e.g. use-cases), the value is cached with the values of these aspects as
+ * a key. This means all sessions with e.g. the same roles share the same cache entry.
+ * <li>otherwise, the selectors are evaluated on every access
+ * </ul>
  */
 abstract class AbstractMetaDataDescriptor<T> {
 
 	public ResolutionContext resolutionContext;
+	public EntityType<? extends MetaData> metaDataType;
 	public List<List<QualifiedMetaData>> ownerMetaData; // This never contains empty lists
 
 	private volatile T staticValue;
-	private volatile ScopedMdIndex sessionValueIndex;
-	private final ReentrantLock sessionValueIndexLock = new ReentrantLock();
+	private volatile AspectValuesIndex aspectValuesIndex;
 	private volatile CmdScope globalScope;
 	private final ReentrantLock globalScopeLock = new ReentrantLock();
 
@@ -55,12 +68,12 @@ abstract class AbstractMetaDataDescriptor<T> {
 
 		switch (globalScope) {
 			case STATIC:
+				statistics().onValueCacheAccess(metaDataType, true);
 				return staticValue;
 			case SESSION:
-				return sessionValue(selectorContext);
 			case MOMENTARY:
 			case VOLATILE:
-				return volatileValue(selectorContext);
+				return aspectValuesIndex != null ? aspectValuesIndex.acquireIndexedValue(selectorContext) : evaluateSelectors(selectorContext);
 		}
 
 		throw new UnsupportedEnumException("Unsupported scope: " + globalScope);
@@ -70,7 +83,7 @@ abstract class AbstractMetaDataDescriptor<T> {
 		if (allSelectorsIgnored(selectorContext))
 			return ignoreSelectorsValue();
 		else
-			return volatileValue(selectorContext);
+			return evaluateSelectors(selectorContext);
 	}
 
 	private boolean allSelectorsIgnored(ExtendedSelectorContext selectorContext) {
@@ -87,8 +100,14 @@ abstract class AbstractMetaDataDescriptor<T> {
 			Set<Class<? extends SelectorContextAspect<?>>> aspects = getAspectsFor(ownerMetaData);
 			CmdScope scope = scopeUtils().getCommonScope(aspects);
 
-			if (scope == CmdScope.STATIC)
-				staticValue = volatileValue(selectorContext);
+			if (scope == CmdScope.STATIC) {
+				staticValue = evaluateSelectors(selectorContext);
+
+			} else {
+				List<Class<? extends SelectorContextAspect<?>>> keyAspects = scopeUtils().getValueKeyAspects(aspects);
+				if (keyAspects != null)
+					aspectValuesIndex = new AspectValuesIndex(keyAspects);
+			}
 
 			globalScope = scope;
 
@@ -107,49 +126,93 @@ abstract class AbstractMetaDataDescriptor<T> {
 		return result;
 	}
 
-	private T sessionValue(ExtendedSelectorContext selectorContext) {
-		ensureSessionIndex();
-		Object session = selectorContext.provideSession();
-		return sessionValueIndex.acquireIndexedValue(session, selectorContext);
+	private ScopeUtils scopeUtils() {
+		return resolutionContext.getScopeUtils();
 	}
 
-	private void ensureSessionIndex() {
-		if (sessionValueIndex == null)
-			ensureSessionIndexSync();
+	private CmdStatisticsCollector statistics() {
+		return resolutionContext.getStatistics();
 	}
 
-	private void ensureSessionIndexSync() {
-		sessionValueIndexLock.lock();
+	private T evaluateSelectors(SelectorContext selectorContext) {
+		CmdStatisticsCollector statistics = statistics();
+		if (!statistics.isEnabled())
+			return volatileValue(selectorContext);
+
+		statistics.onValueCacheAccess(metaDataType, false);
+
+		long start = System.nanoTime();
 		try {
-			if (sessionValueIndex == null) {
-				sessionValueIndex = new ScopedMdIndex();
-			}
+			return volatileValue(selectorContext);
 		} finally {
-			sessionValueIndexLock.unlock();
+			statistics.onSelectorEvaluation(metaDataType, System.nanoTime() - start);
 		}
 	}
 
-	private ScopeUtils scopeUtils() {
-		return resolutionContext.getScopeUtils();
-	}
+	/**
+	 * Index of values keyed by the values of the (non-static) aspects relevant for our selectors. As the value only depends on these aspects, it
+	 * can be shared among all contexts (sessions) with equal aspect values.
+	 */
+	private class AspectValuesIndex {
+		private final Class<? extends SelectorContextAspect<?>>[] keyAspects;
+		private final Map<AspectValuesKey, T> index = CmdGwtUtils.newWeakCacheMap(resolutionContext.getMaxSessionCacheSize(),
+				statistics()::onCacheEviction);
+
+		public AspectValuesIndex(List<Class<? extends SelectorContextAspect<?>>> keyAspects) {
+			this.keyAspects = keyAspects.toArray(new Class[keyAspects.size()]);
+		}
 
-	private class ScopedMdIndex {
-		protected Map<Object, T> index = newWeakCacheMap();
+		public T acquireIndexedValue(SelectorContext selectorContext) {
+			AspectValuesKey key = keyFor(selectorContext);
 
-		public T acquireIndexedValue(Object scopedValue, SelectorContext selectorContext) {
-			T value = index.get(scopedValue);
+			T value = index.get(key);
 			if (value == null) {
-				value = volatileValue(selectorContext);
-				index.put(scopedValue, value);
+				value = evaluateSelectors(selectorContext);
+				index.put(key.snapshot(), value);
+
+			} else {
+				statistics().onValueCacheAccess(metaDataType, true);
 			}
 
 			return value;
 		}
 
-		private <K, V> Map<K, V> newWeakCacheMap() {
-			return CmdGwtUtils.newWeakCacheMap(resolutionContext.getMaxSessionCacheSize());
+		private AspectValuesKey keyFor(SelectorContext selectorContext) {
+			Object[] values = new Object[keyAspects.length];
+			for (int i = 0; i < keyAspects.length; i++)
+				values[i] = selectorContext.get((Class<SelectorContextAspect<Object>>) keyAspects[i]);
+
+			return new AspectValuesKey(values);
+		}
+	}
+
+	private static class AspectValuesKey {
+		private final Object[] values;
+		private final int hashCode;
+
+		public AspectValuesKey(Object[] values) {
+			this.values = values;
+			this.hashCode = Arrays.hashCode(values);
 		}
 
+		/** The values (e.g. role sets) may be mutable, so we store a copy in the index. */
+		public AspectValuesKey snapshot() {
+			Object[] copy = new Object[values.length];
+			for (int i = 0; i < values.length; i++)
+				copy[i] = values[i] instanceof Set ? new HashSet<>((Set<?>) values[i]) : values[i];
+
+			return new AspectValuesKey(copy);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof AspectValuesKey && Arrays.equals(values, ((AspectValuesKey) obj).values);
+		}
 	}
 
 	protected abstract T ignoreSelectorsValue();
@@ -99,6 +99,8 @@ public abstract class MdAggregator {
 	private MetaData provideExclusiveValue(ExclusiveMetaDataDescriptor mdd, EntityType<? extends MetaData> metaDataType,
 			ExtendedSelectorContext context) {
 
+		resolutionContext.getStatistics().onResolution(metaDataType);
+
 		try {
 			return mdd.provideValue(context);
 
@@ -141,6 +143,8 @@ public abstract class MdAggregator {
 	}
 
 	private List<MetaData> provideMultiValue(MultiMetaDataDescriptor mdd, EntityType<? extends MetaData> mdType, ExtendedSelectorContext context) {
+		resolutionContext.getStatistics().onResolution(mdType);
+
 		try {
 			return mdd.provideValue(context);
 
@@ -162,6 +166,7 @@ public abstract class MdAggregator {
 	private <M extends AbstractMetaDataDescriptor<?>> M newDescriptorFor(M newInstance, EntityType<? extends MetaData> metaDataType,
 			boolean extended) {
 		newInstance.resolutionContext = resolutionContext;
+		newInstance.metaDataType = metaDataType;
 		newInstance.ownerMetaData = normalize(acquireFullMetaData(metaDataType, extended));
 
 		return newInstance;
@@ -0,0 +1,199 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.meta.cmd.statistics;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.meta.data.MetaData;
+import com.braintribe.model.processing.meta.cmd.CmdResolverImpl;
+
+/**
+ * Collects the statistics of a single {@link CmdResolverImpl}. Collection is disabled by default, in which case every method returns
+ * immediately.
+ * 
+ * @see CmdResolverImpl#setCollectStatistics(boolean)
+ */
+public class CmdStatisticsCollector {
+
+	/** Upper limits of the selector evaluation histogram buckets: 1µs, 4µs, 16µs, ... ~67ms. */
+	private static final long[] BUCKET_LIMITS_NANOS = { 1_000L, 4_000L, 16_000L, 64_000L, 256_000L, 1_024_000L, 4_096_000L, 16_384_000L,
+			65_536_000L };
+
+	private volatile boolean enabled;
+
+	private final Map<EntityType<?>, MdTypeCounters> mdTypeCounters = new ConcurrentHashMap<>();
+	private final Map<String, IndexCounters> indexCounters = new ConcurrentHashMap<>();
+	private final LongAdder cacheEvictions = new LongAdder();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public void onResolution(EntityType<? extends MetaData> mdType) {
+		if (enabled)
+			mdTypeCounters(mdType).resolutions.increment();
+	}
+
+	public void onValueCacheAccess(EntityType<? extends MetaData> mdType, boolean hit) {
+		if (enabled)
+			(hit ? mdTypeCounters(mdType).valueCacheHits : mdTypeCounters(mdType).valueCacheMisses).increment();
+	}
+
+	/** Caller is expected to check {@link #isEnabled()} before measuring the duration. */
+	public void onSelectorEvaluation(EntityType<? extends MetaData> mdType, long nanos) {
+		mdTypeCounters(mdType).selectorEvaluation.record(nanos);
+	}
+
+	public void onIndexAccess(String indexLevel) {
+		if (enabled)
+			indexCounters(indexLevel).accesses.increment();
+	}
+
+	public void onIndexMiss(String indexLevel) {
+		if (enabled)
+			indexCounters(indexLevel).misses.increment();
+	}
+
+	public void onCacheEviction() {
+		if (enabled)
+			cacheEvictions.increment();
+	}
+
+	private MdTypeCounters mdTypeCounters(EntityType<?> mdType) {
+		return mdTypeCounters.computeIfAbsent(mdType, t -> new MdTypeCounters());
+	}
+
+	private IndexCounters indexCounters(String indexLevel) {
+		return indexCounters.computeIfAbsent(indexLevel, l -> new IndexCounters());
+	}
+
+	public void reset() {
+		mdTypeCounters.clear();
+		indexCounters.clear();
+		cacheEvictions.reset();
+	}
+
+	/** Returns a snapshot of the current statistics. Counters updated concurrently might be slightly inconsistent with each other. */
+	public CmdResolverStatistics snapshot() {
+		Map<String, MdTypeResolutionStatistics> mdTypes = newMap();
+		for (Map.Entry<EntityType<?>, MdTypeCounters> e : mdTypeCounters.entrySet())
+			mdTypes.put(e.getKey().getTypeSignature(), e.getValue().snapshot());
+
+		Map<String, MdIndexStatistics> indexLevels = newMap();
+		for (Map.Entry<String, IndexCounters> e : indexCounters.entrySet())
+			indexLevels.put(e.getKey(), e.getValue().snapshot());
+
+		CmdResolverStatistics result = CmdResolverStatistics.T.create();
+		result.setMetaDataTypes(mdTypes);
+		result.setIndexLevels(indexLevels);
+		result.setCacheEvictions(cacheEvictions.sum());
+
+		return result;
+	}
+
+	private static class MdTypeCounters {
+		final LongAdder resolutions = new LongAdder();
+		final LongAdder valueCacheHits = new LongAdder();
+		final LongAdder valueCacheMisses = new LongAdder();
+		final HistogramCounters selectorEvaluation = new HistogramCounters();
+
+		MdTypeResolutionStatistics snapshot() {
+			MdTypeResolutionStatistics result = MdTypeResolutionStatistics.T.create();
+			result.setResolutions(resolutions.sum());
+			result.setValueCacheHits(valueCacheHits.sum());
+			result.setValueCacheMisses(valueCacheMisses.sum());
+			result.setSelectorEvaluation(selectorEvaluation.snapshot());
+
+			return result;
+		}
+	}
+
+	private static class IndexCounters {
+		final LongAdder accesses = new LongAdder();
+		final LongAdder misses = new LongAdder();
+
+		MdIndexStatistics snapshot() {
+			long m = misses.sum();
+
+			MdIndexStatistics result = MdIndexStatistics.T.create();
+			result.setHits(Math.max(0, accesses.sum() - m));
+			result.setMisses(m);
+
+			return result;
+		}
+	}
+
+	private static class HistogramCounters {
+		final LongAdder[] buckets = new LongAdder[BUCKET_LIMITS_NANOS.length + 1];
+		final LongAdder totalNanos = new LongAdder();
+		final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		HistogramCounters() {
+			for (int i = 0; i < buckets.length; i++)
+				buckets[i] = new LongAdder();
+		}
+
+		void record(long nanos) {
+			buckets[bucketIndex(nanos)].increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		private static int bucketIndex(long nanos) {
+			int i = 0;
+			while (i < BUCKET_LIMITS_NANOS.length && nanos > BUCKET_LIMITS_NANOS[i])
+				i++;
+
+			return i;
+		}
+
+		DurationHistogram snapshot() {
+			List<Long> limits = newList(BUCKET_LIMITS_NANOS.length);
+			for (long limit : BUCKET_LIMITS_NANOS)
+				limits.add(limit);
+
+			List<Long> counts = newList(buckets.length);
+			long count = 0;
+			for (LongAdder bucket : buckets) {
+				long c = bucket.sum();
+				counts.add(c);
+				count += c;
+			}
+
+			DurationHistogram result = DurationHistogram.T.create();
+			result.setBucketLimitsNanos(limits);
+			result.setBucketCounts(counts);
+			result.setCount(count);
+			result.setTotalNanos(totalNanos.sum());
+			result.setMaxNanos(maxNanos.get());
+
+			return result;
+		}
+	}
+
+}
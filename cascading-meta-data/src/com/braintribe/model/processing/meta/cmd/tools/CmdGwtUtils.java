@@ -31,6 +31,12 @@ public class CmdGwtUtils {
 		return new LRUMap<K, V>(maxSize);
 	}
 
+	public static <K, V> Map<K, V> newWeakCacheMap(int maxSize, Runnable evictionListener) {
+		LRUMap<K, V> result = new LRUMap<K, V>(maxSize);
+		result.setEvictionListener(evictionListener);
+		return result;
+	}
+
 	/**
 	 * In GWT, this only works iff <tt>clazz</tt> is really a class, not an interface..
 	 */
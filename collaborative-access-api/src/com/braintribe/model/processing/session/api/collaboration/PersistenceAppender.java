@@ -44,6 +44,14 @@ public interface PersistenceAppender {
 	 */
 	void append(Resource[] gmmlResources, EntityManager entityManager);
 
+	/**
+	 * Makes sure everything appended so far is durably stored. Unlike the append methods, this is called after the access lock was released, so that
+	 * concurrent commits can share a single flush to the storage device. Default implementation does nothing.
+	 */
+	default void sync() {
+		// nothing to do by default
+	}
+
 	static interface AppendedSnippet extends InputStreamProvider {
 
 		long sizeInBytes();
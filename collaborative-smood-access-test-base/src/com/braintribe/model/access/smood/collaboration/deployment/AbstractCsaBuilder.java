@@ -110,6 +110,9 @@ public abstract class AbstractCsaBuilder<//
 
 	protected GmmlManipulatorErrorHandler errorHandler = StrictErrorHandler.INSTANCE;
 
+	protected File snapshotFile;
+	protected boolean forceOnSync;
+
 	protected final B self = (B) this;
 
 	// #################################################
@@ -188,6 +191,16 @@ public abstract class AbstractCsaBuilder<//
 		return self;
 	}
 
+	public B snapshotFile(File snapshotFile) {
+		this.snapshotFile = snapshotFile;
+		return self;
+	}
+
+	public B forceOnSync(boolean forceOnSync) {
+		this.forceOnSync = forceOnSync;
+		return self;
+	}
+
 	// #################################################
 	// ## . . . . . Final builder method . . . . . . .##
 	// #################################################
@@ -212,6 +225,7 @@ public abstract class AbstractCsaBuilder<//
 		csa.setSelfModelName(selfModelName);
 		csa.setModelAccessory(modelAccessory);
 		csa.setCollaborativeRequestProcessor(collaborativeAccessManager());
+		csa.setSnapshotFile(snapshotFile);
 
 		deployedUnit = newUnit();
 		deployedUnit.baseFolder = baseFolder;
@@ -296,6 +310,7 @@ public abstract class AbstractCsaBuilder<//
 		bean.setCsaStatePersistence(statePersistence);
 		bean.setManipulationFilter(m -> true); // just to make
 		bean.setGmmlErrorHandler(errorHandler);
+		bean.setForceOnSync(forceOnSync);
 		return bean;
 	}
 
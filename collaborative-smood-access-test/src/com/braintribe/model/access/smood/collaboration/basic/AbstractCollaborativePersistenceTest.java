@@ -90,6 +90,8 @@ public abstract class AbstractCollaborativePersistenceTest {
 				.configurationSupplier(this::prepareNewConfiguration) //
 				.staticInitializers(preInitializers()).staticPostInitializers(postInitializers()) //
 				.errorHandler(errorHandler()).model(model()) //
+				.snapshotFile(snapshotFile(baseFolder)) //
+				.forceOnSync(forceOnSync()) //
 				.done();
 
 		session = csaUnit.session;
@@ -105,6 +107,15 @@ public abstract class AbstractCollaborativePersistenceTest {
 		return emptyList();
 	}
 
+	/** Returns the file for the population snapshot, or <tt>null</tt> if snapshot should not be used (default). */
+	protected File snapshotFile(File baseFolder) {
+		return null;
+	}
+
+	protected boolean forceOnSync() {
+		return false;
+	}
+
 	protected GmmlManipulatorErrorHandler errorHandler() {
 		return StrictErrorHandler.INSTANCE;
 	}
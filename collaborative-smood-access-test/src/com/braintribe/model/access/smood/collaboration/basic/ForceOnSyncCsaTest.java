@@ -0,0 +1,100 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.smood.collaboration.basic;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.braintribe.model.access.collaboration.persistence.GmmlFileChannel;
+import com.braintribe.model.access.smood.collaboration.manager.model.StagedEntity;
+import com.braintribe.model.processing.query.fluent.EntityQueryBuilder;
+import com.braintribe.model.processing.session.api.persistence.PersistenceGmSession;
+
+/**
+ * Tests commits with forcing of the GMML files enabled, i.e. the group commit done by {@link GmmlFileChannel}.
+ */
+public class ForceOnSyncCsaTest extends AbstractCollaborativePersistenceTest {
+
+	private static final int THREADS = 8;
+	private static final int COMMITS_PER_THREAD = 25;
+
+	@Override
+	protected boolean forceOnSync() {
+		return true;
+	}
+
+	@Test
+	public void singleCommit() {
+		StagedEntity entity = session.create(StagedEntity.T);
+		entity.setGlobalId("SE");
+		session.commit();
+
+		// @formatter:off
+		baseFolderFsAssert
+			.sub(trunkStageName).isDirectory()
+				.sub("data.man").isExistingFile_()
+				.sub("marker.txt").notExists_();
+		// @formatter:on
+
+		redeploy();
+
+		assertThat((StagedEntity) session.findEntityByGlobalId("SE")).isNotNull();
+	}
+
+	@Test
+	public void concurrentCommits() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		try {
+			List<Future<?>> futures = newList();
+			for (int t = 0; t < THREADS; t++) {
+				int threadNumber = t;
+				futures.add(executor.submit(() -> commitEntities(threadNumber)));
+			}
+
+			for (Future<?> future : futures)
+				future.get();
+
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+
+		redeploy();
+
+		List<StagedEntity> entities = session.query().entities(EntityQueryBuilder.from(StagedEntity.T).done()).list();
+		assertThat(entities).hasSize(THREADS * COMMITS_PER_THREAD);
+	}
+
+	private void commitEntities(int threadNumber) {
+		PersistenceGmSession threadSession = csaUnit.newSession();
+
+		for (int i = 0; i < COMMITS_PER_THREAD; i++) {
+			StagedEntity entity = threadSession.create(StagedEntity.T);
+			entity.setName("entity-" + threadNumber + "-" + i);
+			threadSession.commit();
+		}
+	}
+
+}
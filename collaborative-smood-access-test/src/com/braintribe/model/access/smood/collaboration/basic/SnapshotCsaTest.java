@@ -0,0 +1,164 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.smood.collaboration.basic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.braintribe.model.access.collaboration.CollaborativeSmoodAccess;
+import com.braintribe.model.access.smood.collaboration.manager.model.StagedEntity;
+import com.braintribe.utils.FileTools;
+
+/**
+ * Tests for {@link CollaborativeSmoodAccess#setSnapshotFile(File)}.
+ */
+public class SnapshotCsaTest extends AbstractCollaborativePersistenceTest {
+
+	private static final String newStageName = "newStage";
+
+	@Override
+	protected File snapshotFile(File baseFolder) {
+		return new File(baseFolder, "snapshot.bin");
+	}
+
+	@Test
+	public void snapshotIsWrittenOnFirstStart() {
+		assertThat(snapshotFile()).exists();
+	}
+
+	@Test
+	public void snapshotIsUsedAndGmmlTailIsReplayed() throws Exception {
+		StagedEntity e1 = newStagedEntity("SE1");
+		session.commit();
+
+		csa.writeSnapshot();
+		byte[] snapshotBytes = snapshotBytes();
+
+		StagedEntity e2 = newStagedEntity("SE2");
+		e2.setEntity(e1);
+		session.commit();
+
+		redeploy();
+
+		// the tail was small, so the snapshot was used and was not re-written
+		assertThat(snapshotBytes()).isEqualTo(snapshotBytes);
+
+		e2 = session.findEntityByGlobalId("SE2");
+		assertThat(e2).isNotNull();
+		assertThat(e2.getEntity().getGlobalId()).isEqualTo("SE1");
+
+		assertEntityStage(e2.getEntity(), trunkStageName);
+		assertEntityStage(e2, trunkStageName);
+		assertThat(getStageStats(trunkStageName).getInstantiations()).isEqualTo(2);
+	}
+
+	@Test
+	public void snapshotWithVariableOfDeletedEntityIsUsed() throws Exception {
+		StagedEntity e1 = newStagedEntity("SE1");
+		newStagedEntity("SE2");
+		session.commit();
+
+		session.deleteEntity(e1);
+		session.commit();
+
+		csa.writeSnapshot();
+		byte[] snapshotBytes = snapshotBytes();
+
+		StagedEntity e3 = newStagedEntity("SE3");
+		e3.setEntity(session.findEntityByGlobalId("SE2"));
+		session.commit();
+
+		redeploy();
+
+		assertThat(snapshotBytes()).isEqualTo(snapshotBytes);
+
+		assertThat((StagedEntity) session.findEntityByGlobalId("SE1")).isNull();
+
+		e3 = session.findEntityByGlobalId("SE3");
+		assertThat(e3).isNotNull();
+		assertThat(e3.getEntity().getGlobalId()).isEqualTo("SE2");
+	}
+
+	@Test
+	public void appendingAfterSnapshotStartIsConsistentWithFullParse() throws Exception {
+		newStagedEntity("SE1");
+		session.commit();
+
+		csa.writeSnapshot();
+		redeploy();
+
+		StagedEntity e1 = session.findEntityByGlobalId("SE1");
+		e1.setName("changed");
+		session.commit();
+
+		// full parse
+		FileTools.deleteFile(snapshotFile());
+		redeploy();
+
+		e1 = session.findEntityByGlobalId("SE1");
+		assertThat(e1.getName()).isEqualTo("changed");
+	}
+
+	@Test
+	public void snapshotIsIgnoredIfStageWasPushed() throws Exception {
+		newStagedEntity("SE1");
+		session.commit();
+
+		csa.writeSnapshot();
+
+		pushNewStage(newStageName);
+		newStagedEntity("SE2");
+		session.commit();
+
+		redeploy();
+
+		StagedEntity e2 = session.findEntityByGlobalId("SE2");
+		assertThat(e2).isNotNull();
+		assertEntityStage(e2, newStageName);
+	}
+
+	@Test
+	public void corruptedSnapshotIsIgnored() throws Exception {
+		newStagedEntity("SE1");
+		session.commit();
+
+		Files.write(snapshotFile().toPath(), new byte[] { 1, 2, 3 });
+
+		redeploy();
+
+		assertThat((StagedEntity) session.findEntityByGlobalId("SE1")).isNotNull();
+	}
+
+	private StagedEntity newStagedEntity(String globalId) {
+		StagedEntity result = session.create(StagedEntity.T);
+		result.setGlobalId(globalId);
+		return result;
+	}
+
+	private File snapshotFile() {
+		return snapshotFile(csaUnit.baseFolder);
+	}
+
+	private byte[] snapshotBytes() throws IOException {
+		return Files.readAllBytes(snapshotFile().toPath());
+	}
+
+}
@@ -19,10 +19,14 @@ import static com.braintribe.model.generic.manipulation.util.ManipulationBuilder
 import static com.braintribe.model.processing.manipulation.basic.tools.ManipulationTools.asManipulation;
 import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
 import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+import static java.util.Arrays.asList;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -31,12 +35,16 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import com.braintribe.cfg.Configurable;
+import com.braintribe.cfg.DestructionAware;
 import com.braintribe.cfg.InitializationAware;
 import com.braintribe.cfg.Required;
 import com.braintribe.common.lcd.EmptyReadWriteLock;
 import com.braintribe.exception.Exceptions;
 import com.braintribe.logging.Logger;
 import com.braintribe.model.access.ModelAccessException;
+import com.braintribe.model.access.collaboration.persistence.AbstractManipulationPersistence;
+import com.braintribe.model.access.collaboration.persistence.GmmlFileSnapshot;
+import com.braintribe.model.access.collaboration.persistence.SnapshotSupportingManipulationPersistence;
 import com.braintribe.model.access.smood.basic.AbstractSmoodAccess;
 import com.braintribe.model.accessapi.ManipulationRequest;
 import com.braintribe.model.accessapi.ManipulationResponse;
@@ -73,10 +81,12 @@ import com.braintribe.utils.lcd.StringTools;
  * INITIALIZATION: To initialize correctly, all the relevant properties have to be set and the {@link #postConstruct()} method has to be called. Note
  * that this method is not thread-safe.
  */
-public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements CollaborativeAccess, InitializationAware {
+public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements CollaborativeAccess, InitializationAware, DestructionAware {
 
 	private static final Logger log = Logger.getLogger(CollaborativeSmoodAccess.class);
 
+	public static final long DEFAULT_SNAPSHOT_REFRESH_THRESHOLD = 1024 * 1024;
+
 	protected Smood database;
 
 	protected CollaborativeManipulationPersistence manipulationPersistence;
@@ -94,6 +104,9 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 
 	private Map<String, Object> initializerAttributes;
 
+	private File snapshotFile;
+	private long snapshotRefreshThreshold = DEFAULT_SNAPSHOT_REFRESH_THRESHOLD;
+
 	@Required
 	public void setManipulationPersistence(CollaborativeManipulationPersistence manipulationPersistence) {
 		this.manipulationPersistence = manipulationPersistence;
@@ -121,6 +134,33 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 		this.initializerAttributes = initializerAttributes;
 	}
 
+	/**
+	 * Enables the population snapshot, stored in given file. The snapshot is a binary image of the entire population, together with the length of
+	 * each GMML file at the time it was taken (the same offsets that the marker.txt files use). On start-up, the access loads the snapshot and only
+	 * parses what was appended to the GMML files since, instead of parsing them entirely. If the snapshot cannot be used (e.g. stages were
+	 * added/merged/renamed, or a GMML file was rewritten), the access is initialized from the GMML files as usual and the snapshot is re-written.
+	 * <p>
+	 * Note that initializers which are not GMML based are not run when the snapshot is used, thus they have to be deterministic. Whenever their
+	 * output changes without their class or stage name changing, the snapshot file has to be deleted.
+	 * <p>
+	 * Only supported if the manipulation persistence is a {@link SnapshotSupportingManipulationPersistence}.
+	 * 
+	 * @see #writeSnapshot()
+	 */
+	@Configurable
+	public void setSnapshotFile(File snapshotFile) {
+		this.snapshotFile = snapshotFile;
+	}
+
+	/**
+	 * Number of bytes which, if parsed on top of the snapshot on start-up, make the access re-write the snapshot right after initialization. Default
+	 * is {@value #DEFAULT_SNAPSHOT_REFRESH_THRESHOLD}.
+	 */
+	@Configurable
+	public void setSnapshotRefreshThreshold(long snapshotRefreshThreshold) {
+		this.snapshotRefreshThreshold = snapshotRefreshThreshold;
+	}
+
 	/** @see com.braintribe.model.access.IncrementalAccess#getMetaModel() */
 	@Override
 	public GmMetaModel getMetaModel() {
@@ -253,6 +293,12 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 		}
 	}
 
+	@Override
+	public void preDestroy() {
+		if (manipulationPersistence instanceof AbstractManipulationPersistence)
+			((AbstractManipulationPersistence<?>) manipulationPersistence).closeFileChannels();
+	}
+
 	private void tryInitializeDatabase() {
 		session = newSession();
 
@@ -292,12 +338,11 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 		SmoodInitializationContextImpl context = new SmoodInitializationContextImpl(session, stageRegistry, getAccessId());
 		context.setAttributes(initializerAttributes);
 
-		manipulationPersistence.initializeModels(context);
-
-		// If we have a meta-model, we set it here so that all the data is correctly indexed
-		configureMetaModelIfGivenExplicitly(smood);
-
-		manipulationPersistence.initializeData(context);
+		CsaSnapshot snapshot = readSnapshotIfApplicable();
+		if (snapshot != null)
+			initDataFromSnapshot(smood, context, snapshot);
+		else
+			initDataFromGmml(smood, context);
 
 		context.close();
 
@@ -309,6 +354,29 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 		configureMetaModelIfGivenByName(smood);
 
 		smood.ensureIds();
+
+		writeSnapshotIfNeeded(smood, snapshot);
+	}
+
+	private void initDataFromGmml(Smood smood, SmoodInitializationContextImpl context) {
+		manipulationPersistence.initializeModels(context);
+
+		// If we have a meta-model, we set it here so that all the data is correctly indexed
+		configureMetaModelIfGivenExplicitly(smood);
+
+		manipulationPersistence.initializeData(context);
+	}
+
+	private void initDataFromSnapshot(Smood smood, SmoodInitializationContextImpl context, CsaSnapshot snapshot) {
+		SnapshotSupportingManipulationPersistence persistence = snapshotSupportingPersistence();
+
+		restorePopulation(smood, snapshot, persistence);
+
+		persistence.initializeModelsFromSnapshot(context, snapshot.gmmlSnapshot);
+
+		configureMetaModelIfGivenExplicitly(smood);
+
+		persistence.initializeDataFromSnapshot(context, snapshot.gmmlSnapshot);
 	}
 
 	private void configureMetaModelIfGivenExplicitly(Smood smood) {
@@ -323,6 +391,137 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 		}
 	}
 
+	// ####################################################
+	// ## . . . . . . . . . . Snapshot . . . . . . . . . ##
+	// ####################################################
+
+	/**
+	 * Writes the population snapshot into the configured {@link #setSnapshotFile(File) snapshot file}, so that the next start-up only needs to parse
+	 * what is appended after this point. Does nothing if no snapshot file is configured.
+	 */
+	public void writeSnapshot() {
+		SnapshotSupportingManipulationPersistence persistence = snapshotSupportingPersistence();
+		if (persistence != null)
+			withLock(readLock, () -> r_writeSnapshot(database, persistence, persistence.getGmmlSnapshot()));
+	}
+
+	private SnapshotSupportingManipulationPersistence snapshotSupportingPersistence() {
+		if (snapshotFile == null)
+			return null;
+
+		if (manipulationPersistence instanceof SnapshotSupportingManipulationPersistence)
+			return (SnapshotSupportingManipulationPersistence) manipulationPersistence;
+
+		log.warn("Snapshot file is configured for access [" + getAccessId() + "], but the manipulation persistence does not support snapshots: "
+				+ manipulationPersistence);
+		return null;
+	}
+
+	private CsaSnapshot readSnapshotIfApplicable() {
+		SnapshotSupportingManipulationPersistence persistence = snapshotSupportingPersistence();
+		if (persistence == null || !snapshotFile.exists())
+			return null;
+
+		try {
+			return CsaSnapshot.readFrom(snapshotFile, s -> isSnapshotApplicable(s, persistence));
+
+		} catch (Exception e) {
+			log.warn("Cannot read snapshot of access [" + getAccessId() + "] from: " + snapshotFile.getAbsolutePath() + ", reason: " + e.getMessage()
+					+ ". The access will be initialized from the GMML files and the snapshot will be re-written.", e);
+			return null;
+		}
+	}
+
+	private boolean isSnapshotApplicable(CsaSnapshot snapshot, SnapshotSupportingManipulationPersistence persistence) {
+		if (!persistence.getInitializersFingerprint().equals(snapshot.initializersFingerprint)) {
+			log.debug(() -> "Snapshot of access [" + getAccessId() + "] is not applicable, as the initializers have changed.");
+			return false;
+		}
+
+		if (!persistence.isSnapshotApplicable(snapshot.gmmlSnapshot)) {
+			log.debug(() -> "Snapshot of access [" + getAccessId() + "] is not applicable, as some GMML files were changed other than by appending.");
+			return false;
+		}
+
+		return true;
+	}
+
+	private void restorePopulation(Smood smood, CsaSnapshot snapshot, SnapshotSupportingManipulationPersistence persistence) {
+		Map<String, PersistenceStage> stages = newMap();
+		Function<String, PersistenceStage> stageResolver = name -> stages.computeIfAbsent(name, persistence::findPersistenceStage);
+
+		for (int i = 0; i < snapshot.entities.size(); i++) {
+			GenericEntity entity = snapshot.entities.get(i);
+			entity.attach(session);
+			smood.registerEntitySilently(entity);
+
+			String stageName = snapshot.entityStageNames.get(i);
+			if (stageName != null)
+				stageRegistry.onEntityRestored(entity, stageResolver.apply(stageName));
+		}
+
+		for (Entry<String, List<Integer>> entry : snapshot.stageStats.entrySet()) {
+			List<Integer> stats = entry.getValue();
+			stageRegistry.restoreStats(stageResolver.apply(entry.getKey()), stats.get(0), stats.get(1), stats.get(2));
+		}
+
+		log.debug(() -> "Access [" + getAccessId() + "] restored " + snapshot.entities.size() + " entities from snapshot.");
+	}
+
+	/** Writes the snapshot unless the one we have just used was recent enough, i.e. we have parsed less than the threshold on top of it. */
+	private void writeSnapshotIfNeeded(Smood smood, CsaSnapshot usedSnapshot) {
+		SnapshotSupportingManipulationPersistence persistence = snapshotSupportingPersistence();
+		if (persistence == null)
+			return;
+
+		Map<String, List<GmmlFileSnapshot>> gmmlSnapshot = persistence.getGmmlSnapshot();
+		if (usedSnapshot != null && totalLength(gmmlSnapshot) - totalLength(usedSnapshot.gmmlSnapshot) < snapshotRefreshThreshold)
+			return;
+
+		r_writeSnapshot(smood, persistence, gmmlSnapshot);
+	}
+
+	private static long totalLength(Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		return gmmlSnapshot.values().stream() //
+				.flatMap(List::stream) //
+				.mapToLong(fileSnapshot -> fileSnapshot.length) //
+				.sum();
+	}
+
+	private Void r_writeSnapshot(Smood smood, SnapshotSupportingManipulationPersistence persistence,
+			Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		StopWatch sw = new StopWatch();
+
+		CsaSnapshot snapshot = new CsaSnapshot();
+		snapshot.initializersFingerprint = persistence.getInitializersFingerprint();
+		snapshot.gmmlSnapshot = gmmlSnapshot;
+
+		for (GenericEntity entity : smood.getAllEntities()) {
+			PersistenceStage stage = stageRegistry.findStage(entity);
+
+			snapshot.entities.add(entity);
+			snapshot.entityStageNames.add(stage == null ? null : stage.getName());
+		}
+
+		for (Entry<PersistenceStage, StageStats> entry : stageRegistry.getStatsByStage().entrySet()) {
+			StageStats stats = entry.getValue();
+			snapshot.stageStats.put(entry.getKey().getName(), asList(stats.getInstantiations(), stats.getUpdates(), stats.getDeletes()));
+		}
+
+		try {
+			snapshot.writeTo(snapshotFile);
+
+		} catch (Exception e) {
+			log.warn("Error while writing snapshot of access [" + getAccessId() + "] to: " + snapshotFile.getAbsolutePath(), e);
+			return null;
+		}
+
+		log.debug(() -> "Access [" + getAccessId() + "] written snapshot with " + snapshot.entities.size() + " entities in " + sw.getElapsedTime()
+				+ "ms.");
+
+		return null;
+	}
+
 	// ####################################################
 	// ## . . . . . . . Apply Manipulation . . . . . . . ##
 	// ####################################################
@@ -335,14 +534,23 @@ public class CollaborativeSmoodAccess extends AbstractSmoodAccess implements Col
 	}
 
 	protected ManipulationReport applyInSmoodAndPersist(ManipulationRequest manipulationRequest) {
+		ManipulationReport result;
+		PersistenceAppender usedAppender;
+
 		writeLock.lock();
 
 		try {
-			return w_applyInSmoodAndPersist(manipulationRequest);
+			result = w_applyInSmoodAndPersist(manipulationRequest);
+			usedAppender = appender;
 
 		} finally {
 			writeLock.unlock();
 		}
+
+		// outside of the lock, so that concurrent commits can share a single sync (group commit)
+		usedAppender.sync();
+
+		return result;
 	}
 
 	protected ManipulationReport w_applyInSmoodAndPersist(ManipulationRequest manipulationRequest) {
@@ -0,0 +1,237 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.collaboration;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+
+import com.braintribe.model.access.collaboration.persistence.GmmlFileSnapshot;
+import com.braintribe.model.generic.GMF;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.GenericModelType;
+import com.braintribe.model.processing.dataio.GenericModelInputStream2;
+import com.braintribe.model.processing.dataio.GenericModelOutputStream2;
+
+/**
+ * Binary snapshot of the entire population of a {@link CollaborativeSmoodAccess}, together with the state of its GMML files at the time the
+ * snapshot was taken (see {@link GmmlFileSnapshot}). This allows the access to start by loading the snapshot and then only parsing the GMML
+ * appended since.
+ * <p>
+ * The snapshot is written with {@link GenericModelOutputStream2} as three root values - the format version, the header (initializers
+ * fingerprint and GMML state) and the body (entities with the names of their stages and the stage stats). The header is validated before the
+ * (potentially large) body is read.
+ * <p>
+ * Note that the {@link GenericModelInputStream2} forgets all the entities it has read at the end of each root value, so the header must not
+ * contain any entities. Hence the GMML variables of entities are stored as indices into the body's entity list, which also contains entities
+ * only referenced by a variable (e.g. deleted ones) after the actual population. This way the variables resolve to the very same instances as
+ * the population.
+ * 
+ * @see CollaborativeSmoodAccess#setSnapshotFile(File)
+ */
+/* package */ class CsaSnapshot {
+
+	private static final int FORMAT_VERSION = 2;
+
+	public String initializersFingerprint;
+	public Map<String, List<GmmlFileSnapshot>> gmmlSnapshot;
+
+	public final List<GenericEntity> entities = newList();
+	public final List<String> entityStageNames = newList();
+	/** Stage name -> [instantiations, updates, deletes] */
+	public final Map<String, List<Integer>> stageStats = newMap();
+
+	// ###############################################
+	// ## . . . . . . . . . Writing . . . . . . . . ##
+	// ###############################################
+
+	/** Writes this snapshot into a temporary file first, which then replaces given file atomically. */
+	public void writeTo(File file) throws IOException {
+		File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+
+		List<GenericEntity> allEntities = newList(entities);
+		Map<GenericEntity, Integer> entityIndices = indexEntities();
+
+		List<Object> header = newList();
+		header.add(initializersFingerprint);
+		header.add(encode(gmmlSnapshot, entityIndices, allEntities));
+
+		List<Object> body = newList();
+		body.add(allEntities);
+		body.add(entityStageNames);
+		body.add(stageStats);
+
+		try (GenericModelOutputStream2 out = new GenericModelOutputStream2(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.writeObject(FORMAT_VERSION);
+			out.writeObject(header);
+			out.writeObject(body);
+		}
+
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private Map<GenericEntity, Integer> indexEntities() {
+		Map<GenericEntity, Integer> result = newMap();
+
+		int i = 0;
+		for (GenericEntity entity : entities)
+			result.put(entity, i++);
+
+		return result;
+	}
+
+	private static Map<String, List<List<Object>>> encode(Map<String, List<GmmlFileSnapshot>> gmmlSnapshot, Map<GenericEntity, Integer> entityIndices,
+			List<GenericEntity> allEntities) {
+
+		Map<String, List<List<Object>>> result = newLinkedMap();
+
+		for (Entry<String, List<GmmlFileSnapshot>> entry : gmmlSnapshot.entrySet()) {
+			List<List<Object>> encodedFiles = newList();
+			for (GmmlFileSnapshot fileSnapshot : entry.getValue())
+				encodedFiles.add(encode(fileSnapshot, entityIndices, allEntities));
+
+			result.put(entry.getKey(), encodedFiles);
+		}
+
+		return result;
+	}
+
+	/**
+	 * [length, checksum, typeSignature -> variable, entityIndex -> variable]. Entities which are not part of the population are appended to given
+	 * list of all entities.
+	 */
+	private static List<Object> encode(GmmlFileSnapshot fileSnapshot, Map<GenericEntity, Integer> entityIndices, List<GenericEntity> allEntities) {
+		Map<String, String> typeVariables = newMap();
+		Map<Integer, String> entityVariables = newMap();
+
+		for (Entry<Object, String> entry : fileSnapshot.variables.entrySet()) {
+			Object key = entry.getKey();
+			if (key instanceof GenericModelType) {
+				typeVariables.put(((GenericModelType) key).getTypeSignature(), entry.getValue());
+
+			} else if (key instanceof GenericEntity) {
+				Integer index = entityIndices.computeIfAbsent((GenericEntity) key, e -> {
+					allEntities.add(e);
+					return allEntities.size() - 1;
+				});
+				entityVariables.put(index, entry.getValue());
+
+			} else {
+				throw new IllegalStateException(
+						"Cannot write GMML variable '" + entry.getValue() + "' into a snapshot, its value is neither a type nor an entity: " + key);
+			}
+		}
+
+		List<Object> result = newList();
+		result.add(fileSnapshot.length);
+		result.add(fileSnapshot.checksum);
+		result.add(typeVariables);
+		result.add(entityVariables);
+
+		return result;
+	}
+
+	// ###############################################
+	// ## . . . . . . . . . Reading . . . . . . . . ##
+	// ###############################################
+
+	/**
+	 * Reads the snapshot from given file, unless the snapshot's header is rejected by given validator, in which case <tt>null</tt> is returned and
+	 * the body is not read at all. The validator only sees the type variables of the GMML state, the entity ones are resolved once the body is read.
+	 */
+	public static CsaSnapshot readFrom(File file, Predicate<CsaSnapshot> headerValidator) throws IOException, ClassNotFoundException {
+		try (GenericModelInputStream2 in = new GenericModelInputStream2(new BufferedInputStream(new FileInputStream(file)))) {
+			Object version = in.readObject();
+			if (!Integer.valueOf(FORMAT_VERSION).equals(version))
+				return null;
+
+			List<Object> header = (List<Object>) in.readObject();
+			Map<String, List<List<Object>>> encodedGmmlSnapshot = (Map<String, List<List<Object>>>) header.get(1);
+
+			CsaSnapshot result = new CsaSnapshot();
+			result.initializersFingerprint = (String) header.get(0);
+			result.gmmlSnapshot = decode(encodedGmmlSnapshot);
+
+			if (!headerValidator.test(result))
+				return null;
+
+			List<Object> body = (List<Object>) in.readObject();
+			List<GenericEntity> allEntities = (List<GenericEntity>) body.get(0);
+
+			result.entityStageNames.addAll((List<String>) body.get(1));
+			result.entities.addAll(allEntities.subList(0, result.entityStageNames.size()));
+			result.stageStats.putAll((Map<String, List<Integer>>) body.get(2));
+			result.resolveEntityVariables(encodedGmmlSnapshot, allEntities);
+
+			return result;
+		}
+	}
+
+	private static Map<String, List<GmmlFileSnapshot>> decode(Map<String, List<List<Object>>> encodedSnapshot) {
+		Map<String, List<GmmlFileSnapshot>> result = newLinkedMap();
+
+		for (Entry<String, List<List<Object>>> entry : encodedSnapshot.entrySet()) {
+			List<GmmlFileSnapshot> fileSnapshots = newList();
+			for (List<Object> encodedFile : entry.getValue())
+				fileSnapshots.add(decode(encodedFile));
+
+			result.put(entry.getKey(), fileSnapshots);
+		}
+
+		return result;
+	}
+
+	private static GmmlFileSnapshot decode(List<Object> encodedFile) {
+		long length = (Long) encodedFile.get(0);
+		long checksum = (Long) encodedFile.get(1);
+		Map<String, String> typeVariables = (Map<String, String>) encodedFile.get(2);
+
+		Map<Object, String> variables = newMap();
+		for (Entry<String, String> entry : typeVariables.entrySet())
+			variables.put(GMF.getTypeReflection().getType(entry.getKey()), entry.getValue());
+
+		return new GmmlFileSnapshot(length, checksum, variables);
+	}
+
+	private void resolveEntityVariables(Map<String, List<List<Object>>> encodedSnapshot, List<GenericEntity> allEntities) {
+		for (Entry<String, List<List<Object>>> entry : encodedSnapshot.entrySet()) {
+			List<List<Object>> encodedFiles = entry.getValue();
+			List<GmmlFileSnapshot> fileSnapshots = gmmlSnapshot.get(entry.getKey());
+
+			for (int i = 0; i < encodedFiles.size(); i++) {
+				Map<Integer, String> entityVariables = (Map<Integer, String>) encodedFiles.get(i).get(3);
+				Map<Object, String> variables = fileSnapshots.get(i).variables;
+
+				for (Entry<Integer, String> variableEntry : entityVariables.entrySet())
+					variables.put(allEntities.get(variableEntry.getKey()), variableEntry.getValue());
+			}
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package com.braintribe.model.access.collaboration;
 import static com.braintribe.utils.lcd.CollectionTools2.acquireSet;
 import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
 
@@ -161,6 +162,22 @@ import com.braintribe.model.smoodstorage.stages.PersistenceStage;
 		stageToStats.remove(sourceStage);
 	}
 
+	/** Registers an entity restored from a {@link CsaSnapshot}. Stats are not affected, they are restored via {@link #restoreStats}. */
+	public void onEntityRestored(GenericEntity entity, PersistenceStage stage) {
+		register(entity, stage);
+	}
+
+	public void restoreStats(PersistenceStage stage, int instantiations, int updates, int deletes) {
+		StageStatsImpl stats = acquireStats(stage);
+		stats.instantiations = instantiations;
+		stats.updates = updates;
+		stats.deletes = deletes;
+	}
+
+	public Map<PersistenceStage, StageStats> getStatsByStage() {
+		return unmodifiableMap(stageToStats);
+	}
+
 	public Set<GenericEntity> getEntitiesForStage(String stageName) {
 		PersistenceStage stage = requireNonNull(stageByName.get(stageName), "Unkown stage:" + stageName);
 		Set<GenericEntity> entities = stageToEntities.get(stage);
@@ -36,6 +36,7 @@ import com.braintribe.common.lcd.UnsupportedEnumException;
 import com.braintribe.exception.Exceptions;
 import com.braintribe.logging.Logger;
 import com.braintribe.model.access.ModelAccessException;
+import com.braintribe.model.access.SelectQueryResultStream;
 import com.braintribe.model.access.collaboration.CollaborativeAccessManager;
 import com.braintribe.model.access.collaboration.CollaborativeSmoodAccess;
 import com.braintribe.model.access.collaboration.CsaStatePersistence;
@@ -157,6 +158,8 @@ public class DistributedCollaborativeSmoodAccess extends CollaborativeSmoodAcces
 	@Override
 	public void preDestroy() {
 		this.binaryPersistenceEventSource.removePersistenceListener(this);
+
+		super.preDestroy();
 	}
 
 	// @formatter:off
@@ -241,6 +244,13 @@ public class DistributedCollaborativeSmoodAccess extends CollaborativeSmoodAcces
 		return super.query(query);
 	}
 
+	@Override
+	public SelectQueryResultStream queryStream(SelectQuery query) {
+		log.trace(() -> "SelectQuery (stream): " + print(query));
+		ensureUpToDate();
+		return super.queryStream(query);
+	}
+
 	@Override
 	public EntityQueryResult queryEntities(EntityQuery query) {
 		log.trace(() -> "EntityQuery: " + print(query));
@@ -17,6 +17,8 @@ package com.braintribe.model.access.collaboration.persistence;
 
 import static com.braintribe.common.lcd.Constants.ENCODING_UTF8;
 import static com.braintribe.utils.FileTools.getNiceAbsPath;
+import static com.braintribe.utils.lcd.CollectionTools2.newConcurrentMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
 import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 import static com.braintribe.utils.lcd.CollectionTools2.swapKeysAndValues;
 import static java.util.Objects.requireNonNull;
@@ -89,6 +91,9 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 
 	protected FileBasedPersistence<List<Long>> manMarkerPersistence; // data.man.length [, model.man.length]
 
+	private final Map<File, GmmlFileChannel> fileChannels = newConcurrentMap();
+	private boolean forceOnSync;
+
 	@Configurable
 	public void setModelOracle(ModelOracle modelOracle) {
 		this.modelOracle = modelOracle;
@@ -110,6 +115,16 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 		return this;
 	}
 
+	/**
+	 * If true, {@link #sync()} forces the appended manipulations to the storage device. Concurrent commits share a single force, see
+	 * {@link GmmlFileChannel}.
+	 */
+	@Configurable
+	public AbstractGmmlManipulationPersistence setForceOnSync(boolean forceOnSync) {
+		this.forceOnSync = forceOnSync;
+		return this;
+	}
+
 	public AbstractGmmlManipulationPersistence setProblematicEntitiesRegistry(ProblematicEntitiesRegistry problematicEntitiesRegistry) {
 		this.problematicEntitiesRegistry = problematicEntitiesRegistry;
 		return this;
@@ -176,6 +191,101 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 		}
 	}
 
+	/**
+	 * Counterpart to {@link #initializeModels(PersistenceInitializationContext)} used when initializing from a population snapshot. By default there is
+	 * no model file, so this does nothing.
+	 * 
+	 * @see SnapshotSupportingManipulationPersistence
+	 */
+	public void initializeModelsFromSnapshot(PersistenceInitializationContext context, List<GmmlFileSnapshot> snapshot) {
+		// no model file by default
+	}
+
+	/**
+	 * Counterpart to {@link #initializeData(PersistenceInitializationContext)} used when initializing from a population snapshot.
+	 * 
+	 * @see SnapshotSupportingManipulationPersistence
+	 */
+	public abstract void initializeDataFromSnapshot(PersistenceInitializationContext context, List<GmmlFileSnapshot> snapshot);
+
+	/**
+	 * Similar to {@link #initialize(PersistenceInitializationContext, File)}, but only parses the part of the file appended after given snapshot was
+	 * taken, with the snapshot's variables already being known to the parser.
+	 */
+	protected Map<Object, String> initialize(PersistenceInitializationContext context, File gmmlFile, GmmlFileSnapshot snapshot) {
+		truncateFileIfMarkerPresent(gmmlFile);
+
+		Map<Object, String> variables = snapshot.variables;
+		if (!gmmlFile.exists() || gmmlFile.length() == snapshot.length)
+			return variables;
+
+		try (InputStream in = new BufferedInputStream(FileTools.newInputStream(gmmlFile, snapshot.length))) {
+			ParseResponse response = ManipulatorParser.parse(in, ENCODING_UTF8, context.getSession(), tailParserConfig(gmmlFile, variables));
+			return invertVariablesMap(response.newVariables, variables);
+
+		} catch (Exception e) {
+			throw Exceptions.unchecked(e, "Error while parsing file: " + getNiceAbsPath(gmmlFile) + ", starting at position: " + snapshot.length);
+		}
+	}
+
+	private GmmlManipulatorParserConfiguration tailParserConfig(File gmmlFile, Map<Object, String> variables) {
+		MutableGmmlManipulatorParserConfiguration result = CsaPersistenceTools.parserConfig(gmmlFile);
+		prepareStandardParserConfig(result);
+		result.setVariables(swapKeysAndValues(variables));
+
+		return result;
+	}
+
+	/** Returns the current state of the GMML files, in the order given by {@link #getGmmlStageFiles()}. */
+	public List<GmmlFileSnapshot> getGmmlSnapshot() {
+		List<File> files = getGmmlStageFiles().collect(Collectors.toList());
+		List<Map<Object, String>> variablesMaps = getVariablesMapStream().collect(Collectors.toList());
+
+		List<GmmlFileSnapshot> result = newList();
+		for (int i = 0; i < files.size(); i++) {
+			File gmmlFile = files.get(i);
+			long length = gmmlFile.exists() ? gmmlFile.length() : 0;
+
+			result.add(new GmmlFileSnapshot(length, GmmlFileSnapshot.checksum(gmmlFile, length), newMap(variablesMaps.get(i))));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns <tt>true</tt> iff the GMML files (considering the markers, if present) are at least as long as they were when the snapshot was taken,
+	 * and the bytes preceding the snapshot offset were not changed since.
+	 */
+	public boolean isSnapshotApplicable(List<GmmlFileSnapshot> snapshot) {
+		List<File> files = getGmmlStageFiles().collect(Collectors.toList());
+		if (snapshot.size() != files.size())
+			return false;
+
+		List<Long> markers = manMarkerPersistence.get();
+
+		for (int i = 0; i < files.size(); i++) {
+			File gmmlFile = files.get(i);
+			GmmlFileSnapshot fileSnapshot = snapshot.get(i);
+
+			if (effectiveLength(gmmlFile, markers, i) < fileSnapshot.length)
+				return false;
+
+			if (GmmlFileSnapshot.checksum(gmmlFile, fileSnapshot.length) != fileSnapshot.checksum)
+				return false;
+		}
+
+		return true;
+	}
+
+	/** Returns the length the file will have once it is truncated according to the markers (see {@link #truncateFileIfMarkerPresent(File)}). */
+	private static long effectiveLength(File gmmlFile, List<Long> markers, int index) {
+		if (!gmmlFile.exists())
+			return 0;
+
+		long length = gmmlFile.length();
+		return markers == null ? length : Math.min(length, markers.get(index));
+	}
+
 	private GmmlManipulatorParserConfiguration parserConfig(File gmmlFile, Set<String> homeopathicVariables) {
 		MutableGmmlManipulatorParserConfiguration result = CsaPersistenceTools.parserConfig(gmmlFile);
 		prepareStandardParserConfig(result);
@@ -218,7 +328,7 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 
 	protected void storeManMarkers() {
 		List<Long> markers = getGmmlStageFiles() //
-				.map(File::length) //
+				.map(f -> fileChannel(f).size()) //
 				.collect(Collectors.toList());
 
 		manMarkerPersistence.accept(markers);
@@ -250,10 +360,11 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 
 		stringifier.setSingleBlock(true);
 
-		long newManStartPosition = gmmlFile.length();
+		GmmlFileChannel fileChannel = fileChannel(gmmlFile);
+		long newManStartPosition = fileChannel.size();
 
 		try {
-			FileTools.write(gmmlFile).append(true).usingWriter(w -> stringifier.stringify(w, manipulation));
+			fileChannel.append(manipulation, stringifier);
 
 		} catch (Exception e) {
 			throw new ManipulationPersistenceException("Error occured while appending manipulation to file '" + gmmlFile.getAbsolutePath()
@@ -263,7 +374,7 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 		if (isRemote)
 			rememberUsedVariables(variables, (RemoteManipulationStringifier) stringifier);
 
-		long bytesWritten = gmmlFile.length() - newManStartPosition;
+		long bytesWritten = fileChannel.size() - newManStartPosition;
 		InputStreamProvider isp = () -> FileTools.newInputStream(gmmlFile, newManStartPosition);
 
 		return new AppendedSnippetImpl(bytesWritten, isp);
@@ -338,10 +449,50 @@ public abstract class AbstractGmmlManipulationPersistence extends AbstractPersis
 
 		// append to file
 		try (InputStream in = gmmlResource.openStream()) {
-			IOTools.inputToFile(in, gmmlFile, true);
+			fileChannel(gmmlFile).append(in);
 		}
 	}
 
+	private GmmlFileChannel fileChannel(File gmmlFile) {
+		return fileChannels.computeIfAbsent(gmmlFile, GmmlFileChannel::new);
+	}
+
+	/**
+	 * Makes sure everything appended so far is forced to the storage device, if {@link #setForceOnSync(boolean) configured}. This is meant to be
+	 * called outside of the access lock, so that concurrent commits can share a single force.
+	 */
+	@Override
+	public void sync() {
+		if (!forceOnSync)
+			return;
+
+		for (GmmlFileChannel fileChannel : fileChannels.values()) {
+			try {
+				fileChannel.force();
+
+			} catch (IOException e) {
+				throw new ManipulationPersistenceException("Error while forcing appended manipulations to the storage device. Stage: " + stage.getName(),
+						e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the GMML files kept open for appending. This must be called before the files are renamed or deleted. Next append re-opens the file.
+	 */
+	public void closeFileChannels() {
+		for (GmmlFileChannel fileChannel : fileChannels.values()) {
+			try {
+				fileChannel.close();
+
+			} catch (IOException e) {
+				log.warn("Error while closing GMML file of stage: " + stage.getName(), e);
+			}
+		}
+
+		fileChannels.clear();
+	}
+
 	private GmmlManipulatorParserConfiguration parserConfig(Map<Object, String> variables) {
 		MutableGmmlManipulatorParserConfiguration result = Gmml.manipulatorConfiguration();
 		prepareStandardParserConfig(result);
@@ -17,6 +17,7 @@ package com.braintribe.model.access.collaboration.persistence;
 
 import static com.braintribe.model.access.collaboration.offline.CollaborativeAccessOfflineManager.getStageNamesToKeepOnReset;
 import static com.braintribe.utils.lcd.CollectionTools2.last;
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
 import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 import static com.braintribe.utils.lcd.CollectionTools2.updateMapKey;
 import static java.util.Collections.emptyList;
@@ -56,7 +57,6 @@ import com.braintribe.model.processing.manipulation.parser.impl.listener.error.S
 import com.braintribe.model.processing.manipulation.parser.impl.manipulator.AppendingProblematicEntitiesRegistry;
 import com.braintribe.model.processing.meta.oracle.ModelOracle;
 import com.braintribe.model.processing.session.api.collaboration.CollaborativeAccess;
-import com.braintribe.model.processing.session.api.collaboration.CollaborativeManipulationPersistence;
 import com.braintribe.model.processing.session.api.collaboration.ManipulationPersistenceException;
 import com.braintribe.model.processing.session.api.collaboration.PersistenceAppender;
 import com.braintribe.model.processing.session.api.collaboration.PersistenceInitializationContext;
@@ -75,7 +75,8 @@ import com.braintribe.utils.FileTools;
  * 
  * @author peter.gazdik
  */
-public abstract class AbstractManipulationPersistence<G extends AbstractGmmlManipulationPersistence> implements CollaborativeManipulationPersistence {
+public abstract class AbstractManipulationPersistence<G extends AbstractGmmlManipulationPersistence>
+		implements SnapshotSupportingManipulationPersistence {
 
 	protected static final String COMMENT_PREFIX = "#";
 	protected static final String TRUNK_STAGE = "trunk";
@@ -95,6 +96,7 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 	private GmmlManipulatorErrorHandler errorHandler = StrictErrorHandler.INSTANCE;
 	private Predicate<AtomicManipulation> manipulationFilter;
 	private Consumer<Manipulation> appendedManipulationListener;
+	private boolean forceOnSync;
 
 	// Internal
 	private PersistenceAppender appender;
@@ -177,6 +179,12 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 		this.appendedManipulationListener = appendedManipulationListener;
 	}
 
+	/** @see AbstractGmmlManipulationPersistence#setForceOnSync(boolean) */
+	@Configurable
+	public void setForceOnSync(boolean forceOnSync) {
+		this.forceOnSync = forceOnSync;
+	}
+
 	// ############################################################
 	// ## . . . . . . . . ServiceRequest methods . . . . . . . . ##
 	// ############################################################
@@ -192,6 +200,7 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 		log.debug(() -> "Renaming persistence stage from '" + oldName + "' to: " + newName);
 
 		updateMapKey(initializersByName, oldName, newName);
+		gmmlPersistence.closeFileChannels();
 		renameStageFolder(oldName, newName, oldFolder, newFolder);
 		gmmlPersistence.configureStage(newFolder, newName);
 	}
@@ -223,6 +232,9 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 
 		Stream<File> sourceStageFiles = sourcePersistence.getGmmlStageFiles();
 
+		// source files are deleted once merged
+		sourcePersistence.closeFileChannels();
+
 		mergeManipulationsTo(sourceStageFiles, targetPersistence);
 
 		if (TRUNK_STAGE.equals(source))
@@ -274,6 +286,7 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 	public void reset() {
 		/* We only nullify 'configuredInitializers', as the caller is expected to do re-initialization right away, which leads to
 		 * ensureConfigurationProcessed and thus update of everything. */
+		closeFileChannels();
 		deleteStageFolders();
 		configuredInitializers = null;
 	}
@@ -307,6 +320,13 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 					+ ". Reset will proceed, but manual clean-up might be needed.");
 	}
 
+	/** Closes the GMML files kept open for appending by all the stages. Files are re-opened on the next append. */
+	public void closeFileChannels() {
+		if (configuredInitializers != null)
+			for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences())
+				gmmlPersistence.closeFileChannels();
+	}
+
 	@Override
 	public Stream<Resource> getResourcesForStage(String name) {
 		return getStageFiles(name).map(AbstractManipulationPersistence::toFileResource);
@@ -409,6 +429,112 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 		}
 	}
 
+	// ############################################################
+	// ## . . . . . . . . . . . Snapshot methods . . . . . . . . .##
+	// ############################################################
+
+	@Override
+	public String getInitializersFingerprint() {
+		ensureConfigurationProcessed();
+
+		return allInitializers() //
+				.map(pi -> pi.getClass().getName() + ":" + getInitializerName(pi)) //
+				.collect(Collectors.joining("\n"));
+	}
+
+	@Override
+	public Map<String, List<GmmlFileSnapshot>> getGmmlSnapshot() {
+		ensureConfigurationProcessed();
+
+		Map<String, List<GmmlFileSnapshot>> result = newLinkedMap();
+		for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences())
+			result.put(getInitializerName(gmmlPersistence), gmmlPersistence.getGmmlSnapshot());
+
+		return result;
+	}
+
+	@Override
+	public boolean isSnapshotApplicable(Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		ensureConfigurationProcessed();
+
+		List<AbstractGmmlManipulationPersistence> gmmlPersistences = gmmlPersistences();
+		if (gmmlPersistences.size() != gmmlSnapshot.size())
+			return false;
+
+		for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences) {
+			List<GmmlFileSnapshot> stageSnapshot = gmmlSnapshot.get(getInitializerName(gmmlPersistence));
+			if (stageSnapshot == null || !gmmlPersistence.isSnapshotApplicable(stageSnapshot))
+				return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public PersistenceStage findPersistenceStage(String name) {
+		return allInitializers() //
+				.map(PersistenceInitializer::getPersistenceStage) //
+				.filter(stage -> name.equals(stage.getName())) //
+				.findFirst() //
+				.orElse(null);
+	}
+
+	@Override
+	public void initializeModelsFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException {
+		onInitializationStart();
+
+		initializeMetaModelsFromSnapshot(context, gmmlSnapshot);
+	}
+
+	@Override
+	public void initializeDataFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException {
+		initializeDataOnlyFromSnapshot(context, gmmlSnapshot);
+
+		onInitializationEnd();
+	}
+
+	protected void initializeModelAndDataFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		onInitializationStart();
+
+		for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences()) {
+			List<GmmlFileSnapshot> stageSnapshot = gmmlSnapshot.get(getInitializerName(gmmlPersistence));
+
+			context.setCurrentPersistenceStage(gmmlPersistence.getPersistenceStage());
+			gmmlPersistence.initializeModelsFromSnapshot(context, stageSnapshot);
+			gmmlPersistence.initializeDataFromSnapshot(context, stageSnapshot);
+		}
+
+		onInitializationEnd();
+	}
+
+	private void initializeMetaModelsFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences()) {
+			context.setCurrentPersistenceStage(gmmlPersistence.getPersistenceStage());
+			gmmlPersistence.initializeModelsFromSnapshot(context, gmmlSnapshot.get(getInitializerName(gmmlPersistence)));
+		}
+	}
+
+	private void initializeDataOnlyFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		for (AbstractGmmlManipulationPersistence gmmlPersistence : gmmlPersistences()) {
+			context.setCurrentPersistenceStage(gmmlPersistence.getPersistenceStage());
+			gmmlPersistence.initializeDataFromSnapshot(context, gmmlSnapshot.get(getInitializerName(gmmlPersistence)));
+		}
+	}
+
+	private List<AbstractGmmlManipulationPersistence> gmmlPersistences() {
+		return configuredInitializers.stream() //
+				.filter(AbstractGmmlManipulationPersistence.class::isInstance) //
+				.map(AbstractGmmlManipulationPersistence.class::cast) //
+				.collect(Collectors.toList());
+	}
+
+	private Stream<PersistenceInitializer> allInitializers() {
+		return Stream.of(staticInitializers, configuredInitializers, staticPostInitializers) //
+				.flatMap(List::stream);
+	}
+
 	private void releaseManagedInitializersIfNeeded() {
 		for (ManagedValue<PersistenceInitializer> managedInitializer : managedInitializers)
 			managedInitializer.release();
@@ -571,6 +697,7 @@ public abstract class AbstractManipulationPersistence<G extends AbstractGmmlMani
 		G persistence = createGmmlPersistence();
 		persistence.configureStage(newStageBaseFolder(name), name);
 		persistence.setGmmlErrorHandler(errorHandler);
+		persistence.setForceOnSync(forceOnSync);
 		persistence.setProblematicEntitiesRegistry(problematicEntitiesRegistry);
 		persistence.setModelOracle(modelOracle);
 		persistence.setCreatedEntitiesSupplier(() -> csa.getCreatedEntitiesForStage(name));
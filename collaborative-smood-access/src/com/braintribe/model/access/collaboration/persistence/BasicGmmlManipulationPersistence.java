@@ -18,6 +18,7 @@ package com.braintribe.model.access.collaboration.persistence;
 import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -47,6 +48,11 @@ public class BasicGmmlManipulationPersistence extends AbstractGmmlManipulationPe
 		dataVariables = initialize(context, dataFile);
 	}
 
+	@Override
+	public void initializeDataFromSnapshot(PersistenceInitializationContext context, List<GmmlFileSnapshot> snapshot) {
+		dataVariables = initialize(context, dataFile, snapshot.get(0));
+	}
+
 	@Override
 	public AppendedSnippet[] append(Manipulation manipulation, ManipulationMode mode) {
 		storeManMarkers();
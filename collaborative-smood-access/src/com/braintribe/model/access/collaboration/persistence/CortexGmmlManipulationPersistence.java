@@ -75,6 +75,16 @@ public class CortexGmmlManipulationPersistence extends AbstractGmmlManipulationP
 		dataVariables = initialize(context, dataFile);
 	}
 
+	@Override
+	public void initializeModelsFromSnapshot(PersistenceInitializationContext context, List<GmmlFileSnapshot> snapshot) {
+		modelVariables = initialize(context, modelFile, snapshot.get(1));
+	}
+
+	@Override
+	public void initializeDataFromSnapshot(PersistenceInitializationContext context, List<GmmlFileSnapshot> snapshot) {
+		dataVariables = initialize(context, dataFile, snapshot.get(0));
+	}
+
 	@Override
 	public AppendedSnippet[] append(Manipulation manipulation, ManipulationMode mode) throws ManipulationPersistenceException {
 		storeManMarkers();
@@ -18,6 +18,8 @@ package com.braintribe.model.access.collaboration.persistence;
 import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import com.braintribe.cfg.Required;
 import com.braintribe.model.generic.GenericEntity;
@@ -103,6 +105,35 @@ public class CortexManipulationPersistence extends AbstractManipulationPersisten
 		deployCortexServiceModel(context);
 	}
 
+	@Override
+	public void initializeModelsFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException {
+		if (mergeModelAndData)
+			return;
+
+		super.initializeModelsFromSnapshot(context, gmmlSnapshot);
+
+		deployCortexModel(context);
+		deployCortexServiceModel(context);
+	}
+
+	@Override
+	public void initializeDataFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException {
+		if (!mergeModelAndData)
+			super.initializeDataFromSnapshot(context, gmmlSnapshot);
+		else
+			initializeModelAndDataFromSnapshot(context, gmmlSnapshot);
+	}
+
+	@Override
+	protected void initializeModelAndDataFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot) {
+		super.initializeModelAndDataFromSnapshot(context, gmmlSnapshot);
+
+		deployCortexModel(context);
+		deployCortexServiceModel(context);
+	}
+
 	private void deployCortexModel(PersistenceInitializationContext context) throws ManipulationPersistenceException {
 		deployModel(context, dataModelName);
 	}
@@ -75,6 +75,11 @@ public class FilteringPersistenceAppender implements PersistenceAppender {
 		delegate.append(gmmlResources, entityManager);
 	}
 
+	@Override
+	public void sync() {
+		delegate.sync();
+	}
+
 	@Override
 	public PersistenceStage getPersistenceStage() {
 		return delegate.getPersistenceStage();
@@ -0,0 +1,140 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.collaboration.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import com.braintribe.model.generic.manipulation.Manipulation;
+import com.braintribe.model.processing.manipulation.marshaller.ManipulationStringifier;
+
+/**
+ * Long-lived {@link FileChannel} used to append to a single GMML file, so that the file is not opened and closed for every append, and its size
+ * is tracked in memory rather than queried from the file system.
+ * <p>
+ * Appending is expected to be done by one thread at a time (i.e. under the access' write lock), but {@link #force()} may be called concurrently,
+ * typically after the lock was released. It implements a group commit - the first thread to enter forces everything written so far, and the
+ * threads waiting meanwhile then see their data was forced already and return right away. Thus concurrent commits share a single
+ * {@link FileChannel#force(boolean) force}.
+ * 
+ * @see AbstractGmmlManipulationPersistence#sync()
+ */
+public class GmmlFileChannel {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File file;
+	private final Object forceMonitor = new Object();
+
+	private volatile FileChannel channel;
+	private volatile long size;
+	private volatile long forcedSize;
+
+	public GmmlFileChannel(File file) {
+		this.file = file;
+	}
+
+	/** Returns the size of the file, including everything appended via this channel so far. */
+	public long size() {
+		return channel != null ? size : file.length();
+	}
+
+	public void append(Manipulation manipulation, ManipulationStringifier stringifier) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		stringifier.stringify(sb, manipulation);
+
+		write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	public void append(InputStream in) throws IOException {
+		byte[] bytes = new byte[BUFFER_SIZE];
+
+		int read;
+		while ((read = in.read(bytes)) != -1)
+			write(ByteBuffer.wrap(bytes, 0, read));
+	}
+
+	private void write(ByteBuffer buffer) throws IOException {
+		FileChannel c = ensureOpen();
+
+		long written = 0;
+		while (buffer.hasRemaining())
+			written += c.write(buffer);
+
+		size += written;
+	}
+
+	private FileChannel ensureOpen() throws IOException {
+		if (channel == null) {
+			FileChannel c = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			size = c.size();
+			forcedSize = size;
+			channel = c;
+		}
+
+		return channel;
+	}
+
+	/** Forces everything appended so far to the storage device, sharing the actual force with concurrent callers. */
+	public void force() throws IOException {
+		long target = size;
+		if (target <= forcedSize)
+			return;
+
+		synchronized (forceMonitor) {
+			// another thread might have forced our data while we were waiting
+			if (target <= forcedSize || channel == null)
+				return;
+
+			long toBeForced = size;
+			channel.force(false);
+			forcedSize = toBeForced;
+		}
+	}
+
+	/**
+	 * Forces whatever was appended but not forced yet and closes the underlying channel (if open). Next append opens it again.
+	 * <p>
+	 * The force is needed as {@link #force()} does nothing once the channel is closed, so the data appended since the last force would otherwise
+	 * never be forced.
+	 */
+	public void close() throws IOException {
+		synchronized (forceMonitor) {
+			FileChannel c = channel;
+			if (c == null)
+				return;
+
+			channel = null;
+
+			try {
+				if (forcedSize < size) {
+					long toBeForced = size;
+					c.force(false);
+					forcedSize = toBeForced;
+				}
+
+			} finally {
+				c.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.collaboration.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.braintribe.model.processing.session.api.collaboration.ManipulationPersistenceException;
+
+/**
+ * State of a single GMML file of a stage at the moment a population snapshot was taken, i.e. the length of the file (the same offset which would
+ * be written into the <tt>marker.txt</tt> file), a checksum of the bytes preceding that offset and the variables of the stage's appender.
+ * <p>
+ * When initializing from a snapshot, only the part of the file beyond {@link #length} is parsed, with {@link #variables} being the variables
+ * which were already assigned in the preceding part.
+ * 
+ * @see SnapshotSupportingManipulationPersistence
+ */
+public class GmmlFileSnapshot {
+
+	/** How many bytes before the snapshot offset are used to compute the {@link #checksum} */
+	private static final int CHECKSUM_WINDOW = 64 * 1024;
+
+	public final long length;
+	public final long checksum;
+	public final Map<Object, String> variables;
+
+	public GmmlFileSnapshot(long length, long checksum, Map<Object, String> variables) {
+		this.length = length;
+		this.checksum = checksum;
+		this.variables = variables;
+	}
+
+	/**
+	 * Computes the checksum of (at most) {@value #CHECKSUM_WINDOW} bytes of given file preceding given offset. This is used to recognize the file was
+	 * re-written since the snapshot was taken (e.g. purged and then appended again).
+	 */
+	public static long checksum(File gmmlFile, long length) {
+		if (length == 0)
+			return 0;
+
+		long start = Math.max(0, length - CHECKSUM_WINDOW);
+		byte[] bytes = new byte[(int) (length - start)];
+
+		try (RandomAccessFile raf = new RandomAccessFile(gmmlFile, "r")) {
+			raf.seek(start);
+			raf.readFully(bytes);
+
+		} catch (IOException e) {
+			throw new ManipulationPersistenceException("Error while computing checksum of GMML file: " + gmmlFile.getAbsolutePath(), e);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+
+		return crc.getValue();
+	}
+
+}
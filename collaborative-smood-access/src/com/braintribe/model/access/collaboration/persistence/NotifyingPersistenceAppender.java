@@ -60,6 +60,11 @@ public class NotifyingPersistenceAppender implements PersistenceAppender {
 		delegate.append(gmmlResources, entityManager);
 	}
 
+	@Override
+	public void sync() {
+		delegate.sync();
+	}
+
 	@Override
 	public PersistenceStage getPersistenceStage() {
 		return delegate.getPersistenceStage();
@@ -0,0 +1,65 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.access.collaboration.persistence;
+
+import java.util.List;
+import java.util.Map;
+
+import com.braintribe.model.processing.session.api.collaboration.CollaborativeManipulationPersistence;
+import com.braintribe.model.processing.session.api.collaboration.ManipulationPersistenceException;
+import com.braintribe.model.processing.session.api.collaboration.PersistenceInitializationContext;
+import com.braintribe.model.smoodstorage.stages.PersistenceStage;
+
+/**
+ * {@link CollaborativeManipulationPersistence} which can be initialized from a snapshot of the population, i.e. which only parses the parts of the
+ * GMML files which were appended after the snapshot was taken.
+ * <p>
+ * The snapshot state of the GMML files is described as a map from stage name to the {@link GmmlFileSnapshot}s of the stage, in the order given by
+ * {@link AbstractGmmlManipulationPersistence#getGmmlStageFiles()}.
+ * <p>
+ * Note that initializers which are not GMML based (static initializers and custom initializers) are not run at all when initializing from a
+ * snapshot, their part of the population is expected to be part of the snapshot. Thus, if such an initializer changes, the snapshot has to be
+ * discarded, which is recognized via {@link #getInitializersFingerprint()} only as long as the name of the initializer's stage or its class
+ * changes.
+ * 
+ * @see AbstractManipulationPersistence
+ */
+public interface SnapshotSupportingManipulationPersistence extends CollaborativeManipulationPersistence {
+
+	/** Describes all the initializers (static, configured, post) with their stages. Snapshot is only applicable if this hasn't changed. */
+	String getInitializersFingerprint();
+
+	/** Returns the current state of all the GMML stages. Must not be called while manipulations are being appended. */
+	Map<String, List<GmmlFileSnapshot>> getGmmlSnapshot();
+
+	/** Returns <tt>true</tt> iff all the GMML files described by given snapshot state were only appended to since the snapshot was taken. */
+	boolean isSnapshotApplicable(Map<String, List<GmmlFileSnapshot>> gmmlSnapshot);
+
+	/** Returns the stage with given name of any initializer, including the static post initializers. */
+	PersistenceStage findPersistenceStage(String name);
+
+	/**
+	 * Counterpart to {@link #initializeModels(PersistenceInitializationContext)}, which expects the population as of given snapshot state is already
+	 * present in the session, and thus only applies the model manipulations appended since.
+	 */
+	void initializeModelsFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException;
+
+	/** Counterpart to {@link #initializeData(PersistenceInitializationContext)}, analogous to {@link #initializeModelsFromSnapshot}. */
+	void initializeDataFromSnapshot(PersistenceInitializationContext context, Map<String, List<GmmlFileSnapshot>> gmmlSnapshot)
+			throws ManipulationPersistenceException;
+
+}
@@ -28,10 +28,12 @@ import com.braintribe.model.generic.pr.criteria.EntityCriterion;
 import com.braintribe.model.generic.pr.criteria.JokerCriterion;
 import com.braintribe.model.generic.pr.criteria.RootCriterion;
 import com.braintribe.model.generic.pr.criteria.TraversingCriterion;
+import com.braintribe.model.generic.processing.pr.fluent.TC;
 import com.braintribe.model.generic.reflection.AbstractProperty;
 import com.braintribe.model.generic.reflection.StandardTraversingContext;
 import com.braintribe.model.generic.reflection.cloning.model.AclTcEntity;
 import com.braintribe.model.generic.reflection.cloning.model.City;
+import com.braintribe.model.generic.reflection.cloning.model.Country;
 import com.braintribe.utils.collection.impl.AttributeContexts;
 
 /**
@@ -107,6 +109,47 @@ public class StandardMatcherTest {
 		assertMatches(false); // we don't match properties, even if on matching ACL entity
 	}
 
+	/** Decisions for a TC which only examines the entity and property are cached, so let's check different owners are distinguished. */
+	@Test
+	public void testEntityProperty_DecisionIsPerOwnerType() throws Exception {
+		setMatcherTc(TC.create().pattern().entity(Country.T).property("name").close().done());
+
+		City city = City.T.create();
+		Country country = Country.T.create();
+
+		for (int i = 0; i < 2; i++) {
+			pushRoot(city);
+			pushEntity(city);
+			pushProperty("name");
+			assertMatches(false);
+			popAll();
+
+			pushRoot(country);
+			pushEntity(country);
+			pushProperty("name");
+			assertMatches(true);
+			popAll();
+		}
+	}
+
+	/** TC which examines more than the entity and property is not compiled, but must still be evaluated correctly. */
+	@Test
+	public void testRootEntityProperty_NotCompiled() throws Exception {
+		setMatcherTc(TC.create().pattern().root().entity(Country.T).property("name").close().done());
+
+		Country country = Country.T.create();
+
+		pushRoot(country);
+		pushEntity(country);
+		pushProperty("name");
+		assertMatches(true);
+		popAll();
+
+		pushEntity(country);
+		pushProperty("name");
+		assertMatches(false);
+	}
+
 	private AclCriterion aclWriteCriterion() {
 		AclCriterion acl = AclCriterion.T.create();
 		acl.setOperation("write");
@@ -138,6 +181,11 @@ public class StandardMatcherTest {
 		context.pushTraversingCriterion(p.acquireCriterion(), p.get(entity));
 	}
 
+	private void popAll() {
+		while (!context.getTraversingStack().isEmpty())
+			context.popTraversingCriterion();
+	}
+
 	private void assertMatches(boolean expected) {
 		assertThat(matcher.matches(context)).isEqualTo(expected);
 	}
@@ -71,6 +71,9 @@ public class StandardMatcher implements Matcher {
 	private Function<String, TraversingCriterion> placeholderLookup = s -> null;
 	private Function<ValueDescriptor, Object> propertyValueComparisonResolver = null;
 
+	private volatile TcDecisionTable decisionTable;
+	private volatile boolean decisionTableCompiled;
+
 	public static StandardMatcher create(TraversingCriterion tc) {
 		StandardMatcher result = new StandardMatcher();
 		result.setCriterion(tc);
@@ -80,6 +83,7 @@ public class StandardMatcher implements Matcher {
 
 	public void setCriterion(TraversingCriterion criterion) {
 		this.criterion = criterion;
+		this.decisionTableCompiled = false;
 	}
 
 	public TraversingCriterion getCriterion() {
@@ -101,12 +105,32 @@ public class StandardMatcher implements Matcher {
 
 	@Override
 	public boolean matches(TraversingContext traversingContext) {
-		if (checkOnlyProperties && traversingContext.getCurrentCriterionType() != CriterionType.PROPERTY) {
+		CriterionType currentCriterionType = traversingContext.getCurrentCriterionType();
+		if (checkOnlyProperties && currentCriterionType != CriterionType.PROPERTY) {
 			return false;
 		}
-		
+
+		if (currentCriterionType == CriterionType.PROPERTY) {
+			TcDecisionTable table = decisionTable();
+			if (table != null) {
+				Boolean result = table.matches(traversingContext.getTraversingStack());
+				if (result != null)
+					return result;
+			}
+		}
+
 		return matches(new RewindIterator(traversingContext.getTraversingStack(), traversingContext.getObjectStack()), criterion);
 	}
+
+	/** Returns the compiled form of our criterion, or <tt>null</tt> if it cannot be compiled. See {@link TcDecisionTable}. */
+	private TcDecisionTable decisionTable() {
+		if (!decisionTableCompiled) {
+			decisionTable = TcDecisionTable.compile(this, criterion);
+			decisionTableCompiled = true;
+		}
+
+		return decisionTable;
+	}
 	
 	public boolean matches(TcIterator iterator) {
 		if(checkOnlyProperties && iterator.hasPrevious()){
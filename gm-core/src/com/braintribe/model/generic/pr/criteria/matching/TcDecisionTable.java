@@ -0,0 +1,169 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.generic.pr.criteria.matching;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.braintribe.model.generic.pr.criteria.BasicCriterion;
+import com.braintribe.model.generic.pr.criteria.ConjunctionCriterion;
+import com.braintribe.model.generic.pr.criteria.CriterionType;
+import com.braintribe.model.generic.pr.criteria.DisjunctionCriterion;
+import com.braintribe.model.generic.pr.criteria.NegationCriterion;
+import com.braintribe.model.generic.pr.criteria.PatternCriterion;
+import com.braintribe.model.generic.pr.criteria.PropertyCriterion;
+import com.braintribe.model.generic.pr.criteria.TraversingCriterion;
+
+/**
+ * Compiled form of a {@link TraversingCriterion}, which caches the match decisions for a property on top of the traversing stack, per owner
+ * entity type and property.
+ * <p>
+ * The TC is analyzed once to find out how deep into the traversing stack it may look. If this depth is at most two (i.e. the TC only examines the
+ * property and the entity which owns it), and the TC does not depend on anything but the criteria on the stack (no value conditions, ACL,
+ * placeholders or recursion), then the match result is fully determined by the type signature of the owner entity and the name and type signature
+ * of the property. Such decisions are evaluated only once via {@link StandardMatcher} and then served from a table, without any allocation.
+ * <p>
+ * For any other situation {@link #matches(List)} returns <tt>null</tt>, meaning the caller has to evaluate the TC the standard way.
+ */
+class TcDecisionTable {
+
+	private static final int UNBOUNDED = -1;
+	private static final String NO_OWNER = "";
+
+	private final StandardMatcher matcher;
+	private final int depth;
+
+	// owner type signature -> property name -> property type signature -> decision
+	private final Map<String, Map<String, Map<String, Boolean>>> decisions = new ConcurrentHashMap<>();
+
+	private TcDecisionTable(StandardMatcher matcher, int depth) {
+		this.matcher = matcher;
+		this.depth = depth;
+	}
+
+	/** @return the compiled table or <tt>null</tt> if given TC cannot be compiled. */
+	public static TcDecisionTable compile(StandardMatcher matcher, TraversingCriterion tc) {
+		int depth = depthOf(tc);
+		if (depth < 1 || depth > 2)
+			return null;
+
+		return new TcDecisionTable(matcher, depth);
+	}
+
+	/**
+	 * @return the match decision for given stack with a {@link PropertyCriterion} on top, or <tt>null</tt> if the decision cannot be made based on
+	 *         this table.
+	 */
+	public Boolean matches(List<BasicCriterion> stack) {
+		int size = stack.size();
+		PropertyCriterion pc = (PropertyCriterion) stack.get(size - 1);
+
+		String propertyName = pc.getPropertyName();
+		String propertyTypeSignature = pc.getTypeSignature();
+		if (propertyName == null || propertyTypeSignature == null)
+			return null;
+
+		BasicCriterion owner = null;
+		String ownerKey = NO_OWNER;
+
+		if (depth == 2) {
+			if (size < 2)
+				return null;
+
+			owner = stack.get(size - 2);
+			if (owner.criterionType() != CriterionType.ENTITY || owner.getTypeSignature() == null)
+				return null;
+
+			ownerKey = owner.getTypeSignature();
+		}
+
+		Map<String, Boolean> byType = decisions //
+				.computeIfAbsent(ownerKey, k -> new ConcurrentHashMap<>()) //
+				.computeIfAbsent(propertyName, k -> new ConcurrentHashMap<>());
+
+		Boolean result = byType.get(propertyTypeSignature);
+		if (result == null) {
+			List<BasicCriterion> relevantStack = owner == null ? Collections.singletonList(pc) : Arrays.asList(owner, pc);
+			result = matcher.matches(relevantStack);
+			byType.put(propertyTypeSignature, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the maximum number of stack elements given TC might examine, or {@link #UNBOUNDED} if unknown or if the result might depend on
+	 * anything else than the criteria on the stack.
+	 */
+	private static int depthOf(TraversingCriterion tc) {
+		if (tc == null)
+			return 0;
+
+		switch (tc.criterionType()) {
+			case JOKER:
+			case ROOT:
+			case ENTITY:
+			case PROPERTY:
+			case TYPE_CONDITION:
+			case LIST_ELEMENT:
+			case SET_ELEMENT:
+			case MAP:
+			case MAP_ENTRY:
+			case MAP_KEY:
+			case MAP_VALUE:
+				return 1;
+
+			case NEGATION:
+				return depthOf(((NegationCriterion) tc).getCriterion());
+
+			case CONJUNCTION:
+				return maxDepthOf(((ConjunctionCriterion) tc).getCriteria());
+
+			case DISJUNCTION:
+				return maxDepthOf(((DisjunctionCriterion) tc).getCriteria());
+
+			case PATTERN: {
+				int result = 0;
+				for (TraversingCriterion operand : ((PatternCriterion) tc).getCriteria()) {
+					int d = depthOf(operand);
+					if (d == UNBOUNDED)
+						return UNBOUNDED;
+					result += d;
+				}
+				return result;
+			}
+
+			default:
+				// ACL, VALUE_CONDITION, PLACEHOLDER, RECURSION
+				return UNBOUNDED;
+		}
+	}
+
+	private static int maxDepthOf(List<TraversingCriterion> tcs) {
+		int result = 0;
+		for (TraversingCriterion operand : tcs) {
+			int d = depthOf(operand);
+			if (d == UNBOUNDED)
+				return UNBOUNDED;
+			result = Math.max(result, d);
+		}
+		return result;
+	}
+
+}
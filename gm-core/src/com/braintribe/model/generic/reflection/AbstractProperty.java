@@ -31,6 +31,7 @@ public abstract class AbstractProperty implements Property {
 	private final boolean nullable; 
 	protected Object initializer;
 	private PropertyCriterion criterion;
+	private PropertyCriterion actualTypeCriterion;
 
 	public AbstractProperty(String propertyName, boolean nullable, boolean confidential) {
 		this.propertyName = propertyName;
@@ -248,4 +249,23 @@ public abstract class AbstractProperty implements Property {
 		return criterion;
 	}
 
+	/**
+	 * Similar to {@link #acquireCriterion()}, but the criterion has the type signature of given actual value type (used e.g. for the id, which is
+	 * declared as object). The last such criterion is cached, as in practice the actual type is mostly the same.
+	 */
+	public PropertyCriterion acquireCriterion(GenericModelType actualType) {
+		String typeSignature = actualType.getTypeSignature();
+
+		PropertyCriterion result = actualTypeCriterion;
+		if (result == null || !typeSignature.equals(result.getTypeSignature())) {
+			result = PropertyCriterion.T.createPlainRaw();
+			result.setPropertyName(propertyName);
+			result.setTypeSignature(typeSignature);
+
+			actualTypeCriterion = result;
+		}
+
+		return result;
+	}
+
 }
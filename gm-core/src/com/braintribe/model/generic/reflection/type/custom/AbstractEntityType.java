@@ -39,7 +39,6 @@ import com.braintribe.model.generic.enhance.SessionUnboundPropertyAccessIntercep
 import com.braintribe.model.generic.pr.AbsenceInformation;
 import com.braintribe.model.generic.pr.criteria.BasicCriterion;
 import com.braintribe.model.generic.pr.criteria.EntityCriterion;
-import com.braintribe.model.generic.pr.criteria.PropertyCriterion;
 import com.braintribe.model.generic.reflection.AbstractGenericModelType;
 import com.braintribe.model.generic.reflection.AbstractProperty;
 import com.braintribe.model.generic.reflection.Attribute;
@@ -534,11 +533,7 @@ public abstract class AbstractEntityType<T extends GenericEntity> extends Abstra
 
 		GenericModelType actualIdType = GMF.getTypeReflection().getType(id);
 
-		PropertyCriterion result = PropertyCriterion.T.createPlainRaw();
-		result.setPropertyName(GenericEntity.id);
-		result.setTypeSignature(actualIdType.getTypeSignature());
-
-		return result;
+		return property.acquireCriterion(actualIdType);
 	}
 
 	private EntityCriterion acquireCriterion() {
@@ -0,0 +1,199 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.locking.db.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+import com.braintribe.common.db.DbVendor;
+
+/**
+ * Contention benchmark for {@link DbLocking}, comparing {@link DbLocking#setLocalWaitQueueing(boolean) local wait queueing} with every
+ * waiting thread polling the DB on its own.
+ * <p>
+ * Many threads repeatedly acquire the same write lock, hold it for a short while and release it. We count the JDBC statements issued and
+ * measure how long the threads waited for the lock. Only the statement counts are asserted, the latencies are just part of the assertion
+ * description, as they depend on the machine.
+ */
+public class DbLocking_Contention_Test extends AbstractDbLockingTestBase {
+
+	private static final int THREADS = 16;
+	private static final int ACQUISITIONS_PER_THREAD = 5;
+	private static final long HOLD_MS = 5;
+	/** With local queueing, only one thread per lock polls the DB, so we expect noticeably fewer statements. */
+	private static final double MAX_STATEMENTS_RATIO = 0.8;
+
+	public DbLocking_Contention_Test(DbVendor vendor) {
+		super(vendor);
+	}
+
+	@Test(timeout = 60_000)
+	public void localQueueingIssuesFewerStatements() throws Exception {
+		ContentionResult polling = runContention(false, false);
+		setup();
+		ContentionResult queueing = runContention(true, false);
+
+		double ratio = (double) queueing.statements / polling.statements;
+		assertThat(ratio).as("Queueing: " + queueing + ", Polling: " + polling).isLessThan(MAX_STATEMENTS_RATIO);
+	}
+
+	/** All threads call {@link Lock#lock()} on the very same {@link DbLocking#forIdentifier(String) writeLock()} instance. */
+	@Test(timeout = 60_000)
+	public void sharedLockInstance_Queueing() throws Exception {
+		runContention(true, true);
+	}
+
+	@Test(timeout = 60_000)
+	public void sharedLockInstance_Polling() throws Exception {
+		runContention(false, true);
+	}
+
+	private ContentionResult runContention(boolean localWaitQueueing, boolean sharedLock) throws Exception {
+		AtomicLong statementCounter = new AtomicLong();
+
+		DbLocking dbLocking = new DbLocking();
+		dbLocking.setDataSource(statementCountingDataSource(dataSource, statementCounter));
+		dbLocking.setAutoUpdateSchema(false);
+		// long enough for the whole benchmark, so that no refreshing is needed
+		dbLocking.setLockExpirationInSecs(60);
+		dbLocking.setLocalWaitQueueing(localWaitQueueing);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(THREADS);
+		AtomicLong totalWaitNanos = new AtomicLong();
+		AtomicLong maxWaitNanos = new AtomicLong();
+		AtomicInteger holders = new AtomicInteger();
+		AtomicInteger acquired = new AtomicInteger();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+
+		Lock sharedWriteLock = dbLocking.forIdentifier(LOCK_ID).writeLock();
+
+		try {
+			for (int t = 0; t < THREADS; t++)
+				executor.submit(() -> {
+					try {
+						startSignal.await();
+						for (int i = 0; i < ACQUISITIONS_PER_THREAD; i++) {
+							Lock lock = sharedLock ? sharedWriteLock : dbLocking.forIdentifier(LOCK_ID).writeLock();
+
+							long start = System.nanoTime();
+							lock.lock();
+							long waited = System.nanoTime() - start;
+							totalWaitNanos.addAndGet(waited);
+							maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+							if (holders.incrementAndGet() != 1)
+								throw new IllegalStateException("Write lock is held by more than one thread.");
+							acquired.incrementAndGet();
+
+							Thread.sleep(HOLD_MS);
+
+							holders.decrementAndGet();
+							lock.unlock();
+						}
+					} catch (Throwable e) {
+						error.compareAndSet(null, e);
+					} finally {
+						done.countDown();
+					}
+				});
+
+			startSignal.countDown();
+			assertThat(done.await(50, TimeUnit.SECONDS)).as("Not all threads finished, possible deadlock.").isTrue();
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(error.get()).isNull();
+
+		int acquisitions = THREADS * ACQUISITIONS_PER_THREAD;
+		assertThat(acquired.get()).isEqualTo(acquisitions);
+
+		return new ContentionResult(statementCounter.get(), acquisitions, totalWaitNanos.get() / acquisitions, maxWaitNanos.get());
+	}
+
+	private static class ContentionResult {
+		final long statements;
+		final int acquisitions;
+		final long avgWaitNanos;
+		final long maxWaitNanos;
+
+		ContentionResult(long statements, int acquisitions, long avgWaitNanos, long maxWaitNanos) {
+			this.statements = statements;
+			this.acquisitions = acquisitions;
+			this.avgWaitNanos = avgWaitNanos;
+			this.maxWaitNanos = maxWaitNanos;
+		}
+
+		@Override
+		public String toString() {
+			return statements + " statements (" + (statements / acquisitions) + " per lock), wait avg " + TimeUnit.NANOSECONDS.toMillis(avgWaitNanos)
+					+ " ms, max " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms";
+		}
+	}
+
+	// #############################################
+	// ## . . . . . . . . Helpers . . . . . . . . ##
+	// #############################################
+
+	private static DataSource statementCountingDataSource(DataSource delegate, AtomicLong counter) {
+		return proxy(DataSource.class, delegate, (method, result) -> {
+			if (result instanceof Connection)
+				return proxy(Connection.class, (Connection) result, (m, r) -> {
+					if (m.getName().endsWith("Statement"))
+						counter.incrementAndGet();
+					return r;
+				});
+			return result;
+		});
+	}
+
+	private interface ResultTransformer {
+		Object transform(Method method, Object result);
+	}
+
+	private static <T> T proxy(Class<T> iface, T delegate, ResultTransformer resultTransformer) {
+		InvocationHandler handler = (p, method, args) -> {
+			try {
+				return resultTransformer.transform(method, method.invoke(delegate, args));
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+
+		return iface.cast(Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[] { iface }, handler));
+	}
+
+}
@@ -29,6 +29,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -72,6 +74,13 @@ import com.braintribe.utils.lcd.NullSafe;
  * Should a node fail to update the expiration date, another node will consider such entry as stale and will try to acquire the lock again.
  * <p>
  * For this reason it is advised to configure the refreshing interval significantly smaller than the lock expiration, for example one half of it.
+ * 
+ * <h3>Waiting for a lock</h3>
+ * 
+ * If a lock cannot be acquired right away, the threads of this node waiting for the same lock id are queued locally, and only the first of
+ * them polls the DB, while the others wait for their turn (see {@link #setLocalWaitQueueing(boolean)}). The polling thread is woken up as soon
+ * as the lock is released on this node or an unlock message for the lock id is received via messaging, otherwise it polls again after
+ * {@link #setPollIntervalInMillies(int) poll interval}.
  */
 public class DbLocking implements Locking, LifecycleAware {
 
@@ -91,6 +100,7 @@ public class DbLocking implements Locking, LifecycleAware {
 	/* package */ int lockExpirationInMs = DEFAULT_LOCK_EXPIRATION_MS;
 
 	private boolean autoUpdateSchema = true;
+	private boolean localWaitQueueing = true;
 
 	private String topicName = "hc-locking";
 	private long topicExpiration = 5000L;
@@ -101,6 +111,7 @@ public class DbLocking implements Locking, LifecycleAware {
 	private MessagingSession messagingSession;
 
 	private final DbLockRefresher refresher = new DbLockRefresher(this);
+	private final Map<String, LocalLockQueue> localQueues = new ConcurrentHashMap<>();
 
 	@Required
 	public void setDataSource(DataSource dataSource) {
@@ -117,6 +128,11 @@ public class DbLocking implements Locking, LifecycleAware {
 	 * Default value is {@value #DEFAULT_POLL_INTERVAL_MS} 
 	 */
 	@Configurable public void setPollIntervalInMillies(int pollIntervalInMillies) { this.pollIntervalInMillies = pollIntervalInMillies; }
+	/**
+	 * If true (default), threads of this node waiting for the same lock id are queued locally, and only one of them polls the DB at a time. If
+	 * false, every waiting thread polls the DB on its own.
+	 */
+	@Configurable public void setLocalWaitQueueing(boolean localWaitQueueing) { this.localWaitQueueing = localWaitQueueing; }
 	@Configurable public void setLockExpirationInSecs(int lockExpirationInSecs) { this.lockExpirationInMs = 1000 * lockExpirationInSecs; }
 
 	@Configurable public void setTopicExpiration(long topicExpiration) { this.topicExpiration = topicExpiration; }
@@ -351,13 +367,21 @@ public class DbLocking implements Locking, LifecycleAware {
 	}
 
 	protected MessageConsumer listenForUnlockNotification(String id, Object monitor) {
+		return listenForUnlockNotification(id, () -> {
+			synchronized (monitor) {
+				monitor.notify();
+			}
+		});
+	}
+
+	protected MessageConsumer listenForUnlockNotification(String id, Runnable onUnlock) {
 		ensureMessagingInitialized();
 		if (messagingSession == null)
 			return null;
 
 		try {
 			MessageConsumer messageConsumer = messagingSession.createMessageConsumer(topic);
-			messageConsumer.setMessageListener(message -> onUnlockMessage(id, monitor, message));
+			messageConsumer.setMessageListener(message -> onUnlockMessage(id, onUnlock, message));
 
 			return messageConsumer;
 
@@ -367,16 +391,14 @@ public class DbLocking implements Locking, LifecycleAware {
 		}
 	}
 
-	private void onUnlockMessage(String id, Object monitor, Message message) {
+	private void onUnlockMessage(String id, Runnable onUnlock, Message message) {
 		Object body = message.getBody();
 		if (!(body instanceof String))
 			return;
 
 		String lockId = (String) body;
 		if (lockId.equals(id))
-			synchronized (monitor) {
-				monitor.notify();
-			}
+			onUnlock.run();
 	}
 
 	/**
@@ -449,64 +471,109 @@ public class DbLocking implements Locking, LifecycleAware {
 			if (tryUntil < 0)
 				tryUntil = Long.MAX_VALUE;
 
-			Thread currentThread = Thread.currentThread();
-			String oldThreadName = currentThread.getName();
-			currentThread.setName(oldThreadName + " > waiting for lock " + rwLock.id);
+			Thread currentThread = null;
+			String oldThreadName = null;
+			LocalLockQueue queue = null;
+			boolean isPoller = false;
 			try {
-				var successIndicator = new Box<Boolean>();
-				boolean hasWriteLocking = false;
 				while (true) {
-					if (!hasWriteLocking)
-						hasWriteLocking = acquireWriteLocking();
-
-					if (hasWriteLocking) {
-						JdbcTools.withConnection(dataSource, true, () -> "Trying to acquire lock " + rwLock.id, connection -> {
-							if (tryInsert(connection)) {
-								successIndicator.value = Boolean.TRUE;
-								return;
-							}
-
-							if (tryIncreaseCount(connection)) {
-								successIndicator.value = Boolean.TRUE;
-								return;
-							}
-
-							if (!deleteLockIfExpired(connection))
-								return;
-
-							if (tryInsert(connection)) {
-								successIndicator.value = Boolean.TRUE;
-								return;
-							}
-						});
-
-						if (successIndicator.value != null) {
-							refresher.startRefreshing(rwLock);
-							return true;
-						}
+					// read before polling, so that an unlock that happens while we are polling still wakes us up
+					long seenUnlocks = queue == null ? 0 : queue.unlockCount();
+
+					if (tryAcquire()) {
+						refresher.startRefreshing(rwLock);
+						return true;
 					}
 
 					long millisLeft = tryUntil - System.currentTimeMillis();
-					if (millisLeft <= 0) {
-						releaseWriteLocking();
+					if (millisLeft <= 0)
 						return false;
+
+					if (currentThread == null) {
+						currentThread = Thread.currentThread();
+						oldThreadName = currentThread.getName();
+						currentThread.setName(oldThreadName + " > waiting for lock " + rwLock.id);
+					}
+
+					if (!localWaitQueueing) {
+						waitBeforeTryLockAgain(millisLeft);
+						continue;
 					}
-					waitBeforeTryLockAgain(millisLeft);
+
+					if (queue == null)
+						queue = acquireLocalQueue(rwLock.id);
+
+					if (!isPoller) {
+						// wait for our turn; once we have it we try right away, as the lock might have been released in the meantime
+						isPoller = queue.pollPermit.tryAcquire(millisLeft, TimeUnit.MILLISECONDS);
+						if (!isPoller)
+							return false;
+						continue;
+					}
+
+					queue.awaitUnlock(seenUnlocks, Math.min(millisLeft, pollIntervalInMillies));
 				}
 
 			} catch (InterruptedException e) {
-				releaseWriteLocking();
 				throw e;
 
 			} catch (Exception e) {
-				releaseWriteLocking();
 				throw new RuntimeException("Could not get lock.", e);
 
 			} finally {
-				currentThread.setName(oldThreadName);
+				if (isPoller)
+					queue.pollPermit.release();
+				if (queue != null)
+					releaseLocalQueue(queue);
+				if (currentThread != null)
+					currentThread.setName(oldThreadName);
 			}
 		}
 
+		/**
+		 * The write-locking flag is only held while trying the DB and, on success, until unlock. It must never be held while waiting, as another
+		 * thread sharing this lock instance might be the one holding the poll permit, and it could never try the DB without the flag.
+		 */
+		private boolean tryAcquire() {
+			if (!acquireWriteLocking())
+				return false;
+
+			boolean acquired = false;
+			try {
+				acquired = tryAcquireInDb();
+				return acquired;
+
+			} finally {
+				if (!acquired)
+					releaseWriteLocking();
+			}
+		}
+
+		private boolean tryAcquireInDb() {
+			var successIndicator = new Box<Boolean>();
+			JdbcTools.withConnection(dataSource, true, () -> "Trying to acquire lock " + rwLock.id, connection -> {
+				if (tryInsert(connection)) {
+					successIndicator.value = Boolean.TRUE;
+					return;
+				}
+
+				if (tryIncreaseCount(connection)) {
+					successIndicator.value = Boolean.TRUE;
+					return;
+				}
+
+				if (!deleteLockIfExpired(connection))
+					return;
+
+				if (tryInsert(connection)) {
+					successIndicator.value = Boolean.TRUE;
+					return;
+				}
+			});
+
+			return successIndicator.value != null;
+		}
+
 		// id, expires, created, caller, machine
 		private boolean tryInsert(Connection c) {
 			long current = System.currentTimeMillis();
@@ -686,20 +753,25 @@ public class DbLocking implements Locking, LifecycleAware {
 		public void unlock() {
 			refresher.stopRefreshing(rwLock);
 
+			boolean released = false;
 			try {
 				JdbcTools.withConnection(dataSource, true, () -> "Deleting unlocked lock " + rwLock.id, connection -> {
 					if (tryChangeCount(connection, rwLock.created, -1))
 						deleteLockIfExpired(connection);
 				});
-
-				notifyUnlock(rwLock.id);
-				return;
+				released = true;
 
 			} catch (Exception e) {
 				log.warn("Error while releasing lock " + rwLock.id, e);
 			} finally {
 				releaseWriteLocking();
 			}
+
+			// only notify once the write-locking flag is released, so that a waiter sharing this instance can acquire it right away
+			if (released) {
+				notifyLocalWaiters(rwLock.id);
+				notifyUnlock(rwLock.id);
+			}
 		}
 
 		protected boolean deleteLockIfExpired(Connection c) throws Exception {
@@ -747,6 +819,99 @@ public class DbLocking implements Locking, LifecycleAware {
 
 	}
 
+	// ##############################################
+	// ## . . . . . . Local wait queues . . . . . . ##
+	// ##############################################
+
+	private LocalLockQueue acquireLocalQueue(String id) {
+		return localQueues.compute(id, (k, queue) -> {
+			if (queue == null)
+				queue = new LocalLockQueue(k);
+			queue.users++;
+			return queue;
+		});
+	}
+
+	private void releaseLocalQueue(LocalLockQueue queue) {
+		LocalLockQueue remaining = localQueues.computeIfPresent(queue.id, (k, q) -> --q.users == 0 ? null : q);
+		if (remaining == null)
+			queue.close();
+	}
+
+	private void notifyLocalWaiters(String id) {
+		LocalLockQueue queue = localQueues.get(id);
+		if (queue != null)
+			queue.onUnlock();
+	}
+
+	/**
+	 * Threads of this node waiting for the same lock id. Only the thread holding the {@link #pollPermit} polls the DB, others wait for the
+	 * permit in FIFO order. The poller waits between two attempts until the lock is released (locally or according to an unlock message), but
+	 * at most for the poll interval.
+	 */
+	private class LocalLockQueue {
+		private final String id;
+		private final Semaphore pollPermit = new Semaphore(1, true);
+		private final Object consumerLock = new Object();
+
+		private int users; // guarded by localQueues.compute
+		private long unlockCount; // guarded by this
+		private boolean consumerInitialized; // guarded by consumerLock
+		private MessageConsumer unlockConsumer; // guarded by consumerLock
+
+		public LocalLockQueue(String id) {
+			this.id = id;
+		}
+
+		public synchronized long unlockCount() {
+			return unlockCount;
+		}
+
+		public synchronized void onUnlock() {
+			unlockCount++;
+			notifyAll();
+		}
+
+		public void awaitUnlock(long seenUnlockCount, long maxWaitMs) throws InterruptedException {
+			ensureUnlockConsumer();
+
+			long waitUntil = System.currentTimeMillis() + maxWaitMs;
+			synchronized (this) {
+				while (unlockCount == seenUnlockCount) {
+					long millisLeft = waitUntil - System.currentTimeMillis();
+					if (millisLeft <= 0)
+						return;
+					wait(millisLeft);
+				}
+			}
+		}
+
+		// consumer is created lazily, so that locks which are acquired right after the first poll never touch the messaging
+		private void ensureUnlockConsumer() {
+			synchronized (consumerLock) {
+				if (consumerInitialized)
+					return;
+
+				consumerInitialized = true;
+				unlockConsumer = listenForUnlockNotification(id, this::onUnlock);
+			}
+		}
+
+		public void close() {
+			synchronized (consumerLock) {
+				if (unlockConsumer == null)
+					return;
+
+				try {
+					unlockConsumer.close();
+				} catch (MessagingException e) {
+					log.error("error while closing message consumer", e);
+				}
+				unlockConsumer = null;
+			}
+		}
+	}
+
 	private void notifyUnlock(String id) {
 		ensureMessagingInitialized();
 		if (messagingSession != null && messageProducer != null) {
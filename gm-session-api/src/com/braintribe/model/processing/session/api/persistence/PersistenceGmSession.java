@@ -15,6 +15,8 @@
 // ============================================================================
 package com.braintribe.model.processing.session.api.persistence;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.braintribe.model.accessapi.ManipulationResponse;
 import com.braintribe.model.generic.enhance.EnhancedEntity;
 import com.braintribe.model.generic.eval.EvalContext;
@@ -60,6 +62,41 @@ public interface PersistenceGmSession extends ManagedGmSession, HistorySuspensio
 	ManipulationResponse commit() throws GmSessionException;
 	void commit(AsyncCallback<ManipulationResponse> callback);
 
+	/**
+	 * Commits the manipulations of the current transaction without waiting for the underlying access to apply them, so
+	 * that the next transaction frame can be started while the previous ones are still in flight.
+	 * <p>
+	 * Commits are applied on the access strictly in the order they were issued. If one of them fails, all the commits
+	 * issued after it fail as well.
+	 * <p>
+	 * The returned future is completed with the response of the access. The response (i.e. induced manipulations like
+	 * id assignment) is however applied to the session on the thread using the session, the latest when the next
+	 * {@link #commit()}, {@link #commitAsync()} or {@link #awaitPendingCommits()} is called. If a new transaction frame
+	 * references entities created in a frame which is still in flight, committing it first waits for the earlier
+	 * commits to finish.
+	 * <p>
+	 * Default implementation simply commits synchronously.
+	 */
+	default CompletableFuture<ManipulationResponse> commitAsync() {
+		CompletableFuture<ManipulationResponse> result = new CompletableFuture<>();
+		try {
+			result.complete(commit());
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Waits for all the commits issued via {@link #commitAsync()} to finish and applies their responses to this session.
+	 * 
+	 * @throws GmSessionException
+	 *             if any of the pending commits has failed
+	 */
+	default void awaitPendingCommits() throws GmSessionException {
+		// nothing to wait for by default
+	}
+
 	CommitContext prepareCommit();
 
 	String getAccessId();
@@ -0,0 +1,292 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.itw.synthesis.gm;
+
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.entityType;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.enumConstant;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.enumType;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.metaModel;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.property;
+import static com.braintribe.utils.lcd.CollectionTools2.asList;
+import static com.braintribe.utils.lcd.CollectionTools2.asSet;
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.braintribe.model.generic.GMF;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.EnumType;
+import com.braintribe.model.generic.reflection.Property;
+import com.braintribe.model.meta.GmEntityType;
+import com.braintribe.model.meta.GmEnumType;
+import com.braintribe.model.meta.GmMetaModel;
+import com.braintribe.model.meta.GmType;
+import com.braintribe.model.processing.ImportantItwTestSuperType;
+import com.braintribe.model.processing.itw.analysis.protomodel.ProtoGmEntityTypeImpl;
+import com.braintribe.model.processing.itw.analysis.protomodel.ProtoGmMetaModelImpl;
+import com.braintribe.model.processing.itw.analysis.protomodel.ProtoGmPropertyImpl;
+import com.braintribe.model.processing.itw.analysis.protomodel.ProtoGmStringTypeImpl;
+import com.braintribe.model.weaving.ProtoGmMetaModel;
+import com.braintribe.model.weaving.ProtoGmType;
+
+/**
+ * Tests for {@link ItwBytecodeCache}, i.e. the key computation and the storage. Using the cache for actual weaving requires the woven types to not
+ * be deployed yet, so that is done in a new {@link ClassLoader}, which loads its own copy of ITW and gm-core, see
+ * {@link #restoresWovenModelInNewClassLoader()}.
+ */
+public class ItwBytecodeCacheTests extends ImportantItwTestSuperType {
+
+	private static final String PERSON = "com.bt.test.cache.Person";
+
+	private static final String RESTORE_PACKAGE = "com.bt.test.cache.restore";
+	private static final String RESTORE_PERSON = RESTORE_PACKAGE + ".Person";
+	private static final String RESTORE_EMPLOYEE = RESTORE_PACKAGE + ".Employee";
+	private static final String RESTORE_COLOR = RESTORE_PACKAGE + ".Color";
+
+	@Test
+	public void sameDeclarations_SameKey() throws Exception {
+		ItwBytecodeCache cache = new ItwBytecodeCache(newTempFolder());
+
+		assertThat(cache.computeKey(buildModel("name"))).isEqualTo(cache.computeKey(buildModel("name")));
+	}
+
+	@Test
+	public void changedDeclarations_DifferentKey() throws Exception {
+		ItwBytecodeCache cache = new ItwBytecodeCache(newTempFolder());
+
+		assertThat(cache.computeKey(buildModel("name"))).isNotEqualTo(cache.computeKey(buildModel("lastName")));
+	}
+
+	@Test
+	public void storesAndLoadsEntry() throws Exception {
+		ItwBytecodeCache cache = new ItwBytecodeCache(newTempFolder());
+		ProtoGmMetaModel model = buildModel("name");
+		String key = cache.computeKey(model);
+
+		assertThat(cache.load(key)).isNull();
+
+		Map<String, byte[]> classes = newLinkedMap();
+		classes.put(PERSON, new byte[] { 1 });
+		classes.put(PERSON + "-plain", new byte[] { 2 });
+		classes.put("com.bt.test.cache.name--Person", new byte[] { 3 });
+
+		cache.store(key, model, classes);
+
+		Map<String, byte[]> loaded = cache.load(key);
+		assertThat(loaded).containsOnlyKeys(classes.keySet().toArray(new String[0]));
+		assertThat(loaded.get(PERSON + "-plain")).containsExactly(2);
+	}
+
+	@Test
+	public void doesNotStoreForeignClasses() throws Exception {
+		ItwBytecodeCache cache = new ItwBytecodeCache(newTempFolder());
+		ProtoGmMetaModel model = buildModel("name");
+		String key = cache.computeKey(model);
+
+		Map<String, byte[]> classes = newLinkedMap();
+		classes.put(PERSON, new byte[] { 1 });
+		classes.put("com.bt.test.cache.Company-plain", new byte[] { 2 });
+
+		cache.store(key, model, classes);
+
+		assertThat(cache.load(key)).isNull();
+	}
+
+	@Test
+	public void corruptEntryIsNotLoaded() throws Exception {
+		File folder = newTempFolder();
+		ItwBytecodeCache cache = new ItwBytecodeCache(folder);
+		ProtoGmMetaModel model = buildModel("name");
+		String key = cache.computeKey(model);
+
+		Map<String, byte[]> classes = newLinkedMap();
+		classes.put(PERSON, new byte[] { 1 });
+		classes.put(PERSON + "-plain", new byte[] { 2 });
+
+		cache.store(key, model, classes);
+		Files.write(folder.toPath().resolve(key).resolve(PERSON + "-plain"), new byte[] { 3 });
+
+		assertThat(cache.load(key)).isNull();
+		assertThat(folder.toPath().resolve(key)).doesNotExist();
+	}
+
+	/**
+	 * Weaves a model in one new {@link ClassLoader}, which stores its classes in the cache, and then ensures the same model in another new
+	 * {@link ClassLoader}, where the types are restored from the cache, and checks the restored types are equivalent to the woven ones.
+	 */
+	@Test
+	public void restoresWovenModelInNewClassLoader() throws Exception {
+		File folder = newTempFolder();
+
+		List<String> woven = ensureModelInNewClassLoader(folder);
+		List<String> restored = ensureModelInNewClassLoader(folder);
+
+		assertThat(woven.get(0)).isEqualTo("woven");
+		assertThat(restored.get(0)).isEqualTo("restored");
+
+		assertThat(restored.subList(1, restored.size())).isEqualTo(woven.subList(1, woven.size()));
+		assertThat(restored).contains( //
+				"enum " + RESTORE_COLOR + " [red, green]", //
+				"entity " + RESTORE_EMPLOYEE + " abstract=false supers=[" + RESTORE_PERSON + "]", //
+				"property " + RESTORE_EMPLOYEE + "#name declaredBy=" + RESTORE_PERSON + " type=string", //
+				"property " + RESTORE_EMPLOYEE + "#color declaredBy=" + RESTORE_EMPLOYEE + " type=" + RESTORE_COLOR, //
+				"instance " + RESTORE_EMPLOYEE + " name=John color=green");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> ensureModelInNewClassLoader(File cacheFolder) throws Exception {
+		String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+
+		List<URL> urls = newList();
+		for (String entry : classPath.split(File.pathSeparator))
+			if (!entry.isEmpty())
+				urls.add(Paths.get(entry).toUri().toURL());
+
+		ClassLoader originalCl = Thread.currentThread().getContextClassLoader();
+		try (URLClassLoader cl = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader())) {
+			Thread.currentThread().setContextClassLoader(cl);
+
+			Class<?> restorer = cl.loadClass(IsolatedModelEnsurer.class.getName());
+			return (List<String>) restorer.getMethod("ensureModel", File.class).invoke(null, cacheFolder);
+
+		} finally {
+			Thread.currentThread().setContextClassLoader(originalCl);
+		}
+	}
+
+	/** Loaded by a new {@link ClassLoader}, thus working with its own type reflection, where none of the tested types is deployed yet. */
+	public static class IsolatedModelEnsurer {
+
+		/**
+		 * Returns "woven" or "restored", depending on whether the cache had an entry for the model, followed by a description of the deployed
+		 * types.
+		 */
+		public static List<String> ensureModel(File cacheFolder) throws Exception {
+			GmMetaModel model = buildRestoreModel();
+
+			String key = new ItwBytecodeCache(cacheFolder).computeKey(model);
+			assertThat(key).isNotNull();
+			boolean cached = new ItwBytecodeCache(cacheFolder).load(key) != null;
+
+			GenericModelTypeSynthesis gmts = GenericModelTypeSynthesis.standardInstance();
+			gmts.setBytecodeCacheFolder(cacheFolder);
+			gmts.ensureModelTypes((ProtoGmMetaModel) model);
+
+			List<String> result = newList();
+			result.add(cached ? "restored" : "woven");
+
+			EnumType<?> colorType = GMF.getTypeReflection().getEnumType(RESTORE_COLOR);
+			result.add("enum " + colorType.getTypeSignature() + " " + asList(colorType.getEnumValues()));
+
+			for (String signature : asList(RESTORE_PERSON, RESTORE_EMPLOYEE)) {
+				EntityType<?> et = GMF.getTypeReflection().getEntityType(signature);
+				result.add("entity " + signature + " abstract=" + et.isAbstract() + " supers="
+						+ et.getSuperTypes().stream().map(EntityType::getTypeSignature).sorted().collect(Collectors.toList()));
+
+				for (Property p : et.getProperties())
+					result.add("property " + signature + "#" + p.getName() + " declaredBy=" + p.getDeclaringType().getTypeSignature() + " type="
+							+ p.getType().getTypeSignature());
+			}
+
+			EntityType<GenericEntity> employeeType = GMF.getTypeReflection().getEntityType(RESTORE_EMPLOYEE);
+			GenericEntity employee = employeeType.create();
+			employeeType.getProperty("name").set(employee, "John");
+			employeeType.getProperty("color").set(employee, colorType.getEnumValue("green"));
+
+			result.add("instance " + employee.entityType().getTypeSignature() + " name=" + employeeType.getProperty("name").get(employee) + " color="
+					+ employeeType.getProperty("color").get(employee));
+
+			return result;
+		}
+
+		private static GmMetaModel buildRestoreModel() {
+			GmMetaModel rootModel = GMF.getTypeReflection().getModel("com.braintribe.gm:root-model").getMetaModel();
+			GmEntityType geType = (GmEntityType) findType(rootModel, GenericEntity.T.getTypeSignature());
+			GmType stringType = findType(rootModel, "string");
+
+			GmMetaModel model = metaModel(RESTORE_PACKAGE + ":restore-model");
+			model.getDependencies().add(rootModel);
+
+			GmEnumType colorType = enumType(RESTORE_COLOR);
+			colorType.setConstants(asList(enumConstant(colorType, "red"), enumConstant(colorType, "green")));
+
+			GmEntityType personType = entityType(RESTORE_PERSON, asList(geType));
+			personType.setProperties(asList(property(personType, "name", stringType)));
+
+			GmEntityType employeeType = entityType(RESTORE_EMPLOYEE, asList(personType));
+			employeeType.setProperties(asList(property(employeeType, "color", colorType)));
+
+			for (GmType type : asList(colorType, personType, employeeType)) {
+				type.setDeclaringModel(model);
+				model.getTypes().add(type);
+			}
+
+			return model;
+		}
+
+		private static GmType findType(GmMetaModel model, String typeSignature) {
+			return model.getTypes().stream() //
+					.filter(t -> t.getTypeSignature().equals(typeSignature)) //
+					.findFirst() //
+					.orElseThrow(() -> new IllegalStateException("Type not found: " + typeSignature));
+		}
+
+	}
+
+	private static ProtoGmMetaModel buildModel(String propertyName) {
+		ProtoGmEntityTypeImpl geType = new ProtoGmEntityTypeImpl();
+		geType.setTypeSignature(GenericEntity.class.getName());
+
+		ProtoGmStringTypeImpl stringType = new ProtoGmStringTypeImpl();
+		stringType.setTypeSignature("string");
+
+		ProtoGmEntityTypeImpl personType = new ProtoGmEntityTypeImpl();
+
+		ProtoGmPropertyImpl property = new ProtoGmPropertyImpl();
+		property.setName(propertyName);
+		property.setType(stringType);
+		property.setDeclaringType(personType);
+
+		personType.setTypeSignature(PERSON);
+		personType.setSuperTypes(asList(geType));
+		personType.setProperties(asList(property));
+
+		ProtoGmMetaModelImpl model = new ProtoGmMetaModelImpl();
+		model.setName("test:cache-model");
+		model.setTypes(asSet((ProtoGmType) personType));
+
+		return model;
+	}
+
+	private static File newTempFolder() throws Exception {
+		File result = Files.createTempDirectory("itw-bytecode-cache").toFile();
+		result.deleteOnExit();
+		return result;
+	}
+
+}
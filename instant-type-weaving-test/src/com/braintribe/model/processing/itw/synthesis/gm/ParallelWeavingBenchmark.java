@@ -0,0 +1,152 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.itw.synthesis.gm;
+
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.entityType;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.listType;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.metaModel;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.property;
+import static com.braintribe.utils.lcd.CollectionTools2.asList;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.braintribe.model.generic.GMF;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.meta.GmEntityType;
+import com.braintribe.model.meta.GmMetaModel;
+import com.braintribe.model.meta.GmProperty;
+import com.braintribe.model.meta.GmType;
+import com.braintribe.model.weaving.ProtoGmMetaModel;
+
+/**
+ * Compares sequential and {@link GenericModelTypeSynthesis#setParallelWeavingPool(ForkJoinPool) parallel} weaving of a large synthetic model,
+ * consisting of {@link #hierarchies} independent type hierarchies. Each hierarchy is a chain of {@link #depth} entity types with
+ * {@link #properties} string properties each, where every type also references its super-type via a list property.
+ * <p>
+ * As woven types can never be undeployed, every invocation weaves a fresh model (with a unique package) with a fresh
+ * {@link GenericModelTypeSynthesis}. Not a unit test, run via {@link #main(String[])} or the JMH runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParallelWeavingBenchmark {
+
+	private static final AtomicInteger modelCounter = new AtomicInteger();
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	@Param({ "64" })
+	public int hierarchies;
+
+	@Param({ "4" })
+	public int depth;
+
+	@Param({ "10" })
+	public int properties;
+
+	private GmMetaModel rootModel;
+	private GmEntityType genericEntityType;
+	private GmType stringType;
+
+	private ProtoGmMetaModel model;
+	private GenericModelTypeSynthesis gmts;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		rootModel = GMF.getTypeReflection().getModel("com.braintribe.gm:root-model").getMetaModel();
+		genericEntityType = (GmEntityType) findType(GenericEntity.T.getTypeSignature());
+		stringType = findType("string");
+	}
+
+	private GmType findType(String typeSignature) {
+		return rootModel.getTypes().stream() //
+				.filter(t -> t.getTypeSignature().equals(typeSignature)) //
+				.findFirst() //
+				.orElseThrow(() -> new IllegalStateException("Type not found in root model: " + typeSignature));
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		model = buildModel("com.braintribe.bench.itw.m" + modelCounter.incrementAndGet());
+
+		gmts = GenericModelTypeSynthesis.newInstance();
+		if (parallel)
+			gmts.setParallelWeavingPool(ForkJoinPool.commonPool());
+	}
+
+	private GmMetaModel buildModel(String packageName) {
+		GmMetaModel result = metaModel(packageName + ":synthetic-model");
+		result.getDependencies().add(rootModel);
+
+		for (int h = 0; h < hierarchies; h++) {
+			GmEntityType superType = genericEntityType;
+
+			for (int d = 0; d < depth; d++) {
+				GmEntityType type = entityType(packageName + ".h" + h + ".Type" + d, asList(superType));
+				type.setDeclaringModel(result);
+
+				List<GmProperty> props = newList();
+				for (int p = 0; p < properties; p++)
+					props.add(property(type, "prop" + d + "_" + p, stringType));
+
+				if (superType != genericEntityType)
+					props.add(property(type, "parents" + d, listType(superType)));
+
+				type.setProperties(props);
+
+				result.getTypes().add(type);
+				superType = type;
+			}
+		}
+
+		return result;
+	}
+
+	@Benchmark
+	public Object weave() {
+		gmts.ensureModelTypes(model);
+		return gmts;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ParallelWeavingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,92 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.itw.synthesis.gm;
+
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.entityType;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.metaModel;
+import static com.braintribe.model.generic.builder.meta.MetaModelBuilder.property;
+import static com.braintribe.utils.lcd.CollectionTools2.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.braintribe.model.generic.GMF;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.meta.GmEntityType;
+import com.braintribe.model.meta.GmMetaModel;
+import com.braintribe.model.meta.GmType;
+import com.braintribe.model.processing.ImportantItwTestSuperType;
+import com.braintribe.model.weaving.ProtoGmMetaModel;
+
+/**
+ * Tests for {@link GenericModelTypeSynthesis#setParallelWeavingPool(ForkJoinPool)}.
+ */
+public class ParallelWeavingTests extends ImportantItwTestSuperType {
+
+	private static final String PACKAGE = "com.braintribe.test.itw.parallel";
+
+	@Test
+	public void weavesIndependentHierarchies() {
+		GmMetaModel rootModel = GMF.getTypeReflection().getModel("com.braintribe.gm:root-model").getMetaModel();
+		GmEntityType geType = (GmEntityType) findType(rootModel, GenericEntity.T.getTypeSignature());
+		GmType stringType = findType(rootModel, "string");
+
+		GmMetaModel model = metaModel(PACKAGE + ":parallel-model");
+		model.getDependencies().add(rootModel);
+
+		for (int h = 0; h < 3; h++) {
+			GmEntityType superType = entityType(PACKAGE + ".h" + h + ".Super", asList(geType));
+			GmEntityType subType = entityType(PACKAGE + ".h" + h + ".Sub", asList(superType));
+
+			superType.setProperties(asList(property(superType, "name", stringType)));
+			subType.setProperties(asList(property(subType, "parent", superType)));
+
+			for (GmEntityType type : asList(superType, subType)) {
+				type.setDeclaringModel(model);
+				model.getTypes().add(type);
+			}
+		}
+
+		GenericModelTypeSynthesis gmts = GenericModelTypeSynthesis.newInstance();
+		gmts.setParallelWeavingPool(ForkJoinPool.commonPool());
+		gmts.ensureModelTypes((ProtoGmMetaModel) model);
+
+		for (int h = 0; h < 3; h++) {
+			EntityType<?> superType = GMF.getTypeReflection().getEntityType(PACKAGE + ".h" + h + ".Super");
+			EntityType<?> subType = GMF.getTypeReflection().getEntityType(PACKAGE + ".h" + h + ".Sub");
+
+			assertThat(subType.getSuperTypes()).containsExactly(superType);
+			assertThat(superType.isAssignableFrom(subType)).isTrue();
+			assertThat(subType.getProperty("name").getDeclaringType()).isSameAs(superType);
+			assertThat(subType.getProperty("parent").getType()).isSameAs(superType);
+
+			GenericEntity sub = subType.create();
+			subType.getProperty("name").set(sub, "sub" + h);
+			assertThat((Object) subType.getProperty("name").get(sub)).isEqualTo("sub" + h);
+		}
+	}
+
+	private static GmType findType(GmMetaModel model, String typeSignature) {
+		return model.getTypes().stream() //
+				.filter(t -> t.getTypeSignature().equals(typeSignature)) //
+				.findFirst() //
+				.orElseThrow(() -> new IllegalStateException("Type not found: " + typeSignature));
+	}
+
+}
@@ -19,18 +19,18 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Not thread-safe!
+ * Registering and loading classes may happen concurrently (parallel weaving), the actual defining of classes is serialized by a lock.
  */
 @SuppressWarnings({ "removal", "deprecation" })
 public class AsmClassLoaderWrapper implements AsmClassLoading {
 
-	private final Map<String, AsmLoadableClass> asmClasses = new HashMap<>();
-	private final Map<String, Class<?>> loadedAsmClasses = new HashMap<>();
+	private final Map<String, AsmLoadableClass> asmClasses = new ConcurrentHashMap<>();
+	private final Map<String, Class<?>> loadedAsmClasses = new ConcurrentHashMap<>();
 	private final ReentrantLock loadedAsmClassesLock = new ReentrantLock();
 
 	private final ClassLoader contextClassLoader;
@@ -16,11 +16,15 @@
 package com.braintribe.model.processing.itw.asm;
 
 import static com.braintribe.model.processing.itw.tools.ItwTools.findClass;
+import static com.braintribe.utils.lcd.CollectionTools2.newConcurrentMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
 import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -105,10 +109,12 @@ public class AsmClassPool {
 	private final boolean considerClassPath; // if false, it does not try to find class on the classpath
 
 	private final AsmClassLoading classLoading = newClassLoading() ;
-	private final Map<String, AsmClass> classCache = newMap();
+	private final Map<String, AsmClass> classCache = newConcurrentMap();
 
 	protected ClassStorageManager classStorageManager;
 
+	private Map<String, byte[]> recordedNewClasses;
+
 	public AsmClassPool(boolean considerClassPath) {
 		this.considerClassPath = considerClassPath;
 	}
@@ -185,6 +191,14 @@ public class AsmClassPool {
 		return GenericEntity.class.isAssignableFrom(clazz) || (Enum.class.isAssignableFrom(clazz) && Enum.class != clazz);
 	}
 
+	/**
+	 * Replaces the {@link AsmClass} registered for given (already loaded) class with an {@link AsmExistingClass}. This is used for classes which were
+	 * defined from previously stored bytecode (see {@link AsmExistingSourceClass}), as those do not offer any reflection.
+	 */
+	public AsmExistingClass registerLoadedClass(Class<?> clazz) {
+		return addCacheEntryFor(clazz);
+	}
+
 	private AsmExistingClass addCacheEntryFor(Class<?> clazz) {
 		AsmExistingClass asmClass = new AsmExistingClass(clazz, this);
 		classCache.put(clazz.getName(), asmClass);
@@ -236,11 +250,30 @@ public class AsmClassPool {
 			// This should be totally impossible as the preliminary registration is done inside AsmNewClass constructor
 			throw new IllegalArgumentException("Class was not registered as preliminary: " + className);
 
+		if (recordedNewClasses != null)
+			recordedNewClasses.put(className, asmClass.getBytes());
+
 		if (!wasInjectedByItw(className))
 			classLoading.register(asmClass);
 	}
 
-	private final Map<AsmClass, Class<?>> loadedClasses = newMap();
+	/**
+	 * Starts recording the bytecode of every class registered via {@link #registerFinishedNewClass(AsmLoadableClass)}, until
+	 * {@link #stopRecordingNewClasses()} is called. The bytes have to be captured on registration, as they are released once the class is loaded.
+	 */
+	public void startRecordingNewClasses() {
+		recordedNewClasses = Collections.synchronizedMap(newLinkedMap());
+	}
+
+	/** @return bytecode of all the classes registered since {@link #startRecordingNewClasses()}, in the order of their registration */
+	public Map<String, byte[]> stopRecordingNewClasses() {
+		Map<String, byte[]> result = recordedNewClasses;
+		recordedNewClasses = null;
+
+		return result == null ? emptyMap() : result;
+	}
+
+	private final Map<AsmClass, Class<?>> loadedClasses = newConcurrentMap();
 
 	public <T> Class<T> getJvmClass(AsmClass entityClass) throws JavaTypeSynthesisException {
 		if (entityClass instanceof AsmExistingClass)
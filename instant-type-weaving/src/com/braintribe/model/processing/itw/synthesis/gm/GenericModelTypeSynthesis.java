@@ -23,18 +23,23 @@ import static com.braintribe.model.processing.itw.synthesis.gm.GmtsHelper.toArra
 import static com.braintribe.model.processing.itw.tools.ItwTools.cast;
 import static com.braintribe.model.processing.itw.tools.ItwTools.extractStaticValue;
 import static com.braintribe.model.processing.itw.tools.ItwTools.getAnnotation;
+import static com.braintribe.utils.lcd.CollectionTools2.newConcurrentMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
 import static com.braintribe.utils.lcd.CollectionTools2.newList;
 import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 import static com.braintribe.utils.lcd.CollectionTools2.nullSafe;
 import static java.util.Collections.emptyMap;
 
+import java.io.File;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -102,18 +107,22 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 	private static final GenericModelTypeSynthesis instance = new GenericModelTypeSynthesis();
 
 	private final GmClassPool gcp;
-	private final Map<String, PreliminaryEntityType> newEntityTypes = newMap();
-	private final Map<String, Map<String, AsmClass>> transientPropertiesForType = newMap();
+	private final Map<String, Map<String, AsmClass>> transientPropertiesForType = newConcurrentMap();
 
-	private final Stack<ProtoGmEntityType> entityCreationStack = new Stack<>();
+	private final WeavingState sharedWeavingState = new WeavingState();
+	private final ThreadLocal<WeavingState> workerWeavingState = new ThreadLocal<>();
 
 	private final DefaultMethodsSupport defaultMethodsSupport = new DefaultMethodsSupport();
 
+	private ItwBytecodeCache bytecodeCache;
+	private ForkJoinPool parallelWeavingPool;
+
 	private static final Logger log = Logger.getLogger(GenericModelTypeSynthesis.class);
 
 	private GenericModelTypeSynthesis() {
 		super();
 		gcp = new GmClassPool(asmClassPool);
+		setBytecodeCacheFolder(ItwTools.bytecodeCacheFolder());
 	}
 
 	/**
@@ -132,6 +141,33 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		return instance;
 	}
 
+	/**
+	 * Configures a folder for the {@link ItwBytecodeCache}. If set, the classes woven for a model are stored there, under a hash of the model's type
+	 * declarations, and ensuring the types of an identical model later (typically on the next start) defines these classes directly, skipping the
+	 * analysis and weaving. The {@link JvmEntityType}s are then only re-created from the loaded classes.
+	 * <p>
+	 * The cache is only used for models whose types are all new, i.e. they are neither deployed nor on the classpath, and which only reference
+	 * types of their own or already deployed types. It is also not used if a class storage is configured (see {@link #setClassDataStorage}).
+	 * <p>
+	 * By default, the folder is taken from the <tt>gm.itwBytecodeCache</tt> system property.
+	 */
+	public void setBytecodeCacheFolder(File folder) {
+		this.bytecodeCache = folder == null ? null : new ItwBytecodeCache(folder);
+	}
+
+	/**
+	 * Configures a pool for parallel weaving. If set, {@link #ensureModelTypes(ProtoGmMetaModel) ensuring} a model splits its entity types into
+	 * independent groups - types which are not connected via super-types, property types or evaluatesTo - and weaves each group as a separate task
+	 * on given pool. The new types are then registered together, the same way as with sequential weaving.
+	 * <p>
+	 * Like with the {@link #setBytecodeCacheFolder(File) bytecode cache}, this only applies to models whose types are all new and only reference
+	 * types of their own or already deployed types, and not if a class storage is configured. Otherwise, or if there is only one such group, the
+	 * types are woven sequentially.
+	 */
+	public void setParallelWeavingPool(ForkJoinPool parallelWeavingPool) {
+		this.parallelWeavingPool = parallelWeavingPool;
+	}
+
 	public void ensureModelTypes(ProtoGmMetaModel gmModel) throws GenericModelTypeSynthesisException {
 		GmtsMetaModelValidator.validate(gmModel);
 
@@ -173,8 +209,17 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		for (ProtoGmMetaModel dependency : nullSafe(gmModel.getDependencies()))
 			_tryEnsuringModelTypes(dependency, ensuredModels);
 
+		if (bytecodeCache != null)
+			_ensureOwnModelTypesUsingBytecodeCache(gmModel);
+		else
+			_ensureOwnModelTypes(gmModel);
+	}
+
+	private void _ensureOwnModelTypes(ProtoGmMetaModel gmModel) throws GenericModelTypeSynthesisException {
 		Set<? extends ProtoGmType> types = gmModel.getTypes();
 
+		boolean weaveInParallel = parallelWeavingPool != null && !asmClassPool.hasClassStorageManager() && consistsOfNewSelfContainedTypes(gmModel);
+
 		/* IMPORTANT: We have to ensure enums first, because the initializers (default values) for enum properties of entities might have these enum
 		 * constants set. So they have to be accessible via reflection by the initializerString parser */
 
@@ -191,8 +236,308 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 				.filter(gmType -> gmType instanceof ProtoGmEntityType) //
 				.collect(Collectors.toList());
 
-		for (ProtoGmType entityType : entityTypes)
-			_ensureEntityType((ProtoGmEntityType) entityType);
+		if (weaveInParallel)
+			weaveInParallel(entityTypes);
+		else
+			for (ProtoGmType entityType : entityTypes)
+				_ensureEntityType((ProtoGmEntityType) entityType);
+	}
+
+	// #############################################
+	// ## . . . . . . Bytecode cache . . . . . . .##
+	// #############################################
+
+	private void _ensureOwnModelTypesUsingBytecodeCache(ProtoGmMetaModel gmModel) throws GenericModelTypeSynthesisException {
+		synchronized (ENTITY_TYPE_LOCK) {
+			if (asmClassPool.hasClassStorageManager() || !consistsOfNewSelfContainedTypes(gmModel)) {
+				_ensureOwnModelTypes(gmModel);
+				return;
+			}
+
+			String key = bytecodeCache.computeKey(gmModel);
+			if (key == null) {
+				_ensureOwnModelTypes(gmModel);
+				return;
+			}
+
+			Map<String, byte[]> cachedClasses = bytecodeCache.load(key);
+			if (cachedClasses != null) {
+				restoreModelTypes(gmModel, cachedClasses);
+				return;
+			}
+
+			Map<String, byte[]> newClasses;
+			asmClassPool.startRecordingNewClasses();
+			try {
+				_ensureOwnModelTypes(gmModel);
+			} finally {
+				newClasses = asmClassPool.stopRecordingNewClasses();
+			}
+
+			bytecodeCache.store(key, gmModel, newClasses);
+		}
+	}
+
+	/**
+	 * Returns <tt>true</tt> iff all the types of given model are neither deployed nor on the classpath and only reference types of this model or types
+	 * which are already deployed. Such types can be woven without touching any other types.
+	 */
+	private boolean consistsOfNewSelfContainedTypes(ProtoGmMetaModel gmModel) {
+		Set<? extends ProtoGmType> types = gmModel.getTypes();
+		if (types == null || types.isEmpty())
+			return false;
+
+		Set<String> signatures = types.stream() //
+				.map(ProtoGmType::getTypeSignature) //
+				.collect(Collectors.toSet());
+
+		for (ProtoGmType type : types) {
+			String typeSignature = type.getTypeSignature();
+			if (typeReflection.getDeployedType(typeSignature) != null || ItwTools.findClass(typeSignature) != null)
+				return false;
+
+			if (type instanceof ProtoGmEntityType && !referencesOnlyKnownTypes((ProtoGmEntityType) type, signatures))
+				return false;
+		}
+
+		return true;
+	}
+
+	private boolean referencesOnlyKnownTypes(ProtoGmEntityType gmEntityType, Set<String> modelSignatures) {
+		for (ProtoGmEntityType superType : nullSafe(gmEntityType.getSuperTypes()))
+			if (!isKnownType(superType, modelSignatures))
+				return false;
+
+		for (ProtoGmProperty gmProperty : nullSafe(gmEntityType.getProperties()))
+			if (!isKnownType(gmProperty.getType(), modelSignatures))
+				return false;
+
+		return isKnownType(gmEntityType.getEvaluatesTo(), modelSignatures);
+	}
+
+	private boolean isKnownType(ProtoGmType type, Set<String> modelSignatures) {
+		if (type instanceof ProtoGmLinearCollectionType)
+			return isKnownType(((ProtoGmLinearCollectionType) type).getElementType(), modelSignatures);
+
+		if (type instanceof ProtoGmMapType) {
+			ProtoGmMapType mapType = (ProtoGmMapType) type;
+			return isKnownType(mapType.getKeyType(), modelSignatures) && isKnownType(mapType.getValueType(), modelSignatures);
+		}
+
+		if (type instanceof ProtoGmEntityType || type instanceof ProtoGmEnumType) {
+			String typeSignature = type.getTypeSignature();
+			return modelSignatures.contains(typeSignature) || typeReflection.getDeployedType(typeSignature) != null;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Defines the cached classes and deploys the model's types. Enums are deployed directly, entity types go through the regular
+	 * {@link #finalizeEntitiesRegistration()}, just with {@link PreliminaryEntityType}s that are {@link PreliminaryEntityType#restoredFromCache
+	 * restored from cache}, i.e. all their classes already exist.
+	 */
+	private void restoreModelTypes(ProtoGmMetaModel gmModel, Map<String, byte[]> cachedClasses) throws GenericModelTypeSynthesisException {
+		enumTypeLock.lock();
+		try {
+			Map<String, Class<?>> classes = ItwBytecodeCache.defineClasses(asmClassPool, cachedClasses);
+
+			for (ProtoGmType type : gmModel.getTypes()) {
+				if (type instanceof ProtoGmEnumType) {
+					Class<? extends Enum<?>> enumClass = cast(classes.get(type.getTypeSignature()));
+					typeReflection.deployEnumType(enumClass);
+				}
+			}
+
+		} catch (Exception e) {
+			throw new GenericModelTypeSynthesisException("Error while defining cached classes for model: " + gmModel.getName(), e);
+
+		} finally {
+			enumTypeLock.unlock();
+		}
+
+		Map<String, PreliminaryEntityType> newEntityTypes = ws().newEntityTypes;
+		try {
+			for (ProtoGmType type : gmModel.getTypes())
+				if (type instanceof ProtoGmEntityType)
+					newEntityTypes.put(type.getTypeSignature(), restorePet((ProtoGmEntityType) type));
+
+			for (PreliminaryEntityType pet : newEntityTypes.values())
+				for (ProtoGmEntityType gmSuperType : nullSafe(pet.gmEntityType.getSuperTypes()))
+					pet.superTypes.add(findExistingItwType(gmSuperType.getTypeSignature()));
+
+			finalizeEntitiesRegistration();
+
+		} finally {
+			newEntityTypes.clear();
+		}
+	}
+
+	private PreliminaryEntityType restorePet(ProtoGmEntityType gmEntityType) throws GenericModelTypeSynthesisException {
+		try {
+			PreliminaryEntityType pet = new PreliminaryEntityType(gmEntityType);
+			pet.restoredFromCache = true;
+			pet.mergedProtoGmProperties = getMergedPropertiesFromTypeHierarchy(gmEntityType);
+
+			for (ProtoGmPropertyInfo[] propertyLineage : pet.mergedProtoGmProperties.values())
+				pet.createPreliminaryProperty(propertyLineage[0].relatedProperty(), propertyLineage);
+
+			pet.entityIface = asmClassPool.get(gmEntityType.getTypeSignature());
+			pet.weakInterface = asmClassPool.get(getWeakIfaceName(gmEntityType));
+			pet.plainClass = asmClassPool.get(getPlainClassName(gmEntityType));
+			pet.enhancedClass = asmClassPool.get(GmtsHelper.getEnhancedClassName(gmEntityType));
+			pet.entityTypeClass = asmClassPool.get(getEntityTypeName(gmEntityType));
+			pet.allPreliminaryTransientPropsToImpl = getTransientPropertiesFor(gmEntityType);
+
+			Class<?> javaIface = getJavaClass(pet.entityIface);
+			pet.toStringAnnotation = javaIface.getAnnotation(ToStringInformation.class);
+			pet.selectiveInformationAnnotation = javaIface.getAnnotation(SelectiveInformation.class);
+
+			pet.entityType = extractStaticValue(getJavaClass(pet.entityTypeClass), EntityTypeImplementer.SINGLETON_NAME);
+			pet.entityType.setIsAbstract(pet.isAbstract());
+			pet.entityType.setHasExplicitSelectiveInformation(pet.selectiveInformationAnnotation != null);
+
+			return pet;
+
+		} catch (Exception e) {
+			throw new GenericModelTypeSynthesisException("Error while restoring cached entity type: " + gmEntityType.getTypeSignature(), e);
+		}
+	}
+
+	// #############################################
+	// ## . . . . . . Parallel weaving . . . . . .##
+	// #############################################
+
+	/**
+	 * State of weaving new entity types. Sequential weaving uses the {@link #sharedWeavingState} (guarded by {@link #ENTITY_TYPE_LOCK}), each task of
+	 * {@link #weaveInParallel(List) parallel weaving} uses its own.
+	 */
+	private static class WeavingState {
+		final Map<String, PreliminaryEntityType> newEntityTypes = newMap();
+		final Map<String, PreliminaryEntityType> preliminaryTypes = newMap();
+		final Stack<ProtoGmEntityType> entityCreationStack = new Stack<>();
+
+		/** If <tt>true</tt>, the woven types are only collected in {@link #newEntityTypes}, but not registered (deployed). */
+		boolean deferRegistration;
+	}
+
+	private WeavingState ws() {
+		WeavingState result = workerWeavingState.get();
+		return result != null ? result : sharedWeavingState;
+	}
+
+	/**
+	 * Weaves each group of {@link #groupIndependentTypes(List) independent types} on the {@link #parallelWeavingPool}, and then registers all the new
+	 * types on the calling thread.
+	 * <p>
+	 * The tasks do not touch any types other than their own or already deployed ones (see {@link #consistsOfNewSelfContainedTypes}), thus never
+	 * need the {@link #ENTITY_TYPE_LOCK} held by the calling thread. Classes are still defined super-types first, as the class-loading always
+	 * loads the super-class and interfaces of a new class before the class itself.
+	 */
+	private void weaveInParallel(List<ProtoGmType> entityTypes) throws GenericModelTypeSynthesisException {
+		List<List<ProtoGmEntityType>> groups = groupIndependentTypes(entityTypes);
+		if (groups.size() < 2) {
+			for (List<ProtoGmEntityType> group : groups)
+				for (ProtoGmEntityType gmEntityType : group)
+					_ensureEntityType(gmEntityType);
+			return;
+		}
+
+		synchronized (ENTITY_TYPE_LOCK) {
+			List<ForkJoinTask<WeavingState>> tasks = newList(groups.size());
+			for (List<ProtoGmEntityType> group : groups)
+				tasks.add(parallelWeavingPool.submit(() -> weaveWithoutRegistration(group)));
+
+			Map<String, PreliminaryEntityType> newEntityTypes = sharedWeavingState.newEntityTypes;
+			try {
+				for (ForkJoinTask<WeavingState> task : tasks)
+					newEntityTypes.putAll(task.join().newEntityTypes);
+
+				finalizeEntitiesRegistration();
+
+			} catch (GenericModelTypeSynthesisException e) {
+				throw e;
+
+			} catch (RuntimeException e) {
+				throw new GenericModelTypeSynthesisException("Error while weaving entity types in parallel.", e);
+
+			} finally {
+				newEntityTypes.clear();
+			}
+		}
+	}
+
+	private WeavingState weaveWithoutRegistration(List<ProtoGmEntityType> gmEntityTypes) throws GenericModelTypeSynthesisException {
+		WeavingState ws = new WeavingState();
+		ws.deferRegistration = true;
+
+		workerWeavingState.set(ws);
+		try {
+			for (ProtoGmEntityType gmEntityType : gmEntityTypes)
+				ensureEntityTypeHelper(gmEntityType);
+
+			return ws;
+
+		} finally {
+			workerWeavingState.remove();
+		}
+	}
+
+	/**
+	 * Splits given entity types into groups (connected components) such that no type references a type from another group as super-type, property
+	 * type (incl. collection element types) or evaluatesTo.
+	 */
+	private List<List<ProtoGmEntityType>> groupIndependentTypes(List<ProtoGmType> entityTypes) {
+		Map<String, String> parents = newMap();
+		for (ProtoGmType type : entityTypes)
+			parents.put(type.getTypeSignature(), type.getTypeSignature());
+
+		for (ProtoGmType type : entityTypes) {
+			ProtoGmEntityType gmEntityType = (ProtoGmEntityType) type;
+			String typeSignature = gmEntityType.getTypeSignature();
+
+			for (ProtoGmEntityType superType : nullSafe(gmEntityType.getSuperTypes()))
+				union(parents, typeSignature, superType);
+
+			for (ProtoGmProperty gmProperty : nullSafe(gmEntityType.getProperties()))
+				union(parents, typeSignature, gmProperty.getType());
+
+			union(parents, typeSignature, gmEntityType.getEvaluatesTo());
+		}
+
+		Map<String, List<ProtoGmEntityType>> groups = newLinkedMap();
+		for (ProtoGmType type : entityTypes)
+			groups.computeIfAbsent(findRoot(parents, type.getTypeSignature()), root -> newList()).add((ProtoGmEntityType) type);
+
+		return newList(groups.values());
+	}
+
+	private void union(Map<String, String> parents, String typeSignature, ProtoGmType referencedType) {
+		if (referencedType instanceof ProtoGmLinearCollectionType) {
+			union(parents, typeSignature, ((ProtoGmLinearCollectionType) referencedType).getElementType());
+
+		} else if (referencedType instanceof ProtoGmMapType) {
+			ProtoGmMapType mapType = (ProtoGmMapType) referencedType;
+			union(parents, typeSignature, mapType.getKeyType());
+			union(parents, typeSignature, mapType.getValueType());
+
+		} else if (referencedType instanceof ProtoGmEntityType && parents.containsKey(referencedType.getTypeSignature())) {
+			String root1 = findRoot(parents, typeSignature);
+			String root2 = findRoot(parents, referencedType.getTypeSignature());
+			if (!root1.equals(root2))
+				parents.put(root1, root2);
+		}
+	}
+
+	private String findRoot(Map<String, String> parents, String typeSignature) {
+		String parent;
+		while (!(parent = parents.get(typeSignature)).equals(typeSignature)) {
+			String grandParent = parents.get(parent);
+			parents.put(typeSignature, grandParent);
+			typeSignature = grandParent;
+		}
+
+		return typeSignature;
 	}
 
 	private final ReentrantLock enumTypeLock = new ReentrantLock();
@@ -303,7 +648,7 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 
 		synchronized (ENTITY_TYPE_LOCK) {
 			try {
-				TmpJtsTracker.INSTANCE.checkCreatinoStackIsEmpty(entityCreationStack, gmEntityType, throwable);
+				TmpJtsTracker.INSTANCE.checkCreatinoStackIsEmpty(ws().entityCreationStack, gmEntityType, throwable);
 
 				return cast(ensureEntityTypeHelper(gmEntityType));
 
@@ -344,18 +689,20 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		if (entityType != null)
 			return entityType;
 
+		WeavingState ws = ws();
+
 		// There used to be try-finally block, but that is useless, any error and ITW is wasted, so let's just make the code
 		// simpler
-		entityCreationStack.push(gmEntityType);
+		ws.entityCreationStack.push(gmEntityType);
 
 		PreliminaryEntityType pet = weaveNewEntityType(gmEntityType);
 
-		entityCreationStack.pop();
+		ws.entityCreationStack.pop();
 
-		if (entityCreationStack.isEmpty()) {
+		if (ws.entityCreationStack.isEmpty() && !ws.deferRegistration) {
 			finalizeEntitiesRegistration();
-			newEntityTypes.clear();
-			preliminaryTypes.clear();
+			ws.newEntityTypes.clear();
+			ws.preliminaryTypes.clear();
 
 			return pet.entityType;
 		}
@@ -378,15 +725,13 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 	private ItwEntityType findExistingItwType(String typeSignature) {
 		ItwEntityType entityType = typeReflection.getDeployedType(typeSignature);
 
-		return entityType != null ? entityType : newEntityTypes.get(typeSignature);
+		return entityType != null ? entityType : ws().newEntityTypes.get(typeSignature);
 	}
 
 	// #############################################
 	// ## . . . . . Creating EntityType . . . . . ##
 	// #############################################
 
-	private final Map<String, PreliminaryEntityType> preliminaryTypes = newMap();
-
 	/**
 	 * The EntityType is built in two phases - first we start building it thus crating the corresponding {@link AsmNewClass} (in
 	 * {@link GenericModelTypeSynthesis#startBuildingEntityType(ProtoGmEntityType)}). We then proceed to build
@@ -397,7 +742,7 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		try {
 			// first create incomplete type and register it to allow recursive registration with cyclic type references
 			PreliminaryEntityType pet = ensurePet(gmEntityType);
-			newEntityTypes.put(entityTypeName, pet);
+			ws().newEntityTypes.put(entityTypeName, pet);
 
 			// in case gmEntityType was replaced with JTA version
 			gmEntityType = pet.gmEntityType;
@@ -448,6 +793,8 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 	private PreliminaryEntityType ensurePet(ProtoGmEntityType gmEntityType) throws JavaTypeSynthesisException {
 		String typeSignature = gmEntityType.getTypeSignature();
 
+		Map<String, PreliminaryEntityType> preliminaryTypes = ws().preliminaryTypes;
+
 		PreliminaryEntityType pet = preliminaryTypes.get(typeSignature);
 		if (pet != null)
 			return pet;
@@ -501,7 +848,20 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		if (gmEntityType == null) // superType of GenericEntity
 			return emptyMap();
 		else
-			return transientPropertiesForType.computeIfAbsent(gmEntityType.getTypeSignature(), s -> scanTransientProperties(gmEntityType));
+			return transientPropertiesFor(gmEntityType);
+	}
+
+	/* Not using computeIfAbsent, as scanning is recursive (super-types) and the map is concurrent (parallel weaving) */
+	private Map<String, AsmClass> transientPropertiesFor(ProtoGmEntityType gmEntityType) {
+		String typeSignature = gmEntityType.getTypeSignature();
+
+		Map<String, AsmClass> result = transientPropertiesForType.get(typeSignature);
+		if (result == null) {
+			result = scanTransientProperties(gmEntityType);
+			transientPropertiesForType.put(typeSignature, result);
+		}
+
+		return result;
 	}
 
 	private Map<String, AsmClass> scanTransientProperties(ProtoGmEntityType gmEntityType) {
@@ -830,6 +1190,8 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 	}
 
 	private void finalizeEntitiesRegistration() throws GenericModelTypeSynthesisException {
+		Map<String, PreliminaryEntityType> newEntityTypes = ws().newEntityTypes;
+
 		/* first publish all new EntityTypes */
 		for (PreliminaryEntityType pet : newEntityTypes.values())
 			setJavaTypesForEntityType(pet);
@@ -949,17 +1311,11 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		try {
 			String propertyClassName = getPropertyClassName(pet.gmEntityType, pp.propertyName);
 
-			ClassBuilder cb = makeClass(propertyClassName, false, gcp.jvmPropertyType);
-			PropertyImplementer propertyImplementer = new PropertyImplementer(cb, gcp);
-
-			propertyImplementer.addConstructor(pet, pp);
-			propertyImplementer.addStaticSingletonField();
-			propertyImplementer.addClassInitialization();
-			propertyImplementer.addGetDirectUnsafe(pp.gmProperty, pet.weakInterface);
-			propertyImplementer.addSetDirectUnsafe(pp.gmProperty, pet.weakInterface);
-
-			AsmNewClass asmClass = cb.build();
-			Class<?> jvmClass = getJavaClass(asmClass);
+			Class<?> jvmClass;
+			if (pet.restoredFromCache)
+				jvmClass = getJavaClass(asmClassPool.get(propertyClassName));
+			else
+				jvmClass = weavePropertyClass(propertyClassName, pet, pp);
 
 			// finish property initialization
 			AbstractProperty result = extractStaticValue(jvmClass, PropertyImplementer.SINGLETON_NAME);
@@ -973,6 +1329,22 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 		}
 	}
 
+	private Class<?> weavePropertyClass(String propertyClassName, PreliminaryEntityType pet, PreliminaryProperty pp)
+			throws GenericModelTypeSynthesisException {
+
+		ClassBuilder cb = makeClass(propertyClassName, false, gcp.jvmPropertyType);
+		PropertyImplementer propertyImplementer = new PropertyImplementer(cb, gcp);
+
+		propertyImplementer.addConstructor(pet, pp);
+		propertyImplementer.addStaticSingletonField();
+		propertyImplementer.addClassInitialization();
+		propertyImplementer.addGetDirectUnsafe(pp.gmProperty, pet.weakInterface);
+		propertyImplementer.addSetDirectUnsafe(pp.gmProperty, pet.weakInterface);
+
+		AsmNewClass asmClass = cb.build();
+		return getJavaClass(asmClass);
+	}
+
 	private TransientProperty createTransientProperty(PreliminaryEntityType pet, String name, AsmClass type)
 			throws GenericModelTypeSynthesisException {
 
@@ -992,7 +1364,7 @@ public class GenericModelTypeSynthesis extends JavaTypeSynthesis {
 
 	private void setJavaTypesForDependedEntityTypes(ProtoGmType type) throws GenericModelTypeSynthesisException {
 		if (type instanceof ProtoGmEntityType) {
-			PreliminaryEntityType pet = newEntityTypes.get(type.getTypeSignature());
+			PreliminaryEntityType pet = ws().newEntityTypes.get(type.getTypeSignature());
 			if (pet != null)
 				setJavaTypesForEntityType(pet);
 
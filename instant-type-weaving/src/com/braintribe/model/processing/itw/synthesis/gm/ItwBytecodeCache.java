@@ -0,0 +1,566 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.itw.synthesis.gm;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newLinkedMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
+import static com.braintribe.utils.lcd.CollectionTools2.nullSafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.braintribe.asm.ClassReader;
+import com.braintribe.logging.Logger;
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.pseudo.GenericEntity_pseudo;
+import com.braintribe.model.generic.reflection.AbstractGenericModelTypeReflection;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.Property;
+import com.braintribe.model.processing.itw.asm.AsmClass;
+import com.braintribe.model.processing.itw.asm.AsmClassPool;
+import com.braintribe.model.processing.itw.asm.AsmExistingSourceClass;
+import com.braintribe.model.processing.itw.asm.AsmUtils;
+import com.braintribe.model.processing.itw.synthesis.java.JavaTypeSynthesisException;
+import com.braintribe.model.weaving.ProtoGmEntityType;
+import com.braintribe.model.weaving.ProtoGmEnumConstant;
+import com.braintribe.model.weaving.ProtoGmEnumType;
+import com.braintribe.model.weaving.ProtoGmMetaModel;
+import com.braintribe.model.weaving.ProtoGmModelElement;
+import com.braintribe.model.weaving.ProtoGmProperty;
+import com.braintribe.model.weaving.ProtoGmType;
+import com.braintribe.model.weaving.data.ProtoHasMetaData;
+import com.braintribe.model.weaving.restriction.ProtoGmTypeRestriction;
+
+/**
+ * Content-addressed on-disk cache for the bytecode woven by {@link GenericModelTypeSynthesis}.
+ * <p>
+ * The key of an entry is a SHA-256 hash of the canonical form of all the type declarations of a model and its dependencies (including meta-data and
+ * initializers, as these end up in the bytecode as annotations and property implementations), combined with a fingerprint of the code which
+ * produces the bytecode - the versions of the ITW and gm-core artifacts and of the JVM. If these versions cannot be determined, the cache is not used
+ * at all, i.e. {@link #computeKey(ProtoGmMetaModel)} returns <tt>null</tt>.
+ * <p>
+ * The value is a folder with one file per woven class, named by the class, plus an index file with the class names and the SHA-256 hashes of their
+ * bytecode, which are verified when the entry is loaded. Entries are written into a temporary folder which is then atomically renamed, so an existing
+ * entry is always complete.
+ * <p>
+ * As any change of the model (or ITW) results in a different key, there is no explicit invalidation - a stale entry is simply never used again.
+ * <p>
+ * The {@link JvmEntityType} metadata is not serialized, as it consists of live references to other types and properties. Instead, it is re-created
+ * from the loaded classes (which carry all the annotations) and the model, see {@link GenericModelTypeSynthesis#setBytecodeCacheFolder(File)}.
+ */
+public class ItwBytecodeCache {
+
+	private static final String FORMAT_VERSION = "itw-bytecode-cache:2";
+	private static final String INDEX_FILE_NAME = "classes.index";
+	private static final String GROUP_ID = "com.braintribe.gm";
+
+	private static final Logger log = Logger.getLogger(ItwBytecodeCache.class);
+
+	private static final String ITW_FINGERPRINT = itwFingerprint();
+
+	private final File rootFolder;
+
+	public ItwBytecodeCache(File rootFolder) {
+		this.rootFolder = rootFolder;
+	}
+
+	// #############################################
+	// ## . . . . . . . . . Key . . . . . . . . . ##
+	// #############################################
+
+	/** @return the key for given model, or <tt>null</tt> if the cache cannot be used, as the ITW {@link #itwFingerprint() fingerprint} is unknown */
+	public String computeKey(ProtoGmMetaModel gmModel) {
+		if (ITW_FINGERPRINT == null)
+			return null;
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(FORMAT_VERSION).append('\n');
+		sb.append(ITW_FINGERPRINT).append('\n');
+
+		appendModel(sb, gmModel, newSet());
+
+		return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Identifies the code which produces the bytecode, i.e. the ITW and gm-core artifacts and the JVM, as the woven classes depend on all of them.
+	 * Returns <tt>null</tt> if some of the artifact versions cannot be determined.
+	 */
+	private static String itwFingerprint() {
+		String itwVersion = artifactVersion(ItwBytecodeCache.class, "instant-type-weaving");
+		String gmCoreVersion = artifactVersion(AbstractGenericModelTypeReflection.class, "gm-core");
+
+		if (itwVersion == null || gmCoreVersion == null) {
+			log.info("ITW bytecode cache is disabled, as the versions of instant-type-weaving and gm-core cannot be determined.");
+			return null;
+		}
+
+		return "instant-type-weaving:" + itwVersion + " gm-core:" + gmCoreVersion + " java:" + Runtime.version();
+	}
+
+	/**
+	 * Returns the version of given artifact from its Maven metadata, which is looked up via given class of that artifact. For a code source without
+	 * such metadata (e.g. a classes folder during development) or with a snapshot version, the content can change while the version stays the same,
+	 * so a hash of the content is returned instead.
+	 */
+	private static String artifactVersion(Class<?> artifactClass, String artifactId) {
+		String version = mavenVersion(artifactClass, artifactId);
+		if (version != null && !version.endsWith("-SNAPSHOT") && !version.endsWith("-pc"))
+			return version;
+
+		return codeSourceHash(artifactClass);
+	}
+
+	private static String mavenVersion(Class<?> artifactClass, String artifactId) {
+		String pomProperties = "/META-INF/maven/" + GROUP_ID + "/" + artifactId + "/pom.properties";
+
+		try (InputStream in = artifactClass.getResourceAsStream(pomProperties)) {
+			if (in == null)
+				return null;
+
+			Properties properties = new Properties();
+			properties.load(in);
+			return properties.getProperty("version");
+
+		} catch (IOException e) {
+			log.debug(() -> "Could not read " + pomProperties + ". Reason: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static String codeSourceHash(Class<?> artifactClass) {
+		try {
+			CodeSource codeSource = artifactClass.getProtectionDomain().getCodeSource();
+			URL location = codeSource == null ? null : codeSource.getLocation();
+			if (location == null)
+				return null;
+
+			Path path = Paths.get(location.toURI());
+			MessageDigest digest = newSha256Digest();
+
+			if (Files.isDirectory(path)) {
+				try (Stream<Path> files = Files.walk(path)) {
+					Iterable<Path> regularFiles = files.filter(Files::isRegularFile).sorted()::iterator;
+					for (Path file : regularFiles) {
+						digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+						digest.update(Files.readAllBytes(file));
+					}
+				}
+
+			} else {
+				digest.update(Files.readAllBytes(path));
+			}
+
+			return "sha256:" + toHex(digest.digest());
+
+		} catch (Exception e) {
+			log.debug(() -> "Could not compute hash of the code source of " + artifactClass.getName() + ". Reason: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private void appendModel(StringBuilder sb, ProtoGmMetaModel gmModel, Set<ProtoGmMetaModel> visited) {
+		if (!visited.add(gmModel))
+			return;
+
+		for (ProtoGmMetaModel dependency : nullSafe(gmModel.getDependencies()))
+			appendModel(sb, dependency, visited);
+
+		sb.append("model ").append(gmModel.getName()).append('\n');
+
+		nullSafe(gmModel.getTypes()).stream() //
+				.sorted(Comparator.comparing(ProtoGmType::getTypeSignature)) //
+				.forEach(type -> appendType(sb, type));
+
+		sb.append("overrides ");
+		appendValue(sb, gmModel.getTypeOverrides(), newVisitedSet());
+		sb.append('\n');
+	}
+
+	private void appendType(StringBuilder sb, ProtoGmType type) {
+		if (type instanceof ProtoGmEntityType)
+			appendEntityType(sb, (ProtoGmEntityType) type);
+		else if (type instanceof ProtoGmEnumType)
+			appendEnumType(sb, (ProtoGmEnumType) type);
+		else
+			sb.append("type ").append(type.getTypeSignature()).append('\n');
+	}
+
+	private void appendEntityType(StringBuilder sb, ProtoGmEntityType type) {
+		sb.append("entity ").append(type.getTypeSignature());
+		sb.append(" abstract=").append(type.getIsAbstract());
+		sb.append(" supers=");
+		nullSafe(type.getSuperTypes()).forEach(superType -> sb.append(superType.getTypeSignature()).append(','));
+		sb.append(" evaluatesTo=").append(signatureOf(type.getEvaluatesTo()));
+		appendMetaData(sb, type);
+		sb.append('\n');
+
+		for (ProtoGmProperty property : nullSafe(type.getProperties())) {
+			sb.append("  property ").append(property.getName());
+			sb.append(" type=").append(signatureOf(property.getType()));
+			sb.append(" nullable=").append(property.getNullable());
+			sb.append(" initializer=");
+			appendValue(sb, property.getInitializer(), newVisitedSet());
+			sb.append(" restriction=");
+			appendValue(sb, property.getTypeRestriction(), newVisitedSet());
+			appendMetaData(sb, property);
+			sb.append('\n');
+		}
+	}
+
+	private void appendEnumType(StringBuilder sb, ProtoGmEnumType type) {
+		sb.append("enum ").append(type.getTypeSignature());
+		appendMetaData(sb, type);
+		sb.append('\n');
+
+		for (ProtoGmEnumConstant constant : nullSafe(type.getConstants())) {
+			sb.append("  constant ").append(constant.getName());
+			appendMetaData(sb, constant);
+			sb.append('\n');
+		}
+	}
+
+	private void appendMetaData(StringBuilder sb, ProtoHasMetaData element) {
+		sb.append(" md=");
+		appendValue(sb, element.getMetaData(), newVisitedSet());
+	}
+
+	/**
+	 * Appends a canonical representation of given value. Model elements are referenced by their signature/globalId, other entities (meta-data, value
+	 * descriptors used as initializers, overrides) are appended with all their properties, except for id and partition.
+	 */
+	private void appendValue(StringBuilder sb, Object value, Set<Object> visited) {
+		if (value == null) {
+			sb.append("null");
+
+		} else if (value instanceof ProtoGmType) {
+			sb.append("type:").append(((ProtoGmType) value).getTypeSignature());
+
+		} else if (value instanceof ProtoGmMetaModel) {
+			sb.append("model:").append(((ProtoGmMetaModel) value).getName());
+
+		} else if (value instanceof ProtoGmProperty) {
+			ProtoGmProperty property = (ProtoGmProperty) value;
+			sb.append("property:").append(signatureOf(property.getDeclaringType())).append('#').append(property.getName());
+
+		} else if (value instanceof ProtoGmEnumConstant) {
+			ProtoGmEnumConstant constant = (ProtoGmEnumConstant) value;
+			sb.append("constant:").append(signatureOf(constant.getDeclaringType())).append('#').append(constant.getName());
+
+		} else if (value instanceof ProtoGmTypeRestriction) {
+			ProtoGmTypeRestriction restriction = (ProtoGmTypeRestriction) value;
+			sb.append("restriction:");
+			appendValue(sb, restriction.getTypes(), visited);
+			appendValue(sb, restriction.getKeyTypes(), visited);
+			sb.append(restriction.getAllowVd()).append(',').append(restriction.getAllowKeyVd());
+
+		} else if (value instanceof GenericEntity && !(value instanceof GenericEntity_pseudo)) {
+			appendEntity(sb, (GenericEntity) value, visited);
+
+		} else if (value instanceof ProtoGmModelElement) {
+			sb.append("element:").append(((ProtoGmModelElement) value).getGlobalId());
+
+		} else if (value instanceof List) {
+			sb.append('[');
+			for (Object element : (List<?>) value) {
+				appendValue(sb, element, visited);
+				sb.append(',');
+			}
+			sb.append(']');
+
+		} else if (value instanceof Collection) {
+			sb.append('{');
+			sortedRenderings(((Collection<?>) value).stream(), visited).forEach(s -> sb.append(s).append(','));
+			sb.append('}');
+
+		} else if (value instanceof Map) {
+			sb.append('<');
+			Stream<String> entries = ((Map<?, ?>) value).entrySet().stream().map(e -> render(e.getKey(), visited) + "=" + render(e.getValue(), visited));
+			entries.sorted().forEach(s -> sb.append(s).append(','));
+			sb.append('>');
+
+		} else if (value instanceof Enum) {
+			sb.append(value.getClass().getName()).append(':').append(((Enum<?>) value).name());
+
+		} else if (value instanceof Date) {
+			sb.append("date:").append(((Date) value).getTime());
+
+		} else {
+			sb.append(value.getClass().getSimpleName()).append(':').append(value);
+		}
+	}
+
+	private void appendEntity(StringBuilder sb, GenericEntity entity, Set<Object> visited) {
+		EntityType<?> entityType = entity.entityType();
+		sb.append(entityType.getTypeSignature());
+
+		if (!visited.add(entity)) {
+			sb.append("@cycle");
+			return;
+		}
+
+		sb.append('(');
+		for (Property property : entityType.getProperties()) {
+			if (property.isIdentifying())
+				continue;
+
+			sb.append(property.getName()).append('=');
+			appendValue(sb, property.get(entity), visited);
+			sb.append(';');
+		}
+		sb.append(')');
+	}
+
+	private Stream<String> sortedRenderings(Stream<?> values, Set<Object> visited) {
+		return values.map(v -> render(v, visited)).sorted();
+	}
+
+	private String render(Object value, Set<Object> visited) {
+		StringBuilder sb = new StringBuilder();
+		appendValue(sb, value, visited);
+		return sb.toString();
+	}
+
+	private static Set<Object> newVisitedSet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	private static String signatureOf(ProtoGmType type) {
+		return type == null ? "null" : type.getTypeSignature();
+	}
+
+	private static String sha256(byte[] bytes) {
+		return toHex(newSha256Digest().digest(bytes));
+	}
+
+	private static MessageDigest newSha256Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+		}
+	}
+
+	private static String toHex(byte[] digest) {
+		StringBuilder sb = new StringBuilder(2 * digest.length);
+		for (byte b : digest)
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+
+		return sb.toString();
+	}
+
+	// #############################################
+	// ## . . . . . . Loading / Storing . . . . . ##
+	// #############################################
+
+	/**
+	 * @return bytecode of the cached classes in the order they were woven, or <tt>null</tt> if there is no complete entry for given key. An entry
+	 *         where some class does not match its hash from the index file is deleted, so that it can be stored again.
+	 */
+	public Map<String, byte[]> load(String key) {
+		Path entryFolder = rootFolder.toPath().resolve(key);
+		Path indexFile = entryFolder.resolve(INDEX_FILE_NAME);
+		if (!Files.isRegularFile(indexFile))
+			return null;
+
+		try {
+			Map<String, byte[]> result = newLinkedMap();
+			for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+				if (line.isEmpty())
+					continue;
+
+				int separator = line.indexOf(' ');
+				String className = separator < 0 ? line : line.substring(0, separator);
+				String hash = separator < 0 ? null : line.substring(separator + 1);
+
+				byte[] bytes = Files.readAllBytes(entryFolder.resolve(className));
+				if (!sha256(bytes).equals(hash)) {
+					log.warn("ITW bytecode cache entry " + entryFolder + " is corrupt, class " + className
+							+ " does not match its hash. The entry is deleted and the model will be woven instead.");
+					deleteQuietly(entryFolder);
+					return null;
+				}
+
+				result.put(className, bytes);
+			}
+
+			return result;
+
+		} catch (IOException e) {
+			log.warn("Error while reading ITW bytecode cache entry: " + entryFolder + ". The model will be woven instead.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores given classes for given key, unless some of the classes do not belong to the types of given model (e.g. when weaving also created
+	 * types which are only referenced by the model), in which case the entry could not be used for a later start anyway.
+	 */
+	public void store(String key, ProtoGmMetaModel gmModel, Map<String, byte[]> classes) {
+		if (classes.isEmpty() || !allBelongToModel(classes.keySet(), gmModel))
+			return;
+
+		Path entryFolder = rootFolder.toPath().resolve(key);
+		if (Files.isDirectory(entryFolder))
+			return;
+
+		Path tmpFolder = rootFolder.toPath().resolve(key + ".tmp-" + System.nanoTime());
+		try {
+			Files.createDirectories(tmpFolder);
+
+			List<String> indexLines = newList();
+			for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+				Files.write(tmpFolder.resolve(entry.getKey()), entry.getValue());
+				indexLines.add(entry.getKey() + " " + sha256(entry.getValue()));
+			}
+
+			Files.write(tmpFolder.resolve(INDEX_FILE_NAME), indexLines, StandardCharsets.UTF_8);
+
+			Files.move(tmpFolder, entryFolder, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (IOException e) {
+			// most likely a concurrent start already stored the very same entry
+			log.debug(() -> "Could not store ITW bytecode cache entry: " + entryFolder + ". Reason: " + e.getMessage());
+			deleteQuietly(tmpFolder);
+		}
+	}
+
+	private static boolean allBelongToModel(Set<String> classNames, ProtoGmMetaModel gmModel) {
+		Set<String> signatures = newSet();
+		for (ProtoGmType type : nullSafe(gmModel.getTypes()))
+			signatures.add(type.getTypeSignature());
+
+		return classNames.stream().allMatch(className -> signatures.contains(ownerSignature(className)));
+	}
+
+	/** Inverse of the naming conventions in {@link GmtsHelper} - returns the signature of the type given ITW class was woven for. */
+	private static String ownerSignature(String className) {
+		int propertySeparator = className.indexOf("--");
+		if (propertySeparator > 0) {
+			int packageEnd = className.lastIndexOf('.', propertySeparator) + 1;
+			return className.substring(0, packageEnd) + className.substring(propertySeparator + 2);
+		}
+
+		int suffixStart = className.lastIndexOf('-');
+		return suffixStart < 0 ? className : className.substring(0, suffixStart);
+	}
+
+	private static void deleteQuietly(Path folder) {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	// #############################################
+	// ## . . . . . . Defining classes . . . . . .##
+	// #############################################
+
+	/**
+	 * Defines given classes via given {@link AsmClassPool} (thus using the same class-loading as for woven classes), and then registers them as
+	 * {@link AsmClassPool#registerLoadedClass(Class) loaded classes}, so that types woven later can extend them.
+	 * <p>
+	 * Unlike with newly woven classes, the super-types are loaded explicitly first, as the class-loading only does that for classes being woven.
+	 */
+	public static Map<String, Class<?>> defineClasses(AsmClassPool classPool, Map<String, byte[]> classes) throws JavaTypeSynthesisException {
+		Map<String, AsmExistingSourceClass> sourceClasses = newMap();
+		for (String className : classes.keySet())
+			ensureSourceClass(className, classes, sourceClasses, classPool);
+
+		Map<String, Class<?>> result = newLinkedMap();
+		for (String className : classes.keySet())
+			loadClass(sourceClasses.get(className), sourceClasses, classPool, result);
+
+		for (Class<?> clazz : result.values())
+			classPool.registerLoadedClass(clazz);
+
+		return result;
+	}
+
+	private static AsmClass ensureSourceClass(String className, Map<String, byte[]> classes, Map<String, AsmExistingSourceClass> sourceClasses,
+			AsmClassPool classPool) throws JavaTypeSynthesisException {
+
+		AsmExistingSourceClass result = sourceClasses.get(className);
+		if (result != null)
+			return result;
+
+		byte[] bytes = classes.get(className);
+		if (bytes == null)
+			return requireExternalClass(className, classPool);
+
+		ClassReader cr = new ClassReader(bytes);
+
+		AsmClass superClass = ensureSourceClass(AsmUtils.fromInternalName(cr.getSuperName()), classes, sourceClasses, classPool);
+
+		List<AsmClass> interfaces = newList();
+		for (String iface : cr.getInterfaces())
+			interfaces.add(ensureSourceClass(AsmUtils.fromInternalName(iface), classes, sourceClasses, classPool));
+
+		result = new AsmExistingSourceClass(className, superClass, interfaces, bytes, classPool);
+		classPool.registerPreliminaryClass(result);
+		classPool.registerFinishedNewClass(result);
+		sourceClasses.put(className, result);
+
+		return result;
+	}
+
+	private static AsmClass requireExternalClass(String className, AsmClassPool classPool) throws JavaTypeSynthesisException {
+		AsmClass result = classPool.getIfPresent(className);
+		if (result == null)
+			throw new JavaTypeSynthesisException("Cached class references unknown class: " + className);
+
+		return result;
+	}
+
+	private static void loadClass(AsmExistingSourceClass asmClass, Map<String, AsmExistingSourceClass> sourceClasses, AsmClassPool classPool,
+			Map<String, Class<?>> loaded) throws JavaTypeSynthesisException {
+
+		if (asmClass == null || loaded.containsKey(asmClass.getName()))
+			return;
+
+		loadClass(sourceClasses.get(asmClass.getSuperClass().getName()), sourceClasses, classPool, loaded);
+		for (AsmClass iface : asmClass.getInterfaces())
+			loadClass(sourceClasses.get(iface.getName()), sourceClasses, classPool, loaded);
+
+		loaded.put(asmClass.getName(), classPool.getJvmClass(asmClass));
+	}
+
+}
@@ -85,6 +85,12 @@ public class PreliminaryEntityType implements ItwEntityType {
 	public ToStringInformation toStringAnnotation;
 	public SelectiveInformation selectiveInformationAnnotation;
 
+	/**
+	 * <tt>true</tt> iff all the classes for this type were defined from the {@link ItwBytecodeCache}, i.e. there are no implementers and only the
+	 * {@link JvmEntityType} (and it's properties) are being finalized.
+	 */
+	public boolean restoredFromCache;
+
 	public PreliminaryEntityType(ProtoGmEntityType gmEntityType) {
 		this.gmEntityType = gmEntityType;
 		this.entityTypeName = gmEntityType.getTypeSignature();
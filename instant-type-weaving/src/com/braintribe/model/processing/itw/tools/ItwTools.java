@@ -15,6 +15,7 @@
 // ============================================================================
 package com.braintribe.model.processing.itw.tools;
 
+import java.io.File;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -55,6 +56,16 @@ public class ItwTools {
 		}
 	}
 
+	/**
+	 * Returns the folder for the {@link com.braintribe.model.processing.itw.synthesis.gm.ItwBytecodeCache} as configured via the
+	 * <tt>gm.itwBytecodeCache</tt> system property, or <tt>null</tt> if no such property is set.
+	 */
+	public static File bytecodeCacheFolder() {
+		String property = System.getProperty("gm.itwBytecodeCache");
+
+		return property == null || property.isEmpty() ? null : new File(property);
+	}
+
 	public static Class<?> findClass(String className) {
 		try {
 			return Class.forName(className, false, AsmClassLoading.contextClassLoader());
@@ -16,8 +16,11 @@
 package com.braintribe.gm.jdbc.test;
 
 import static com.braintribe.utils.SysPrint.spOut;
+import static com.braintribe.utils.lcd.CollectionTools2.asList;
+import static com.braintribe.utils.lcd.CollectionTools2.asMap;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -74,6 +77,35 @@ public class GmDb_AutoIncrementId_Tests extends AbstractGmDbTestBase {
 		assertDelete(table, 1L);
 	}
 
+	@Test
+	public void testBatchInsert() {
+		if (vendor == DbVendor.oracle) {
+			spOut("Skipping test for Oracle. Auto-increment doesn't work for v11 and there is no ");
+			return;
+		}
+
+		final String TABLE_NAME = "auto_incr_batch" + tmSfx;
+		GmTable table = ensureTable(TABLE_NAME);
+
+		table.insertBatch(asList( //
+				asMap(colString255, "V1"), //
+				asMap(colString255, "V2"), //
+				asMap(colString255, "V3") //
+		));
+
+		collectResult(table.select().orderBy(colIdLong.getSingleSqlColumn()).rows());
+
+		// ## Assertions
+
+		assertResultSize(3);
+
+		List<String> results = queryResult.stream() //
+				.map(row -> row.getValue(colString255)) //
+				.collect(Collectors.toList());
+
+		assertThat(results).containsExactly("V1", "V2", "V3");
+	}
+
 	private GmTable ensureTable(final String TABLE_NAME) {
 		GmTable table = newGmTable(TABLE_NAME);
 		table.ensure();
@@ -20,6 +20,7 @@ import static com.braintribe.utils.lcd.CollectionTools2.asSet;
 import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
 import java.sql.Connection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,6 +64,19 @@ public interface GmTable {
 	 */
 	void insert(Connection c, Map<GmColumn<?>, Object> columnsToValues);
 
+	/** Equivalent to {@code insertBatch(null, rows)}. */
+	default void insertBatch(List<Map<GmColumn<?>, Object>> rows) {
+		insertBatch(null, rows);
+	}
+
+	/**
+	 * Inserts given rows with a single JDBC batch, i.e. a single prepared statement is executed for all the rows.
+	 * <p>
+	 * Just like with {@link #insert(Connection, Map)}, the connection can be {@code null}, in which case all the rows are inserted in a single
+	 * transaction with a connection acquired by the table.
+	 */
+	void insertBatch(Connection c, List<Map<GmColumn<?>, Object>> rows);
+
 	default GmSelectBuilder select() {
 		return select(newSet(getColumns()));
 	}
@@ -15,7 +15,9 @@
 // ============================================================================
 package com.braintribe.gm.jdbc.impl;
 
+import static com.braintribe.utils.lcd.CollectionTools2.asList;
 import static com.braintribe.utils.lcd.CollectionTools2.newIdentityMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -25,6 +27,7 @@ import java.util.Map;
 import java.util.StringJoiner;
 
 import com.braintribe.gm.jdbc.api.GmColumn;
+import com.braintribe.gm.jdbc.impl.column.ResourceColumn;
 import com.braintribe.logging.Logger;
 
 /**
@@ -33,35 +36,42 @@ import com.braintribe.logging.Logger;
 public class GmInsertImpl {
 
 	public static void insert(GmTableImpl table, Map<GmColumn<?>, Object> values, Connection connection) {
-		new GmInsertImpl(table, values, connection).doInsert();
+		new GmInsertImpl(table, asList(values), connection).doInsert();
+	}
+
+	public static void insertBatch(GmTableImpl table, List<Map<GmColumn<?>, Object>> rows, Connection connection) {
+		if (!rows.isEmpty())
+			new GmInsertImpl(table, rows, connection).doInsert();
 	}
 
 	private static final Logger log = Logger.getLogger(GmInsertImpl.class);
 
 	private final GmTableImpl table;
-	private final Map<GmColumn<?>, Object> values;
+	private final List<Map<GmColumn<?>, Object>> rows;
 	private final Connection connection;
 
 	private final Map<GmColumn<?>, Integer> columnToBindingPosition = newIdentityMap();
 
 	private String sql;
 
-	private GmInsertImpl(GmTableImpl table, Map<GmColumn<?>, Object> values, Connection connection) {
+	private GmInsertImpl(GmTableImpl table, List<Map<GmColumn<?>, Object>> rows, Connection connection) {
 		this.table = table;
-		this.values = values;
+		this.rows = rows;
 		this.connection = connection;
-		verifyValueColumns();
-		verifyNonNullColumnsHaveValue();
+		for (Map<GmColumn<?>, Object> values : rows) {
+			verifyValueColumns(values);
+			verifyNonNullColumnsHaveValue(values);
+		}
 	}
 
-	private void verifyValueColumns() {
+	private void verifyValueColumns(Map<GmColumn<?>, Object> values) {
 		for (GmColumn<?> gmColumn : values.keySet())
 			if (!table.getColumns().contains(gmColumn))
 				throw new IllegalArgumentException("Column '" + gmColumn.getGmName() + "' is not part of table '" + table.tableName
 						+ "', cannot insert value: " + values.get(gmColumn));
 	}
 
-	private void verifyNonNullColumnsHaveValue() {
+	private void verifyNonNullColumnsHaveValue(Map<GmColumn<?>, Object> values) {
 		for (GmColumn<?> gmColumn : table.mandatoryColumns())
 			if (!values.containsKey(gmColumn))
 				throw new IllegalArgumentException("Column '" + gmColumn.getGmName() + "' cannot have null value in table '" + table.tableName);
@@ -100,7 +110,10 @@ public class GmInsertImpl {
 	}
 
 	private String describeTask() {
-		return "Inserting row into table '" + table.getName() + "'. Values: " + values;
+		if (rows.size() == 1)
+			return "Inserting row into table '" + table.getName() + "'. Values: " + rows.get(0);
+		else
+			return "Inserting " + rows.size() + " rows into table '" + table.getName() + "'.";
 	}
 
 	private void doInsert(Connection c) {
@@ -108,6 +121,49 @@ public class GmInsertImpl {
 	}
 
 	private void bindAndExecute(PreparedStatement ps, List<GmColumn<?>> boundColumns) throws SQLException {
+		if (rows.size() == 1) {
+			Map<GmColumn<?>, Object> values = rows.get(0);
+			bind(ps, values, boundColumns);
+
+			int n = ps.executeUpdate();
+			if (n != 1)
+				log.warn("Insert might have failed, the returned value was not 1 but: " + n + ". Statement: " + sql + ", values: " + values);
+			return;
+		}
+
+		if (bindsStreams()) {
+			// such columns keep one open stream per statement, so we cannot bind more rows at once
+			for (Map<GmColumn<?>, Object> values : rows) {
+				List<GmColumn<?>> rowColumns = newList();
+				try {
+					bind(ps, values, rowColumns);
+					ps.executeUpdate();
+				} finally {
+					for (GmColumn<?> column : rowColumns)
+						column.afterStatementExecuted(ps);
+				}
+			}
+			return;
+		}
+
+		for (Map<GmColumn<?>, Object> values : rows) {
+			bind(ps, values, boundColumns);
+			ps.addBatch();
+		}
+
+		int[] counts = ps.executeBatch();
+		for (int i = 0; i < counts.length; i++)
+			// SUCCESS_NO_INFO (-2) is a valid result for drivers which do not track the count per batched row
+			if (counts[i] != 1 && counts[i] != PreparedStatement.SUCCESS_NO_INFO)
+				log.warn("Batch insert might have failed for row " + i + ", the returned value was not 1 but: " + counts[i] + ". Statement: " + sql
+						+ ", values: " + rows.get(i));
+	}
+
+	private boolean bindsStreams() {
+		return table.getColumns().stream().anyMatch(c -> c instanceof ResourceColumn);
+	}
+
+	private void bind(PreparedStatement ps, Map<GmColumn<?>, Object> values, List<GmColumn<?>> boundColumns) {
 		for (GmColumn<?> column : table.getColumns()) {
 			// Do not insert auto-increment columns
 			if (column.isAutoIncrement())
@@ -119,10 +175,6 @@ public class GmInsertImpl {
 			((GmColumn<Object>) column).bindParameter(ps, position, value);
 			boundColumns.add(column);
 		}
-
-		int n = ps.executeUpdate();
-		if (n != 1)
-			log.warn("Insert might have failed, the returned value was not 1 but: " + n + ". Statement: " + sql + ", values: " + values);
 	}
 
 }
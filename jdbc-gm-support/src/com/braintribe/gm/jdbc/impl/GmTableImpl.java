@@ -342,6 +342,11 @@ public class GmTableImpl implements GmTable, GmTableBuilder {
 		GmInsertImpl.insert(this, values, connection);
 	}
 
+	@Override
+	public void insertBatch(Connection connection, List<Map<GmColumn<?>, Object>> rows) {
+		GmInsertImpl.insertBatch(this, rows, connection);
+	}
+
 	@Override
 	public GmSelectBuilder select(Set<GmColumn<?>> columns) {
 		return new GmSelectBuilderImpl(this, columns);
@@ -1,9 +1,13 @@
 package com.braintribe.messaging.jdbc.tests;
 
 import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import javax.sql.DataSource;
 
 import com.braintribe.codec.marshaller.bin.Bin2Marshaller;
 import com.braintribe.common.db.BasicDbTestSession;
+import com.braintribe.common.db.DbVendor;
 import com.braintribe.common.db.wire.contract.DbTestDataSourcesContract;
 import com.braintribe.messaging.jdbc.JdbcConnectionProvider;
 import com.braintribe.messaging.jdbc.JdbcMsgConnection;
@@ -11,7 +15,8 @@ import com.braintribe.transport.messaging.api.MessagingContext;
 import com.braintribe.transport.messaging.api.MessagingSession;
 
 /**
- * This requires a running Postgres DB, see {@link DbTestDataSourcesContract#postgres()}
+ * This requires a running Postgres DB, see {@link DbTestDataSourcesContract#postgres()}, unless created for a different {@link DbVendor}, in
+ * which case the polling mode is used.
  * 
  * @author peter.gazdik
  */
@@ -33,6 +38,15 @@ public class JdbcMessagingInstance {
 	}
 
 	public JdbcMessagingInstance(String nodeId) {
+		this(nodeId, DbVendor.postgres);
+	}
+
+	public JdbcMessagingInstance(String nodeId, DbVendor vendor) {
+		this(nodeId, vendor, UnaryOperator.identity());
+	}
+
+	/** @param dataSourceDecorator allows tests to simulate specific JDBC driver behavior */
+	public JdbcMessagingInstance(String nodeId, DbVendor vendor, UnaryOperator<DataSource> dataSourceDecorator) {
 		dbSession = BasicDbTestSession.startDbTest();
 
 		messagingContext = new MessagingContext();
@@ -43,7 +57,13 @@ public class JdbcMessagingInstance {
 		connectionProvider = new JdbcConnectionProvider();
 		connectionProvider.setName("test-messaging");
 		connectionProvider.setSqlPrefix("hc");
-		connectionProvider.setDataSource(dbSession.contract.postgres(POSTGRES_PORT));
+		if (vendor == DbVendor.postgres) {
+			connectionProvider.setDataSource(dataSourceDecorator.apply(dbSession.contract.postgres(POSTGRES_PORT)));
+		} else {
+			connectionProvider.setDataSource(dataSourceDecorator.apply(dbSession.contract.dataSource(vendor)));
+			connectionProvider.setPollingMode(true);
+			connectionProvider.setPollIntervalInMillis(50);
+		}
 		connectionProvider.setMessagingContext(messagingContext);
 
 		connection = connectionProvider.provideMessagingConnection();
@@ -0,0 +1,143 @@
+package com.braintribe.messaging.jdbc.tests.regular;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.braintribe.common.db.DbVendor;
+import com.braintribe.messaging.jdbc.model.MessagePayload;
+import com.braintribe.messaging.jdbc.tests.JdbcMessagingInstance;
+import com.braintribe.model.messaging.Message;
+import com.braintribe.model.messaging.Queue;
+import com.braintribe.transport.messaging.api.MessageConsumer;
+import com.braintribe.transport.messaging.api.MessageProducer;
+
+/**
+ * Tests the polling mode with a JDBC driver which does not report the update counts of a batch, i.e. returns
+ * {@link PreparedStatement#SUCCESS_NO_INFO} from {@link PreparedStatement#executeBatch()} (like older Oracle drivers do).
+ */
+public class JdbcMessagingPollingNoBatchInfoTest {
+
+	private static JdbcMessagingInstance msgInstanceA;
+	private static JdbcMessagingInstance msgInstanceB;
+
+	@BeforeClass
+	public static void setup() {
+		msgInstanceA = new JdbcMessagingInstance("node-a", DbVendor.h2, JdbcMessagingPollingNoBatchInfoTest::noBatchInfo);
+		msgInstanceB = new JdbcMessagingInstance("node-b", DbVendor.h2, JdbcMessagingPollingNoBatchInfoTest::noBatchInfo);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		msgInstanceA.shutDown();
+		msgInstanceB.shutDown();
+	}
+
+	@Test(timeout = 10_000L)
+	public void queueMessagesAreDeliveredExactlyOnce() throws Exception {
+		Queue queue = Queue.create("PQ-NO-INFO");
+
+		MessageConsumer qConsumerA = msgInstanceA.session.createMessageConsumer(queue);
+		MessageConsumer qConsumerB = msgInstanceB.session.createMessageConsumer(queue);
+
+		final int COUNT = 100;
+
+		MessageProducer msgProducer = msgInstanceA.session.createMessageProducer();
+		for (int i = 0; i < COUNT; i++)
+			msgProducer.sendMessage(createMessage("Q" + i), queue);
+		msgProducer.close();
+
+		Set<String> received = newSet();
+		while (received.size() < COUNT) {
+			receiveInto(qConsumerA, received);
+			receiveInto(qConsumerB, received);
+		}
+
+		assertThat(received).hasSize(COUNT);
+
+		assertThat(qConsumerA.receive(300)).isNull();
+		assertThat(qConsumerB.receive(300)).isNull();
+
+		qConsumerA.close();
+		qConsumerB.close();
+	}
+
+	private void receiveInto(MessageConsumer consumer, Set<String> received) {
+		Message msg = consumer.receive(10);
+		if (msg == null)
+			return;
+
+		String text = ((MessagePayload) msg.getBody()).getText();
+		assertThat(received.add(text)).as("Message delivered more than once: " + text).isTrue();
+	}
+
+	private Message createMessage(String text) {
+		Message msg = Message.T.create();
+		msg.setBody(MessagePayload.create(text));
+		return msg;
+	}
+
+	// #############################################
+	// ## . . . . . . . . Helpers . . . . . . . . ##
+	// #############################################
+
+	private static DataSource noBatchInfo(DataSource dataSource) {
+		return proxy(DataSource.class, dataSource, result -> {
+			if (result instanceof Connection)
+				return proxy(Connection.class, (Connection) result, r -> {
+					if (r instanceof PreparedStatement)
+						return noBatchInfo((PreparedStatement) r);
+					return r;
+				});
+			return result;
+		});
+	}
+
+	private static PreparedStatement noBatchInfo(PreparedStatement ps) {
+		InvocationHandler handler = (p, method, args) -> {
+			Object result = invoke(method, ps, args);
+			if (method.getName().equals("executeBatch")) {
+				int[] counts = ((int[]) result).clone();
+				Arrays.fill(counts, PreparedStatement.SUCCESS_NO_INFO);
+				return counts;
+			}
+			return result;
+		};
+
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+				handler);
+	}
+
+	private interface ResultTransformer {
+		Object transform(Object result);
+	}
+
+	private static <T> T proxy(Class<T> iface, T delegate, ResultTransformer resultTransformer) {
+		InvocationHandler handler = (p, method, args) -> resultTransformer.transform(invoke(method, delegate, args));
+
+		return iface.cast(Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[] { iface }, handler));
+	}
+
+	private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.braintribe.messaging.jdbc.tests.regular;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.braintribe.common.db.DbVendor;
+import com.braintribe.messaging.jdbc.JdbcMsgPollingConfig;
+import com.braintribe.messaging.jdbc.model.MessagePayload;
+import com.braintribe.messaging.jdbc.tests.JdbcMessagingInstance;
+import com.braintribe.model.messaging.Message;
+import com.braintribe.model.messaging.Queue;
+import com.braintribe.model.messaging.Topic;
+import com.braintribe.transport.messaging.api.MessageConsumer;
+import com.braintribe.transport.messaging.api.MessageProducer;
+
+/**
+ * Tests the DB agnostic {@link JdbcMsgPollingConfig polling mode} with two messaging instances on H2.
+ */
+public class JdbcMessagingPollingTest {
+
+	private static JdbcMessagingInstance msgInstanceA;
+	private static JdbcMessagingInstance msgInstanceB;
+
+	@BeforeClass
+	public static void setup() {
+		msgInstanceA = new JdbcMessagingInstance("node-a", DbVendor.h2);
+		msgInstanceB = new JdbcMessagingInstance("node-b", DbVendor.h2);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		msgInstanceA.shutDown();
+		msgInstanceB.shutDown();
+	}
+
+	@Test(timeout = 10_000L)
+	public void topicMessageReachesAllConsumers() throws Exception {
+		Topic topic = Topic.create("PT1");
+
+		MessageConsumer tConsumerA = msgInstanceA.session.createMessageConsumer(topic);
+		MessageConsumer tConsumerB = msgInstanceB.session.createMessageConsumer(topic);
+
+		MessageProducer msgProducer = msgInstanceA.session.createMessageProducer();
+		msgProducer.sendMessage(createMessage("TOPIC"), topic);
+		// longer than MsgTable.SHORT_BODY_LIMIT, i.e. stored in the bodyLong column
+		msgProducer.sendMessage(createMessage(longText()), topic);
+		msgProducer.close();
+
+		// messages are passed to the consumers concurrently, so the order is not guaranteed
+		assertThat(receiveTexts(tConsumerA, 2)).containsExactlyInAnyOrder("TOPIC", longText());
+		assertThat(receiveTexts(tConsumerB, 2)).containsExactlyInAnyOrder("TOPIC", longText());
+
+		assertNoMoreMessage(tConsumerA);
+		assertNoMoreMessage(tConsumerB);
+
+		tConsumerA.close();
+		tConsumerB.close();
+	}
+
+	@Test(timeout = 10_000L)
+	public void queueMessagesAreDeliveredExactlyOnce() throws Exception {
+		Queue queue = Queue.create("PQ1");
+
+		MessageConsumer qConsumerA = msgInstanceA.session.createMessageConsumer(queue);
+		MessageConsumer qConsumerB = msgInstanceB.session.createMessageConsumer(queue);
+
+		final int COUNT = 250;
+
+		MessageProducer msgProducer = msgInstanceA.session.createMessageProducer();
+		for (int i = 0; i < COUNT; i++)
+			msgProducer.sendMessage(createMessage("Q" + i), queue);
+		msgProducer.close();
+
+		Set<String> received = newSet();
+		while (received.size() < COUNT) {
+			receiveInto(qConsumerA, received);
+			receiveInto(qConsumerB, received);
+		}
+
+		assertThat(received).hasSize(COUNT);
+
+		assertNoMoreMessage(qConsumerA);
+		assertNoMoreMessage(qConsumerB);
+
+		qConsumerA.close();
+		qConsumerB.close();
+	}
+
+	private void receiveInto(MessageConsumer consumer, Set<String> received) {
+		Message msg = consumer.receive(10);
+		if (msg == null)
+			return;
+
+		String text = ((MessagePayload) msg.getBody()).getText();
+		assertThat(received.add(text)).as("Message delivered more than once: " + text).isTrue();
+	}
+
+	private List<String> receiveTexts(MessageConsumer consumer, int count) {
+		List<String> result = newList();
+		while (result.size() < count) {
+			Message msg = consumer.receive();
+			assertThat(msg).isNotNull();
+			result.add(((MessagePayload) msg.getBody()).getText());
+		}
+		return result;
+	}
+
+	private void assertNoMoreMessage(MessageConsumer consumer) {
+		Message msg = consumer.receive(300);
+		assertThat(msg).isNull();
+	}
+
+	private static String longText() {
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < 2000)
+			sb.append("0123456789");
+		return sb.toString();
+	}
+
+	private Message createMessage(String text) {
+		Message msg = Message.T.create();
+		msg.setBody(MessagePayload.create(text));
+		return msg;
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import javax.sql.DataSource;
 
+import com.braintribe.cfg.Configurable;
 import com.braintribe.cfg.Required;
 import com.braintribe.logging.Logger;
 import com.braintribe.model.messaging.Message;
@@ -44,6 +45,7 @@ public class JdbcConnectionProvider implements MessagingConnectionProvider<JdbcM
 	private String sqlPrefix = "hc";
 	private DataSource dataSource;
 	private MessagingContext messagingContext;
+	private final JdbcMsgPollingConfig pollingConfig = new JdbcMsgPollingConfig();
 
 	private final Set<JdbcMsgConnection> connections = new HashSet<>();
 	private final ReentrantLock connectionsLock = new ReentrantLock();
@@ -55,6 +57,20 @@ public class JdbcConnectionProvider implements MessagingConnectionProvider<JdbcM
 	@Required public void setSqlPrefix(String sqlPrefix)                                { this.sqlPrefix = sqlPrefix; }
 	@Required public void setDataSource(DataSource dataSource)                          { this.dataSource = dataSource; }
 	@Required public void setMessagingContext(MessagingContext messagingContext)        { this.messagingContext = messagingContext; }
+
+	/**
+	 * If true, consumers poll the topic and queue tables, which works with any DB supported by {@code jdbc-support}. If false, PostgreSQL
+	 * notifications are used. Default is null, which means notifications on PostgreSQL and polling on any other DB.
+	 * 
+	 * @see JdbcMsgPollingConfig
+	 */
+	@Configurable public void setPollingMode(Boolean pollingMode)                      { this.pollingConfig.polling = pollingMode; }
+	/** @see JdbcMsgPollingConfig#pollIntervalMs */
+	@Configurable public void setPollIntervalInMillis(long pollIntervalInMillis)        { this.pollingConfig.pollIntervalMs = pollIntervalInMillis; }
+	/** @see JdbcMsgPollingConfig#batchSize */
+	@Configurable public void setPollBatchSize(int pollBatchSize)                       { this.pollingConfig.batchSize = pollBatchSize; }
+	/** @see JdbcMsgPollingConfig#topicSettleMs */
+	@Configurable public void setTopicSettleInMillis(long topicSettleInMillis)          { this.pollingConfig.topicSettleMs = topicSettleInMillis; }
 	// @formatter:on
 
 	/**
@@ -64,7 +80,7 @@ public class JdbcConnectionProvider implements MessagingConnectionProvider<JdbcM
 	 */
 	@Override
 	public JdbcMsgConnection provideMessagingConnection() throws MessagingException {
-		JdbcMsgConnection connection = new JdbcMsgConnection(sqlPrefix, dataSource, messagingContext);
+		JdbcMsgConnection connection = new JdbcMsgConnection(sqlPrefix, dataSource, messagingContext, pollingConfig);
 
 		connectionsLock.lock();
 		try {
@@ -60,9 +60,13 @@ public class JdbcMsgConnection implements MessagingConnection {
 	private final Map<String, Set<JdbcMessageConsumer>> queueConsumers = newConcurrentMap();
 
 	public JdbcMsgConnection(String sqlPrefix, DataSource dataSource, MessagingContext messagingContext) {
+		this(sqlPrefix, dataSource, messagingContext, new JdbcMsgPollingConfig());
+	}
+
+	public JdbcMsgConnection(String sqlPrefix, DataSource dataSource, MessagingContext messagingContext, JdbcMsgPollingConfig pollingConfig) {
 		this.messagingContext = messagingContext;
 
-		this.db = new JdbcMsgGmDb(dataSource, sqlPrefix, messagingContext, this);
+		this.db = new JdbcMsgGmDb(dataSource, sqlPrefix, messagingContext, this, pollingConfig);
 	}
 
 	@Override
@@ -1,19 +1,31 @@
 package com.braintribe.messaging.jdbc;
 
 import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
@@ -24,6 +36,7 @@ import com.braintribe.gm.jdbc.api.GmColumn;
 import com.braintribe.gm.jdbc.api.GmDb;
 import com.braintribe.gm.jdbc.api.GmIndex;
 import com.braintribe.gm.jdbc.api.GmRow;
+import com.braintribe.gm.jdbc.api.GmSelectBuilder;
 import com.braintribe.gm.jdbc.api.GmTable;
 import com.braintribe.logging.Logger;
 import com.braintribe.messaging.jdbc.JdbcMsgGmDb.JdbcMsgListener.MessageNotificationDispatcher;
@@ -39,6 +52,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
+ * DB layer of JDBC messaging, with a table for topic and a table for queue messages.
+ * <p>
+ * New messages are discovered either via PostgreSQL notifications, or by polling the tables in batches, which works with any DB supported by
+ * {@code jdbc-support} (see {@link JdbcMsgPollingConfig}).
+ * 
  * @author peter.gazdik
  */
 public class JdbcMsgGmDb {
@@ -56,6 +74,9 @@ public class JdbcMsgGmDb {
 	private static final Logger log = Logger.getLogger(JdbcMsgGmDb.class);
 
 	private final JdbcMsgListener newMsgListener;
+	private final JdbcMsgPoller msgPoller;
+	private final JdbcMsgPollingConfig pollingConfig;
+	private final boolean polling;
 
 	private final MessagingContext msgContext;
 	private final JdbcMsgConnection msgConnection;
@@ -65,7 +86,16 @@ public class JdbcMsgGmDb {
 	private final AtomicInteger notificationCounter = new AtomicInteger();
 
 	public JdbcMsgGmDb(DataSource _dataSource, String _sqlPrefix, MessagingContext _msgContext, JdbcMsgConnection _msgConnection) {
-		verifyPostgres(_dataSource);
+		this(_dataSource, _sqlPrefix, _msgContext, _msgConnection, new JdbcMsgPollingConfig());
+	}
+
+	public JdbcMsgGmDb(DataSource _dataSource, String _sqlPrefix, MessagingContext _msgContext, JdbcMsgConnection _msgConnection,
+			JdbcMsgPollingConfig _pollingConfig) {
+
+		pollingConfig = _pollingConfig;
+		polling = pollingConfig.polling != null ? pollingConfig.polling : !isPostgres(_dataSource);
+		if (!polling)
+			verifyPostgres(_dataSource);
 
 		dataSource = _dataSource;
 		msgContext = _msgContext;
@@ -87,7 +117,17 @@ public class JdbcMsgGmDb {
 		tableTopic = new MsgTable(true);
 		tableQueue = new MsgTable(false);
 
-		newMsgListener = new JdbcMsgListener();
+		newMsgListener = polling ? null : new JdbcMsgListener();
+		msgPoller = polling ? new JdbcMsgPoller() : null;
+	}
+
+	private static boolean isPostgres(DataSource dataSource) {
+		try (Connection conn = dataSource.getConnection()) {
+			return conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgre");
+
+		} catch (SQLException e) {
+			throw Exceptions.unchecked(e, "Error while verifying database connection");
+		}
 	}
 
 	private static void verifyPostgres(DataSource dataSource) {
@@ -122,6 +162,7 @@ public class JdbcMsgGmDb {
 	private class MsgTable {
 
 		private static final int SHORT_BODY_LIMIT = 1000;
+		private static final int MAX_INSERT_BATCH_SIZE = 500;
 
 		// we have two different columns for encoded message body, short and long
 		// short one - up to SHORT_BODY_LIMIT, is passed as part of the notification (which has a limit of 8K bytes)
@@ -136,8 +177,12 @@ public class JdbcMsgGmDb {
 		public final GmColumn<Long> colExpiration = gmDb.longCol("expiration").done(); // null is treated as never expired
 
 		public final GmTable table;
+		private final boolean isTopic;
+		/** Set to false once the driver returns {@link PreparedStatement#SUCCESS_NO_INFO} for a batch, see {@link #claimMessages(List)}. */
+		private volatile boolean batchUpdateCountsKnown = true;
 
 		public MsgTable(boolean isTopic) {
+			this.isTopic = isTopic;
 			String topicOrQueue = isTopic ? "topic" : "queue";
 
 			GmIndex idxExpir = gmDb.index(sqlPrefix + "idx_expir_" + topicOrQueue, colExpiration);
@@ -148,7 +193,61 @@ public class JdbcMsgGmDb {
 					.done();
 		}
 
+		/**
+		 * Inserts the message, possibly together with messages sent concurrently by other threads. The first thread to get the
+		 * {@link #insertLock} inserts all the pending messages as a single batch, the others only wait until their message was inserted.
+		 */
 		public void sendMessage(JdbcMessageEnvelope envelope, Destination destination) {
+			PendingInsert pendingInsert = new PendingInsert(toRow(envelope, destination));
+			pendingInserts.add(pendingInsert);
+
+			insertLock.lock();
+			try {
+				while (!pendingInsert.done.isDone())
+					insertPendingBatch();
+			} finally {
+				insertLock.unlock();
+			}
+
+			try {
+				pendingInsert.done.join();
+
+			} catch (CompletionException e) {
+				throw Exceptions.unchecked(e.getCause(), "Error while sending message to " + destination);
+			}
+		}
+
+		private final ConcurrentLinkedQueue<PendingInsert> pendingInserts = new ConcurrentLinkedQueue<>();
+		private final ReentrantLock insertLock = new ReentrantLock();
+
+		private void insertPendingBatch() {
+			List<PendingInsert> batch = newList();
+			PendingInsert pendingInsert;
+			while (batch.size() < MAX_INSERT_BATCH_SIZE && (pendingInsert = pendingInserts.poll()) != null)
+				batch.add(pendingInsert);
+
+			try {
+				table.insertBatch(batch.stream().map(pi -> pi.row).collect(Collectors.toList()));
+				batch.forEach(pi -> pi.done.complete(null));
+
+			} catch (RuntimeException e) {
+				if (batch.size() == 1) {
+					batch.get(0).done.completeExceptionally(e);
+					return;
+				}
+
+				// insert one by one, so that a single broken message doesn't fail the other ones
+				for (PendingInsert pi : batch)
+					try {
+						table.insert(pi.row);
+						pi.done.complete(null);
+					} catch (RuntimeException ee) {
+						pi.done.completeExceptionally(ee);
+					}
+			}
+		}
+
+		private Map<GmColumn<?>, Object> toRow(JdbcMessageEnvelope envelope, Destination destination) {
 			String bodyShort = null;
 			String bodyLong = null;
 
@@ -157,19 +256,143 @@ public class JdbcMsgGmDb {
 			else
 				bodyLong = envelope.body;
 
-			try {
-				table.insert( //
-						colCreated, new Date(), colBodyShort, bodyShort, //
-						colBodyLong, bodyLong, //
-						colDstName, destination.getName(), //
-						colAddresseeNodeId, envelope.addresseeNodeId, //
-						colAddresseeAppId, envelope.addresseeAppId, //
-						colExpiration, envelope.expiration //
-				);
+			Map<GmColumn<?>, Object> result = newMap();
+			result.put(colCreated, new Date());
+			result.put(colBodyShort, bodyShort);
+			result.put(colBodyLong, bodyLong);
+			result.put(colDstName, destination.getName());
+			result.put(colAddresseeNodeId, envelope.addresseeNodeId);
+			result.put(colAddresseeAppId, envelope.addresseeAppId);
+			result.put(colExpiration, envelope.expiration);
 
-			} catch (RuntimeException e) {
-				throw Exceptions.contextualize(e, "Error while sending message to " + destination);
+			return result;
+		}
+
+		/**
+		 * Selects the messages (with bodies) matching given condition, ordered by id.
+		 * 
+		 * @param limit
+		 *            maximum number of rows, 0 means no limit
+		 */
+		public List<MsgRow> selectMessages(String condition, List<Object> params, int limit) {
+			GmSelectBuilder select = table.select(colIdLong, colBodyShort, colBodyLong, colDstName) //
+					.whereValues(condition, params) //
+					.orderBy(colIdLong.getSingleSqlColumn());
+			if (limit > 0)
+				select.limit(limit);
+
+			List<GmRow> rows = select.rows();
+
+			List<MsgRow> result = newList(rows.size());
+			for (GmRow row : rows) {
+				MsgRow msgRow = new MsgRow();
+				msgRow.isTopic = isTopic;
+				msgRow.id = row.getValue(colIdLong);
+				msgRow.dstName = row.getValue(colDstName);
+				msgRow.body = row.getValue(colBodyShort);
+				if (msgRow.body == null)
+					msgRow.body = row.getValue(colBodyLong);
+
+				result.add(msgRow);
 			}
+
+			return result;
+		}
+
+		public List<Long> selectIds(String condition, List<Object> params) {
+			return table.select(colIdLong) //
+					.whereValues(condition, params) //
+					.rows().stream() //
+					.map(colIdLong::getRowValue) //
+					.collect(Collectors.toList());
+		}
+
+		public long selectMaxId() {
+			String sql = "select max(" + colIdLong.getSingleSqlColumn() + ") from " + table.getName();
+
+			long[] result = { 0 };
+			JdbcTools.withConnection(dataSource, false, () -> "Selecting max id from " + table.getName(), c -> {
+				JdbcTools.withPreparedStatement(c, sql, () -> "", ps -> {
+					try (ResultSet rs = ps.executeQuery()) {
+						if (rs.next())
+							result[0] = rs.getLong(1);
+					}
+				});
+			});
+
+			return result[0];
+		}
+
+		/**
+		 * Deletes the rows with given ids with a single JDBC batch and in a single transaction, and returns the ids which were deleted by this
+		 * call. For a queue this means the corresponding messages were claimed by this node.
+		 * <p>
+		 * Ids are deleted in ascending order, so that nodes claiming overlapping batches lock the rows in the same order.
+		 * <p>
+		 * If the driver does not report the update count per row ({@link PreparedStatement#SUCCESS_NO_INFO}, e.g. older Oracle drivers), the batch
+		 * cannot tell which rows were deleted by us and which by a concurrent claim. In such case the batch is rolled back and each row is claimed
+		 * with its own delete statement, also for all the subsequent calls.
+		 */
+		public Set<Long> claimMessages(List<Long> ids) {
+			Set<Long> result = newSet();
+			if (ids.isEmpty())
+				return result;
+
+			List<Long> sortedIds = newList(ids);
+			sortedIds.sort(null);
+
+			String sql = "delete from " + table.getName() + " where " + colIdLong.getSingleSqlColumn() + " = ?";
+
+			JdbcTools.withManualCommitConnection(dataSource, () -> "Claiming " + ids.size() + " messages from " + table.getName(), c -> {
+				if (batchUpdateCountsKnown && claimInBatch(c, sql, sortedIds, result))
+					return;
+
+				for (Long id : sortedIds)
+					if (deleteMessage(c, id))
+						result.add(id);
+			});
+
+			return result;
+		}
+
+		/** Returns false iff the driver did not report the update counts, in which case the batch was rolled back. */
+		private boolean claimInBatch(Connection c, String sql, List<Long> sortedIds, Set<Long> result) throws SQLException {
+			int[][] counts = { null };
+			JdbcTools.withPreparedStatement(c, sql, () -> "", ps -> {
+				for (Long id : sortedIds) {
+					ps.setLong(1, id);
+					ps.addBatch();
+				}
+
+				counts[0] = ps.executeBatch();
+			});
+
+			for (int count : counts[0])
+				if (count == PreparedStatement.SUCCESS_NO_INFO) {
+					log.debug("JDBC driver does not report update counts for batches, messages from " + table.getName()
+							+ " will be claimed one by one.");
+					c.rollback();
+					batchUpdateCountsKnown = false;
+					return false;
+				}
+
+			for (int i = 0; i < counts[0].length; i++)
+				if (counts[0][i] > 0)
+					result.add(sortedIds.get(i));
+
+			return true;
+		}
+
+		private boolean deleteMessage(Connection c, Long id) {
+			String sql = "delete from " + table.getName() + " where " + colIdLong.getSingleSqlColumn() + " = ?";
+
+			int[] deleted = { 0 };
+			JdbcTools.withPreparedStatement(c, sql, () -> "Deleting message " + id + " from " + table.getName(), ps -> {
+				ps.setLong(1, id);
+				deleted[0] = ps.executeUpdate();
+			});
+
+			return deleted[0] > 0;
 		}
 
 		public boolean deleteMessage(Long id) {
@@ -216,6 +439,10 @@ public class JdbcMsgGmDb {
 		tableTopic.table.ensure();
 		tableQueue.table.ensure();
 
+		// in polling mode no triggers are needed (nor possible, as the trigger SQL is PostgreSQL specific)
+		if (polling)
+			return;
+
 		ensureTriggerFunction();
 		ensureTrigger(true);
 		ensureTrigger(false);
@@ -289,6 +516,10 @@ public class JdbcMsgGmDb {
 			tableTopic.sendMessage(envelope, destination);
 		else
 			tableQueue.sendMessage(envelope, destination);
+
+		// consumers on this node do not have to wait for the next poll
+		if (msgPoller != null)
+			msgPoller.wakeUp();
 	}
 
 	// #################################################
@@ -298,7 +529,7 @@ public class JdbcMsgGmDb {
 	private Thread listenerThread;
 
 	/**
-	 * Starts a listener thread for topic and queue inserts.
+	 * Starts a listener thread for topic and queue inserts, or a {@link JdbcMsgPoller poller} thread in polling mode.
 	 * <p>
 	 * This listener also dispatches the message to all relevant consumers in the {@link MessageNotificationDispatcher#run()} method.
 	 * <p>
@@ -311,9 +542,14 @@ public class JdbcMsgGmDb {
 
 	private synchronized void ensureMsgListenerThreadsRunningSync() {
 		if (listenerThread == null)
-			listenerThread = Thread.ofVirtual() //
-					.name("Jdbc Msg Listener (" + identifier + ")") //
-					.start(newMsgListener);
+			if (polling)
+				listenerThread = Thread.ofVirtual() //
+						.name("Jdbc Msg Poller (" + identifier + ")") //
+						.start(msgPoller);
+			else
+				listenerThread = Thread.ofVirtual() //
+						.name("Jdbc Msg Listener (" + identifier + ")") //
+						.start(newMsgListener);
 	}
 
 	class JdbcMsgListener implements Runnable {
@@ -438,12 +674,7 @@ public class JdbcMsgGmDb {
 					if (!table.deleteMessage(id))
 						return;
 
-				for (JdbcMessageConsumer consumer : consumers) {
-					executor.submit(() -> consumer.receivedMessage(dstName, message));
-
-					if (!isTopic)
-						return;
-				}
+				deliver(message, dstName, isTopic, consumers);
 			}
 
 			private boolean parseNotification() {
@@ -492,7 +723,8 @@ public class JdbcMsgGmDb {
 			}
 
 			private boolean isExpired() {
-				Long expiration = getLongValue("expiration");
+				// the key is "exp", see ensureTriggerFunction()
+				Long expiration = getLongValue("exp");
 
 				return expiration != null && //
 						expiration > 0 && expiration < System.currentTimeMillis();
@@ -502,19 +734,13 @@ public class JdbcMsgGmDb {
 				String addresseeAppId = (String) jsonMap.get("appId");
 				String addresseeNodeId = (String) jsonMap.get("nodeId");
 
-				String myAppId = msgContext.getApplicationId();
-				String myNodeId = msgContext.getNodeId();
+				log.trace(() -> "Received message for node " + addresseeNodeId + ", application " + addresseeAppId + ", local instanceId: "
+						+ msgContext.getNodeId() + "@" + msgContext.getApplicationId());
 
-				log.trace(() -> "Received message for node " + addresseeNodeId + ", application " + addresseeAppId + ", local instanceId: " + myNodeId
-						+ "@" + myAppId);
-
-				return (addresseeNodeId == null || addresseeNodeId.equals(myNodeId)) && //
-						(addresseeAppId == null || addresseeAppId.equals(myAppId));
+				return isAddressedToThisNode(addresseeNodeId, addresseeAppId);
 			}
 
 			private Message resolveMessage() {
-				Destination dst = isTopic ? Topic.create(dstName) : Queue.create(dstName);
-
 				String body = resolveMessageBody();
 				if (body == null) {
 					if (!isTopic)
@@ -522,12 +748,7 @@ public class JdbcMsgGmDb {
 					return null;
 				}
 
-				byte[] messageBody = Base64.getDecoder().decode(body);
-				Message message = msgContext.unmarshal(messageBody);
-
-				message.setDestination(dst);
-
-				return message;
+				return toMessage(body, dstName, isTopic);
 			}
 
 			private String resolveMessageBody() {
@@ -554,6 +775,314 @@ public class JdbcMsgGmDb {
 
 	}
 
+	// #################################################
+	// # . . . . . . . . . . Polling . . . . . . . . . #
+	// #################################################
+
+	/**
+	 * Polls the topic and queue tables for messages for the destinations that have consumers on this node. Used instead of the
+	 * {@link JdbcMsgListener} in polling mode.
+	 * <p>
+	 * Queue messages are claimed in bulk (see {@link MsgTable#claimMessages(List)}) and only the claimed ones are dispatched. Topic messages are
+	 * read based on a high-water mark, see {@link TopicCursor}.
+	 * <p>
+	 * The poller polls again right away if a poll returned a full batch, and is woken up early when a message is sent from this node. Otherwise
+	 * it waits for {@link JdbcMsgPollingConfig#pollIntervalMs}.
+	 */
+	class JdbcMsgPoller implements Runnable {
+
+		/* package */ volatile boolean running = true;
+
+		private final int MIN_RETRY_SECONDS = 1;
+		private final int MAX_RETRY_SECONDS = 10 * 60; // 10 minutes
+
+		private int retrySeconds = MIN_RETRY_SECONDS;
+
+		private final Object wakeUpMonitor = new Object();
+		private boolean wakeUpRequested; // guarded by wakeUpMonitor
+
+		private TopicCursor topicCursor;
+
+		@Override
+		public void run() {
+			log.info(Thread.currentThread().getName() + " is now polling for new messages.");
+
+			while (running) {
+				try {
+					if (topicCursor == null)
+						topicCursor = new TopicCursor(tableTopic.selectMaxId());
+
+					boolean fullTopicBatch = topicCursor.poll();
+					boolean fullQueueBatch = pollQueues();
+					retrySeconds = MIN_RETRY_SECONDS;
+
+					if (!fullTopicBatch && !fullQueueBatch)
+						awaitNextPoll(pollingConfig.pollIntervalMs);
+
+				} catch (InterruptedException e) {
+					logThreadInterrupted();
+					return;
+
+				} catch (Exception e) {
+					if (!running || Thread.currentThread().isInterrupted()) {
+						logThreadInterrupted();
+						return;
+					}
+
+					log.warn(Thread.currentThread().getName() + " encountered an error. Retry in " + retrySeconds + " seconds.", e);
+
+					try {
+						Thread.sleep(retrySeconds * 1000L);
+					} catch (InterruptedException ignored) {
+						logThreadInterrupted();
+						return;
+					}
+
+					retrySeconds = Math.min(2 * retrySeconds, MAX_RETRY_SECONDS);
+				}
+			}
+		}
+
+		private void logThreadInterrupted() {
+			log.info(Thread.currentThread().getName() + " thread interrupted. Shutting down.");
+		}
+
+		public void wakeUp() {
+			synchronized (wakeUpMonitor) {
+				wakeUpRequested = true;
+				wakeUpMonitor.notify();
+			}
+		}
+
+		private void awaitNextPoll(long millis) throws InterruptedException {
+			long waitUntil = System.currentTimeMillis() + millis;
+
+			synchronized (wakeUpMonitor) {
+				while (!wakeUpRequested) {
+					long millisLeft = waitUntil - System.currentTimeMillis();
+					if (millisLeft <= 0)
+						break;
+					wakeUpMonitor.wait(millisLeft);
+				}
+				wakeUpRequested = false;
+			}
+		}
+
+		/** @return true if a full batch was retrieved, i.e. there might be more messages waiting */
+		private boolean pollQueues() {
+			List<Object> params = newList();
+			String condition = deliverableCondition(tableQueue, params);
+			if (condition == null)
+				return false;
+
+			List<MsgRow> rows = tableQueue.selectMessages(condition, params, pollingConfig.batchSize);
+			if (rows.isEmpty())
+				return false;
+
+			Set<Long> claimedIds = tableQueue.claimMessages(rows.stream().map(r -> r.id).collect(Collectors.toList()));
+
+			for (MsgRow row : rows)
+				if (claimedIds.contains(row.id))
+					deliver(row);
+
+			return rows.size() == pollingConfig.batchSize;
+		}
+
+		/**
+		 * Reads topic rows with ids greater than the high-water mark ({@link #hwm}), i.e. the highest id seen so far.
+		 * <p>
+		 * As ids are assigned on insert, but the rows are only visible after commit, a row with a lower id might become visible later than one
+		 * with a higher id. That's why we also remember the ids delivered since the low-water mark ({@link #lwm}), and check for rows between the
+		 * low and high-water mark we haven't seen yet. The low-water mark is the high-water mark we had {@link JdbcMsgPollingConfig#topicSettleMs}
+		 * ago.
+		 */
+		private class TopicCursor {
+			private long hwm;
+			private long lwm;
+			private final Set<Long> deliveredIds = newSet();
+			// pairs of (timestamp, hwm)
+			private final ArrayDeque<long[]> hwmHistory = new ArrayDeque<>();
+
+			public TopicCursor(long startId) {
+				this.hwm = startId;
+				this.lwm = startId;
+			}
+
+			/** @return true if a full batch was retrieved, i.e. there might be more messages waiting */
+			public boolean poll() {
+				List<Object> params = newList();
+				String condition = deliverableCondition(tableTopic, params);
+				if (condition == null) {
+					// no consumers, nothing to deliver; we just move on, so that future consumers don't get old messages
+					hwm = lwm = Math.max(hwm, tableTopic.selectMaxId());
+					deliveredIds.clear();
+					hwmHistory.clear();
+					return false;
+				}
+
+				boolean fullBatch = pollNew(condition, params);
+				pollLate(condition, params);
+				settle();
+
+				return fullBatch;
+			}
+
+			private boolean pollNew(String condition, List<Object> params) {
+				List<Object> newParams = newList(params);
+				newParams.add(hwm);
+
+				List<MsgRow> rows = tableTopic.selectMessages(condition + " and " + idColumn() + " > ?", newParams, pollingConfig.batchSize);
+				for (MsgRow row : rows) {
+					deliverOnce(row);
+					hwm = Math.max(hwm, row.id);
+				}
+
+				return rows.size() == pollingConfig.batchSize;
+			}
+
+			private void pollLate(String condition, List<Object> params) {
+				if (lwm >= hwm)
+					return;
+
+				List<Object> windowParams = newList(params);
+				windowParams.add(lwm);
+				windowParams.add(hwm);
+
+				String windowCondition = condition + " and " + idColumn() + " > ? and " + idColumn() + " < ?";
+				List<Long> lateIds = tableTopic.selectIds(windowCondition, windowParams);
+				lateIds.removeAll(deliveredIds);
+				if (lateIds.isEmpty())
+					return;
+
+				List<Object> lateParams = newList(params);
+				lateParams.addAll(lateIds);
+
+				String lateCondition = condition + " and " + idColumn() + " in " + JdbcTools.questionMarks(lateIds.size());
+				for (MsgRow row : tableTopic.selectMessages(lateCondition, lateParams, 0))
+					deliverOnce(row);
+			}
+
+			private void deliverOnce(MsgRow row) {
+				if (deliveredIds.add(row.id))
+					deliver(row);
+			}
+
+			private void settle() {
+				long now = System.currentTimeMillis();
+				hwmHistory.addLast(new long[] { now, hwm });
+
+				long settledBefore = now - pollingConfig.topicSettleMs;
+				while (!hwmHistory.isEmpty() && hwmHistory.peekFirst()[0] < settledBefore)
+					lwm = hwmHistory.pollFirst()[1];
+
+				deliveredIds.removeIf(id -> id <= lwm);
+			}
+
+			private String idColumn() {
+				return tableTopic.colIdLong.getSingleSqlColumn();
+			}
+		}
+
+		/**
+		 * @return condition for messages of given table which are not expired, are addressed to this node and have a consumer on this node, or
+		 *         null if there are no consumers at all
+		 */
+		private String deliverableCondition(MsgTable table, List<Object> params) {
+			Collection<String> dstNames = consumedDestinationNames(table == tableTopic);
+			if (dstNames.isEmpty())
+				return null;
+
+			String _dstName = table.colDstName.getSingleSqlColumn();
+			String _nodeId = table.colAddresseeNodeId.getSingleSqlColumn();
+			String _appId = table.colAddresseeAppId.getSingleSqlColumn();
+			String _expiration = table.colExpiration.getSingleSqlColumn();
+
+			params.addAll(dstNames);
+			params.add(msgContext.getNodeId());
+			params.add(msgContext.getApplicationId());
+			params.add(System.currentTimeMillis());
+
+			return _dstName + " in " + JdbcTools.questionMarks(dstNames.size()) + //
+					" and (" + _nodeId + " is null or " + _nodeId + " = ?)" + //
+					" and (" + _appId + " is null or " + _appId + " = ?)" + //
+					" and (" + _expiration + " is null or " + _expiration + " = 0 or " + _expiration + " >= ?)";
+		}
+
+		private Collection<String> consumedDestinationNames(boolean isTopic) {
+			List<String> result = newList();
+			for (Map.Entry<String, Set<JdbcMessageConsumer>> e : msgConnection.getConsumersMap(isTopic).entrySet())
+				if (!isEmpty(e.getValue()))
+					result.add(e.getKey());
+
+			return result;
+		}
+
+		private void deliver(MsgRow row) {
+			Set<JdbcMessageConsumer> consumers = msgConnection.getConsumersMap(row.isTopic).get(row.dstName);
+			if (isEmpty(consumers))
+				return;
+
+			if (row.body == null) {
+				log.warn("No body found for " + (row.isTopic ? "topic" : "queue") + " message with id " + row.id);
+				return;
+			}
+
+			try {
+				Message message = toMessage(row.body, row.dstName, row.isTopic);
+				JdbcMsgGmDb.this.deliver(message, row.dstName, row.isTopic, consumers);
+
+			} catch (Exception e) {
+				log.warn("Error while dispatching message with id " + row.id + " from " + (row.isTopic ? "topic " : "queue ") + row.dstName, e);
+			}
+		}
+
+	}
+
+	/** A message as loaded from a topic or queue table by the {@link JdbcMsgPoller}. */
+	private static class MsgRow {
+		boolean isTopic;
+		Long id;
+		String dstName;
+		String body;
+	}
+
+	private static class PendingInsert {
+		final Map<GmColumn<?>, Object> row;
+		final CompletableFuture<Void> done = new CompletableFuture<>();
+
+		PendingInsert(Map<GmColumn<?>, Object> row) {
+			this.row = row;
+		}
+	}
+
+	// #################################################
+	// # . . . . . . . . . Delivering . . . . . . . . .#
+	// #################################################
+
+	private boolean isAddressedToThisNode(String addresseeNodeId, String addresseeAppId) {
+		return (addresseeNodeId == null || addresseeNodeId.equals(msgContext.getNodeId())) && //
+				(addresseeAppId == null || addresseeAppId.equals(msgContext.getApplicationId()));
+	}
+
+	private Message toMessage(String body, String dstName, boolean isTopic) {
+		byte[] messageBody = Base64.getDecoder().decode(body);
+		Message message = msgContext.unmarshal(messageBody);
+
+		message.setDestination(isTopic ? Topic.create(dstName) : Queue.create(dstName));
+
+		return message;
+	}
+
+	/** Topic messages are passed to all the consumers, queue messages only to the first one. */
+	private void deliver(Message message, String dstName, boolean isTopic, Set<JdbcMessageConsumer> consumers) {
+		for (JdbcMessageConsumer consumer : consumers) {
+			executor.submit(() -> consumer.receivedMessage(dstName, message));
+
+			if (!isTopic)
+				return;
+		}
+	}
+
 	// #################################################
 	// # . . . . . . . . . . Misc . . . . . . . . . . .#
 	// #################################################
@@ -563,7 +1092,10 @@ public class JdbcMsgGmDb {
 
 		gmDb.preDestroy();
 
-		newMsgListener.running = false;
+		if (newMsgListener != null)
+			newMsgListener.running = false;
+		if (msgPoller != null)
+			msgPoller.running = false;
 
 		if (listenerThread != null)
 			try {
@@ -0,0 +1,46 @@
+// ============================================================================
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.messaging.jdbc;
+
+/**
+ * Configuration of how JDBC messaging consumers learn about new messages.
+ * <p>
+ * In notification mode (PostgreSQL only) every insert triggers a {@code pg_notify}, which is received by a listening connection on every
+ * node. In polling mode (any DB supported by {@code jdbc-support}) every node polls the topic and queue tables in batches.
+ * 
+ * @see JdbcConnectionProvider#setPollingMode(Boolean)
+ */
+public class JdbcMsgPollingConfig {
+
+	public static final long DEFAULT_POLL_INTERVAL_MS = 200;
+	public static final int DEFAULT_POLL_BATCH_SIZE = 100;
+	public static final long DEFAULT_TOPIC_SETTLE_MS = 2000;
+
+	/** true - polling, false - notifications, null - notifications on PostgreSQL, polling otherwise */
+	public Boolean polling;
+
+	/** How long to wait before polling again, unless the previous poll returned a full batch. */
+	public long pollIntervalMs = DEFAULT_POLL_INTERVAL_MS;
+
+	/** Maximum number of rows loaded (and for queues claimed) with a single query. */
+	public int batchSize = DEFAULT_POLL_BATCH_SIZE;
+
+	/**
+	 * Topic rows are read based on a high-water mark id. As ids are assigned on insert but rows only become visible on commit, a row with a
+	 * lower id might become visible after a row with a higher id was already read. Such late rows are still picked up if they are committed
+	 * within this time.
+	 */
+	public long topicSettleMs = DEFAULT_TOPIC_SETTLE_MS;
+
+}
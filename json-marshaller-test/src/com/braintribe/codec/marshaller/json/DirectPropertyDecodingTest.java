@@ -0,0 +1,108 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.codec.marshaller.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.braintribe.codec.marshaller.api.GmDeserializationOptions;
+import com.braintribe.codec.marshaller.api.GmSerializationOptions;
+import com.braintribe.codec.marshaller.api.TypeExplicitness;
+import com.braintribe.codec.marshaller.api.TypeExplicitnessOption;
+import com.braintribe.codec.marshaller.json.model.TestEntity;
+
+/**
+ * Checks that the direct property decoding of the {@link JsonStreamMarshaller} yields the same entities as the generic value dispatching.
+ */
+public class DirectPropertyDecodingTest {
+
+	@Test
+	public void primitiveAndScalarProperties() {
+		TestEntity entity = TestEntity.T.create();
+		entity.setPrimitiveBooleanValue(true);
+		entity.setIntValue(1234);
+		entity.setPrimitiveLongValue(Long.MAX_VALUE);
+		entity.setPrimitiveFloatValue(2.5f);
+		entity.setPrimitiveDoubleValue(Double.MAX_VALUE);
+		entity.setBooleanValue(Boolean.FALSE);
+		entity.setIntegerValue(Integer.MIN_VALUE);
+		entity.setLongValue(42L);
+		entity.setFloatValue(3.25f);
+		entity.setDoubleValue(1.5);
+		entity.setStringValue("direct");
+
+		TestEntity direct = roundTrip(entity, true);
+		TestEntity generic = roundTrip(entity, false);
+
+		for (TestEntity decoded : List.of(direct, generic)) {
+			assertThat(decoded.getPrimitiveBooleanValue()).isTrue();
+			assertThat(decoded.getIntValue()).isEqualTo(1234);
+			assertThat(decoded.getPrimitiveLongValue()).isEqualTo(Long.MAX_VALUE);
+			assertThat(decoded.getPrimitiveFloatValue()).isEqualTo(2.5f);
+			assertThat(decoded.getPrimitiveDoubleValue()).isEqualTo(Double.MAX_VALUE);
+			assertThat(decoded.getBooleanValue()).isFalse();
+			assertThat(decoded.getIntegerValue()).isEqualTo(Integer.MIN_VALUE);
+			assertThat(decoded.getLongValue()).isEqualTo(42L);
+			assertThat(decoded.getFloatValue()).isEqualTo(3.25f);
+			assertThat(decoded.getDoubleValue()).isEqualTo(1.5);
+			assertThat(decoded.getStringValue()).isEqualTo("direct");
+		}
+	}
+
+	@Test
+	public void widensIntegersForUntypedJson() {
+		String json = "{\"_type\": \"" + TestEntity.T.getTypeSignature()
+				+ "\", \"primitiveLongValue\": 7, \"primitiveDoubleValue\": 8, \"primitiveFloatValue\": 9, \"doubleValue\": 10}";
+
+		JsonStreamMarshaller marshaller = new JsonStreamMarshaller();
+		TestEntity decoded = (TestEntity) marshaller.decode(json);
+
+		assertThat(decoded.getPrimitiveLongValue()).isEqualTo(7L);
+		assertThat(decoded.getPrimitiveDoubleValue()).isEqualTo(8D);
+		assertThat(decoded.getPrimitiveFloatValue()).isEqualTo(9F);
+		assertThat(decoded.getDoubleValue()).isEqualTo(10D);
+	}
+
+	@Test
+	public void nestedEntitiesShareCachedProperties() {
+		TestEntity root = TestEntity.T.create();
+		root.setIntValue(1);
+		TestEntity child = TestEntity.T.create();
+		child.setIntValue(2);
+		child.setStringValue("child");
+		root.setEntityValue(child);
+
+		TestEntity decoded = roundTrip(root, true);
+
+		assertThat(decoded.getIntValue()).isEqualTo(1);
+		assertThat(decoded.getEntityValue().getIntValue()).isEqualTo(2);
+		assertThat(decoded.getEntityValue().getStringValue()).isEqualTo("child");
+	}
+
+	private TestEntity roundTrip(TestEntity entity, boolean directPropertyDecoding) {
+		JsonStreamMarshaller marshaller = new JsonStreamMarshaller();
+		marshaller.setUseBufferingDecoder(false);
+		marshaller.setUseDirectPropertyDecoding(directPropertyDecoding);
+
+		String json = marshaller.encode(entity,
+				GmSerializationOptions.deriveDefaults().set(TypeExplicitnessOption.class, TypeExplicitness.polymorphic).build());
+
+		return (TestEntity) marshaller.decode(json, GmDeserializationOptions.deriveDefaults().build());
+	}
+}
@@ -0,0 +1,121 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.codec.marshaller.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.braintribe.codec.marshaller.api.GmDeserializationOptions;
+import com.braintribe.codec.marshaller.api.GmSerializationOptions;
+import com.braintribe.codec.marshaller.json.model.TestEntity;
+
+/**
+ * Compares the decoders of the {@link JsonStreamMarshaller} on a list of scalar heavy entities:
+ * <ul>
+ * <li>the streaming decoder with direct property decoding (primitive consumers, cached property slots)</li>
+ * <li>the streaming decoder with the generic boxed value dispatching</li>
+ * <li>the buffering decoder</li>
+ * </ul>
+ * Not a unit test, run via {@link #main(String[])} or the JMH runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodingBenchmark {
+
+	@Param({ "100", "10000" })
+	public int entityCount;
+
+	private String json;
+	private JsonStreamMarshaller directMarshaller;
+	private JsonStreamMarshaller genericMarshaller;
+	private JsonStreamMarshaller bufferingMarshaller;
+	private GmDeserializationOptions options;
+
+	@Setup
+	public void setup() {
+		List<TestEntity> entities = new ArrayList<>(entityCount);
+		for (int i = 0; i < entityCount; i++)
+			entities.add(newEntity(i));
+
+		json = new JsonStreamMarshaller().encode(entities, GmSerializationOptions.deriveDefaults().build());
+		options = GmDeserializationOptions.deriveDefaults().build();
+
+		directMarshaller = newMarshaller(false, true);
+		genericMarshaller = newMarshaller(false, false);
+		bufferingMarshaller = newMarshaller(true, false);
+	}
+
+	private static JsonStreamMarshaller newMarshaller(boolean buffering, boolean direct) {
+		JsonStreamMarshaller result = new JsonStreamMarshaller();
+		result.setUseBufferingDecoder(buffering);
+		result.setUseDirectPropertyDecoding(direct);
+		result.setCreateEnhancedEntities(false);
+		return result;
+	}
+
+	private static TestEntity newEntity(int i) {
+		TestEntity e = TestEntity.T.create();
+		e.setPrimitiveBooleanValue(i % 2 == 0);
+		e.setIntValue(i);
+		e.setPrimitiveLongValue(i * 31L);
+		e.setPrimitiveFloatValue(i / 3f);
+		e.setPrimitiveDoubleValue(i / 7d);
+		e.setBooleanValue(i % 3 == 0);
+		e.setIntegerValue(-i);
+		e.setDoubleValue(i * 1.5);
+		e.setStringValue("entity-" + i);
+		return e;
+	}
+
+	@Benchmark
+	public Object streamingDirect() {
+		return directMarshaller.decode(json, options);
+	}
+
+	@Benchmark
+	public Object streamingGeneric() {
+		return genericMarshaller.decode(json, options);
+	}
+
+	@Benchmark
+	public Object buffering() {
+		return bufferingMarshaller.decode(json, options);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JsonDecodingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -103,6 +104,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 	private boolean createEnhancedEntities = true;
 	private boolean snakeCaseProperties = false;
 	private Boolean useBufferingDecoder = null;
+	private boolean useDirectPropertyDecoding = true;
 	private boolean writeScalarsFirst = false;
 
 	private static class EntityRegistration {
@@ -145,6 +147,16 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		this.useBufferingDecoder = useBufferingDecoder;
 	}
 	
+	/**
+	 * Configures whether the streaming decoder assigns scalar JSON tokens straight to entity properties via {@link Property#setDirect} with
+	 * primitive specialized consumers and a per {@link EntityType} property lookup cache. Only applies when no {@link GmSession} is given in the
+	 * deserialization options. Defaults to <code>true</code>, switching it off falls back to the generic boxed value dispatching.
+	 */
+	@Configurable
+	public void setUseDirectPropertyDecoding(boolean useDirectPropertyDecoding) {
+		this.useDirectPropertyDecoding = useDirectPropertyDecoding;
+	}
+
 	@Configurable
 	public void setWriteScalarsFirst(boolean writeScalarsFirst) {
 		this.writeScalarsFirst = writeScalarsFirst;
@@ -204,6 +216,23 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		public abstract void consumeDirect(GenericModelType type, Object value);
 		public abstract void consumeDeferred(EntityRegistration registration);
 
+		// primitive specialized variants which decoders can override to avoid boxing
+		public void consumeIntValue(int value) {
+			consumeInteger(value);
+		}
+
+		public void consumeLongValue(long value) {
+			consumeLong(value);
+		}
+
+		public void consumeDoubleValue(double value) {
+			consumeDouble(value);
+		}
+
+		public void consumeBooleanValue(boolean value) {
+			consumeBoolean(value);
+		}
+
 		public void consumePotentiallyDeferred(Object v) {
 			if (v != null) {
 				if (v.getClass() == EntityRegistration.class) {
@@ -249,7 +278,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 			return ignoreValueThisTime;
 		}
 		
-		protected String toCamelCase(String value, char delimiter) {
+		protected static String toCamelCase(String value, char delimiter) {
 			String pascalCase = WordUtils.capitalizeFully(value, new char[] { delimiter }).replace(Character.toString(delimiter), "");
 			return Character.toLowerCase(pascalCase.charAt(0)) + pascalCase.substring(1);
 		}
@@ -745,6 +774,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		private String globalIdValue;
 		private BiConsumer<GenericEntity, Object> valueSetter;
 		private Property property;
+		private PropertySlot directSlot;
 
 		public EntityDecoder(EntityType<?> entityType, DecodingContext context) {
 			super(context);
@@ -754,6 +784,13 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 
 		@Override
 		public void setField(String name) {
+			directSlot = null;
+
+			if (context.directPropertyDecoding && name.charAt(0) != '_' && name.charAt(0) != '?') {
+				setSlotField(context.resolvePropertySlot(entityType, name));
+				return;
+			}
+
 			if ("_id".equals(name)) {
 				idField = true;
 				valueSetter = null;
@@ -812,6 +849,123 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 			}
 		}
 		
+		private void setSlotField(PropertySlot slot) {
+			property = slot.property;
+
+			if (property == null) {
+				if (!context.isPropertyLenient) {
+					throw modelMappingError("Unknown property [" + slot.name + "] within type " + entityType.getTypeSignature());
+				}
+				this.inferredType = null;
+				this.ignoreValue = true;
+				valueSetter = null;
+				return;
+			}
+
+			if (slot.valueSetter == null) {
+				slot.inferredType = context.getInferredPropertyType(entityType, property);
+
+				GenericModelType propertyType = property.getType();
+
+				if (propertyType != slot.inferredType && propertyType.isCollection()) {
+					Function<Object, Object> typeCaster = buildCollectionCaster(slot.inferredType, propertyType);
+					Property p = property;
+					slot.valueSetter = (e, v) -> p.set(e, typeCaster.apply(v));
+				} else {
+					slot.valueSetter = property::set;
+				}
+
+				if (slot.idField && context.idTypeSupplier != null) {
+					slot.inferredType = context.idTypeSupplier.apply(entityType.getTypeSignature());
+				}
+
+				slot.direct = !slot.idField && !slot.idProperty && !slot.globalIdProperty && slot.inferredType == propertyType && propertyType.isScalar();
+			}
+
+			this.inferredType = slot.inferredType;
+			this.valueSetter = slot.valueSetter;
+
+			if (slot.idField && context.identityManagementMode == IdentityManagementMode.auto) {
+				context.identityManagementMode = IdentityManagementMode.id;
+			}
+
+			if (slot.direct) {
+				directSlot = slot;
+			}
+		}
+
+		@Override
+		public void consumeIntValue(int value) {
+			if (directSlot != null) {
+				switch (directSlot.inferredType.getTypeCode()) {
+					case integerType:
+						directSlot.property.setDirect(entity, value);
+						return;
+					case longType:
+						directSlot.property.setDirect(entity, (long) value);
+						return;
+					case floatType:
+						directSlot.property.setDirect(entity, (float) value);
+						return;
+					case doubleType:
+						directSlot.property.setDirect(entity, (double) value);
+						return;
+					default:
+						break;
+				}
+			}
+
+			consumeInteger(value);
+		}
+
+		@Override
+		public void consumeLongValue(long value) {
+			if (directSlot != null && directSlot.inferredType.getTypeCode() == TypeCode.longType) {
+				directSlot.property.setDirect(entity, value);
+				return;
+			}
+
+			consumeLong(value);
+		}
+
+		@Override
+		public void consumeDoubleValue(double value) {
+			if (directSlot != null) {
+				switch (directSlot.inferredType.getTypeCode()) {
+					case doubleType:
+						directSlot.property.setDirect(entity, value);
+						return;
+					case floatType:
+						directSlot.property.setDirect(entity, (float) value);
+						return;
+					default:
+						break;
+				}
+			}
+
+			consumeDouble(value);
+		}
+
+		@Override
+		public void consumeBooleanValue(boolean value) {
+			if (directSlot != null && directSlot.inferredType.getTypeCode() == TypeCode.booleanType) {
+				directSlot.property.setDirect(entity, value);
+				return;
+			}
+
+			consumeBoolean(value);
+		}
+
+		@Override
+		public void consumeString(String value) {
+			if (directSlot != null && directSlot.inferredType.getTypeCode() == TypeCode.stringType) {
+				directSlot.property.setDirect(entity, value);
+				return;
+			}
+
+			super.consumeString(value);
+		}
+
 		private Function<Object, Object> buildCollectionCaster(GenericModelType source, GenericModelType target) {
 			switch (target.getTypeCode()) {
 				case listType:
@@ -1167,6 +1321,10 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		@Override public void consumeDecimal(BigDecimal value) { delegate.consumeDecimal(value); }
 		@Override public void consumeString(String value) { delegate.consumeString(value); }
 		@Override public void consumeBoolean(Boolean value) { delegate.consumeBoolean(value); }
+		@Override public void consumeIntValue(int value) { delegate.consumeIntValue(value); }
+		@Override public void consumeLongValue(long value) { delegate.consumeLongValue(value); }
+		@Override public void consumeDoubleValue(double value) { delegate.consumeDoubleValue(value); }
+		@Override public void consumeBooleanValue(boolean value) { delegate.consumeBooleanValue(value); }
 		@Override public void consumeAssignable(GenericModelType type, Object value) { delegate.consumeAssignable(type, value); }
 		@Override public void close() { delegate.close(); }
 		// @formatter:on
@@ -1604,7 +1762,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 			return unmarshallReasoned(parser, options).get();
 		}
 		else {
-			DecodingContext context = new DecodingContext(options, parser, createEnhancedEntities, snakeCaseProperties);
+			DecodingContext context = new DecodingContext(options, parser, createEnhancedEntities, snakeCaseProperties, useDirectPropertyDecoding);
 			return context.unmarshall();
 		}
 	}
@@ -1615,7 +1773,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 			return modelDataParser.parse();
 		}
 		else {
-			DecodingContext context = new DecodingContext(options, parser, createEnhancedEntities, snakeCaseProperties);
+			DecodingContext context = new DecodingContext(options, parser, createEnhancedEntities, snakeCaseProperties, useDirectPropertyDecoding);
 			return context.unmarshallReasoned();
 		}
 	}
@@ -1688,6 +1846,30 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		}
 	}
 
+	/**
+	 * Caches the resolution of a JSON field name to a {@link Property} of an {@link EntityType} for the duration of one decoding. The lazily
+	 * computed part (inferred type, setter) is filled on first use by the {@link EntityDecoder}.
+	 */
+	private static class PropertySlot {
+		public final String name;
+		public final Property property;
+		public final boolean idField;
+		public final boolean idProperty;
+		public final boolean globalIdProperty;
+
+		public GenericModelType inferredType;
+		public BiConsumer<GenericEntity, Object> valueSetter;
+		public boolean direct;
+
+		public PropertySlot(String name, Property property) {
+			this.name = name;
+			this.property = property;
+			this.idField = name.equals(GenericEntity.id);
+			this.idProperty = property != null && property.getName().equals(GenericEntity.id);
+			this.globalIdProperty = property != null && property.getName().equals(GenericEntity.globalId);
+		}
+	}
+
 	private static class DecodingContext {
 		public final DateCoding dateCoding;
 		public final Map<String, EntityRegistration> entitiesById = new HashMap<>();
@@ -1706,8 +1888,11 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		public final Function<String, GenericModelType> idTypeSupplier;
 		public final boolean isPropertyLenient;
 		public boolean isEnumConstantLenient;
+		public final boolean directPropertyDecoding;
+		private final Map<EntityType<?>, Map<String, PropertySlot>> propertySlots = new IdentityHashMap<>();
 
-		public DecodingContext(GmDeserializationOptions options, JsonParser parser, boolean enhanced, boolean snakeCaseProperties) {
+		public DecodingContext(GmDeserializationOptions options, JsonParser parser, boolean enhanced, boolean snakeCaseProperties,
+				boolean directPropertyDecoding) {
 			this.dateCoding = dateTimeFormatterFromOptions(options);
 			this.parser = parser;
 			this.enhanced = enhanced;
@@ -1723,6 +1908,7 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 			this.propertySupplier = options.findAttribute(PropertyDeserializationTranslation.class).orElse(null);
 			this.isPropertyLenient = options.getDecodingLenience() != null && options.getDecodingLenience().isPropertyLenient();
 			this.isEnumConstantLenient = options.getDecodingLenience() != null && options.getDecodingLenience().isEnumConstantLenient();
+			this.directPropertyDecoding = directPropertyDecoding && session == null;
 		}
 
 		public GenericModelType getInferredPropertyType(EntityType<?> entityType, Property property) {
@@ -1779,6 +1965,19 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 		public Property resolveProperty(EntityType<?> entityType, String realName) {
 			return propertySupplier != null ? propertySupplier.apply(entityType, realName) : entityType.findProperty(realName);
 		}
+
+		public PropertySlot resolvePropertySlot(EntityType<?> entityType, String fieldName) {
+			Map<String, PropertySlot> slots = propertySlots.computeIfAbsent(entityType, k -> new HashMap<>());
+			PropertySlot slot = slots.get(fieldName);
+
+			if (slot == null) {
+				String name = snakeCaseProperties ? ValueDecoder.toCamelCase(fieldName, '_') : fieldName;
+				slot = new PropertySlot(name, resolveProperty(entityType, name));
+				slots.put(fieldName, slot);
+			}
+
+			return slot;
+		}
 		
 		private Object unmarshall() throws Exception {
 			JsonToken token = null;
@@ -1842,16 +2041,16 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 									decoder.consumeDecimal(parser.getDecimalValue());
 									break;
 								case DOUBLE:
-									decoder.consumeDouble(parser.getDoubleValue());
+									decoder.consumeDoubleValue(parser.getDoubleValue());
 									break;
 								case FLOAT:
 									decoder.consumeFloat(parser.getFloatValue());
 									break;
 								case INT:
-									decoder.consumeInteger(parser.getIntValue());
+									decoder.consumeIntValue(parser.getIntValue());
 									break;
 								case LONG:
-									decoder.consumeLong(parser.getLongValue());
+									decoder.consumeLongValue(parser.getLongValue());
 									break;
 								default:
 									break;
@@ -1863,10 +2062,10 @@ public class JsonStreamMarshaller implements CharacterMarshaller, HasStringCodec
 						decoder.consumeString(parser.getText());
 						break;
 					case VALUE_TRUE:
-						decoder.consumeBoolean(Boolean.TRUE);
+						decoder.consumeBooleanValue(true);
 						break;
 					case VALUE_FALSE:
-						decoder.consumeBoolean(Boolean.FALSE);
+						decoder.consumeBooleanValue(false);
 						break;
 
 					default:
@@ -0,0 +1,136 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.codec.marshaller.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import com.braintribe.testing.model.test.demo.person.Address;
+import com.braintribe.testing.model.test.demo.person.Person;
+import com.braintribe.testing.model.test.technical.features.ComplexEntity;
+import com.braintribe.testing.model.test.technical.features.SimpleEnum;
+import com.braintribe.testing.model.test.technical.features.SimpleTypesEntity;
+
+/**
+ * Assemblies from the <code>test-model</code> used by the {@link MarshallingBenchmark}. All of them are created with a fixed seed so that
+ * every run (and every format) works on the same data.
+ */
+public enum BenchmarkAssembly {
+
+	/**
+	 * Families of {@link Person persons} with addresses, parents, children and friends, i.e. a graph with many shared references and
+	 * cycles.
+	 */
+	persons {
+		@Override
+		public Object create(int size) {
+			Random random = new Random(SEED);
+			List<Person> persons = new ArrayList<>(size);
+
+			for (int i = 0; i < size; i++) {
+				Person person = Person.T.create();
+				person.setFirstName("first-" + i);
+				person.setLastName("last-" + (i / 4));
+				person.setAge(random.nextInt(100));
+				person.setAddress(newAddress(i, random));
+
+				if (i >= 2 && random.nextBoolean()) {
+					Person mother = persons.get(random.nextInt(i));
+					Person father = persons.get(random.nextInt(i));
+					person.setMother(mother);
+					person.setFather(father);
+					mother.getChildren().add(person);
+					father.getChildren().add(person);
+				}
+
+				for (int f = 0; i > 0 && f < 3; f++)
+					person.getFriends().add(persons.get(random.nextInt(i)));
+
+				persons.add(person);
+			}
+
+			return persons;
+		}
+	},
+
+	/**
+	 * Trees of {@link ComplexEntity complex entities} with scalar, enum, collection and nested entity properties, with a
+	 * {@link SimpleTypesEntity} covering longs, floats, dates and decimals in each node.
+	 */
+	complex {
+		@Override
+		public Object create(int size) {
+			Random random = new Random(SEED);
+			List<ComplexEntity> roots = new ArrayList<>();
+
+			int created = 0;
+			while (created < size) {
+				ComplexEntity root = newComplexEntity(created++, random);
+				for (int c = 0; c < 4 && created < size; c++) {
+					ComplexEntity child = newComplexEntity(created++, random);
+					child.setComplexEntityProperty(root);
+					root.getComplexEntityList().add(child);
+					root.getComplexEntityMap().put("child-" + c, child);
+				}
+				roots.add(root);
+			}
+
+			return roots;
+		}
+	};
+
+	private static final long SEED = 4711L;
+
+	/** Creates an assembly with (roughly) the given number of entities of the main type. */
+	public abstract Object create(int size);
+
+	private static Address newAddress(int i, Random random) {
+		Address address = Address.T.create();
+		address.setCity("city-" + random.nextInt(50));
+		address.setStreet("street-" + i);
+		address.setHouseNumber(random.nextInt(200));
+		return address;
+	}
+
+	private static ComplexEntity newComplexEntity(int i, Random random) {
+		ComplexEntity entity = ComplexEntity.T.create();
+		entity.setStringProperty("complex-" + i);
+		entity.setBooleanProperty(random.nextBoolean());
+		entity.setIntegerProperty(random.nextInt());
+		entity.setDoubleProperty(random.nextDouble());
+		entity.setSimpleEnum(SimpleEnum.values()[random.nextInt(SimpleEnum.values().length)]);
+		entity.getStringList().add("a-" + i);
+		entity.getStringList().add("b-" + i);
+		entity.setObjectProperty(newSimpleTypesEntity(i, random));
+		return entity;
+	}
+
+	private static SimpleTypesEntity newSimpleTypesEntity(int i, Random random) {
+		SimpleTypesEntity entity = SimpleTypesEntity.T.create();
+		entity.setStringProperty("simple-" + i);
+		entity.setBooleanProperty(random.nextBoolean());
+		entity.setIntegerProperty(random.nextInt());
+		entity.setLongProperty(random.nextLong());
+		entity.setFloatProperty(random.nextFloat());
+		entity.setDoubleProperty(random.nextDouble());
+		entity.setDateProperty(new Date(1_600_000_000_000L + random.nextInt(1_000_000) * 1000L));
+		entity.setDecimalProperty(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+		return entity;
+	}
+}
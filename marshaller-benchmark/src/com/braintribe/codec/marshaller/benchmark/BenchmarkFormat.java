@@ -0,0 +1,85 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.codec.marshaller.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.braintribe.codec.marshaller.api.GmDeserializationOptions;
+import com.braintribe.codec.marshaller.api.GmSerializationOptions;
+import com.braintribe.codec.marshaller.api.MarshallException;
+import com.braintribe.codec.marshaller.api.Marshaller;
+import com.braintribe.codec.marshaller.bin.BinMarshaller;
+import com.braintribe.codec.marshaller.dom.DomMarshaller;
+import com.braintribe.codec.marshaller.json.JsonStreamMarshaller;
+import com.braintribe.codec.marshaller.stax.StaxMarshaller;
+import com.braintribe.codec.marshaller.yaml.YamlMarshaller;
+import com.braintribe.model.processing.dataio.GenericModelInputStream2;
+import com.braintribe.model.processing.dataio.GenericModelOutputStream2;
+import com.braintribe.model.processing.manipulation.marshaller.ManMarshaller;
+
+/**
+ * The wire formats compared by the {@link MarshallingBenchmark}. Each constant creates its own marshaller instance once, so that the measured
+ * numbers do not include any setup.
+ * <p>
+ * {@link #bin} is the {@link BinMarshaller} which is based on the <code>GenericModelOutputStream</code>, {@link #bin2} writes and reads
+ * directly via {@link GenericModelOutputStream2} and {@link GenericModelInputStream2}, as there is no marshaller for those.
+ */
+public enum BenchmarkFormat {
+
+	json(new JsonStreamMarshaller()),
+	yaml(new YamlMarshaller()),
+	stax(new StaxMarshaller()),
+	dom(new DomMarshaller()),
+	bin(new BinMarshaller()),
+	bin2(new GenericModelStream2Marshaller()),
+	man(new ManMarshaller());
+
+	private final Marshaller marshaller;
+
+	private BenchmarkFormat(Marshaller marshaller) {
+		this.marshaller = marshaller;
+	}
+
+	public void marshall(OutputStream out, Object value, GmSerializationOptions options) {
+		marshaller.marshall(out, value, options);
+	}
+
+	public Object unmarshall(InputStream in, GmDeserializationOptions options) {
+		return marshaller.unmarshall(in, options);
+	}
+
+	private static class GenericModelStream2Marshaller implements Marshaller {
+		@Override
+		public void marshall(OutputStream out, Object value, GmSerializationOptions options) throws MarshallException {
+			try (GenericModelOutputStream2 gmOut = new GenericModelOutputStream2(out)) {
+				gmOut.writeObject(value);
+			} catch (IOException e) {
+				throw new MarshallException("Error while writing via GenericModelOutputStream2", e);
+			}
+		}
+
+		@Override
+		public Object unmarshall(InputStream in, GmDeserializationOptions options) throws MarshallException {
+			try (GenericModelInputStream2 gmIn = new GenericModelInputStream2(in, options)) {
+				return gmIn.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				throw new MarshallException("Error while reading via GenericModelInputStream2", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.codec.marshaller.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.braintribe.codec.marshaller.api.EntityRecurrenceDepth;
+import com.braintribe.codec.marshaller.api.GmDeserializationOptions;
+import com.braintribe.codec.marshaller.api.GmSerializationOptions;
+import com.braintribe.codec.marshaller.api.OutputPrettiness;
+import com.braintribe.codec.marshaller.api.TypeExplicitness;
+import com.braintribe.codec.marshaller.api.TypeExplicitnessOption;
+import com.braintribe.codec.marshaller.api.options.GmSerializationContextBuilder;
+
+/**
+ * Measures marshalling and unmarshalling throughput of all {@link BenchmarkFormat formats} on {@link BenchmarkAssembly assemblies} from the
+ * <code>test-model</code>, for the combinations of {@link TypeExplicitness}, {@link OutputPrettiness} and {@link EntityRecurrenceDepth}.
+ * <p>
+ * Run via {@link #main(String[])}, which adds the {@link GCProfiler} so that the allocation rate (<code>gc.alloc.rate.norm</code>) is
+ * reported next to the throughput. The output size of each combination is reported via the {@link OutputCounters#outputBytes} counter of the
+ * {@link #marshall} benchmark. Options a format does not support are simply ignored by it.
+ * <p>
+ * A subset can be selected with the usual JMH arguments, e.g. <code>-p format=json,bin2 -p prettiness=none</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarshallingBenchmark {
+
+	@Param({ "json", "yaml", "stax", "dom", "bin", "bin2", "man" })
+	public BenchmarkFormat format;
+
+	@Param({ "persons", "complex" })
+	public BenchmarkAssembly assembly;
+
+	@Param({ "1000" })
+	public int size;
+
+	@Param({ "auto", "polymorphic", "always" })
+	public TypeExplicitness typeExplicitness;
+
+	@Param({ "none", "high" })
+	public OutputPrettiness prettiness;
+
+	/** A negative value means the {@link EntityRecurrenceDepth} option is not set. */
+	@Param({ "-1", "1" })
+	public int recurrenceDepth;
+
+	private Object value;
+	private byte[] marshalled;
+	private GmSerializationOptions serializationOptions;
+	private GmDeserializationOptions deserializationOptions;
+	private ByteArrayOutputStream out;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		value = assembly.create(size);
+
+		GmSerializationContextBuilder builder = GmSerializationOptions.deriveDefaults() //
+				.set(TypeExplicitnessOption.class, typeExplicitness) //
+				.outputPrettiness(prettiness);
+
+		if (recurrenceDepth >= 0)
+			builder.set(EntityRecurrenceDepth.class, recurrenceDepth);
+
+		serializationOptions = builder.build();
+		deserializationOptions = GmDeserializationOptions.deriveDefaults().build();
+
+		out = new ByteArrayOutputStream(1 << 16);
+		format.marshall(out, value, serializationOptions);
+		marshalled = out.toByteArray();
+	}
+
+	/**
+	 * Counts the marshalled bytes, which JMH reports as a rate just like the score, i.e. <code>outputBytes</code> divided by the score of
+	 * {@link MarshallingBenchmark#marshall} is the output size in bytes.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class OutputCounters {
+		public long outputBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			outputBytes = 0;
+		}
+	}
+
+	@Benchmark
+	public int marshall(OutputCounters counters) {
+		out.reset();
+		format.marshall(out, value, serializationOptions);
+
+		int size = out.size();
+		counters.outputBytes += size;
+		return size;
+	}
+
+	@Benchmark
+	public Object unmarshall() {
+		return format.unmarshall(new ByteArrayInputStream(marshalled), deserializationOptions);
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder() //
+				.parent(new CommandLineOptions(args)) //
+				.include(MarshallingBenchmark.class.getSimpleName()) //
+				.addProfiler(GCProfiler.class) //
+				.build()).run();
+	}
+}
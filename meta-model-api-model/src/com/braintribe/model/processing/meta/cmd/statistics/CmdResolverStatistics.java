@@ -0,0 +1,43 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.meta.cmd.statistics;
+
+import java.util.Map;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.EntityTypes;
+
+/**
+ * Snapshot of the statistics collected by a CMD resolver since it was created or since the statistics were last reset.
+ */
+public interface CmdResolverStatistics extends GenericEntity {
+
+	EntityType<CmdResolverStatistics> T = EntityTypes.T(CmdResolverStatistics.class);
+
+	/** Statistics per resolved meta-data type, keyed by its type signature. */
+	Map<String, MdTypeResolutionStatistics> getMetaDataTypes();
+	void setMetaDataTypes(Map<String, MdTypeResolutionStatistics> metaDataTypes);
+
+	/** Statistics per index level (e.g. ModelMdIndex, EntityMdIndex, PropertyMdIndex), keyed by the level name. */
+	Map<String, MdIndexStatistics> getIndexLevels();
+	void setIndexLevels(Map<String, MdIndexStatistics> indexLevels);
+
+	/** Number of entries evicted from the size-limited caches of aspect dependent (e.g. role dependent) values. */
+	long getCacheEvictions();
+	void setCacheEvictions(long cacheEvictions);
+
+}
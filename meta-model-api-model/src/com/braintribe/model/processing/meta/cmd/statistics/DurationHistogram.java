@@ -0,0 +1,48 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.meta.cmd.statistics;
+
+import java.util.List;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.EntityTypes;
+
+/**
+ * Histogram of measured durations. The i-th bucket counts the measurements not longer than {@link #getBucketLimitsNanos() limit} i (and
+ * longer than limit i-1), the last bucket counts all the measurements longer than the last limit, i.e. there is one more count than there
+ * are limits.
+ */
+public interface DurationHistogram extends GenericEntity {
+
+	EntityType<DurationHistogram> T = EntityTypes.T(DurationHistogram.class);
+
+	List<Long> getBucketLimitsNanos();
+	void setBucketLimitsNanos(List<Long> bucketLimitsNanos);
+
+	List<Long> getBucketCounts();
+	void setBucketCounts(List<Long> bucketCounts);
+
+	long getCount();
+	void setCount(long count);
+
+	long getTotalNanos();
+	void setTotalNanos(long totalNanos);
+
+	long getMaxNanos();
+	void setMaxNanos(long maxNanos);
+
+}
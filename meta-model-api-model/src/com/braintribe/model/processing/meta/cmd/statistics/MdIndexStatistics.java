@@ -0,0 +1,37 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.meta.cmd.statistics;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.EntityTypes;
+
+/**
+ * Statistics of the meta-data index of one level (model, entity, property...).
+ * 
+ * @see CmdResolverStatistics
+ */
+public interface MdIndexStatistics extends GenericEntity {
+
+	EntityType<MdIndexStatistics> T = EntityTypes.T(MdIndexStatistics.class);
+
+	long getHits();
+	void setHits(long hits);
+
+	long getMisses();
+	void setMisses(long misses);
+
+}
@@ -0,0 +1,47 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.meta.cmd.statistics;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.EntityTypes;
+
+/**
+ * Statistics of resolution of a single meta-data type.
+ * 
+ * @see CmdResolverStatistics
+ */
+public interface MdTypeResolutionStatistics extends GenericEntity {
+
+	EntityType<MdTypeResolutionStatistics> T = EntityTypes.T(MdTypeResolutionStatistics.class);
+
+	/** Number of resolutions, i.e. calls like {@code exclusive()} or {@code list()}. */
+	long getResolutions();
+	void setResolutions(long resolutions);
+
+	/** Number of resolutions answered from a cached value, without evaluating any selectors. */
+	long getValueCacheHits();
+	void setValueCacheHits(long valueCacheHits);
+
+	/** Number of resolutions which had to evaluate the selectors. */
+	long getValueCacheMisses();
+	void setValueCacheMisses(long valueCacheMisses);
+
+	/** Time spent evaluating selectors for this meta-data type. */
+	DurationHistogram getSelectorEvaluation();
+	void setSelectorEvaluation(DurationHistogram selectorEvaluation);
+
+}
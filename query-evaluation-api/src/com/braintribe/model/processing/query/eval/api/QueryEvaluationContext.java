@@ -88,6 +88,12 @@ public interface QueryEvaluationContext {
 
 	String resolveLocalizedString(LocalizedString ls);
 
+	/**
+	 * Returns the minimal population size for which a scan over the population (with a filter and projection on top of it) is evaluated in
+	 * parallel. {@link Integer#MAX_VALUE} means the parallel evaluation is disabled.
+	 */
+	int parallelEvaluationThreshold();
+
 	// #########################################
 	// ## . . . . . . Data Access . . . . . . ##
 	// #########################################
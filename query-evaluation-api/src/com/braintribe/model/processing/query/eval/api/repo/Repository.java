@@ -37,4 +37,12 @@ public interface Repository {
 	 */
 	String defaultPartition();
 
+	/**
+	 * Returns statistics about the data of this repository, used by the query planner for cost-based planning, or <tt>null</tt> if no statistics
+	 * are available (default).
+	 */
+	default RepositoryStatistics provideStatistics() {
+		return null;
+	}
+
 }
@@ -0,0 +1,38 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.api.repo;
+
+/**
+ * Statistics about the data of a {@link Repository}, which the query planner uses to estimate the sizes of intermediate results when
+ * cost-based planning is enabled (see {@link Repository#provideStatistics()}).
+ * <p>
+ * The values are only used as estimates, so they do not have to be exact, nor consistent with each other. Any method may return
+ * {@link #UNKNOWN} if given value is not available.
+ */
+public interface RepositoryStatistics {
+
+	long UNKNOWN = -1;
+
+	/** Returns the number of entities of given type, including the instances of its sub-types. */
+	long entityCount(String typeSignature);
+
+	/**
+	 * Returns the number of distinct values of the indexed property for given index (see {@link IndexInfo#getIndexId()}), i.e. how many different
+	 * keys the index has.
+	 */
+	long distinctKeyCount(String indexId);
+
+}
@@ -70,6 +70,33 @@ public class OrderedSetTests extends AbstractEvalTupleSetTests {
 		assertNoMoreTuples();
 	}
 
+	@Test
+	public void sortByNameWithLimit() throws Exception {
+		dataWithNameInReverseOrder();
+
+		evaluate(builder.orderedSet(personSet, personNameValue, false, 3));
+
+		for (int i = 0; i < 3; i++)
+			assertNextTuple(persons[i]);
+		assertNoMoreTuples();
+	}
+
+	@Test
+	public void sortByNameWithLimitBiggerThanPopulation() throws Exception {
+		dataWithNameInReverseOrder();
+
+		evaluate(builder.orderedSet(personSet, personNameValue, false, PERSON_COUNT + 5));
+
+		assertSortedAsInArray();
+		assertNoMoreTuples();
+	}
+
+	/** Registering in reverse order, so that the top-N tuples are the ones registered last. */
+	private void dataWithNameInReverseOrder() {
+		for (int i = PERSON_COUNT - 1; i >= 0; i--)
+			registerAtSmood(persons[i] = ModelBuilder.person("person" + String.valueOf((char) (i + 65))));
+	}
+
 	private void dataWithAge() {
 		for (int i = 0; i < PERSON_COUNT; i++)
 			registerAtSmood(persons[i] = ModelBuilder.person("person" + i, null, i));
@@ -16,6 +16,7 @@
 package com.braintribe.model.processing.query.eval.set;
 
 import static com.braintribe.model.processing.query.eval.set.base.TupleSetBuilder.valueProperty;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -99,9 +100,39 @@ public class PaginatedSetTests extends AbstractEvalTupleSetTests {
 		assertNoMoreTuples();
 	}
 
+	@Test
+	public void hasMoreWithLimitedOrderedSet() throws Exception {
+		EvalPaginatedSet evalSet = evaluatePaginatedSet(limitedPaginatedSet(2, 2));
+
+		assertNextTuple(persons[2]);
+		assertNextTuple(persons[3]);
+		assertNoMoreTuples();
+		assertThat(evalSet.hasMore()).isTrue();
+	}
+
+	@Test
+	public void noMoreWithLimitedOrderedSet() throws Exception {
+		EvalPaginatedSet evalSet = evaluatePaginatedSet(limitedPaginatedSet(2, 8));
+
+		assertNextTuple(persons[8]);
+		assertNextTuple(persons[9]);
+		assertNoMoreTuples();
+		assertThat(evalSet.hasMore()).isFalse();
+	}
+
+	private EvalPaginatedSet evaluatePaginatedSet(PaginatedSet paginatedSet) {
+		return (EvalPaginatedSet) evaluate(paginatedSet);
+	}
+
 	private PaginatedSet paginatedSet(int limit, int offset) {
 		TupleSet orderedSet = builder.orderedSet(personSet, personNameValue, false);
 		return builder.paginatedSet(orderedSet, limit, offset);
 	}
 
+	/** Same as the query planner does - the ordered set only keeps offset + limit + 1 tuples. */
+	private PaginatedSet limitedPaginatedSet(int limit, int offset) {
+		TupleSet orderedSet = builder.orderedSet(personSet, personNameValue, false, offset + limit + 1);
+		return builder.paginatedSet(orderedSet, limit, offset);
+	}
+
 }
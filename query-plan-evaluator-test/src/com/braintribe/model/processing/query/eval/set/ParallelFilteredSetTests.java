@@ -0,0 +1,70 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.set;
+
+import static com.braintribe.model.processing.query.eval.set.base.TupleSetBuilder.staticValue;
+import static com.braintribe.model.processing.query.eval.set.base.TupleSetBuilder.valueComparison;
+import static com.braintribe.model.processing.query.eval.set.base.TupleSetBuilder.valueProperty;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.eval.api.Tuple;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.queryplan.filter.ConditionType;
+import com.braintribe.model.queryplan.set.FilteredSet;
+import com.braintribe.model.queryplan.set.SourceSet;
+
+/**
+ * Runs all the {@link FilteredSetTests} with the parallel evaluation enabled (for conditions which support it), and checks the parallel
+ * evaluation preserves the order of the sequential one.
+ */
+public class ParallelFilteredSetTests extends FilteredSetTests {
+
+	public ParallelFilteredSetTests() {
+		parallelEvaluationThreshold = 0;
+	}
+
+	@Test
+	public void preservesOrder() throws Exception {
+		for (int i = 0; i < 1000; i++)
+			b.person("p" + i).create();
+
+		SourceSet personSet = builder.sourceSet(Person.class);
+		FilteredSet filteredSet = builder.filteredSet(personSet,
+				valueComparison(valueProperty(personSet, "name"), staticValue("p*0"), ConditionType.like));
+
+		List<Object> parallelResult = evaluateToList(filteredSet, personSet.getIndex());
+
+		parallelEvaluationThreshold = Integer.MAX_VALUE;
+		List<Object> sequentialResult = evaluateToList(filteredSet, personSet.getIndex());
+
+		assertThat(parallelResult).hasSize(100);
+		assertThat(parallelResult).containsExactlyElementsOf(sequentialResult);
+	}
+
+	private List<Object> evaluateToList(FilteredSet filteredSet, int index) {
+		List<Object> result = newList();
+		for (Tuple tuple : evaluate(filteredSet))
+			result.add(tuple.getValue(index));
+
+		return result;
+	}
+
+}
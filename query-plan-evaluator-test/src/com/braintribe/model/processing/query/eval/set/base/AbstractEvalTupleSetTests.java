@@ -31,6 +31,7 @@ import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.generic.i18n.LocalizedString;
 import com.braintribe.model.generic.reflection.GenericModelTypeReflection;
 import com.braintribe.model.generic.value.EntityReference;
+import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.api.function.QueryFunctionAspect;
@@ -53,6 +54,7 @@ public abstract class AbstractEvalTupleSetTests {
 	protected Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> queryFunctionAspectProviders;
 	protected DataBuilder b;
 	protected TupleSetBuilder builder;
+	protected int parallelEvaluationThreshold = BasicQueryEvaluationContext.DEFAULT_PARALLEL_EVALUATION_THRESHOLD;
 
 	private Smood smood;
 	private QueryEvaluationContext context;
@@ -85,9 +87,16 @@ public abstract class AbstractEvalTupleSetTests {
 		return result;
 	}
 
-	protected void evaluate(TupleSet tupleSet) {
-		context = new BasicQueryEvaluationContext(smood, toQueryPlan(tupleSet), QueryFunctionTools.functionExperts(null), queryFunctionAspectProviders);
-		tuplesIterator = context.resolveTupleSet(tupleSet).iterator();
+	protected EvalTupleSet evaluate(TupleSet tupleSet) {
+		BasicQueryEvaluationContext context = new BasicQueryEvaluationContext(smood, toQueryPlan(tupleSet), QueryFunctionTools.functionExperts(null),
+				queryFunctionAspectProviders);
+		context.setParallelEvaluationThreshold(parallelEvaluationThreshold);
+
+		this.context = context;
+		EvalTupleSet evalTupleSet = context.resolveTupleSet(tupleSet);
+		tuplesIterator = evalTupleSet.iterator();
+
+		return evalTupleSet;
 	}
 
 	private QueryPlan toQueryPlan(TupleSet tupleSet) {
@@ -20,6 +20,7 @@ import static com.braintribe.utils.lcd.CollectionTools2.newMap;
 import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
@@ -52,9 +53,13 @@ import com.braintribe.model.queryplan.TupleComponentPosition;
 import com.braintribe.model.queryplan.filter.Condition;
 import com.braintribe.model.queryplan.index.Index;
 import com.braintribe.model.queryplan.index.MetricIndex;
+import com.braintribe.model.queryplan.set.OperandSet;
+import com.braintribe.model.queryplan.set.PaginatedSet;
+import com.braintribe.model.queryplan.set.Projection;
 import com.braintribe.model.queryplan.set.TupleSet;
 import com.braintribe.model.queryplan.set.join.JoinedMapKey;
 import com.braintribe.model.queryplan.set.join.MapJoin;
+import com.braintribe.model.queryplan.value.StaticValue;
 import com.braintribe.model.queryplan.value.Value;
 import com.braintribe.utils.i18n.I18nTools;
 
@@ -63,6 +68,8 @@ import com.braintribe.utils.i18n.I18nTools;
  */
 public class BasicQueryEvaluationContext implements QueryEvaluationContext {
 
+	public static final int DEFAULT_PARALLEL_EVALUATION_THRESHOLD = 10_000;
+
 	protected final Repository repository;
 	protected final IndexingRepository indexingRepository;
 	protected final DelegatingRepository delegatingRepository;
@@ -81,17 +88,41 @@ public class BasicQueryEvaluationContext implements QueryEvaluationContext {
 	protected final Stack<EvaluationStep> stepStack;
 	protected final Stack<Object> valueStack;
 
+	protected final boolean lazilyPaginated;
+	protected int parallelEvaluationThreshold = DEFAULT_PARALLEL_EVALUATION_THRESHOLD;
+
 	public BasicQueryEvaluationContext(Repository repository, QueryPlan queryPlan,
 			Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> queryFunctionExperts,
 			Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> queryFunctionAspectProviders) {
 
-		this(repository, queryPlan, queryFunctionExperts, queryFunctionAspectProviders, new TupleSetAnalyzer(queryPlan.getTupleSet()));
+		this(repository, queryPlan, queryFunctionExperts, queryFunctionAspectProviders, Collections.emptyMap());
+	}
+
+	/**
+	 * @param parameterBindings
+	 *            values to be used instead of the values of given {@link StaticValue}s of the plan, i.e. the parameters of a cached plan which
+	 *            was built for a different query of the same shape
+	 */
+	public BasicQueryEvaluationContext(Repository repository, QueryPlan queryPlan,
+			Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> queryFunctionExperts,
+			Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> queryFunctionAspectProviders, Map<StaticValue, Object> parameterBindings) {
+
+		this(repository, queryPlan, queryFunctionExperts, queryFunctionAspectProviders, new TupleSetAnalyzer(queryPlan.getTupleSet()),
+				parameterBindings);
 	}
 
 	protected BasicQueryEvaluationContext(Repository repository, QueryPlan queryPlan,
 			Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> queryFunctionExperts,
 			Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> queryFunctionAspectProviders, TupleSetDescriptor tsDescriptor) {
 
+		this(repository, queryPlan, queryFunctionExperts, queryFunctionAspectProviders, tsDescriptor, Collections.emptyMap());
+	}
+
+	protected BasicQueryEvaluationContext(Repository repository, QueryPlan queryPlan,
+			Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> queryFunctionExperts,
+			Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> queryFunctionAspectProviders, TupleSetDescriptor tsDescriptor,
+			Map<StaticValue, Object> parameterBindings) {
+
 		this.repository = repository;
 		this.indexingRepository = repository instanceof IndexingRepository ? (IndexingRepository) repository : null;
 		this.delegatingRepository = repository instanceof DelegatingRepository ? (DelegatingRepository) repository : null;
@@ -105,12 +136,54 @@ public class BasicQueryEvaluationContext implements QueryEvaluationContext {
 		this.resultComponentsCount = tsDescriptor.resultComponentsCount();
 
 		this.tupleSetRepository = newTupleSetRepository();
-		this.valueResolver = new ValueResolver(this, queryFunctionExperts);
+		this.valueResolver = new ValueResolver(this, queryFunctionExperts, parameterBindings);
 		this.valueTypeResolver = new ValueTypeResolver(this);
 		this.indexRepository = newIndexRepository(repository);
 
 		this.stepStack = new Stack<>();
 		this.valueStack = new Stack<>();
+
+		this.lazilyPaginated = isLazilyPaginated(topLevelTupleSet);
+	}
+
+	/**
+	 * Minimal population size for which a scan over the population (with a filter and projection on top of it) is evaluated in parallel.
+	 * Default is {@value #DEFAULT_PARALLEL_EVALUATION_THRESHOLD}, {@link Integer#MAX_VALUE} disables the parallel evaluation.
+	 */
+	public void setParallelEvaluationThreshold(int parallelEvaluationThreshold) {
+		this.parallelEvaluationThreshold = parallelEvaluationThreshold;
+	}
+
+	/**
+	 * A paginated plan without an ordering only evaluates its operand until the page is filled, so evaluating the entire population (even in
+	 * parallel) would typically be more work than doing it sequentially.
+	 */
+	private static boolean isLazilyPaginated(TupleSet tupleSet) {
+		boolean paginated = false;
+
+		while (tupleSet != null) {
+			switch (tupleSet.tupleSetType()) {
+				case pagination:
+					paginated = true;
+					tupleSet = ((PaginatedSet) tupleSet).getOperand();
+					continue;
+				case projection:
+					tupleSet = ((Projection) tupleSet).getOperand();
+					continue;
+				case distinctSet:
+				case filteredSet:
+					tupleSet = ((OperandSet) tupleSet).getOperand();
+					continue;
+				case aggregatingProjection:
+				case orderedSet:
+				case orderedSetRefinement:
+					return false;
+				default:
+					return paginated;
+			}
+		}
+
+		return paginated;
 	}
 
 	protected TupleSetRepository newTupleSetRepository() {
@@ -213,6 +286,11 @@ public class BasicQueryEvaluationContext implements QueryEvaluationContext {
 		return ConditionEvaluator.getInstance().evaluate(tuple, condition, this);
 	}
 
+	@Override
+	public int parallelEvaluationThreshold() {
+		return lazilyPaginated ? Integer.MAX_VALUE : parallelEvaluationThreshold;
+	}
+
 	@Override
 	public boolean ignoreFulltextComparisons() {
 		return ignoreFulltextComparisons;
@@ -48,12 +48,15 @@ class ValueResolver {
 	private final Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> experts;
 	private final Map<QueryFunction, QueryFunctionExpert<QueryFunction>> expertsForFunctions;
 	private final Map<StaticValue, Object> staticValueCache;
+	private final Map<StaticValue, Object> parameterBindings;
 
-	public ValueResolver(QueryEvaluationContext context, Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> experts) {
+	public ValueResolver(QueryEvaluationContext context, Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> experts,
+			Map<StaticValue, Object> parameterBindings) {
 		this.context = context;
 		this.experts = experts;
 		this.expertsForFunctions = newMap();
 		this.staticValueCache = newMap();
+		this.parameterBindings = parameterBindings;
 	}
 
 	public <T> T resolve(Tuple tuple, Value value) {
@@ -124,17 +127,27 @@ class ValueResolver {
 			return context.getAllValuesForIndexDirectly(value.getIndexId(), resolvedKey);
 	}
 
+	/**
+	 * Note that <tt>null</tt> is cached as well (e.g. for a reference to an entity which does not exist), so once a value was resolved, further
+	 * resolutions do not access the repository again. The parallel evaluation relies on this, as it resolves all the static values before the
+	 * parallel evaluation starts, after which this cache is only being read.
+	 */
 	private Object resolveStaticValue(StaticValue value) {
 		Object resolvedValue = staticValueCache.get(value);
 
-		if (resolvedValue == null) {
-			resolvedValue = context.resolveStaticValue(value.getValue());
+		if (resolvedValue == null && !staticValueCache.containsKey(value)) {
+			resolvedValue = context.resolveStaticValue(boundValue(value));
 			staticValueCache.put(value, resolvedValue);
 		}
 
 		return resolvedValue;
 	}
 
+	private Object boundValue(StaticValue value) {
+		Object result = parameterBindings.get(value);
+		return result != null ? result : value.getValue();
+	}
+
 	private Object resolveValue(TupleComponent value, Tuple tuple) {
 		return tuple.getValue(value.getTupleComponentIndex());
 	}
@@ -0,0 +1,76 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.index;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
+import com.braintribe.model.processing.query.eval.api.RuntimeQueryEvaluationException;
+import com.braintribe.model.processing.query.eval.api.Tuple;
+import com.braintribe.model.queryplan.index.GeneratedIndex;
+
+/**
+ * Special case of {@link EvalGeneratedIndex} where the {@link GeneratedIndex#getIndexKey() index key} is a collection (or a map, in which case we
+ * take its values), and each tuple is indexed under every element of this collection. This is used for joins with collection membership
+ * conditions, e.g. <tt>p.companyName in c.names</tt>.
+ */
+public class EvalGeneratedCollectionIndex extends EvalGeneratedIndex {
+
+	public EvalGeneratedCollectionIndex(QueryEvaluationContext context, GeneratedIndex index) {
+		super(context, index, newMap());
+	}
+
+	@Override
+	protected void buildIndexMap() {
+		for (Tuple tuple : context.resolveTupleSet(operand)) {
+			Collection<?> keys = asCollection(context.resolveValue(tuple, indexKey));
+			if (keys.isEmpty())
+				continue;
+
+			Tuple detachedTuple = tuple.detachedCopy();
+
+			for (Object key : keys) {
+				Set<Tuple> set = indexMap.get(key);
+
+				if (set == null)
+					indexMap.put(key, set = newSet());
+
+				set.add(detachedTuple);
+			}
+		}
+	}
+
+	public static Collection<?> asCollection(Object value) {
+		if (value == null)
+			return Collections.emptySet();
+
+		if (value instanceof Collection)
+			return (Collection<?>) value;
+
+		if (value instanceof Map)
+			return ((Map<?, ?>) value).values();
+
+		throw new RuntimeQueryEvaluationException("Cannot use value as collection index key, it is not a collection: " + value + "["
+				+ value.getClass().getName() + "]");
+	}
+
+}
@@ -15,35 +15,71 @@
 // ============================================================================
 package com.braintribe.model.processing.query.eval.set;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
 import java.util.Iterator;
 
+import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.base.AbstractEvalTupleSet;
+import com.braintribe.model.processing.query.eval.tools.ParallelEvaluationSupport;
+import com.braintribe.model.processing.query.eval.tools.PopulationAsTupleIterator;
+import com.braintribe.model.processing.query.eval.tuple.OneDimensionalTuple;
 import com.braintribe.model.queryplan.filter.Condition;
 import com.braintribe.model.queryplan.set.FilteredSet;
 
 /**
  * 
  */
-public class EvalFilteredSet extends AbstractEvalTupleSet {
+public class EvalFilteredSet extends AbstractEvalTupleSet implements ParallelScanSet {
 
 	protected final Condition filterCondition;
 	protected final EvalTupleSet evalOperand;
+	protected final ParallelEvaluationSupport parallelSupport;
 
 	public EvalFilteredSet(FilteredSet filteredSet, QueryEvaluationContext context) {
 		super(context);
 
 		this.filterCondition = filteredSet.getFilter();
 		this.evalOperand = context.resolveTupleSet(filteredSet.getOperand());
+		this.parallelSupport = evalOperand instanceof ParallelScanSet ? new ParallelEvaluationSupport(filterCondition) : null;
 	}
 
 	@Override
 	public Iterator<Tuple> iterator() {
+		Collection<? extends GenericEntity> entities = scanInParallel();
+		if (entities != null)
+			return new PopulationAsTupleIterator(entities, scannedComponentIndex());
+
 		return new FilteredSetIterator();
 	}
 
+	@Override
+	public int scannedComponentIndex() {
+		return ((ParallelScanSet) evalOperand).scannedComponentIndex();
+	}
+
+	@Override
+	public Collection<? extends GenericEntity> scanInParallel() {
+		if (parallelSupport == null || !parallelSupport.isParallelizable())
+			return null;
+
+		Collection<? extends GenericEntity> population = ((ParallelScanSet) evalOperand).scanInParallel();
+		if (population == null)
+			return null;
+
+		parallelSupport.prepare(context);
+
+		int index = scannedComponentIndex();
+
+		return population.parallelStream() //
+				.filter(entity -> context.fulfillsCondition(new OneDimensionalTuple(index, entity), filterCondition)) //
+				.collect(toList());
+	}
+
 	protected class FilteredSetIterator extends AbstractTupleIterator {
 
 		protected Iterator<Tuple> delegateIterator;
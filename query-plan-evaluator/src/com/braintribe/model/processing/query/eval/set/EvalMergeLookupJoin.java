@@ -15,27 +15,42 @@
 // ============================================================================
 package com.braintribe.model.processing.query.eval.set;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
+import com.braintribe.model.processing.query.eval.index.EvalGeneratedCollectionIndex;
+import com.braintribe.model.processing.query.eval.index.EvalIndex;
 import com.braintribe.model.queryplan.index.GeneratedIndex;
 import com.braintribe.model.queryplan.set.MergeLookupJoin;
 import com.braintribe.model.queryplan.value.Value;
 
 /**
- * 
+ * Evaluates a {@link MergeLookupJoin} as a hash join - the tuples of the other operand are put into a hash-based index (keyed by the other value),
+ * and for each tuple of the operand the matching tuples are simply looked up in this index.
+ * <p>
+ * For collection membership conditions (see {@link MergeLookupJoin#getValueIsCollection()} and
+ * {@link MergeLookupJoin#getOtherValueIsCollection()}) either all the elements are looked up, or the other tuples are indexed under each element of
+ * their collection respectively.
  */
 public class EvalMergeLookupJoin extends AbstractEvalMergeJoin {
 
 	protected final GeneratedIndex lookupIndex;
 	protected final Value lookupValue;
+	protected final boolean lookupValueIsCollection;
+	protected final boolean otherValueIsCollection;
+
+	private EvalIndex collectionIndex;
 
 	public EvalMergeLookupJoin(MergeLookupJoin tupleSet, QueryEvaluationContext context) {
 		super(tupleSet, context);
 
 		this.lookupIndex = buildIndex(tupleSet);
 		this.lookupValue = tupleSet.getValue();
+		this.lookupValueIsCollection = tupleSet.getValueIsCollection();
+		this.otherValueIsCollection = tupleSet.getOtherValueIsCollection();
 	}
 
 	private GeneratedIndex buildIndex(MergeLookupJoin tupleSet) {
@@ -50,7 +65,34 @@ public class EvalMergeLookupJoin extends AbstractEvalMergeJoin {
 	protected Iterator<Tuple> joinTuplesFor(Tuple tuple) {
 		Object value = context.resolveValue(tuple, lookupValue);
 
-		return context.getAllValuesForIndex(lookupIndex, value).iterator();
+		if (lookupValueIsCollection)
+			return getAllValuesForIndices(EvalGeneratedCollectionIndex.asCollection(value)).iterator();
+		else
+			return getAllValuesForIndex(value).iterator();
+	}
+
+	private Iterable<Tuple> getAllValuesForIndex(Object value) {
+		if (otherValueIsCollection)
+			return collectionIndex().getAllValuesForIndex(value);
+		else
+			return context.getAllValuesForIndex(lookupIndex, value);
+	}
+
+	private Iterable<Tuple> getAllValuesForIndices(Collection<?> values) {
+		if (values.isEmpty())
+			return Collections.emptySet();
+
+		if (otherValueIsCollection)
+			return collectionIndex().getAllValuesForIndices(values);
+		else
+			return context.getAllValuesForIndices(lookupIndex, values);
+	}
+
+	private EvalIndex collectionIndex() {
+		if (collectionIndex == null)
+			collectionIndex = new EvalGeneratedCollectionIndex(context, lookupIndex);
+
+		return collectionIndex;
 	}
 
 }
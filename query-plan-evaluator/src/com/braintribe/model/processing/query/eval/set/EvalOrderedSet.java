@@ -24,12 +24,14 @@ import java.util.List;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.base.AbstractEvalTupleSet;
+import com.braintribe.model.processing.query.eval.tools.BoundedTupleSorter;
 import com.braintribe.model.processing.query.eval.tools.QueryEvaluationTools;
 import com.braintribe.model.processing.query.eval.tools.TupleComparator;
 import com.braintribe.model.queryplan.set.OrderedSet;
 
 /**
- * 
+ * Evaluates an {@link OrderedSet}. If the set has a {@link OrderedSet#getLimit() limit}, only the first <tt>limit</tt> tuples are kept in memory
+ * (see {@link BoundedTupleSorter}), otherwise all the tuples are loaded and sorted.
  */
 public class EvalOrderedSet extends AbstractEvalTupleSet {
 
@@ -38,10 +40,25 @@ public class EvalOrderedSet extends AbstractEvalTupleSet {
 	public EvalOrderedSet(OrderedSet orderedSet, QueryEvaluationContext context) {
 		super(context);
 
-		tuples = newList();
+		TupleComparator comparator = new TupleComparator(orderedSet.getSortCriteria(), context);
+		int limit = orderedSet.getLimit();
 
-		QueryEvaluationTools.addAllTuples(orderedSet.getOperand(), tuples, context);
-		Collections.sort(tuples, new TupleComparator(orderedSet.getSortCriteria(), context));
+		if (limit > 0) {
+			tuples = loadFirstTuples(orderedSet, comparator, limit);
+
+		} else {
+			tuples = newList();
+
+			QueryEvaluationTools.addAllTuples(orderedSet.getOperand(), tuples, context);
+			Collections.sort(tuples, comparator);
+		}
+	}
+
+	private List<Tuple> loadFirstTuples(OrderedSet orderedSet, TupleComparator comparator, int limit) {
+		BoundedTupleSorter sorter = new BoundedTupleSorter(comparator, limit);
+		sorter.addAll(context.resolveTupleSet(orderedSet.getOperand()));
+
+		return sorter.toSortedList();
 	}
 
 	@Override
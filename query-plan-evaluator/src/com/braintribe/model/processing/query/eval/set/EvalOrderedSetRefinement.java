@@ -21,17 +21,20 @@ import static com.braintribe.utils.lcd.CollectionTools2.newList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.base.AbstractEvalTupleSet;
+import com.braintribe.model.processing.query.eval.tools.BoundedTupleSorter;
 import com.braintribe.model.processing.query.eval.tools.TupleComparator;
 import com.braintribe.model.queryplan.set.OrderedSetRefinement;
 import com.braintribe.model.queryplan.value.Value;
 
 /**
- * 
+ * Evaluates an {@link OrderedSetRefinement}. If the set has a {@link OrderedSetRefinement#getLimit() limit}, the iteration stops after
+ * <tt>limit</tt> tuples and each group only keeps as many tuples as are still needed (see {@link BoundedTupleSorter}).
  */
 public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 
@@ -39,6 +42,8 @@ public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 	protected final EvalTupleSet operandTupleSet;
 	protected final OrderedSetRefinement orderedSet;
 	protected final List<Value> groupValues;
+	protected final TupleComparator comparator;
+	protected final int limit;
 
 	public EvalOrderedSetRefinement(OrderedSetRefinement orderedSet, QueryEvaluationContext context) {
 		super(context);
@@ -46,6 +51,8 @@ public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 		this.operandTupleSet = context.resolveTupleSet(orderedSet.getOperand());
 		this.orderedSet = orderedSet;
 		this.groupValues = orderedSet.getGroupValues();
+		this.comparator = new TupleComparator(orderedSet.getSortCriteria(), context);
+		this.limit = orderedSet.getLimit() > 0 ? orderedSet.getLimit() : Integer.MAX_VALUE;
 	}
 
 	@Override
@@ -59,6 +66,7 @@ public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 
 		private Tuple nextBulkFirstTuple;
 		private Iterator<Tuple> currentBulkIterator = emptyTupleIterator();
+		private int remaining = limit;
 
 		public ExtendedOrderedSetIterator() {
 			operandIterator = operandTupleSet.iterator();
@@ -69,6 +77,11 @@ public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 
 		@Override
 		protected void prepareNextValue() {
+			if (remaining-- <= 0) {
+				next = null;
+				return;
+			}
+
 			if (currentBulkIterator.hasNext()) {
 				next = currentBulkIterator.next();
 				return;
@@ -84,30 +97,35 @@ public class EvalOrderedSetRefinement extends AbstractEvalTupleSet {
 		}
 
 		private void prepareNextBulk() {
-			List<Tuple> tuples = loadEquivalentTuples();
-			Collections.sort(tuples, new TupleComparator(orderedSet.getSortCriteria(), context));
-			currentBulkIterator = tuples.iterator();
+			if (limit < Integer.MAX_VALUE) {
+				// +1 as remaining was already decreased for the tuple we are preparing right now
+				BoundedTupleSorter sorter = new BoundedTupleSorter(comparator, remaining + 1);
+				loadEquivalentTuples(sorter::add);
+				currentBulkIterator = sorter.toSortedList().iterator();
+
+			} else {
+				List<Tuple> tuples = newList();
+				loadEquivalentTuples(tuple -> tuples.add(tuple.detachedCopy()));
+				Collections.sort(tuples, comparator);
+				currentBulkIterator = tuples.iterator();
+			}
 		}
 
-		private List<Tuple> loadEquivalentTuples() {
+		private void loadEquivalentTuples(Consumer<Tuple> tupleConsumer) {
 			List<Object> groupValues = computeGroupValues(nextBulkFirstTuple);
 
-			List<Tuple> result = newList();
-
 			do {
-				result.add(nextBulkFirstTuple.detachedCopy());
+				tupleConsumer.accept(nextBulkFirstTuple);
 
 				if (operandIterator.hasNext()) {
 					nextBulkFirstTuple = operandIterator.next();
 
 				} else {
 					nextBulkFirstTuple = null;
-					return result;
+					return;
 				}
 
 			} while (groupValues.equals(computeGroupValues(nextBulkFirstTuple)));
-
-			return result;
 		}
 
 		private List<Object> computeGroupValues(Tuple tuple) {
@@ -16,15 +16,21 @@
 package com.braintribe.model.processing.query.eval.set;
 
 import static com.braintribe.model.processing.query.eval.tools.QueryEvaluationTools.moreHas;
+import static java.util.stream.Collectors.toList;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.base.AbstractEvalTupleSet;
+import com.braintribe.model.processing.query.eval.tools.ParallelEvaluationSupport;
 import com.braintribe.model.processing.query.eval.tuple.ArrayBasedTuple;
+import com.braintribe.model.processing.query.eval.tuple.OneDimensionalTuple;
 import com.braintribe.model.queryplan.set.Projection;
 import com.braintribe.model.queryplan.value.Value;
 
@@ -36,6 +42,7 @@ public class EvalProjection extends AbstractEvalTupleSet implements HasMoreAware
 	protected final EvalTupleSet evalOperand;
 	protected final List<Value> values;
 	protected final ArrayBasedTuple singletonTuple;
+	protected final ParallelEvaluationSupport parallelSupport;
 
 	public EvalProjection(Projection projection, QueryEvaluationContext context) {
 		super(context);
@@ -43,6 +50,7 @@ public class EvalProjection extends AbstractEvalTupleSet implements HasMoreAware
 		this.evalOperand = context.resolveTupleSet(projection.getOperand());
 		this.values = projection.getValues();
 		this.singletonTuple = new ArrayBasedTuple(values.size());
+		this.parallelSupport = evalOperand instanceof ParallelScanSet ? new ParallelEvaluationSupport(values) : null;
 	}
 
 	@Override
@@ -52,9 +60,42 @@ public class EvalProjection extends AbstractEvalTupleSet implements HasMoreAware
 
 	@Override
 	public Iterator<Tuple> iterator() {
+		List<Tuple> tuples = projectInParallel();
+		if (tuples != null)
+			return Collections.unmodifiableList(tuples).iterator();
+
 		return new ProjectionIterator();
 	}
 
+	private List<Tuple> projectInParallel() {
+		if (parallelSupport == null || !parallelSupport.isParallelizable())
+			return null;
+
+		ParallelScanSet scanSet = (ParallelScanSet) evalOperand;
+
+		Collection<? extends GenericEntity> entities = scanSet.scanInParallel();
+		if (entities == null)
+			return null;
+
+		parallelSupport.prepare(context);
+
+		int index = scanSet.scannedComponentIndex();
+
+		return entities.parallelStream() //
+				.map(entity -> project(new OneDimensionalTuple(index, entity))) //
+				.collect(toList());
+	}
+
+	private Tuple project(Tuple tuple) {
+		Object[] data = new Object[values.size()];
+
+		int index = 0;
+		for (Value value : values)
+			data[index++] = context.resolveValue(tuple, value);
+
+		return new ArrayBasedTuple(data);
+	}
+
 	protected class ProjectionIterator extends AbstractTupleIterator {
 
 		protected Iterator<Tuple> delegateIterator;
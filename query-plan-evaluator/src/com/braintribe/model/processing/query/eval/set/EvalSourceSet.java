@@ -15,8 +15,10 @@
 // ============================================================================
 package com.braintribe.model.processing.query.eval.set;
 
+import java.util.Collection;
 import java.util.Iterator;
 
+import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.base.AbstractEvalTupleSet;
@@ -27,7 +29,7 @@ import com.braintribe.model.queryplan.set.SourceSet;
 /**
  * 
  */
-public class EvalSourceSet extends AbstractEvalTupleSet {
+public class EvalSourceSet extends AbstractEvalTupleSet implements ParallelScanSet {
 
 	protected final SourceSet sourceSet;
 	protected OneDimensionalTuple singletonTuple;
@@ -44,4 +46,26 @@ public class EvalSourceSet extends AbstractEvalTupleSet {
 		return new PopulationAsTupleIterator(context.getPopulation(sourceSet.getTypeSignature()), sourceSet.getIndex());
 	}
 
+	@Override
+	public int scannedComponentIndex() {
+		return sourceSet.getIndex();
+	}
+
+	/**
+	 * The provided population is a snapshot created for this evaluation (e.g. a new set in case of Smood), so it is scanned directly, without
+	 * copying it again and without accessing the repository during the parallel evaluation.
+	 */
+	@Override
+	public Collection<? extends GenericEntity> scanInParallel() {
+		Iterable<? extends GenericEntity> population = context.getPopulation(sourceSet.getTypeSignature());
+		if (!(population instanceof Collection))
+			return null;
+
+		Collection<? extends GenericEntity> entities = (Collection<? extends GenericEntity>) population;
+		if (entities.size() < context.parallelEvaluationThreshold())
+			return null;
+
+		return entities;
+	}
+
 }
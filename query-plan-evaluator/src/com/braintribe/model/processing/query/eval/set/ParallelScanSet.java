@@ -0,0 +1,44 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.set;
+
+import java.util.Collection;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
+import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
+
+/**
+ * {@link EvalTupleSet} which is a (possibly filtered) scan over an entire population, and can thus be evaluated in parallel. This is the case for
+ * an {@link EvalSourceSet} and an {@link EvalFilteredSet} on top of it.
+ * <p>
+ * The parallel evaluation splits the population into chunks, which are processed on the common fork/join pool, and the results are merged
+ * in the original order of the population, so the result is the same as that of the sequential evaluation.
+ */
+public interface ParallelScanSet extends EvalTupleSet {
+
+	/** Returns the index of the tuple component which the scanned entities represent. */
+	int scannedComponentIndex();
+
+	/**
+	 * Returns the entities of this set in the order they would be iterated, or <tt>null</tt> if the scanned population is smaller than the
+	 * {@link QueryEvaluationContext#parallelEvaluationThreshold() threshold} or this set cannot be evaluated in parallel.
+	 * <p>
+	 * The returned collection is owned by the caller, i.e. it is not backed by the repository.
+	 */
+	Collection<? extends GenericEntity> scanInParallel();
+
+}
@@ -0,0 +1,97 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.tools;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.braintribe.model.processing.query.eval.api.Tuple;
+
+/**
+ * Collects the first <tt>bound</tt> tuples (with respect to given comparator) out of all the tuples passed to {@link #add(Tuple)}, without keeping
+ * the other tuples in memory. This is used for ORDER BY with a LIMIT, where we only need the first page(s), not the entire sorted population.
+ * <p>
+ * Internally, this is a max-heap of size <tt>bound</tt>, so the worst of the currently collected tuples is always on top and can be replaced in
+ * O(log(bound)) time. Equal tuples are ordered by the order in which they were added, i.e. the result is the same as if we sorted all the tuples
+ * with a stable sort (like {@link java.util.Collections#sort(List, Comparator)}) and took the first <tt>bound</tt> of them.
+ * <p>
+ * Tuples passed to {@link #add(Tuple)} do not have to be detached, a {@link Tuple#detachedCopy() detached copy} is only made for those which are
+ * actually collected.
+ */
+public class BoundedTupleSorter {
+
+	private final Comparator<Tuple> comparator;
+	private final int bound;
+	private final PriorityQueue<Entry> heap;
+
+	private long counter;
+
+	public BoundedTupleSorter(Comparator<Tuple> comparator, int bound) {
+		if (bound <= 0)
+			throw new IllegalArgumentException("Bound must be a positive number, but was: " + bound);
+
+		this.comparator = comparator;
+		this.bound = bound;
+		this.heap = new PriorityQueue<>(Math.min(bound, 1024), (e1, e2) -> compare(e2, e1));
+	}
+
+	public void addAll(Iterable<Tuple> tuples) {
+		for (Tuple tuple : tuples)
+			add(tuple);
+	}
+
+	public void add(Tuple tuple) {
+		if (heap.size() == bound) {
+			// a new tuple which is equal to the worst one is also worse, as it was added later
+			if (comparator.compare(tuple, heap.peek().tuple) >= 0)
+				return;
+
+			heap.poll();
+		}
+
+		heap.add(new Entry(tuple.detachedCopy(), counter++));
+	}
+
+	/** Returns the collected tuples, sorted. */
+	public List<Tuple> toSortedList() {
+		Entry[] entries = heap.toArray(new Entry[heap.size()]);
+		Arrays.sort(entries, this::compare);
+
+		Tuple[] result = new Tuple[entries.length];
+		for (int i = 0; i < entries.length; i++)
+			result[i] = entries[i].tuple;
+
+		return Arrays.asList(result);
+	}
+
+	private int compare(Entry e1, Entry e2) {
+		int cmp = comparator.compare(e1.tuple, e2.tuple);
+		return cmp != 0 ? cmp : Long.compare(e1.index, e2.index);
+	}
+
+	private static class Entry {
+		final Tuple tuple;
+		final long index;
+
+		Entry(Tuple tuple, long index) {
+			this.tuple = tuple;
+			this.index = index;
+		}
+	}
+
+}
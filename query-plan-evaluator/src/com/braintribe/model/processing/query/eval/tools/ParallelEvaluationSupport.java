@@ -0,0 +1,112 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.eval.tools;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
+import com.braintribe.model.processing.query.eval.api.function.QueryFunctionAspect;
+import com.braintribe.model.queryplan.filter.Condition;
+import com.braintribe.model.queryplan.filter.Junction;
+import com.braintribe.model.queryplan.filter.Negation;
+import com.braintribe.model.queryplan.filter.ValueComparison;
+import com.braintribe.model.queryplan.value.HashSetProjection;
+import com.braintribe.model.queryplan.value.IndexValue;
+import com.braintribe.model.queryplan.value.StaticValue;
+import com.braintribe.model.queryplan.value.Value;
+import com.braintribe.model.queryplan.value.ValueProperty;
+
+/**
+ * Analyzes a {@link Condition} or the {@link Value}s of a projection to determine whether they can be evaluated from multiple threads at once.
+ * <p>
+ * This is only the case if the evaluation merely reads properties of the entities being evaluated. Everything that might access the repository
+ * or resources bound to the evaluating thread is not supported - query functions (which might use {@link QueryFunctionAspect}s), fulltext
+ * comparisons (which resolve the locale), {@link HashSetProjection}s and {@link IndexValue}s.
+ * <p>
+ * {@link StaticValue}s might resolve entity references via the repository, so they must be resolved by the calling thread via
+ * {@link #prepare(QueryEvaluationContext)} before the parallel evaluation starts.
+ */
+public class ParallelEvaluationSupport {
+
+	private final List<StaticValue> staticValues = newList();
+	private boolean parallelizable = true;
+
+	public ParallelEvaluationSupport(Condition condition) {
+		analyze(condition);
+	}
+
+	public ParallelEvaluationSupport(Collection<Value> values) {
+		for (Value value : values)
+			analyze(value);
+	}
+
+	public boolean isParallelizable() {
+		return parallelizable;
+	}
+
+	/** Resolves all the {@link StaticValue}s, so that they are cached by the context and the parallel evaluation does not resolve them again. */
+	public void prepare(QueryEvaluationContext context) {
+		for (StaticValue staticValue : staticValues)
+			context.resolveValue(null, staticValue);
+	}
+
+	private void analyze(Condition condition) {
+		switch (condition.conditionType()) {
+			case conjunction:
+			case disjunction:
+				for (Condition operand : ((Junction) condition).getOperands())
+					analyze(operand);
+				return;
+
+			case negation:
+				analyze(((Negation) condition).getOperand());
+				return;
+
+			case fullText:
+				parallelizable = false;
+				return;
+
+			default:
+				ValueComparison comparison = (ValueComparison) condition;
+				analyze(comparison.getLeftOperand());
+				analyze(comparison.getRightOperand());
+				return;
+		}
+	}
+
+	private void analyze(Value value) {
+		switch (value.valueType()) {
+			case staticValue:
+				staticValues.add((StaticValue) value);
+				return;
+
+			case tupleComponent:
+				return;
+
+			case valueProperty:
+				analyze(((ValueProperty) value).getValue());
+				return;
+
+			default:
+				parallelizable = false;
+				return;
+		}
+	}
+
+}
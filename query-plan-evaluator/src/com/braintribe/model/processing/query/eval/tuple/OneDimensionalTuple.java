@@ -30,6 +30,11 @@ public class OneDimensionalTuple implements Tuple {
 		this.position = position;
 	}
 
+	public OneDimensionalTuple(int position, Object data) {
+		this.position = position;
+		this.data = data;
+	}
+
 	public void setValueDirectly(int index, Object value) {
 		if (position != index)
 			throw new RuntimeQueryEvaluationException(
@@ -62,6 +62,22 @@ public interface MergeLookupJoin extends MergeJoin {
 	Value getOtherValue();
 	void setOtherValue(Value otherValue);
 
+	/**
+	 * If true, the {@link #getValue() value} is a collection and the join matches those tuples of the {@link #getOtherOperand() other operand},
+	 * whose {@link #getOtherValue() other value} is an element of this collection (e.g. <tt>c.name in p.companyNames</tt>, where <tt>p</tt> is in
+	 * the {@link #getOperand() operand}).
+	 */
+	boolean getValueIsCollection();
+	void setValueIsCollection(boolean valueIsCollection);
+
+	/**
+	 * If true, the {@link #getOtherValue() other value} is a collection and the join matches those tuples of the {@link #getOtherOperand() other
+	 * operand}, for which this collection contains the {@link #getValue() value} (e.g. <tt>p.companyName in c.names</tt>, where <tt>p</tt> is in
+	 * the {@link #getOperand() operand}). The generated index is then keyed by the individual elements of the collection.
+	 */
+	boolean getOtherValueIsCollection();
+	void setOtherValueIsCollection(boolean otherValueIsCollection);
+
 	@Override
 	default TupleSetType tupleSetType() {
 		return TupleSetType.mergeLookupJoin;
@@ -52,6 +52,16 @@ public interface OrderedSet extends TupleSet {
 	List<SortCriterion> getSortCriteria();
 	void setSortCriteria(List<SortCriterion> sortCriteria);
 
+	/**
+	 * Maximum number of tuples which will be retrieved from this set, or a non-positive number if all the tuples are needed. This is set when
+	 * this set is followed by a {@link PaginatedSet} (i.e. ORDER BY together with LIMIT), in which case it is <tt>offset + limit + 1</tt> (the
+	 * extra tuple is needed for the {@link PaginatedSet} to know whether there are more results).
+	 * <p>
+	 * With a limit, the evaluation doesn't have to sort all the tuples, but only keeps the first <tt>limit</tt> tuples with a bounded heap.
+	 */
+	int getLimit();
+	void setLimit(int limit);
+
 	@Override
 	default TupleSetType tupleSetType() {
 		return TupleSetType.orderedSet;
@@ -0,0 +1,189 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.test;
+
+import static com.braintribe.utils.lcd.CollectionTools2.asSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.planner.QueryPlanner;
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.query.test.repository.IndexConfiguration;
+import com.braintribe.model.processing.query.test.repository.StatisticsRepositoryMock;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.queryplan.set.FilteredSet;
+import com.braintribe.model.queryplan.set.IndexSubSet;
+import com.braintribe.model.queryplan.set.MergeLookupJoin;
+import com.braintribe.model.queryplan.set.Projection;
+import com.braintribe.model.queryplan.set.join.IndexLookupJoin;
+
+/**
+ * Tests for {@link QueryPlanner#costBasedPlanning(boolean) cost-based planning}, i.e. the plan depends on the statistics of the repository.
+ */
+public class CostBasedPlanningTests extends AbstractQueryPlannerTests {
+
+	private static final IndexConfiguration indexConfiguration = new IndexConfiguration();
+
+	static {
+		indexConfiguration.addLookupIndex(Person.T, "indexedName");
+		indexConfiguration.addMetricIndex(Company.T, "id");
+		indexConfiguration.addLookupIndex(Company.T, "indexedName");
+	}
+
+	private final StatisticsRepositoryMock repository = new StatisticsRepositoryMock(indexConfiguration);
+
+	@Before
+	public void setup() {
+		queryPlanner = new QueryPlanner(repository);
+		queryPlanner.costBasedPlanning(true);
+	}
+
+	// ####################################
+	// ## . . . . Driving Source . . . . ##
+	// ####################################
+
+	@Test
+	public void smallCompanyPopulationDrivesTheJoin() {
+		repository.setEntityCount(Person.T, 1_000_000);
+		repository.setDistinctKeyCount(Person.T, "indexedName", 1_000_000);
+		repository.setEntityCount(Company.T, 10);
+		repository.setDistinctKeyCount(Company.T, "indexedName", 10);
+
+		runTest(personCompanyIndexedNameJoin());
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(IndexLookupJoin.T)
+				.whereOperand().isSourceSet_(Company.T)
+				.whereProperty("lookupValue").isValueProperty_("indexedName")
+		;
+		// @formatter:on
+	}
+
+	@Test
+	public void smallPersonPopulationDrivesTheJoin() {
+		repository.setEntityCount(Person.T, 10);
+		repository.setDistinctKeyCount(Person.T, "indexedName", 10);
+		repository.setEntityCount(Company.T, 1_000_000);
+		repository.setDistinctKeyCount(Company.T, "indexedName", 1_000_000);
+
+		runTest(personCompanyIndexedNameJoin());
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(IndexLookupJoin.T)
+				.whereOperand().isSourceSet_(Person.T)
+				.whereProperty("lookupValue").isValueProperty_("indexedName")
+		;
+		// @formatter:on
+	}
+
+	/** Without distinct key counts, each entity is assumed to have a different key, i.e. same as in {@link #smallCompanyPopulationDrivesTheJoin()} */
+	@Test
+	public void unknownDistinctKeyCounts_OneKeyPerEntity() {
+		repository.setEntityCount(Person.T, 1_000_000);
+		repository.setEntityCount(Company.T, 10);
+
+		runTest(personCompanyIndexedNameJoin());
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(IndexLookupJoin.T)
+				.whereOperand().isSourceSet_(Company.T)
+				.whereProperty("lookupValue").isValueProperty_("indexedName")
+		;
+		// @formatter:on
+	}
+
+	private SelectQuery personCompanyIndexedNameJoin() {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.property("p", "indexedName").eq().property("c", "indexedName")
+				.done();
+		// @formatter:on
+	}
+
+	// ####################################
+	// ## . . Lookup Join vs Retrieval . ##
+	// ####################################
+
+	/** Every lookup in the skewed index returns many companies, so it's cheaper to retrieve the few companies via id and merge-join them. */
+	@Test
+	public void skewedJoinIndex_RetrievesJoinedSourceSeparately() {
+		prepareStatisticsForPersonJoinedWithFilteredCompanies(2);
+
+		runTest(personJoinedWithFilteredCompanies());
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(MergeLookupJoin.T)
+				.whereOperand().hasType(IndexSubSet.T).close()
+				.whereProperty("otherOperand").hasType(IndexSubSet.T).close()
+		;
+		// @formatter:on
+	}
+
+	/** Same query as in the previous test, but with a unique index, where a single lookup is cheaper than retrieving the companies. */
+	@Test
+	public void uniformJoinIndex_UsesLookupJoin() {
+		prepareStatisticsForPersonJoinedWithFilteredCompanies(1000);
+
+		runTest(personJoinedWithFilteredCompanies());
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(FilteredSet.T).whereOperand()
+					.hasType(IndexLookupJoin.T)
+					.whereOperand().hasType(IndexSubSet.T).close()
+					.whereProperty("lookupValue").isValueProperty_("companyName")
+		;
+		// @formatter:on
+	}
+
+	private void prepareStatisticsForPersonJoinedWithFilteredCompanies(long distinctCompanyNames) {
+		repository.setEntityCount(Person.T, 100);
+		repository.setDistinctKeyCount(Person.T, "indexedName", 100);
+		repository.setEntityCount(Company.T, 1000);
+		repository.setDistinctKeyCount(Company.T, "id", 1000);
+		repository.setDistinctKeyCount(Company.T, "indexedName", distinctCompanyNames);
+	}
+
+	private SelectQuery personJoinedWithFilteredCompanies() {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.conjunction()
+						.property("p", "indexedName").eq("John")
+						.property("p", "companyName").eq().property("c", "indexedName")
+						.property("c", "id").in(asSet(1L, 2L, 3L))
+					.close()
+				.done();
+		// @formatter:on
+	}
+
+}
@@ -406,6 +406,58 @@ public class IndexJoinTests extends AbstractQueryPlannerTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void mergeLookupJoin_In() {
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.property("p", "name").in().property("c", "personNameSet")
+				.done();
+		// @formatter:on
+
+		runTest(selectQuery);
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(MergeLookupJoin.T)
+					.whereOperand().isSourceSet_(Person.T)
+					.whereValue().isValueProperty_("name")
+					.whereProperty("valueIsCollection").isFalse_()
+					.whereProperty("otherOperand").isSourceSet_(Company.T)
+					.whereProperty("otherValue").isValueProperty_("personNameSet")
+					.whereProperty("otherValueIsCollection").isTrue_()
+		;
+		// @formatter:on
+	}
+
+	@Test
+	public void mergeLookupJoin_Contains() {
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.property("c", "personNameList").contains().property("p", "name")
+				.done();
+		// @formatter:on
+
+		runTest(selectQuery);
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(Projection.T).whereOperand()
+				.hasType(MergeLookupJoin.T)
+					.whereValue().isValueProperty_("name")
+					.whereProperty("valueIsCollection").isFalse_()
+					.whereProperty("otherValue").isValueProperty_("personNameList")
+					.whereProperty("otherValueIsCollection").isTrue_()
+		;
+		// @formatter:on
+	}
+
 	@Test
 	public void mergeRangeJoin() {
 		// @formatter:off
@@ -21,6 +21,7 @@ import com.braintribe.model.processing.query.test.model.Owner;
 import com.braintribe.model.processing.query.test.model.Person;
 import com.braintribe.model.query.OrderingDirection;
 import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.queryplan.set.DistinctSet;
 import com.braintribe.model.queryplan.set.OrderedSet;
 import com.braintribe.model.queryplan.set.PaginatedSet;
 import com.braintribe.model.queryplan.set.Projection;
@@ -189,6 +190,53 @@ public class OrderByTests extends AbstractQueryPlannerTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void orderByWithPaginationLimitsOrderedSet() {
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.from(Person.T, "p")
+				.orderBy().property("p", "name")
+				.paging(2, 1)
+				.done();
+		// @formatter:on
+
+		runTest(selectQuery);
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(PaginatedSet.T).whereOperand()
+				.hasType(Projection.T).whereOperand()
+					.hasType(OrderedSet.T)
+					.whereProperty("limit").is_(4)
+		;
+		// @formatter:on
+	}
+
+	@Test
+	public void orderByWithPaginationAndDistinctDoesNotLimitOrderedSet() {
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.select("p", "name")
+				.from(Person.T, "p")
+				.orderBy().property("p", "name")
+				.paging(2, 1)
+				.distinct()
+				.done();
+		// @formatter:on
+
+		runTest(selectQuery);
+
+		// @formatter:off
+		assertQueryPlan()
+			.hasType(PaginatedSet.T).whereOperand()
+				.hasType(DistinctSet.T).whereOperand()
+					.hasType(Projection.T).whereOperand()
+						.hasType(OrderedSet.T)
+						.whereProperty("limit").is_(0)
+		;
+		// @formatter:on
+	}
+
 	@Test
 	public void orderByNonSelected() {
 		// @formatter:off
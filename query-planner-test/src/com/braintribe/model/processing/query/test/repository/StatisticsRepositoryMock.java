@@ -0,0 +1,60 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.test.repository;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+
+import java.util.Map;
+
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
+
+/**
+ * {@link RepositoryMock} which also provides {@link RepositoryStatistics}, with values configured by the test.
+ */
+public class StatisticsRepositoryMock extends RepositoryMock implements RepositoryStatistics {
+
+	private final Map<String, Long> entityCounts = newMap();
+	private final Map<String, Long> distinctKeyCounts = newMap();
+
+	public StatisticsRepositoryMock(IndexConfiguration indexConfiguration) {
+		super(indexConfiguration);
+	}
+
+	public void setEntityCount(EntityType<?> et, long count) {
+		entityCounts.put(et.getTypeSignature(), count);
+	}
+
+	public void setDistinctKeyCount(EntityType<?> et, String propertyName, long count) {
+		distinctKeyCounts.put(IndexConfiguration.indexId(et, propertyName), count);
+	}
+
+	@Override
+	public RepositoryStatistics provideStatistics() {
+		return this;
+	}
+
+	@Override
+	public long entityCount(String typeSignature) {
+		return entityCounts.getOrDefault(typeSignature, UNKNOWN);
+	}
+
+	@Override
+	public long distinctKeyCount(String indexId) {
+		return distinctKeyCounts.getOrDefault(indexId, UNKNOWN);
+	}
+
+}
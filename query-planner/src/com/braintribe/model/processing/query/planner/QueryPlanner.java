@@ -32,6 +32,7 @@ public class QueryPlanner {
 
 	private final Repository repository;
 	private boolean ignorePartitions;
+	private boolean costBasedPlanning;
 
 	public QueryPlanner(Repository repository) {
 		this.repository = repository;
@@ -50,7 +51,7 @@ public class QueryPlanner {
 				.mappedPropertyIndicator(this::isPropertyMapped)
 				.normalize();
 
-		QueryPlannerContext context = new QueryPlannerContext(query, repository);
+		QueryPlannerContext context = new QueryPlannerContext(query, repository, costBasedPlanning);
 
 		return new QueryPlannerCore(context, query).buildQueryPlan();
 	}
@@ -73,4 +74,15 @@ public class QueryPlanner {
 		this.ignorePartitions = ignorePartitions;
 	}
 
+	/**
+	 * Configures whether the planner uses the {@link Repository#provideStatistics() statistics} of the repository (if it provides any) to estimate
+	 * the sizes of the intermediate results. These estimates are then used to choose which source is retrieved first, and whether a source is
+	 * joined via an index lookup or retrieved on its own and then joined with the rest.
+	 * <p>
+	 * Default is <tt>false</tt>, in which case the order is determined by the query conditions only.
+	 */
+	public void costBasedPlanning(boolean costBasedPlanning) {
+		this.costBasedPlanning = costBasedPlanning;
+	}
+
 }
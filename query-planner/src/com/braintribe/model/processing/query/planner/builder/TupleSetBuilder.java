@@ -163,11 +163,19 @@ public class TupleSetBuilder {
 	public static MergeLookupJoin mergeLookupJoin(TupleSet srcTupleSet, Operand srcOperand, TupleSet indexedTupleSet, Operand indexedOperand,
 			QueryPlannerContext context) {
 
+		return mergeLookupJoin(srcTupleSet, srcOperand, false, indexedTupleSet, indexedOperand, false, context);
+	}
+
+	public static MergeLookupJoin mergeLookupJoin(TupleSet srcTupleSet, Operand srcOperand, boolean srcOperandIsCollection, TupleSet indexedTupleSet,
+			Operand indexedOperand, boolean indexedOperandIsCollection, QueryPlannerContext context) {
+
 		MergeLookupJoin result = MergeLookupJoin.T.create();
 		result.setOperand(srcTupleSet);
 		result.setValue(context.convertOperand(srcOperand));
+		result.setValueIsCollection(srcOperandIsCollection);
 		result.setOtherOperand(indexedTupleSet);
 		result.setOtherValue(context.convertOperand(indexedOperand));
+		result.setOtherValueIsCollection(indexedOperandIsCollection);
 
 		return result;
 	}
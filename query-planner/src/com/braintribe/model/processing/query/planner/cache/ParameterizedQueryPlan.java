@@ -0,0 +1,54 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.cache;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.braintribe.model.queryplan.QueryPlan;
+import com.braintribe.model.queryplan.value.StaticValue;
+
+/**
+ * A {@link QueryPlan} together with the values of its parameters, i.e. of the literals which were lifted out of the query. When evaluating the
+ * plan, the value of each {@link StaticValue} contained in {@link #getParameterBindings()} is to be used instead of the value stored in the
+ * plan itself, as the plan might have been built for a different query of the same shape.
+ * 
+ * @see QueryPlanCache
+ */
+public class ParameterizedQueryPlan {
+
+	private final QueryPlan queryPlan;
+	private final Map<StaticValue, Object> parameterBindings;
+
+	public ParameterizedQueryPlan(QueryPlan queryPlan) {
+		this(queryPlan, Collections.emptyMap());
+	}
+
+	public ParameterizedQueryPlan(QueryPlan queryPlan, Map<StaticValue, Object> parameterBindings) {
+		this.queryPlan = queryPlan;
+		this.parameterBindings = parameterBindings;
+	}
+
+	public QueryPlan getQueryPlan() {
+		return queryPlan;
+	}
+
+	/** Values to be used for given {@link StaticValue}s of the {@link #getQueryPlan() plan}, never <tt>null</tt>. */
+	public Map<StaticValue, Object> getParameterBindings() {
+		return parameterBindings;
+	}
+
+}
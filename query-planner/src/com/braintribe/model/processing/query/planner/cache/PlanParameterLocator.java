@@ -0,0 +1,120 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.cache;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.Property;
+import com.braintribe.model.queryplan.QueryPlan;
+import com.braintribe.model.queryplan.value.StaticValue;
+
+/**
+ * Finds the {@link StaticValue}s of a {@link QueryPlan} which hold the (identity-unique) parameter values the plan was built with.
+ * <p>
+ * The plan can only be re-used for different values of these parameters, if each parameter was taken over as is, i.e. it is referenced only
+ * directly as {@link StaticValue#getValue() value} of one or more {@link StaticValue}s. If a parameter was not found at all (e.g. the planner
+ * evaluated a constant condition) or was found anywhere else (e.g. merged into a set of values by the planner), the plan depends on the actual
+ * value and {@link #locate} returns <tt>null</tt>.
+ */
+class PlanParameterLocator {
+
+	private final Map<Object, Integer> parameterIndices = new IdentityHashMap<>();
+	private final List<List<StaticValue>> targets = newList();
+	private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+	private boolean parameterizable = true;
+
+	private PlanParameterLocator(List<Object> parameters) {
+		for (Object parameter : parameters) {
+			parameterIndices.put(parameter, targets.size());
+			targets.add(newList());
+		}
+	}
+
+	/** @return for each parameter a list of {@link StaticValue}s which hold it, or <tt>null</tt> if given plan cannot be parameterized */
+	public static List<List<StaticValue>> locate(QueryPlan plan, List<Object> parameters) {
+		PlanParameterLocator locator = new PlanParameterLocator(parameters);
+		locator.visitEntity(plan);
+
+		return locator.result();
+	}
+
+	private List<List<StaticValue>> result() {
+		if (!parameterizable)
+			return null;
+
+		for (List<StaticValue> parameterTargets : targets)
+			if (parameterTargets.isEmpty())
+				return null;
+
+		return targets;
+	}
+
+	private void visitEntity(GenericEntity entity) {
+		if (!visited.add(entity))
+			return;
+
+		EntityType<GenericEntity> et = entity.entityType();
+		for (Property p : et.getProperties()) {
+			Object value = p.get(entity);
+			if (value == null)
+				continue;
+
+			Integer index = parameterIndices.get(value);
+			if (index == null)
+				visitValue(value);
+			else if (entity instanceof StaticValue && "value".equals(p.getName()))
+				targets.get(index).add((StaticValue) entity);
+			else
+				parameterizable = false;
+		}
+	}
+
+	private void visitValue(Object value) {
+		if (value instanceof GenericEntity) {
+			visitEntity((GenericEntity) value);
+
+		} else if (value instanceof Collection) {
+			for (Object o : (Collection<?>) value)
+				visitElement(o);
+
+		} else if (value instanceof Map) {
+			for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+				visitElement(e.getKey());
+				visitElement(e.getValue());
+			}
+		}
+	}
+
+	private void visitElement(Object o) {
+		if (o == null)
+			return;
+
+		if (parameterIndices.containsKey(o))
+			parameterizable = false;
+		else
+			visitValue(o);
+	}
+
+}
@@ -0,0 +1,177 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.cache;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.braintribe.model.generic.reflection.StandardCloningContext;
+import com.braintribe.model.generic.reflection.StrategyOnCriterionMatch;
+import com.braintribe.model.processing.query.planner.QueryPlanner;
+import com.braintribe.model.processing.query.planner.cache.QueryShape.ParameterSlot;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.queryplan.QueryPlan;
+import com.braintribe.model.queryplan.value.StaticValue;
+
+/**
+ * Cache of {@link QueryPlan}s keyed by the normalized shape of a {@link SelectQuery}, so that queries which only differ in their literal values
+ * (e.g. the same query sent by a UI with different search values) are only planned once.
+ * <p>
+ * The literal operands of value comparisons are lifted into parameters, and the plan is then built for a copy of the query. If every parameter
+ * ends up as the value of a {@link StaticValue} in the plan, the plan is cached and later re-used for every query with the same shape, with the
+ * parameters of that query being {@link ParameterizedQueryPlan#getParameterBindings() bound} to the corresponding {@link StaticValue}s. If the
+ * plan depends on the actual values (e.g. some condition was evaluated by the planner), the shape is remembered as uncacheable and such
+ * queries are always planned from scratch.
+ * <p>
+ * As the plan also depends on the indices of the underlying repository, the owner of this cache must {@link #invalidate() invalidate} it
+ * whenever these change.
+ * <p>
+ * When the cache reaches its {@link #setMaxSize(int) maximum size}, it is cleared entirely.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @see QueryPlanner
+ */
+public class QueryPlanCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder uncacheable = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/** Maximum number of query shapes kept in the cache. Default is {@value #DEFAULT_MAX_SIZE}. */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns a plan for given query, either a cached one with the query's literals bound as parameters, or a new one built with given
+	 * planBuilder.
+	 */
+	public ParameterizedQueryPlan resolve(SelectQuery query, Function<SelectQuery, QueryPlan> planBuilder) {
+		QueryShape shape = QueryShape.of(query);
+		if (shape.key == null)
+			return buildUncacheable(query, planBuilder);
+
+		long currentVersion = version.get();
+
+		CacheEntry entry = entries.get(shape.key);
+		if (entry != null && entry.version == currentVersion) {
+			if (entry.queryPlan == null)
+				return buildUncacheable(query, planBuilder);
+
+			hits.increment();
+			return new ParameterizedQueryPlan(entry.queryPlan, entry.bind(shape.parameters));
+		}
+
+		misses.increment();
+		return buildAndCache(query, shape, currentVersion, planBuilder);
+	}
+
+	private ParameterizedQueryPlan buildUncacheable(SelectQuery query, Function<SelectQuery, QueryPlan> planBuilder) {
+		misses.increment();
+		uncacheable.increment();
+
+		return new ParameterizedQueryPlan(planBuilder.apply(query));
+	}
+
+	private ParameterizedQueryPlan buildAndCache(SelectQuery query, QueryShape shape, long planVersion,
+			Function<SelectQuery, QueryPlan> planBuilder) {
+
+		SelectQuery copy = (SelectQuery) query.entityType().clone(new StandardCloningContext(), query, StrategyOnCriterionMatch.reference);
+		QueryShape copyShape = QueryShape.of(copy);
+
+		List<Object> copyParameters = newList();
+		for (ParameterSlot slot : copyShape.slots) {
+			Object parameter = QueryShape.identityCopy(slot.property.get(slot.owner));
+			slot.property.set(slot.owner, parameter);
+			copyParameters.add(parameter);
+		}
+
+		QueryPlan queryPlan = planBuilder.apply(copy);
+
+		List<List<StaticValue>> targets = shape.key.equals(copyShape.key) ? PlanParameterLocator.locate(queryPlan, copyParameters) : null;
+		if (targets == null)
+			uncacheable.increment();
+
+		store(shape.key, new CacheEntry(planVersion, targets == null ? null : queryPlan, targets));
+
+		return new ParameterizedQueryPlan(queryPlan);
+	}
+
+	private void store(String key, CacheEntry entry) {
+		if (entries.size() >= maxSize) {
+			entries.clear();
+			evictions.increment();
+		}
+
+		// if the cache was invalidated in the meantime, the plan might have been built based on outdated indices
+		if (version.get() == entry.version)
+			entries.put(key, entry);
+	}
+
+	/** Discards all the cached plans. Must be called whenever something the planning depends on (like indices) changes. */
+	public void invalidate() {
+		version.incrementAndGet();
+		entries.clear();
+		invalidations.increment();
+	}
+
+	public QueryPlanCacheStatistics getStatistics() {
+		return new QueryPlanCacheStatistics(hits.sum(), misses.sum(), uncacheable.sum(), invalidations.sum(), evictions.sum(), entries.size());
+	}
+
+	/** Plan for a query shape, or a marker for an uncacheable shape, in which case {@link #queryPlan} is <tt>null</tt>. */
+	private static class CacheEntry {
+		final long version;
+		final QueryPlan queryPlan;
+		final List<List<StaticValue>> parameterTargets;
+
+		CacheEntry(long version, QueryPlan queryPlan, List<List<StaticValue>> parameterTargets) {
+			this.version = version;
+			this.queryPlan = queryPlan;
+			this.parameterTargets = parameterTargets;
+		}
+
+		Map<StaticValue, Object> bind(List<Object> parameters) {
+			Map<StaticValue, Object> result = new IdentityHashMap<>();
+
+			int i = 0;
+			for (List<StaticValue> staticValues : parameterTargets) {
+				Object parameter = parameters.get(i++);
+				for (StaticValue staticValue : staticValues)
+					result.put(staticValue, parameter);
+			}
+
+			return result;
+		}
+	}
+
+}
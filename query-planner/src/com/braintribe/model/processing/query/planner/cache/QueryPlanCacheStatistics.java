@@ -0,0 +1,82 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.cache;
+
+/**
+ * Snapshot of the counters of a {@link QueryPlanCache}.
+ * 
+ * @see QueryPlanCache#getStatistics()
+ */
+public class QueryPlanCacheStatistics {
+
+	private final long hits;
+	private final long misses;
+	private final long uncacheable;
+	private final long invalidations;
+	private final long evictions;
+	private final int size;
+
+	public QueryPlanCacheStatistics(long hits, long misses, long uncacheable, long invalidations, long evictions, int size) {
+		this.hits = hits;
+		this.misses = misses;
+		this.uncacheable = uncacheable;
+		this.invalidations = invalidations;
+		this.evictions = evictions;
+		this.size = size;
+	}
+
+	/** Number of queries which were evaluated with a cached plan. */
+	public long getHits() {
+		return hits;
+	}
+
+	/** Number of queries for which a new plan had to be built, including the {@link #getUncacheable() uncacheable} ones. */
+	public long getMisses() {
+		return misses;
+	}
+
+	/** Number of queries whose plan could not be cached, either due to the query itself or because the plan depends on its literal values. */
+	public long getUncacheable() {
+		return uncacheable;
+	}
+
+	/** Number of times the entire cache was invalidated, e.g. due to changes of the repository's indices. */
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	/** Number of times the cache was cleared because it reached its maximum size. */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/** Number of query shapes currently in the cache. */
+	public int getSize() {
+		return size;
+	}
+
+	public double getHitRatio() {
+		long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryPlanCacheStatistics[hits=" + hits + ", misses=" + misses + ", uncacheable=" + uncacheable + ", invalidations="
+				+ invalidations + ", evictions=" + evictions + ", size=" + size + "]";
+	}
+
+}
@@ -0,0 +1,213 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.cache;
+
+import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.EntityType;
+import com.braintribe.model.generic.reflection.Property;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.query.conditions.ValueComparison;
+
+/**
+ * Normalized shape of a {@link SelectQuery}, i.e. a canonical string representation of the entire query in which the literal operands of
+ * {@link ValueComparison}s are replaced by typed placeholders. Two queries with the same {@link #key} only differ in the values of these
+ * literals, which are collected as {@link #parameters} in the order in which they were encountered.
+ * <p>
+ * Only simple values ({@link String}, {@link Integer}, {@link Long}, {@link Float}, {@link Double}, {@link BigDecimal} and {@link Date}) are
+ * lifted, everything else (enums, collections, entity references...) is part of the key.
+ * <p>
+ * A query which references an entity that is not part of the query model (e.g. an attached entity used as an operand) or which has evaluation
+ * excludes cannot be represented by a shape, as its plan depends on the identity of such entities. The {@link #key} is <tt>null</tt> in that
+ * case.
+ */
+class QueryShape {
+
+	private static final String LEFT_OPERAND = "leftOperand";
+	private static final String RIGHT_OPERAND = "rightOperand";
+
+	private static final String[] STRUCTURAL_PACKAGES = { //
+			"com.braintribe.model.query.", //
+			"com.braintribe.model.generic.value.", //
+			"com.braintribe.model.generic.pr.criteria." //
+	};
+
+	/** Canonical representation of the query, or <tt>null</tt> if the query cannot be cached. */
+	public final String key;
+	public final List<Object> parameters = newList();
+	/** Location of each parameter within the query, the i-th slot belongs to the i-th parameter. */
+	public final List<ParameterSlot> slots = newList();
+
+	private final StringBuilder sb = new StringBuilder();
+	private final Map<GenericEntity, Integer> visited = new IdentityHashMap<>();
+	private boolean cacheable = true;
+
+	private QueryShape(SelectQuery query) {
+		if (!isEmpty(query.getEvaluationExcludes()))
+			cacheable = false;
+		else
+			appendEntity(query);
+
+		this.key = cacheable ? sb.toString() : null;
+	}
+
+	public static QueryShape of(SelectQuery query) {
+		return new QueryShape(query);
+	}
+
+	static class ParameterSlot {
+		public final ValueComparison owner;
+		public final Property property;
+
+		public ParameterSlot(ValueComparison owner, Property property) {
+			this.owner = owner;
+			this.property = property;
+		}
+	}
+
+	private void appendEntity(GenericEntity entity) {
+		Integer index = visited.get(entity);
+		if (index != null) {
+			sb.append('#').append(index);
+			return;
+		}
+
+		EntityType<GenericEntity> et = entity.entityType();
+		if (!isStructural(et)) {
+			cacheable = false;
+			return;
+		}
+
+		visited.put(entity, visited.size());
+
+		sb.append('(').append(et.getTypeSignature());
+		for (Property p : et.getProperties()) {
+			if (p.getDeclaringType() == GenericEntity.T)
+				continue;
+
+			Object value = p.get(entity);
+			if (value == null)
+				continue;
+
+			sb.append(' ').append(p.getName()).append('=');
+			appendPropertyValue(entity, p, value);
+
+			if (!cacheable)
+				return;
+		}
+		sb.append(')');
+	}
+
+	private void appendPropertyValue(GenericEntity entity, Property p, Object value) {
+		if (entity instanceof ValueComparison && isOperand(p) && isLiftable(value)) {
+			sb.append('?').append(value.getClass().getSimpleName());
+			parameters.add(value);
+			slots.add(new ParameterSlot((ValueComparison) entity, p));
+
+		} else {
+			appendValue(value);
+		}
+	}
+
+	private void appendValue(Object value) {
+		if (value == null) {
+			sb.append("null");
+
+		} else if (value instanceof GenericEntity) {
+			appendEntity((GenericEntity) value);
+
+		} else if (value instanceof Collection) {
+			sb.append(value instanceof List ? "[" : "{");
+			for (Object o : (Collection<?>) value) {
+				appendValue(o);
+				sb.append(',');
+			}
+			sb.append(value instanceof List ? "]" : "}");
+
+		} else if (value instanceof Map) {
+			sb.append("<");
+			for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+				appendValue(e.getKey());
+				sb.append('=');
+				appendValue(e.getValue());
+				sb.append(',');
+			}
+			sb.append(">");
+
+		} else {
+			appendScalar(value);
+		}
+	}
+
+	/** Strings are length-prefixed so that no value can be confused with the surrounding structure. */
+	private void appendScalar(Object value) {
+		String s = value instanceof Date ? String.valueOf(((Date) value).getTime()) : value.toString();
+		sb.append(value.getClass().getName()).append(':').append(s.length()).append(':').append(s);
+	}
+
+	private static boolean isStructural(EntityType<?> et) {
+		String signature = et.getTypeSignature();
+		for (String structuralPackage : STRUCTURAL_PACKAGES)
+			if (signature.startsWith(structuralPackage))
+				return true;
+
+		return false;
+	}
+
+	private static boolean isOperand(Property p) {
+		return LEFT_OPERAND.equals(p.getName()) || RIGHT_OPERAND.equals(p.getName());
+	}
+
+	private static boolean isLiftable(Object value) {
+		Class<?> clazz = value.getClass();
+		return clazz == String.class || clazz == Integer.class || clazz == Long.class || clazz == Float.class || clazz == Double.class
+				|| clazz == BigDecimal.class || clazz == Date.class;
+	}
+
+	/**
+	 * Returns a copy of given parameter which is equal to, but not identical with the original value, so it can be located by identity in the
+	 * query plan built for the query.
+	 */
+	@SuppressWarnings({ "deprecation", "removal" })
+	public static Object identityCopy(Object value) {
+		if (value instanceof String)
+			return new String((String) value);
+		if (value instanceof Integer)
+			return new Integer((Integer) value);
+		if (value instanceof Long)
+			return new Long((Long) value);
+		if (value instanceof Float)
+			return new Float((Float) value);
+		if (value instanceof Double)
+			return new Double((Double) value);
+		if (value instanceof BigDecimal)
+			return new BigDecimal(((BigDecimal) value).unscaledValue(), ((BigDecimal) value).scale());
+		if (value instanceof Date)
+			return new Date(((Date) value).getTime());
+
+		throw new IllegalArgumentException("Not a liftable query parameter: " + value);
+	}
+
+}
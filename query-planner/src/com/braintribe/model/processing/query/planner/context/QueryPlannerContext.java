@@ -25,6 +25,8 @@ import com.braintribe.model.processing.query.eval.api.repo.DelegatingRepository;
 import com.braintribe.model.processing.query.eval.api.repo.IndexInfo;
 import com.braintribe.model.processing.query.eval.api.repo.IndexingRepository;
 import com.braintribe.model.processing.query.eval.api.repo.Repository;
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
+import com.braintribe.model.processing.query.planner.QueryPlanner;
 import com.braintribe.model.processing.query.planner.core.QueryPlannerCore;
 import com.braintribe.model.query.EntityQuery;
 import com.braintribe.model.query.From;
@@ -50,6 +52,7 @@ public class QueryPlannerContext implements QueryOperandToValueConverter {
 	private final Set<GenericEntity> evaluationExcludes;
 	private final Repository repository;
 	private final IndexingRepository indexingRepository;
+	private final RepositoryStatistics statistics;
 
 	private final QuerySourceManager querySourceManager;
 
@@ -62,10 +65,15 @@ public class QueryPlannerContext implements QueryOperandToValueConverter {
 	private final QueryAggregationManager aggregationManager;
 
 	public QueryPlannerContext(SelectQuery query, Repository repository) {
+		this(query, repository, false);
+	}
+
+	public QueryPlannerContext(SelectQuery query, Repository repository, boolean costBasedPlanning) {
 		this.query = query;
 		this.evaluationExcludes = query.getEvaluationExcludes();
 		this.repository = repository;
 		this.indexingRepository = (repository instanceof IndexingRepository) ? (IndexingRepository) repository : null;
+		this.statistics = costBasedPlanning ? repository.provideStatistics() : null;
 
 		this.querySourceManager = new QuerySourceManager(query);
 
@@ -117,6 +125,15 @@ public class QueryPlannerContext implements QueryOperandToValueConverter {
 		return indexingRepository != null ? indexingRepository.provideIndexInfo(signature, propertyName) : null;
 	}
 
+	/**
+	 * @return statistics of the repository if cost-based planning is enabled and the repository provides them, <tt>null</tt> otherwise
+	 * 
+	 * @see QueryPlanner#costBasedPlanning(boolean)
+	 */
+	public RepositoryStatistics statistics() {
+		return statistics;
+	}
+
 	public com.braintribe.model.queryplan.filter.Condition convertCondition(Condition condition) {
 		return conditionConverter.convert(condition);
 	}
@@ -38,6 +38,7 @@ import com.braintribe.model.query.conditions.ConditionType;
 import com.braintribe.model.query.conditions.Conjunction;
 import com.braintribe.model.queryplan.QueryPlan;
 import com.braintribe.model.queryplan.set.AggregatingProjection;
+import com.braintribe.model.queryplan.set.OrderedSet;
 import com.braintribe.model.queryplan.set.TupleSet;
 
 /**
@@ -49,6 +50,7 @@ public class QueryPlannerCore {
 	private final SelectQuery query;
 
 	private AggregatingProjection aggregatingProjection;
+	private OrderedSet orderedSet;
 
 	public QueryPlannerCore(QueryPlannerContext context, SelectQuery query) {
 		this.context = context;
@@ -100,7 +102,14 @@ public class QueryPlannerCore {
 		QueryOrderingManager om = context.orderingManager();
 		List<SimpleOrdering> orderings = om.getRemainingOrderings();
 
-		return orderings.isEmpty() ? tupleSet : OrderByProcessor.applyOrdering(context, orderings, om.getGroupValues(), tupleSet);
+		if (orderings.isEmpty())
+			return tupleSet;
+
+		TupleSet result = OrderByProcessor.applyOrdering(context, orderings, om.getGroupValues(), tupleSet);
+		if (result instanceof OrderedSet)
+			orderedSet = (OrderedSet) result;
+
+		return result;
 	}
 
 	private TupleSet applyAggregation(TupleSet tupleSet) {
@@ -151,7 +160,26 @@ public class QueryPlannerCore {
 		Restriction r = query.getRestriction();
 		Paging p = r != null ? r.getPaging() : null;
 
-		return p == null ? tupleSet : TupleSetBuilder.paginatedSet(tupleSet, p.getPageSize(), p.getStartIndex(), 0);
+		if (p == null)
+			return tupleSet;
+
+		limitOrderedSet(p);
+
+		return TupleSetBuilder.paginatedSet(tupleSet, p.getPageSize(), p.getStartIndex(), 0);
+	}
+
+	/**
+	 * If there is an ORDER BY, we tell the {@link OrderedSet} how many tuples will be retrieved from it, so that it doesn't have to sort all of
+	 * them. This is only possible if there is no DISTINCT, as that is applied after ordering and might thus filter out some of the tuples.
+	 */
+	private void limitOrderedSet(Paging p) {
+		if (orderedSet == null || p.getPageSize() <= 0 || context.needsDistinct())
+			return;
+
+		// +1 so that PaginatedSet can tell if there are more results
+		long limit = (long) Math.max(p.getStartIndex(), 0) + p.getPageSize() + 1;
+		if (limit < Integer.MAX_VALUE)
+			orderedSet.setLimit((int) limit);
 	}
 
 }
@@ -0,0 +1,213 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.query.planner.core.cross.simple;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import com.braintribe.model.processing.query.eval.api.repo.IndexInfo;
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
+import com.braintribe.model.processing.query.planner.context.QueryPlannerContext;
+import com.braintribe.model.processing.query.planner.core.cross.FromGroup;
+import com.braintribe.model.processing.query.planner.core.index.StaticIndexKeys;
+import com.braintribe.model.query.From;
+import com.braintribe.model.query.conditions.Condition;
+
+/**
+ * Estimates the sizes of the intermediate results (i.e. {@link FromGroup}s) for cost-based planning, based on the {@link RepositoryStatistics}.
+ * <p>
+ * The estimates are based on entity counts and numbers of distinct index keys only, we assume uniform distribution of index keys and
+ * independence of conditions. For conditions which cannot be estimated using an index (e.g. a filter on a non-indexed property, or a range), a
+ * fixed {@link #DEFAULT_SELECTIVITY selectivity} is assumed.
+ * 
+ * @see ConjunctionResolver
+ */
+class CardinalityEstimator {
+
+	/** Used as entity count if the repository does not know it. */
+	static final double DEFAULT_ENTITY_COUNT = 1000;
+	/** Fraction of tuples which are assumed to satisfy a condition (or a range) which cannot be estimated using an index. */
+	static final double DEFAULT_SELECTIVITY = 1.0 / 3;
+
+	private final RepositoryStatistics statistics;
+
+	private final Map<FromGroup, Double> groupSizes = newMap();
+	private final Map<String, Double> entityCounts = newMap();
+	private Map<Condition, Double> selectivities = newMap();
+
+	public static CardinalityEstimator create(QueryPlannerContext context) {
+		RepositoryStatistics statistics = context.statistics();
+		return statistics == null ? null : new CardinalityEstimator(statistics);
+	}
+
+	private CardinalityEstimator(RepositoryStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Computes the selectivities of the conditions which are usable for retrieving a single source, e.g. an <tt>indexSubSet</tt> step means given
+	 * condition is satisfied by <tt>keys / distinctKeys</tt> of the entities. Must be called with the analysis of the current state, before any of
+	 * the other methods.
+	 */
+	public void noticeAnalysis(GroupFromConditionAnalysis analysis) {
+		selectivities = newMap();
+
+		for (StepDescription step : steps(analysis, ConditionApplicationType.staticFrom)) {
+			StaticSourceStepDescription s = (StaticSourceStepDescription) step;
+			putSelectivity(s.usedConditions, Math.min(1, s.refsOrEntities.size() / entityCount(s.from)));
+		}
+
+		for (StepDescription step : steps(analysis, ConditionApplicationType.indexSubSet)) {
+			IndexSubSetStepDescription s = (IndexSubSetStepDescription) step;
+			putSelectivity(s.usedConditions, Math.min(1, keyCount(s) / distinctKeyCount(s.indexInfo, s.from)));
+		}
+
+		for (StepDescription step : steps(analysis, ConditionApplicationType.indexRange))
+			// the conditions of a range are not independent (e.g. lower and upper bound), so we consider the range as one condition
+			putSelectivity(step.usedConditions, DEFAULT_SELECTIVITY);
+	}
+
+	private static Collection<StepDescription> steps(GroupFromConditionAnalysis analysis, ConditionApplicationType type) {
+		Set<StepDescription> result = analysis.stepByApplicationType.get(type);
+		return result != null ? result : Collections.emptySet();
+	}
+
+	private void putSelectivity(Set<Condition> conditions, double selectivity) {
+		boolean first = true;
+		for (Condition condition : conditions) {
+			selectivities.put(condition, first ? selectivity : 1.0);
+			first = false;
+		}
+	}
+
+	private static double keyCount(IndexSubSetStepDescription step) {
+		// keys resolved from other index (index chain) are not known in advance, we assume there is just one
+		return step.keys instanceof StaticIndexKeys ? Math.max(1, ((StaticIndexKeys) step.keys).keys.size()) : 1;
+	}
+
+	public double selectivity(Condition condition) {
+		return selectivities.getOrDefault(condition, DEFAULT_SELECTIVITY);
+	}
+
+	public double selectivity(Collection<Condition> conditions) {
+		double result = 1;
+		for (Condition condition : conditions)
+			result *= selectivity(condition);
+
+		return result;
+	}
+
+	/** Estimated size of given source after all the given conditions (which must only reference this source) are applied. */
+	public double sourceSize(From from, Collection<Condition> conditions) {
+		return entityCount(from) * selectivity(conditions);
+	}
+
+	/**
+	 * Estimated number of entities which have to be processed to retrieve given source with given step, i.e. the entire population for
+	 * <tt>singleFrom</tt> (filtered scan) and <tt>indexOrderedSet</tt> steps, but only the matching entities when using an index.
+	 */
+	public double retrievalCost(SingleSourceStepDescription step) {
+		if (step instanceof StaticSourceStepDescription || step instanceof IndexSubSetStepDescription || step instanceof IndexRangeStepDescription)
+			return sourceSize(step.from, step.usedConditions);
+		else
+			return entityCount(step.from);
+	}
+
+	/** Average number of entities per key of given index, i.e. the estimated number of entities retrieved by a single lookup. */
+	private double lookupSize(IndexInfo indexInfo, From from) {
+		return entityCount(from) / distinctKeyCount(indexInfo, from);
+	}
+
+	/** Estimated size of the group created by given step, before the conditions which are not part of the step itself are applied. */
+	public double stepResultSize(StepDescription step, FromGroup newGroup) {
+		if (step instanceof SingleSourceStepDescription) {
+			SingleSourceStepDescription s = (SingleSourceStepDescription) step;
+			return sourceSize(s.from, s.usedConditions);
+		}
+
+		if (step instanceof IndexLookupJoinStepDescription)
+			return lookupJoinSize((IndexLookupJoinStepDescription) step);
+
+		if (step instanceof IndexRangeJoinStepDescription) {
+			IndexRangeJoinStepDescription s = (IndexRangeJoinStepDescription) step;
+			return groupSize(s.sourceGroup) * entityCount(s.joinedFrom) * DEFAULT_SELECTIVITY;
+		}
+
+		if (step instanceof MergeLookupJoinStepDescription) {
+			// we have no idea about the distribution of the joined values, so we assume it's a "one-to-many" join
+			MergeLookupJoinStepDescription s = (MergeLookupJoinStepDescription) step;
+			return Math.max(groupSize(s.sourceGroup), groupSize(s.otherGroup));
+		}
+
+		if (step instanceof MergeRangeJoinStepDescription) {
+			MergeRangeJoinStepDescription s = (MergeRangeJoinStepDescription) step;
+			return groupSize(s.sourceGroup) * groupSize(s.otherGroup) * DEFAULT_SELECTIVITY;
+		}
+
+		if (step instanceof CrossProductStep) {
+			double product = 1;
+			for (FromGroup group : ((CrossProductStep) step).fromGroups)
+				product *= groupSize(group);
+
+			return product;
+		}
+
+		// filtered cartesian product or disjunction
+		return groupSize(newGroup) * DEFAULT_SELECTIVITY;
+	}
+
+	/** Estimated size of the result of given lookup join, i.e. size of the source group times the average number of entities per index key. */
+	public double lookupJoinSize(IndexLookupJoinStepDescription step) {
+		return groupSize(step.sourceGroup) * lookupSize(step.indexInfo, step.joinedFrom);
+	}
+
+	public double groupSize(FromGroup group) {
+		Double result = groupSizes.get(group);
+		if (result != null)
+			return result;
+
+		// group we know nothing about (e.g. resolved for a disjunction) - we assume a cartesian product
+		double product = 1;
+		for (From from : group.froms)
+			product *= entityCount(from);
+
+		return product;
+	}
+
+	public void noticeGroupSize(FromGroup group, double size) {
+		groupSizes.put(group, size);
+	}
+
+	public double entityCount(From from) {
+		return entityCounts.computeIfAbsent(from.getEntityTypeSignature(), this::entityCount);
+	}
+
+	private double entityCount(String typeSignature) {
+		long result = statistics.entityCount(typeSignature);
+		return result == RepositoryStatistics.UNKNOWN ? DEFAULT_ENTITY_COUNT : result;
+	}
+
+	private double distinctKeyCount(IndexInfo indexInfo, From from) {
+		// we treat unknown as if each entity had a different key, which is the typical case for indices
+		long result = statistics.distinctKeyCount(indexInfo.getIndexId());
+		return result == RepositoryStatistics.UNKNOWN ? Math.max(1, entityCount(from)) : Math.max(1, result);
+	}
+
+}
@@ -30,11 +30,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 import com.braintribe.model.processing.query.planner.RuntimeQueryPlannerException;
 import com.braintribe.model.processing.query.planner.builder.ConditionBuilder;
 import com.braintribe.model.processing.query.planner.builder.TupleSetBuilder;
+import com.braintribe.model.processing.query.planner.context.OrderedSourceDescriptor;
 import com.braintribe.model.processing.query.planner.context.QueryPlannerContext;
 import com.braintribe.model.processing.query.planner.core.cross.FromGroup;
 import com.braintribe.model.query.From;
@@ -54,6 +56,9 @@ class ConjunctionResolver {
 	CrossJoinOrderResolver resolver;
 	QueryPlannerContext context;
 
+	/** Only set if cost-based planning is enabled, see {@link QueryPlannerContext#statistics()}. */
+	private final CardinalityEstimator estimator;
+
 	private GroupFromConditionAnalysis analysis;
 	private StepDescription stepDescription;
 	private FromGroup newGroup;
@@ -65,6 +70,7 @@ class ConjunctionResolver {
 	public ConjunctionResolver(CrossJoinOrderResolver resolver, QueryPlannerContext context) {
 		this.resolver = resolver;
 		this.context = context;
+		this.estimator = resolver.estimator;
 	}
 
 	public FromGroup resolveFor(Set<FromGroup> groups, Set<From> froms, Collection<Condition> conditions) {
@@ -94,6 +100,8 @@ class ConjunctionResolver {
 				return CrossJoinOrderResolver.cartesianProduct(groups, froms, context);
 
 			analysis = new ConditionAnalyzer(this).analyze();
+			if (estimator != null)
+				estimator.noticeAnalysis(analysis);
 
 			doOneStep();
 
@@ -102,6 +110,9 @@ class ConjunctionResolver {
 			Set<Condition> newGroupConditions = findAllConditionsWithinFroms(conditions, newGroup.froms);
 			applyConditionsIfEligible(newGroupConditions);
 
+			if (estimator != null)
+				estimator.noticeGroupSize(newGroup, estimator.stepResultSize(stepDescription, newGroup) * estimator.selectivity(newGroupConditions));
+
 			froms.removeAll(newGroup.froms);
 			groups.add(newGroup);
 
@@ -110,22 +121,37 @@ class ConjunctionResolver {
 	}
 
 	private void doOneStep() {
-		if (doIndexJoinStep() || doIntroduceNewSourceStep() || doCombineExistingGroupsStep() || doDisjunctionStep())
+		if (doIndexJoinOrIntroduceNewSourceStep() || doCombineExistingGroupsStep() || doDisjunctionStep())
 			return;
 
 		throw new RuntimeQueryPlannerException("No step found for any use-case.");
 	}
 
+	private boolean doIndexJoinOrIntroduceNewSourceStep() {
+		if (estimator != null)
+			return doCostBasedIndexJoinStep() || doCostBasedIntroduceNewSourceStep();
+		else
+			return doIndexJoinStep() || doIntroduceNewSourceStep();
+	}
+
 	private boolean doIndexJoinStep() {
 		// if there is a index join to existing group, use that
 		stepDescription = stepForUsageType(ConditionApplicationType.valueJoin);
 		if (stepDescription != null) {
-			IndexLookupJoinStepDescription lookupJoinStepDescription = (IndexLookupJoinStepDescription) stepDescription;
-			newGroup = lookupJoin(lookupJoinStepDescription);
-			groups.remove(lookupJoinStepDescription.sourceGroup);
+			doLookupJoinStep((IndexLookupJoinStepDescription) stepDescription);
 			return true;
 		}
 
+		return doRangeJoinStep();
+	}
+
+	private void doLookupJoinStep(IndexLookupJoinStepDescription lookupJoinStepDescription) {
+		stepDescription = lookupJoinStepDescription;
+		newGroup = lookupJoin(lookupJoinStepDescription);
+		groups.remove(lookupJoinStepDescription.sourceGroup);
+	}
+
+	private boolean doRangeJoinStep() {
 		stepDescription = stepForUsageType(ConditionApplicationType.rangeJoin);
 		if (stepDescription != null) {
 			IndexRangeJoinStepDescription rangeJoinStepDescription = (IndexRangeJoinStepDescription) stepDescription;
@@ -262,7 +288,8 @@ class ConjunctionResolver {
 
 	private FromGroup mergeLookupJoin(MergeLookupJoinStepDescription step) {
 		return new FromGroup( //
-				TupleSetBuilder.mergeLookupJoin(step.sourceGroup.tupleSet, step.sourceOperand, step.otherGroup.tupleSet, step.otherOperand, context), //
+				TupleSetBuilder.mergeLookupJoin(step.sourceGroup.tupleSet, step.sourceOperand, step.sourceOperandIsCollection, step.otherGroup.tupleSet,
+						step.otherOperand, step.otherOperandIsCollection, context), //
 				union(step.sourceGroup.froms, step.otherGroup.froms), //
 				concat(step.sourceGroup.osds, step.otherGroup.osds));
 	}
@@ -391,4 +418,140 @@ class ConjunctionResolver {
 		return operands.size() == 1 ? operands.get(0) : ConditionBuilder.newConjunction(operands);
 	}
 
+	// ###########################################################################################
+	// ## . . . . . . . . . . . . . . . . Cost-Based Planning . . . . . . . . . . . . . . . . . ##
+	// ###########################################################################################
+
+	private static final ConditionApplicationType[] introductionTypes = { //
+			ConditionApplicationType.staticFrom, //
+			ConditionApplicationType.indexSubSet, //
+			ConditionApplicationType.indexRange, //
+			ConditionApplicationType.indexOrderedSet, //
+			ConditionApplicationType.singleFrom //
+	};
+
+	/**
+	 * Picks the lookup join with the smallest estimated result, but only does it if retrieving the joined source on its own (and joining it later
+	 * via a merge join) is not cheaper. This is typically the case when the source group is big and the joined source is small or can be retrieved
+	 * using a selective index.
+	 */
+	private boolean doCostBasedIndexJoinStep() {
+		IndexLookupJoinStepDescription lookupJoin = (IndexLookupJoinStepDescription) cheapestStep(ConditionApplicationType.valueJoin,
+				step -> estimator.lookupJoinSize((IndexLookupJoinStepDescription) step));
+
+		if (lookupJoin == null)
+			return doRangeJoinStep();
+
+		From joinedFrom = lookupJoin.joinedFrom;
+		SingleSourceStepDescription retrieval = cheapestRetrievalOf(joinedFrom);
+		double retrievalCost = estimator.retrievalCost(retrieval) + estimator.sourceSize(joinedFrom, conditionsOf(joinedFrom));
+
+		if (retrievalCost < estimator.lookupJoinSize(lookupJoin))
+			introduceNewSource(retrieval);
+		else
+			doLookupJoinStep(lookupJoin);
+
+		return true;
+	}
+
+	/**
+	 * Cost-based counterpart of {@link #doIntroduceNewSourceStep()}. We consider every source referenced by a remaining condition (not just the ones
+	 * the analysis offered, e.g. a "joinable" source is also a candidate) and pick the one with the lowest cost of retrieval plus the estimated
+	 * size after its own conditions are applied. This way the smallest source drives the joins, and the bigger ones are joined to it.
+	 */
+	private boolean doCostBasedIntroduceNewSourceStep() {
+		SingleSourceStepDescription bestStep = null;
+		double bestCost = Double.MAX_VALUE;
+
+		for (From from : fromsWithConditions()) {
+			SingleSourceStepDescription step = cheapestRetrievalOf(from);
+
+			double cost = estimator.retrievalCost(step) + estimator.sourceSize(from, conditionsOf(from));
+			if (cost < bestCost) {
+				bestStep = step;
+				bestCost = cost;
+			}
+		}
+
+		if (bestStep == null)
+			return false;
+
+		introduceNewSource(bestStep);
+		return true;
+	}
+
+	private Set<From> fromsWithConditions() {
+		Set<From> result = newLinkedSet();
+		for (From from : froms)
+			for (Set<From> conditionFroms : analysis.fromsForCondition.values())
+				if (conditionFroms.contains(from)) {
+					result.add(from);
+					break;
+				}
+
+		return result;
+	}
+
+	private SingleSourceStepDescription cheapestRetrievalOf(From from) {
+		SingleSourceStepDescription result = null;
+		double bestCost = Double.MAX_VALUE;
+
+		for (ConditionApplicationType type : introductionTypes) {
+			for (StepDescription step : CollectionTools2.nullSafe(analysis.stepByApplicationType.get(type))) {
+				SingleSourceStepDescription sourceStep = (SingleSourceStepDescription) step;
+				if (sourceStep.from != from)
+					continue;
+
+				double cost = estimator.retrievalCost(sourceStep);
+				if (cost < bestCost) {
+					result = sourceStep;
+					bestCost = cost;
+				}
+			}
+		}
+
+		if (result != null)
+			return result;
+
+		OrderedSourceDescriptor osd = context.orderingManager().findOsd(from);
+		return osd != null ? StepDescription.indexOrderedSet(osd) : StepDescription.singleSource(from);
+	}
+
+	private StepDescription cheapestStep(ConditionApplicationType type, ToDoubleFunction<StepDescription> costFunction) {
+		StepDescription result = null;
+		double bestCost = Double.MAX_VALUE;
+
+		for (StepDescription step : CollectionTools2.nullSafe(analysis.stepByApplicationType.get(type))) {
+			double cost = costFunction.applyAsDouble(step);
+			if (result == null || cost < bestCost) {
+				result = step;
+				bestCost = cost;
+			}
+		}
+
+		return result;
+	}
+
+	private void introduceNewSource(SingleSourceStepDescription step) {
+		stepDescription = step;
+
+		if (step instanceof StaticSourceStepDescription)
+			newGroup = staticSourceSet((StaticSourceStepDescription) step);
+		else if (step instanceof IndexSubSetStepDescription)
+			newGroup = indexSubSet((IndexSubSetStepDescription) step);
+		else if (step instanceof IndexRangeStepDescription)
+			newGroup = indexRange((IndexRangeStepDescription) step);
+		else if (step instanceof IndexOrderedSetStepDescription)
+			newGroup = indexOrderedSet((IndexOrderedSetStepDescription) step);
+		else
+			newGroup = sourceSet(step);
+	}
+
+	/** Conditions which only reference given source, i.e. these will be applied right after the source is retrieved. */
+	private List<Condition> conditionsOf(From from) {
+		return conditions.stream() //
+				.filter(condition -> context.getFromsFor(condition).equals(Collections.singleton(from))) //
+				.collect(Collectors.toList());
+	}
+
 }
@@ -47,9 +47,11 @@ import com.braintribe.model.queryplan.set.TupleSet;
 public class CrossJoinOrderResolver {
 
 	private final QueryPlannerContext context;
+	/* package */ final CardinalityEstimator estimator;
 
 	public CrossJoinOrderResolver(QueryPlannerContext context) {
 		this.context = context;
+		this.estimator = CardinalityEstimator.create(context);
 	}
 
 	public TupleSet resolveCrossJoinOrder(Condition condition) {
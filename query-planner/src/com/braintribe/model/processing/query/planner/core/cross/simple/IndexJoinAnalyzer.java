@@ -170,12 +170,16 @@ class IndexJoinAnalyzer {
 	/**
 	 * This is not really related to indices, but the eval implementation actually builds an index for the right side, so for every leftValue it can
 	 * easily find the corresponding right values.
+	 * <p>
+	 * This also handles collection membership conditions (<tt>in</tt> / <tt>contains</tt>) where both operands are non-static, e.g.
+	 * <tt>p.companyName in c.names</tt>, which would otherwise end up as a filtered cross product.
 	 * 
 	 * @see MergeLookupJoin
 	 * @see EvalMergeLookupJoin
 	 */
 	public boolean handleMergeIndexJoin(ValueComparison comparison) {
-		if (!isOperatorIndexCandidate(comparison) || comparison.getOperator() == Operator.in)
+		Operator operator = comparison.getOperator();
+		if (operator != Operator.contains && !isOperatorIndexCandidate(comparison))
 			return false;
 
 		Operand leftOperand = getIfOperand(comparison.getLeftOperand(), context);
@@ -184,7 +188,14 @@ class IndexJoinAnalyzer {
 		if (leftOperand == null || rightOperand == null)
 			return false;
 
-		return mergeJoin(leftOperand, rightOperand, comparison);
+		switch (operator) {
+			case in:
+				return membershipJoin(leftOperand, rightOperand, comparison);
+			case contains:
+				return membershipJoin(rightOperand, leftOperand, comparison);
+			default:
+				return mergeJoin(leftOperand, rightOperand, comparison);
+		}
 	}
 
 	private boolean mergeJoin(Operand srcOperand, Operand otherOperand, ValueComparison comparison) {
@@ -244,6 +255,34 @@ class IndexJoinAnalyzer {
 		return true;
 	}
 
+	/**
+	 * Similar to {@link #mergeJoin}, but for condition <tt>elementOperand in collectionOperand</tt>. By default, the element side is the source and
+	 * the other side is indexed by the individual elements of the collection. If we revert the order, we iterate over the collection side and look
+	 * up all the elements in an index built for the element side.
+	 */
+	private boolean membershipJoin(Operand elementOperand, Operand collectionOperand, ValueComparison comparison) {
+		FromGroupAnalysis elementAnalysis = findFromsAndGroupsFor(elementOperand);
+		if (askForCrossProduct(elementAnalysis))
+			return true;
+
+		FromGroupAnalysis collectionAnalysis = findFromsAndGroupsFor(collectionOperand);
+		if (askForCrossProduct(collectionAnalysis))
+			return true;
+
+		FromGroup elementGroup = first(elementAnalysis.groups);
+		FromGroup collectionGroup = first(collectionAnalysis.groups);
+
+		StepDescription step;
+		if (shouldRevertOrderForMergeJoin(elementGroup, collectionGroup))
+			step = StepDescription.mergeLookupJoin(collectionGroup, collectionOperand, true, elementGroup, elementOperand, false, comparison);
+		else
+			step = StepDescription.mergeLookupJoin(elementGroup, elementOperand, false, collectionGroup, collectionOperand, true, comparison);
+
+		acquireSet(conditionAnalyzer.stepByApplicationType, ConditionApplicationType.mergeLookupJoin).add(step);
+
+		return true;
+	}
+
 	private boolean shouldRevertOrderForMergeJoin(FromGroup srcGroup, FromGroup otherGroup) {
 		return otherGroup.osdIndex < srcGroup.osdIndex;
 	}
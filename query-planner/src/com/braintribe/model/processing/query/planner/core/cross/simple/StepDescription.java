@@ -135,12 +135,20 @@ class StepDescription {
 	public static StepDescription mergeLookupJoin(FromGroup srcGroup, Operand srcOperand, FromGroup otherGroup, Operand otherOperand,
 			Condition condition) {
 
+		return mergeLookupJoin(srcGroup, srcOperand, false, otherGroup, otherOperand, false, condition);
+	}
+
+	public static StepDescription mergeLookupJoin(FromGroup srcGroup, Operand srcOperand, boolean srcOperandIsCollection, FromGroup otherGroup,
+			Operand otherOperand, boolean otherOperandIsCollection, Condition condition) {
+
 		MergeLookupJoinStepDescription result = new MergeLookupJoinStepDescription();
 
 		result.sourceGroup = srcGroup;
 		result.sourceOperand = srcOperand;
+		result.sourceOperandIsCollection = srcOperandIsCollection;
 		result.otherGroup = otherGroup;
 		result.otherOperand = otherOperand;
+		result.otherOperandIsCollection = otherOperandIsCollection;
 		result.usedConditions = asSet(condition);
 
 		return result;
@@ -262,6 +270,8 @@ abstract class MergeJoinStepDescription extends StepDescription {
 
 class MergeLookupJoinStepDescription extends MergeJoinStepDescription {
 	Operand sourceOperand;
+	boolean sourceOperandIsCollection;
+	boolean otherOperandIsCollection;
 }
 
 class MergeRangeJoinStepDescription extends MergeJoinStepDescription {
@@ -34,6 +34,9 @@ import com.braintribe.model.processing.query.eval.api.function.aspect.LocaleQuer
 import com.braintribe.model.processing.query.eval.api.repo.Repository;
 import com.braintribe.model.processing.query.eval.context.BasicQueryEvaluationContext;
 import com.braintribe.model.processing.query.planner.QueryPlanner;
+import com.braintribe.model.processing.query.planner.cache.ParameterizedQueryPlan;
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCache;
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCacheStatistics;
 import com.braintribe.model.processing.query.tools.QueryPlanPrinter;
 import com.braintribe.model.query.EntityQuery;
 import com.braintribe.model.query.EntityQueryResult;
@@ -65,6 +68,8 @@ public class QueryEvaluator {
 	private final Map<Class<? extends QueryFunctionAspect<?>>, Supplier<?>> functionAspectProviders = newMap();
 	private final ReentrantLock functionAspectProvidersLock = new ReentrantLock();
 
+	private QueryPlanCache queryPlanCache;
+
 	public QueryEvaluator(IncrementalAccess selectQueryEvaluator, Supplier<Repository> repositoryProvider,
 			Map<EntityType<? extends QueryFunction>, QueryFunctionExpert<?>> functionExperts) {
 
@@ -86,6 +91,26 @@ public class QueryEvaluator {
 		}
 	}
 
+	/**
+	 * Enables caching of query plans, so that queries which only differ in their literal values are only planned once. See {@link QueryPlanCache}.
+	 * <p>
+	 * This should only be enabled if the indices and the default partition of the provided {@link Repository repositories} do not change, or
+	 * if the owner of this evaluator calls {@link #invalidateQueryPlanCache()} whenever they do. Disabled by default.
+	 */
+	public void setQueryPlanCaching(boolean queryPlanCaching) {
+		this.queryPlanCache = queryPlanCaching ? new QueryPlanCache() : null;
+	}
+
+	public void invalidateQueryPlanCache() {
+		if (queryPlanCache != null)
+			queryPlanCache.invalidate();
+	}
+
+	/** Returns the statistics of the query plan cache, or <tt>null</tt> if {@link #setQueryPlanCaching(boolean) caching} is not enabled. */
+	public QueryPlanCacheStatistics getQueryPlanCacheStatistics() {
+		return queryPlanCache != null ? queryPlanCache.getStatistics() : null;
+	}
+
 	public EntityQueryResult queryEntities(EntityQuery entityQuery) throws ModelAccessException {
 		return QueryAdaptingTools.queryEntities(entityQuery, selectQueryEvaluator);
 	}
@@ -98,16 +123,28 @@ public class QueryEvaluator {
 		logSelectQuery(query);
 
 		Repository repository = getRepository();
-		QueryPlan queryPlan = new QueryPlanner(repository).buildQueryPlan(query);
+		ParameterizedQueryPlan plan = buildQueryPlan(query, repository);
+		QueryPlan queryPlan = plan.getQueryPlan();
 
 		logQueryPlan(queryPlan);
 
-		QueryEvaluationContext context = new BasicQueryEvaluationContext(repository, queryPlan, functionExperts, functionAspectProviders);
+		QueryEvaluationContext context = new BasicQueryEvaluationContext(repository, queryPlan, functionExperts, functionAspectProviders,
+				plan.getParameterBindings());
 		EvalTupleSet tuples = context.resolveTupleSet(queryPlan.getTupleSet());
 
 		return QueryResultBuilder.buildQueryResult(tuples, context.resultComponentsCount());
 	}
 
+	private ParameterizedQueryPlan buildQueryPlan(SelectQuery query, Repository repository) {
+		QueryPlanner queryPlanner = new QueryPlanner(repository);
+
+		QueryPlanCache cache = queryPlanCache;
+		if (cache != null)
+			return cache.resolve(query, queryPlanner::buildQueryPlan);
+		else
+			return new ParameterizedQueryPlan(queryPlanner.buildQueryPlan(query));
+	}
+
 	private Repository getRepository() {
 		try {
 			return repositoryProvider.get();
@@ -17,8 +17,11 @@ package com.braintribe.model.processing.query.support;
 
 import static com.braintribe.utils.lcd.CollectionTools2.newList;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import com.braintribe.model.access.SelectQueryResultStream;
 import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
 import com.braintribe.model.processing.query.eval.api.Tuple;
 import com.braintribe.model.processing.query.eval.set.HasMoreAwareSet;
@@ -66,6 +69,74 @@ public class QueryResultBuilder {
 		return result;
 	}
 
+	/**
+	 * Returns a {@link SelectQueryResultStream} which converts the tuples to rows lazily, while being iterated.
+	 * 
+	 * @param onClose
+	 *            invoked exactly once, either when the stream is closed or when it was iterated through, whichever comes first
+	 */
+	public static SelectQueryResultStream buildQueryResultStream(EvalTupleSet tuples, int tupleSize, Runnable onClose) {
+		return new TupleSetResultStream(tuples, tupleSize, onClose);
+	}
+
+	private static class TupleSetResultStream implements SelectQueryResultStream {
+
+		private final EvalTupleSet tuples;
+		private final Iterator<Tuple> tupleIterator;
+		private final int tupleSize;
+		private Runnable onClose;
+		private Boolean hasMore;
+
+		public TupleSetResultStream(EvalTupleSet tuples, int tupleSize, Runnable onClose) {
+			this.tuples = tuples;
+			this.tupleIterator = tuples.iterator();
+			this.tupleSize = tupleSize;
+			this.onClose = onClose;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (onClose == null)
+				return false;
+
+			if (tupleIterator.hasNext())
+				return true;
+
+			hasMore = QueryResultBuilder.hasMore(tuples);
+			close();
+
+			return false;
+		}
+
+		@Override
+		public Object next() {
+			if (!hasNext())
+				throw new NoSuchElementException("No more rows in the query result stream.");
+
+			Tuple tuple = tupleIterator.next();
+
+			return tupleSize == 1 ? tuple.getValue(0) : asRow(tuple, tupleSize);
+		}
+
+		@Override
+		public boolean hasMore() {
+			if (hasMore == null)
+				throw new IllegalStateException("Cannot resolve hasMore value until the stream is iterated through.");
+
+			return hasMore;
+		}
+
+		@Override
+		public void close() {
+			Runnable r = onClose;
+			if (r != null) {
+				onClose = null;
+				r.run();
+			}
+		}
+
+	}
+
 	private static boolean hasMore(EvalTupleSet tuples) {
 		return tuples instanceof HasMoreAwareSet && ((HasMoreAwareSet) tuples).hasMore();
 	}
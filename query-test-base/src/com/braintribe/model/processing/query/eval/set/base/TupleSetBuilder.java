@@ -261,9 +261,14 @@ public class TupleSetBuilder {
 	}
 
 	public TupleSet orderedSet(TupleSet operand, Value value, boolean descending) {
+		return orderedSet(operand, value, descending, 0);
+	}
+
+	public TupleSet orderedSet(TupleSet operand, Value value, boolean descending, int limit) {
 		OrderedSet result = OrderedSet.T.create();
 		result.setOperand(operand);
 		result.setSortCriteria(Arrays.asList(sortCriterium(value, descending)));
+		result.setLimit(limit);
 
 		return result;
 	}
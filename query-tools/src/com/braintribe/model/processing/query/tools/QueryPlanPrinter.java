@@ -334,8 +334,12 @@ public class QueryPlanPrinter extends AbstractStringifier {
 	protected void viewTupleSet(MergeLookupJoin tupleSet) {
 		view("operand:", tupleSet.getOperand());
 		view("value: ", tupleSet.getValue());
+		if (tupleSet.getValueIsCollection())
+			println("valueIsCollection: true");
 		view("otherOperand:", tupleSet.getOtherOperand());
 		view("otherValue: ", tupleSet.getOtherValue());
+		if (tupleSet.getOtherValueIsCollection())
+			println("otherValueIsCollection: true");
 	}
 
 	protected void viewTupleSet(MergeRangeJoin tupleSet) {
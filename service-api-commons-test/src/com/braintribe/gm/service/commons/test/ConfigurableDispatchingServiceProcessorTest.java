@@ -0,0 +1,126 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.gm.service.commons.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.gm.service.commons.test.model.ServiceRequest1;
+import com.braintribe.gm.service.commons.test.model.ServiceRequest2;
+import com.braintribe.gm.service.commons.test.model.ServiceRequestBase;
+import com.braintribe.model.processing.service.api.ServicePreProcessor;
+import com.braintribe.model.processing.service.common.ConfigurableDispatchingServiceProcessor;
+import com.braintribe.model.service.api.ServiceRequest;
+
+/**
+ * Tests that the per-type chain caching of {@link ConfigurableDispatchingServiceProcessor} resolves the same
+ * interceptors as evaluating every filter for every request would.
+ */
+public class ConfigurableDispatchingServiceProcessorTest {
+
+	private ConfigurableDispatchingServiceProcessor dispatcher;
+	private final List<String> intercepted = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		dispatcher = new ConfigurableDispatchingServiceProcessor();
+		dispatcher.register(ServiceRequestBase.T, (c, r) -> r.entityType().getShortName());
+	}
+
+	@Test
+	public void typeInterceptorsOnlyApplyToMatchingTypes() throws Exception {
+		dispatcher.registerInterceptor("all").register(recorder("all"));
+		dispatcher.registerInterceptor("base").registerForType(ServiceRequestBase.T, recorder("base"));
+		dispatcher.registerInterceptor("r1").registerForType(ServiceRequest1.T, recorder("r1"));
+
+		assertThat(process(ServiceRequest1.T.create())).isEqualTo("ServiceRequest1");
+		assertThat(process(ServiceRequest2.T.create())).isEqualTo("ServiceRequest2");
+		assertThat(process(ServiceRequest1.T.create())).isEqualTo("ServiceRequest1");
+
+		assertThat(intercepted).containsExactly( //
+				"all", "base", "r1", //
+				"all", "base", //
+				"all", "base", "r1");
+	}
+
+	@Test
+	public void predicatesAreEvaluatedPerRequest() throws Exception {
+		dispatcher.registerInterceptor("all").register(recorder("all"));
+		dispatcher.registerInterceptor("forced").registerWithPredicate(r -> ((ServiceRequestBase) r).getForceException(), recorder("forced"));
+		dispatcher.registerInterceptor("r1").registerForType(ServiceRequest1.T, recorder("r1"));
+
+		ServiceRequest1 forced = ServiceRequest1.T.create();
+		forced.setForceException(true);
+
+		process(ServiceRequest1.T.create());
+		process(forced);
+		process(ServiceRequest1.T.create());
+
+		assertThat(intercepted).containsExactly( //
+				"all", "r1", //
+				"all", "forced", "r1", //
+				"all", "r1");
+	}
+
+	@Test
+	public void registrationInvalidatesCache() throws Exception {
+		dispatcher.registerInterceptor("r1").registerForType(ServiceRequest1.T, recorder("r1"));
+		process(ServiceRequest1.T.create());
+
+		dispatcher.registerInterceptor("first").before("r1").register(recorder("first"));
+		process(ServiceRequest1.T.create());
+
+		dispatcher.removeInterceptor("r1");
+		process(ServiceRequest1.T.create());
+
+		dispatcher.register(ServiceRequest1.T, (c, r) -> "overridden");
+		assertThat(process(ServiceRequest1.T.create())).isEqualTo("overridden");
+
+		assertThat(intercepted).containsExactly( //
+				"r1", //
+				"first", "r1", //
+				"first", //
+				"first");
+	}
+
+	@Test
+	public void cachingCanBeTurnedOff() throws Exception {
+		dispatcher.setChainCaching(false);
+		dispatcher.registerInterceptor("r1").registerForType(ServiceRequest1.T, recorder("r1"));
+
+		process(ServiceRequest1.T.create());
+		process(ServiceRequest2.T.create());
+
+		assertThat(intercepted).containsExactly("r1");
+	}
+
+	private ServicePreProcessor<ServiceRequest> recorder(String name) {
+		return (c, r) -> {
+			intercepted.add(name);
+			return r;
+		};
+	}
+
+	private Object process(ServiceRequest request) {
+		return dispatcher.process(null, request);
+	}
+
+}
@@ -0,0 +1,107 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.gm.service.commons.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.braintribe.gm.service.commons.test.model.ServiceRequest1;
+import com.braintribe.gm.service.commons.test.model.ServiceRequest2;
+import com.braintribe.gm.service.commons.test.model.ServiceRequestBase;
+import com.braintribe.model.processing.service.api.ServiceAroundProcessor;
+import com.braintribe.model.processing.service.api.ServicePostProcessor;
+import com.braintribe.model.processing.service.api.ServicePreProcessor;
+import com.braintribe.model.processing.service.common.ConfigurableDispatchingServiceProcessor;
+import com.braintribe.model.service.api.ServiceRequest;
+
+/**
+ * Measures the dispatch overhead of the {@link ConfigurableDispatchingServiceProcessor}, i.e. resolving the processor and
+ * the interceptor chain, with and without caching of the chains per request type. The processor and the interceptors
+ * do no work themselves.
+ * <p>
+ * Not a unit test, run via {@link #main(String[])} or the JMH runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchingBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean chainCaching;
+
+	/** Whether one of the interceptors is registered with a real predicate, which has to be evaluated per request. */
+	@Param({ "false", "true" })
+	public boolean withPredicate;
+
+	private ConfigurableDispatchingServiceProcessor dispatcher;
+	private ServiceRequest1 request1;
+	private ServiceRequest2 request2;
+
+	@Setup
+	public void setup() {
+		dispatcher = new ConfigurableDispatchingServiceProcessor();
+		dispatcher.setChainCaching(chainCaching);
+		dispatcher.register(ServiceRequestBase.T, (c, r) -> r);
+
+		ServicePreProcessor<ServiceRequest> pre = (c, r) -> r;
+		ServicePostProcessor<Object> post = (c, r) -> r;
+		ServiceAroundProcessor<ServiceRequest, Object> around = (c, r, p) -> p.proceed(r);
+
+		dispatcher.registerInterceptor("pre").register(pre);
+		dispatcher.registerInterceptor("around").register(around);
+		dispatcher.registerInterceptor("post").register(post);
+
+		for (int i = 0; i < 5; i++) {
+			dispatcher.registerInterceptor("base-" + i).registerForType(ServiceRequestBase.T, pre);
+			dispatcher.registerInterceptor("r1-" + i).registerForType(ServiceRequest1.T, pre);
+			dispatcher.registerInterceptor("r2-" + i).registerForType(ServiceRequest2.T, post);
+		}
+
+		if (withPredicate)
+			dispatcher.registerInterceptor("predicate").registerWithPredicate(r -> r instanceof ServiceRequestBase && ((ServiceRequestBase) r).getForceException(), pre);
+
+		request1 = ServiceRequest1.T.create();
+		request2 = ServiceRequest2.T.create();
+	}
+
+	@Benchmark
+	public Object dispatch() {
+		dispatcher.process(null, request1);
+		return dispatcher.process(null, request2);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DispatchingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -20,9 +20,12 @@ import static com.braintribe.utils.lcd.CollectionTools2.isEmpty;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import com.braintribe.cfg.Configurable;
 import com.braintribe.model.generic.reflection.EntityType;
 import com.braintribe.model.processing.core.expert.api.MutableDenotationMap;
 import com.braintribe.model.processing.core.expert.impl.PolymorphicDenotationMap;
@@ -37,6 +40,16 @@ import com.braintribe.model.processing.service.api.ServiceRegistry;
 import com.braintribe.model.processing.service.api.ServiceRequestContext;
 import com.braintribe.model.service.api.ServiceRequest;
 
+/**
+ * {@link ServiceProcessor} which dispatches requests to processors registered per request type, intercepted by the
+ * registered interceptors.
+ * <p>
+ * The processor and the interceptor chain are resolved once per request type and cached. Interceptors registered with a
+ * real predicate (see {@link InterceptorRegistration#registerWithPredicate(Predicate, ServiceInterceptorProcessor)})
+ * cannot be resolved by type alone, so for types where such interceptors are present, only these predicates are
+ * evaluated and the chain is built for every request. The cache is invalidated whenever a processor or interceptor is
+ * registered or removed via this instance.
+ */
 public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor<ServiceRequest, Object>, ServiceRegistry {
 
 	private static final ReasonedServiceProcessor<ServiceRequest, Object> DEFAULT_PROCESSOR = (c, r) -> {
@@ -47,19 +60,47 @@ public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor
 
 	private final List<InterceptorEntry> interceptors = new ArrayList<>();
 
+	// replaced rather than cleared on invalidation, so that a chain resolved concurrently with a registration is not cached
+	private volatile Map<EntityType<?>, DispatchChain> chainCache = new ConcurrentHashMap<>();
+	private boolean chainCaching = true;
+
 	private static class InterceptorEntry {
 		String identification;
 		Predicate<ServiceRequest> filter;
+		/** Type which the filter is equivalent to, or <tt>null</tt> if the filter is a real predicate. */
+		EntityType<?> requestType;
 		ServiceInterceptorProcessor interceptor;
 
-		public InterceptorEntry(String identifier, Predicate<ServiceRequest> filter, ServiceInterceptorProcessor interceptor) {
+		public InterceptorEntry(String identifier, Predicate<ServiceRequest> filter, EntityType<?> requestType,
+				ServiceInterceptorProcessor interceptor) {
 			super();
 			this.identification = identifier;
 			this.filter = filter;
+			this.requestType = requestType;
 			this.interceptor = interceptor;
 		}
 	}
 
+	/**
+	 * Processor and candidate interceptors for given request type. If none of the interceptors has a real predicate,
+	 * the chain is built right away.
+	 */
+	private static class DispatchChain {
+		final ServiceProcessor<ServiceRequest, Object> processor;
+		final List<InterceptorEntry> interceptors;
+		final ServiceProcessor<ServiceRequest, Object> staticChain;
+
+		public DispatchChain(ServiceProcessor<ServiceRequest, Object> processor, List<InterceptorEntry> interceptors, boolean hasPredicates) {
+			this.processor = processor;
+			this.interceptors = interceptors;
+			this.staticChain = hasPredicates ? null : buildChain(processor, interceptors, null);
+		}
+
+		public ServiceProcessor<ServiceRequest, Object> chainFor(ServiceRequest request) {
+			return staticChain != null ? staticChain : buildChain(processor, interceptors, request);
+		}
+	}
+
 	public ConfigurableDispatchingServiceProcessor() {
 		this(new PolymorphicDenotationMap<>());
 	}
@@ -68,9 +109,22 @@ public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor
 		this.processorMap = processorMap;
 	}
 
+	/**
+	 * Specifies whether the resolved processors and interceptor chains are cached per request type. Default is
+	 * <tt>true</tt>.
+	 * <p>
+	 * Caching must be turned off if the processor map given via constructor is modified directly.
+	 */
+	@Configurable
+	public void setChainCaching(boolean chainCaching) {
+		this.chainCaching = chainCaching;
+		invalidateChainCache();
+	}
+
 	@Override
 	public <R extends ServiceRequest> void register(EntityType<R> requestType, ServiceProcessor<? super R, ?> serviceProcessor) {
 		processorMap.put(requestType, serviceProcessor);
+		invalidateChainCache();
 	}
 
 	@Override
@@ -82,23 +136,29 @@ public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor
 
 			@Override
 			public void register(ServiceInterceptorProcessor interceptor) {
-				registerWithPredicate(r -> true, interceptor);
+				register(r -> true, ServiceRequest.T, interceptor);
 			}
 
 			@Override
 			public <R extends ServiceRequest> void registerForType(EntityType<R> requestType, ServiceInterceptorProcessor interceptor) {
-				registerWithPredicate(r -> requestType.isInstance(r), interceptor);
+				register(r -> requestType.isInstance(r), requestType, interceptor);
 			}
 
 			@Override
 			public void registerWithPredicate(Predicate<ServiceRequest> predicate, ServiceInterceptorProcessor interceptor) {
-				InterceptorEntry interceptorEntry = new InterceptorEntry(identification, predicate, interceptor);
+				register(predicate, null, interceptor);
+			}
+
+			private void register(Predicate<ServiceRequest> predicate, EntityType<?> requestType, ServiceInterceptorProcessor interceptor) {
+				InterceptorEntry interceptorEntry = new InterceptorEntry(identification, predicate, requestType, interceptor);
 
 				if (insertIdentification != null) {
 					requireInterceptorIterator(insertIdentification, before).add(interceptorEntry);
 				} else {
 					interceptors.add(interceptorEntry);
 				}
+
+				invalidateChainCache();
 			}
 
 			@Override
@@ -142,6 +202,11 @@ public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor
 
 	public void removeInterceptor(String identification) {
 		requireInterceptorIterator(identification, true).remove();
+		invalidateChainCache();
+	}
+
+	private void invalidateChainCache() {
+		chainCache = new ConcurrentHashMap<>();
 	}
 
 	private ServiceProcessor<ServiceRequest, Object> getProcessor(ServiceRequest request) {
@@ -157,24 +222,55 @@ public class ConfigurableDispatchingServiceProcessor implements ServiceProcessor
 	public Object process(ServiceRequestContext requestContext, ServiceRequest request) {
 		ServiceProcessor<ServiceRequest, Object> processor;
 
-		if (isEmpty(interceptors)) {
+		if (chainCaching) {
+			processor = chainCache.computeIfAbsent(request.entityType(), this::newDispatchChain).chainFor(request);
+		} else if (isEmpty(interceptors)) {
 			processor = getProcessor(request);
 		} else {
-			processor = getInterceptingProcessor(request);
+			processor = newDispatchChain(request.entityType()).chainFor(request);
 		}
 
 		return processor.process(requestContext, request);
 	}
 
-	private ServiceProcessor<ServiceRequest, Object> getInterceptingProcessor(ServiceRequest request) {
-		ServiceProcessor<?, ?> processor = getProcessor(request);
+	private DispatchChain newDispatchChain(EntityType<?> requestType) {
+		ServiceProcessor<ServiceRequest, Object> processor = processorMap.find((EntityType<? extends ServiceRequest>) requestType);
+		if (processor == null)
+			processor = DEFAULT_PROCESSOR;
+
+		List<InterceptorEntry> candidates = new ArrayList<>();
+		boolean hasPredicates = false;
+
+		for (InterceptorEntry entry : interceptors) {
+			if (entry.requestType == null) {
+				candidates.add(entry);
+				hasPredicates = true;
+
+			} else if (entry.requestType.isAssignableFrom(requestType)) {
+				candidates.add(entry);
+			}
+		}
+
+		return new DispatchChain(processor, candidates, hasPredicates);
+	}
+
+	/**
+	 * Builds the chain from given interceptors. Interceptors with a type-only filter are expected to match already, only
+	 * the real predicates are evaluated for given request. If the request is <tt>null</tt>, there must be no such
+	 * predicates.
+	 */
+	private static ServiceProcessor<ServiceRequest, Object> buildChain(ServiceProcessor<ServiceRequest, Object> processor,
+			List<InterceptorEntry> interceptors, ServiceRequest request) {
+
+		if (interceptors.isEmpty())
+			return processor;
 
 		InterceptingServiceProcessorBuilder builder = ServiceProcessingChain.create(processor); //
 
 		boolean hasAroundProcessors = false;
 
 		for (InterceptorEntry entry : interceptors) {
-			if (entry.filter.test(request)) {
+			if (request == null || entry.requestType != null || entry.filter.test(request)) {
 				ServiceInterceptorProcessor interceptor = entry.interceptor;
 				switch (interceptor.getKind()) {
 					case pre:
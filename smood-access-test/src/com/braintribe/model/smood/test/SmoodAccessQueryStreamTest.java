@@ -0,0 +1,142 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.smood.test;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.model.access.SelectQueryResultStream;
+import com.braintribe.model.access.impl.XmlAccess;
+import com.braintribe.model.access.smood.basic.SmoodAccess;
+import com.braintribe.model.meta.GmMetaModel;
+import com.braintribe.model.processing.query.fluent.SelectQueryBuilder;
+import com.braintribe.model.processing.session.api.persistence.PersistenceGmSession;
+import com.braintribe.model.processing.session.impl.persistence.BasicPersistenceGmSession;
+import com.braintribe.model.query.OrderingDirection;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.resource.Resource;
+import com.braintribe.model.util.meta.NewMetaModelGeneration;
+import com.braintribe.provider.Holder;
+
+/**
+ * Tests for {@link SmoodAccess#queryStream(SelectQuery)}, i.e. the rows are the same as with a regular query, but cloned one by one, under the
+ * read lock of the access.
+ */
+public class SmoodAccessQueryStreamTest {
+
+	private static final int RESOURCE_COUNT = 5;
+
+	private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+	private SmoodAccess smoodAccess;
+
+	@Before
+	public void setup() throws Exception {
+		GmMetaModel model = new NewMetaModelGeneration().buildMetaModel("test:QueryStreamResourceModel", Arrays.asList(Resource.T));
+
+		File folder = Files.createTempDirectory("smood-access-query-stream").toFile();
+		folder.deleteOnExit();
+
+		XmlAccess xmlAccess = new XmlAccess();
+		xmlAccess.setFilePath(new File(folder, "data.xml"));
+		xmlAccess.setModelProvider(new Holder<GmMetaModel>(model));
+
+		smoodAccess = new SmoodAccess();
+		smoodAccess.setDataDelegate(xmlAccess);
+		smoodAccess.setAccessId("test.query.stream");
+		smoodAccess.setReadWriteLock(rwLock);
+
+		PersistenceGmSession session = new BasicPersistenceGmSession(smoodAccess);
+		for (int i = 0; i < RESOURCE_COUNT; i++) {
+			Resource resource = session.create(Resource.T);
+			resource.setName("resource" + i);
+		}
+		session.commit();
+	}
+
+	@Test
+	public void streamsSameRowsAsQuery() {
+		List<Object> expected = names(smoodAccess.query(resourcesByName()).getResults());
+
+		List<Object> streamed = newList();
+		try (SelectQueryResultStream stream = smoodAccess.queryStream(resourcesByName())) {
+			stream.forEachRemaining(streamed::add);
+			assertThat(stream.hasMore()).isFalse();
+		}
+
+		assertThat(names(streamed)).isEqualTo(expected).hasSize(RESOURCE_COUNT);
+	}
+
+	@Test
+	public void rowsAreClones() {
+		try (SelectQueryResultStream stream = smoodAccess.queryStream(resourcesByName())) {
+			Resource streamed = (Resource) stream.next();
+			Set<Resource> originals = smoodAccess.getDatabase().getEntitiesPerType(Resource.T);
+
+			assertThat(originals).hasSize(RESOURCE_COUNT).doesNotContain(streamed);
+			assertThat(streamed.getName()).isEqualTo("resource0");
+		}
+	}
+
+	@Test
+	public void readLockIsHeldUntilStreamIsExhausted() {
+		SelectQueryResultStream stream = smoodAccess.queryStream(resourcesByName());
+		assertThat(rwLock.getReadHoldCount()).isPositive();
+
+		stream.forEachRemaining(row -> assertThat(rwLock.getReadHoldCount()).isPositive());
+		assertThat(rwLock.getReadHoldCount()).isZero();
+
+		stream.close();
+		assertThat(rwLock.getReadHoldCount()).isZero();
+	}
+
+	@Test
+	public void readLockIsReleasedOnClose() {
+		try (SelectQueryResultStream stream = smoodAccess.queryStream(resourcesByName())) {
+			stream.next();
+			assertThat(rwLock.getReadHoldCount()).isPositive();
+		}
+
+		assertThat(rwLock.getReadHoldCount()).isZero();
+	}
+
+	private static SelectQuery resourcesByName() {
+		// @formatter:off
+		return new SelectQueryBuilder()
+				.from(Resource.T, "r")
+				.orderBy(OrderingDirection.ascending).property("r", "name")
+				.done();
+		// @formatter:on
+	}
+
+	private static List<Object> names(List<?> resources) {
+		List<Object> result = newList();
+		for (Object resource : resources)
+			result.add(((Resource) resource).getName());
+
+		return result;
+	}
+
+}
@@ -15,7 +15,9 @@
 // ============================================================================
 package com.braintribe.model.access.smood.basic;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Supplier;
@@ -23,6 +25,7 @@ import java.util.function.Supplier;
 import com.braintribe.cfg.Configurable;
 import com.braintribe.exception.Exceptions;
 import com.braintribe.model.access.AbstractAccess;
+import com.braintribe.model.access.SelectQueryResultStream;
 import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.generic.pr.criteria.matching.Matcher;
 import com.braintribe.model.generic.reflection.StrategyOnCriterionMatch;
@@ -78,6 +81,86 @@ public abstract class AbstractSmoodAccess extends AbstractAccess {
 		return result;
 	}
 
+	/**
+	 * Lazily evaluated variant of {@link #query(SelectQuery)}, based on {@link Smood#queryStream(SelectQuery)}. Each row is cloned when it is
+	 * iterated, while holding the read lock of this access, which is acquired here and held until the stream is iterated through or
+	 * {@link SelectQueryResultStream#close() closed}. Thus the same restrictions as for the underlying Smood stream apply, e.g. the stream must be
+	 * closed by the thread which opened it.
+	 * <p>
+	 * Unlike with {@link #query(SelectQuery)}, every row is cloned with a new cloning context, so that the clones do not pile up in memory. This
+	 * means an entity reachable from multiple rows is cloned for each of them.
+	 */
+	@Override
+	public SelectQueryResultStream queryStream(SelectQuery query) {
+		SmoodAccessLogging.selectQuery(query);
+
+		Lock lock = readLock;
+		lock.lock();
+		try {
+			return new CloningResultStream(getDatabase().queryStream(query), query, lock);
+
+		} catch (RuntimeException | Error e) {
+			lock.unlock();
+			throw e;
+		}
+	}
+
+	private class CloningResultStream implements SelectQueryResultStream {
+
+		private final SelectQueryResultStream delegate;
+		private final SelectQuery query;
+		private final Lock lock;
+		private boolean closed;
+
+		public CloningResultStream(SelectQueryResultStream delegate, SelectQuery query, Lock lock) {
+			this.delegate = delegate;
+			this.query = query;
+			this.lock = lock;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (closed)
+				return false;
+
+			boolean result = delegate.hasNext();
+			if (!result)
+				close();
+
+			return result;
+		}
+
+		@Override
+		public Object next() {
+			if (closed)
+				throw new NoSuchElementException("Stream is already closed.");
+
+			Object row = delegate.next();
+			return cloneSelectQueryResult(Collections.singletonList(row), query, createStandardCloningContext(), cloningStrategy(query)).get(0);
+		}
+
+		@Override
+		public boolean hasMore() {
+			return delegate.hasMore();
+		}
+
+		@Override
+		public void close() {
+			if (closed)
+				return;
+
+			closed = true;
+			try {
+				delegate.close();
+				SmoodAccessLogging.selectQueryEvaluationFinished();
+
+			} finally {
+				lock.unlock();
+			}
+		}
+
+	}
+
 	@Override
 	public EntityQueryResult queryEntities(EntityQuery query) {
 		readLock.lock();
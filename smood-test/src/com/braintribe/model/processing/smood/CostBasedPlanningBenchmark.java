@@ -0,0 +1,114 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.braintribe.model.processing.query.fluent.SelectQueryBuilder;
+import com.braintribe.model.processing.query.test.builder.DataBuilder;
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.MetaModelProvider;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.query.SelectQueryResult;
+
+/**
+ * Measures a join query on skewed data with and without {@link Smood#setCostBasedQueryPlanning(boolean) cost-based planning}.
+ * <p>
+ * Most of the persons work for one big company, the rest is spread evenly over many small ones. The query selects the employees of one small
+ * company. Without statistics the planner starts with scanning all the persons, with statistics it starts with the company and uses the person
+ * index.
+ * <p>
+ * Not a unit test, run via {@link #main(String[])} or the JMH runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CostBasedPlanningBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean costBasedPlanning;
+
+	@Param({ "100000" })
+	public int personCount;
+
+	/** Percentage of persons working for the big company. */
+	@Param({ "99" })
+	public int skewPercentage;
+
+	private static final int SMALL_COMPANIES = 100;
+
+	private Smood smood;
+	private SelectQuery query;
+
+	@Setup
+	public void setup() {
+		smood = new Smood(new ReentrantReadWriteLock());
+		smood.setMetaModel(MetaModelProvider.provideEnrichedModel());
+		smood.setCostBasedQueryPlanning(costBasedPlanning);
+
+		DataBuilder b = new DataBuilder(smood);
+
+		b.company("Big").indexedName("Big").create();
+		for (int i = 0; i < SMALL_COMPANIES; i++)
+			b.company("Small" + i).indexedName("Small" + i).create();
+
+		int bigCompanyPersons = personCount / 100 * skewPercentage;
+		for (int i = 0; i < personCount; i++)
+			b.person("Person" + i).indexedName(i < bigCompanyPersons ? "Big" : "Small" + (i % SMALL_COMPANIES)).create();
+
+		// @formatter:off
+		query = new SelectQueryBuilder()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.conjunction()
+						.property("p", "indexedName").eq().property("c", "indexedName")
+						.property("c", "indexedName").eq("Small7")
+					.close()
+				.done();
+		// @formatter:on
+	}
+
+	@Benchmark
+	public SelectQueryResult smallCompanyEmployees() {
+		return smood.query(query);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CostBasedPlanningBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,28 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood;
+
+/**
+ * Same as {@link Smood_Index_Test}, but with {@link Smood#setConcurrentIndices(boolean) concurrent indices}.
+ */
+public class Smood_Index_Concurrent_Test extends Smood_Index_Test {
+
+	@Override
+	protected void postConstruct() {
+		smood.setConcurrentIndices(true);
+	}
+
+}
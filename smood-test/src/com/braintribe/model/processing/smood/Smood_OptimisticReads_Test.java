@@ -0,0 +1,199 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood;
+
+import static com.braintribe.model.processing.smood.population.SmoodIndexTools.indexId;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Test;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.manipulation.DeleteMode;
+import com.braintribe.model.processing.query.test.builder.DataBuilder;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.querying.AbstractSelectQueryTests;
+import com.braintribe.model.query.SelectQuery;
+
+/**
+ * Tests for {@link Smood#setOptimisticReads(boolean)}.
+ */
+public class Smood_OptimisticReads_Test extends AbstractSelectQueryTests {
+
+	private static final int PERSON_COUNT = 2000;
+	private static final String NAME_INDEX = indexId(Person.T, "indexedName");
+	private static final String SHARED_NAME = "shared";
+
+	@Override
+	protected void postConstruct() {
+		smood.setConcurrentIndices(true);
+		smood.setOptimisticReads(true);
+	}
+
+	@Test
+	public void readsWork() {
+		Person p1 = b.person("Mr First").create();
+		Person p2 = b.person("Mr Second").create();
+
+		evaluate(allPersons());
+
+		assertResultContains(p1);
+		assertResultContains(p2);
+		assertNoMoreResults();
+
+		assertThat(smood.<Person> findEntity(Person.T, p1.getId())).isSameAs(p1);
+		assertThat(smood.<Person> findEntity(p2.reference())).isSameAs(p2);
+	}
+
+	@Test
+	public void readsWorkDuringConcurrentWrites() throws Exception {
+		AtomicReference<Throwable> writerError = new AtomicReference<>();
+
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < PERSON_COUNT; i++)
+					b.person("person" + i).create();
+
+			} catch (Throwable t) {
+				writerError.set(t);
+			}
+		});
+
+		writer.start();
+
+		int lastCount = 0;
+		while (writer.isAlive()) {
+			int count = smood.query(allPersons()).getResults().size();
+			assertThat(count).isGreaterThanOrEqualTo(lastCount);
+			lastCount = count;
+		}
+
+		writer.join();
+
+		assertThat(writerError.get()).isNull();
+		assertThat(smood.query(allPersons()).getResults()).hasSize(PERSON_COUNT);
+		assertThat(smood.getEntitiesPerType(Person.T)).hasSize(PERSON_COUNT);
+	}
+
+	@Test
+	public void indexLookupsAreNotBlockedByWriter() throws Exception {
+		BlockingWriteSmood blockingSmood = new BlockingWriteSmood();
+		blockingSmood.setMetaModel(provideEnrichedMetaModel());
+		blockingSmood.setConcurrentIndices(true);
+		blockingSmood.setOptimisticReads(true);
+
+		DataBuilder builder = new DataBuilder(blockingSmood);
+		Person person = builder.person("Mr Reader").indexedName(SHARED_NAME).create();
+		Person victim = builder.person("Mr Victim").create();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> writer = executor.submit(() -> blockingSmood.deleteEntity(victim));
+			assertThat(blockingSmood.writerInside.await(10, TimeUnit.SECONDS)).isTrue();
+
+			// the writer now holds the write lock, yet index lookups still complete
+			Future<GenericEntity> byIndex = executor.submit(() -> blockingSmood.getValueForIndex(NAME_INDEX, SHARED_NAME));
+			assertThat(byIndex.get(10, TimeUnit.SECONDS)).isSameAs(person);
+
+			Future<Person> byId = executor.submit(() -> blockingSmood.findEntity(Person.T, person.getId()));
+			assertThat(byId.get(10, TimeUnit.SECONDS)).isSameAs(person);
+
+			blockingSmood.releaseWriter.countDown();
+			writer.get(10, TimeUnit.SECONDS);
+
+		} finally {
+			blockingSmood.releaseWriter.countDown();
+			executor.shutdownNow();
+		}
+
+		assertThat(blockingSmood.findEntity(Person.T, victim.getId())).isNull();
+	}
+
+	@Test
+	public void indexLookupsAreConsistentDuringConcurrentWrites() throws Exception {
+		AtomicReference<Throwable> writerError = new AtomicReference<>();
+
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < PERSON_COUNT; i++) {
+					b.person("person" + i).indexedName(SHARED_NAME).create();
+					b.person("other" + i).indexedName("other" + i).create();
+				}
+
+			} catch (Throwable t) {
+				writerError.set(t);
+			}
+		});
+
+		writer.start();
+
+		int lastCount = 0;
+		while (writer.isAlive()) {
+			Collection<? extends GenericEntity> persons = smood.getAllValuesForIndex(NAME_INDEX, SHARED_NAME);
+			for (GenericEntity entity : persons)
+				assertThat(((Person) entity).getIndexedName()).isEqualTo(SHARED_NAME);
+
+			assertThat(persons.size()).isGreaterThanOrEqualTo(lastCount);
+			lastCount = persons.size();
+		}
+
+		writer.join();
+
+		assertThat(writerError.get()).isNull();
+		assertThat(smood.getAllValuesForIndex(NAME_INDEX, SHARED_NAME)).hasSize(PERSON_COUNT);
+	}
+
+	/** Blocks inside {@link #w_deleteEntity}, i.e. while holding the write lock, until {@link #releaseWriter} is released. */
+	private static class BlockingWriteSmood extends Smood {
+
+		final CountDownLatch writerInside = new CountDownLatch(1);
+		final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+		BlockingWriteSmood() {
+			super(new ReentrantReadWriteLock());
+		}
+
+		@Override
+		protected void w_deleteEntity(GenericEntity entity, DeleteMode deleteMode) {
+			writerInside.countDown();
+			try {
+				releaseWriter.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			super.w_deleteEntity(entity, deleteMode);
+		}
+
+	}
+
+	private SelectQuery allPersons() {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.done();
+		// @formatter:on
+	}
+
+}
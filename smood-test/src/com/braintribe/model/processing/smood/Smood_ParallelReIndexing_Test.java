@@ -0,0 +1,98 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood;
+
+import static com.braintribe.model.processing.smood.population.SmoodIndexTools.indexId;
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.population.info.RepositoryInfoImpl;
+import com.braintribe.model.processing.smood.test.AbstractSmoodTests;
+
+/**
+ * Tests for the parallel re-indexing, which happens when meta-data is changed and {@link Smood#setConcurrentIndices(boolean) concurrent indices}
+ * are used.
+ */
+public class Smood_ParallelReIndexing_Test extends AbstractSmoodTests {
+
+	private static final int COUNT = 100;
+
+	private static final String PERSON_NAME_INDEX = indexId(Person.T, "indexedName");
+	private static final String PERSON_UNIQUE_NAME_INDEX = indexId(Person.T, "indexedUniqueName");
+	private static final String COMPANY_NAME_INDEX = indexId(Company.T, "indexedName");
+
+	private final Person[] persons = new Person[COUNT];
+	private final Company[] companies = new Company[COUNT];
+
+	@Override
+	protected void postConstruct() {
+		smood.setConcurrentIndices(true);
+		smood.setParallelReIndexingThreshold(0);
+	}
+
+	@Test
+	public void reIndexesInParallel() {
+		createData();
+
+		setSmoodMetaModel(); // triggers re-indexing
+
+		RepositoryInfoImpl info = repositoryInfo();
+		assertThat(info.isReIndexing()).isFalse();
+		assertThat(info.isParallelReIndexing()).isTrue();
+		assertThat(info.getReIndexedTypes()).isEqualTo(info.getTypesToReIndex());
+		assertThat(info.getReIndexedEntities()).isEqualTo((long) info.getEntitiesToReIndex());
+		assertThat(info.getLastReIndexingDurationMs()).isGreaterThanOrEqualTo(0);
+
+		assertIndicesWork();
+	}
+
+	@Test
+	public void reIndexesSequentiallyWithoutConcurrentIndices() {
+		smood.setConcurrentIndices(false);
+
+		createData();
+
+		setSmoodMetaModel(); // triggers re-indexing
+
+		assertThat(repositoryInfo().isParallelReIndexing()).isFalse();
+
+		assertIndicesWork();
+	}
+
+	private void createData() {
+		for (int i = 0; i < COUNT; i++) {
+			persons[i] = b.person("person" + i).indexedName("person" + i).indexedUniqueName("person" + i).create();
+			companies[i] = b.company("company" + i).indexedName("company" + i).create();
+		}
+	}
+
+	private void assertIndicesWork() {
+		for (int i = 0; i < COUNT; i++) {
+			assertThat(smood.getValueForIndex(PERSON_NAME_INDEX, "person" + i)).isSameAs(persons[i]);
+			assertThat(smood.getValueForIndex(PERSON_UNIQUE_NAME_INDEX, "person" + i)).isSameAs(persons[i]);
+			assertThat(smood.getValueForIndex(COMPANY_NAME_INDEX, "company" + i)).isSameAs(companies[i]);
+			assertThat(smood.<Person> findEntity(Person.T, persons[i].getId())).isSameAs(persons[i]);
+		}
+	}
+
+	private RepositoryInfoImpl repositoryInfo() {
+		return (RepositoryInfoImpl) smood.provideRepositoryInfo();
+	}
+
+}
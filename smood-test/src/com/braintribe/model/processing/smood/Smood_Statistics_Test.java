@@ -0,0 +1,100 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood;
+
+import static com.braintribe.model.processing.smood.population.SmoodIndexTools.indexId;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.test.AbstractSmoodTests;
+
+/**
+ * Tests for the {@link RepositoryStatistics} provided by the Smood, i.e. entity counts and distinct key counts of the indices.
+ */
+public class Smood_Statistics_Test extends AbstractSmoodTests {
+
+	private static final String NAME_INDEX = indexId(Person.T, "indexedName");
+	private static final String UNIQUE_NAME_INDEX = indexId(Person.T, "indexedUniqueName");
+
+	@Test
+	public void emptySmood() {
+		assertThat(statistics().entityCount(Person.T.getTypeSignature())).isZero();
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(RepositoryStatistics.UNKNOWN);
+		assertThat(statistics().entityCount("non.existent.Type")).isEqualTo(RepositoryStatistics.UNKNOWN);
+	}
+
+	@Test
+	public void countsEntitiesAndDistinctKeys() {
+		b.person("p1").indexedName("A").indexedUniqueName("A").create();
+		b.person("p2").indexedName("A").indexedUniqueName("B").create();
+		b.person("p3").indexedName("B").indexedUniqueName("C").create();
+		b.person("p4").create();
+		b.person("p5").create();
+		b.company("c1").create();
+
+		assertThat(statistics().entityCount(Person.T.getTypeSignature())).isEqualTo(5);
+		assertThat(statistics().entityCount(Company.T.getTypeSignature())).isEqualTo(1);
+
+		// "A", "B" and null
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(3);
+		// "A", "B", "C" and null
+		assertThat(statistics().distinctKeyCount(UNIQUE_NAME_INDEX)).isEqualTo(4);
+	}
+
+	@Test
+	public void countsAreUpdated() {
+		Person p1 = b.person("p1").indexedName("A").indexedUniqueName("A").create();
+		Person p2 = b.person("p2").indexedName("A").indexedUniqueName("B").create();
+
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(1);
+
+		p2.setIndexedName("B");
+		p2.setIndexedUniqueName("C");
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(2);
+		assertThat(statistics().distinctKeyCount(UNIQUE_NAME_INDEX)).isEqualTo(2);
+
+		smood.deleteEntity(p1);
+		assertThat(statistics().entityCount(Person.T.getTypeSignature())).isEqualTo(1);
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(1);
+		assertThat(statistics().distinctKeyCount(UNIQUE_NAME_INDEX)).isEqualTo(1);
+	}
+
+	@Test
+	public void countsWithConcurrentIndices() {
+		smood.setConcurrentIndices(true);
+
+		Person p1 = b.person("p1").indexedName("A").create();
+		b.person("p2").indexedName("A").create();
+
+		assertThat(statistics().entityCount(Person.T.getTypeSignature())).isEqualTo(2);
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(1);
+
+		p1.setIndexedName("B");
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(2);
+
+		smood.deleteEntity(p1);
+		assertThat(statistics().distinctKeyCount(NAME_INDEX)).isEqualTo(1);
+	}
+
+	private RepositoryStatistics statistics() {
+		return smood.provideStatistics();
+	}
+
+}
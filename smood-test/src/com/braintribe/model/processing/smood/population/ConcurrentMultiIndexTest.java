@@ -0,0 +1,89 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.population;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.braintribe.model.generic.reflection.SimpleTypes;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.population.index.ConcurrentMultiLookupIndex;
+
+/**
+ * Tests for {@link ConcurrentMultiLookupIndex}, namely that the number of distinct keys stays exact when the same keys are added and removed
+ * concurrently.
+ */
+public class ConcurrentMultiIndexTest {
+
+	private static final int THREADS = 8;
+	private static final int PERSONS_PER_THREAD = 2000;
+	private static final int KEYS = 10;
+
+	private final ConcurrentMultiLookupIndex index = new ConcurrentMultiLookupIndex(SimpleTypes.TYPE_STRING);
+
+	@Test
+	public void concurrentAddsAndRemoves_ExactDistinctKeyCount() throws Exception {
+		List<List<Person>> personsPerThread = IntStream.range(0, THREADS) //
+				.mapToObj(t -> IntStream.range(0, PERSONS_PER_THREAD) //
+						.mapToObj(i -> person(t * PERSONS_PER_THREAD + i)) //
+						.collect(Collectors.toList())) //
+				.collect(Collectors.toList());
+
+		runInParallel(personsPerThread, true);
+		assertThat(index.entityCount()).isEqualTo(THREADS * PERSONS_PER_THREAD);
+		assertThat(index.distinctKeyCount()).isEqualTo(KEYS);
+
+		runInParallel(personsPerThread, false);
+		assertThat(index.entityCount()).isZero();
+		assertThat(index.distinctKeyCount()).isZero();
+	}
+
+	private void runInParallel(List<List<Person>> personsPerThread, boolean add) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = personsPerThread.stream() //
+					.map(persons -> executor.submit(() -> persons.forEach(p -> {
+						if (add)
+							index.addEntity(p, p.getName());
+						else
+							index.removeEntity(p, p.getName());
+					}))) //
+					.collect(Collectors.toList());
+
+			for (Future<?> future : futures)
+				future.get();
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Person person(long id) {
+		Person result = Person.T.create();
+		result.setId(id);
+		result.setName("key" + (id % KEYS));
+		return result;
+	}
+
+}
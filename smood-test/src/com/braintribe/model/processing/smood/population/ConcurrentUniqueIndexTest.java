@@ -0,0 +1,121 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.population;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.processing.query.test.model.Owner;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.population.index.ConcurrentUniqueLookupIndex;
+
+/**
+ * Tests for {@link ConcurrentUniqueLookupIndex}, namely that concurrent inserts of the same key never index more than one entity, neither on the
+ * same level, nor on different levels of the type hierarchy.
+ */
+public class ConcurrentUniqueIndexTest {
+
+	private static final int THREADS = 8;
+	private static final int ROUNDS = 500;
+
+	private final ConcurrentUniqueLookupIndex personIndex = new ConcurrentUniqueLookupIndex();
+	private final ConcurrentUniqueLookupIndex ownerIndex = new ConcurrentUniqueLookupIndex();
+
+	private ExecutorService executor;
+	private long nextId;
+
+	@Before
+	public void setup() {
+		personIndex.setEntityType(Person.T);
+		ownerIndex.setEntityType(Owner.T);
+		ownerIndex.w_linkSuperIndex(personIndex);
+
+		executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void sameLevel_OnlyOneEntityIsIndexed() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			String key = "key" + round;
+
+			List<Callable<Boolean>> inserts = IntStream.range(0, THREADS) //
+					.mapToObj(i -> insert(personIndex, Person.T.create(), key)) //
+					.collect(Collectors.toList());
+
+			assertThat(countSuccesses(inserts)).as("Successful inserts for " + key).isEqualTo(1);
+			assertThat(personIndex.getValues(key)).hasSize(1);
+		}
+
+		assertThat(personIndex.entityCount()).isEqualTo(ROUNDS);
+	}
+
+	@Test
+	public void differentLevels_AtMostOneEntityIsIndexed() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			String key = "key" + round;
+
+			List<Callable<Boolean>> inserts = IntStream.range(0, THREADS) //
+					.mapToObj(i -> i % 2 == 0 ? insert(personIndex, Person.T.create(), key) : insert(ownerIndex, Owner.T.create(), key)) //
+					.collect(Collectors.toList());
+
+			assertThat(countSuccesses(inserts)).as("Successful inserts for " + key).isLessThanOrEqualTo(1);
+			assertThat(personIndex.getValues(key).size()).as("Indexed entities for " + key).isLessThanOrEqualTo(1);
+		}
+
+		assertThat(personIndex.entityCount()).isLessThanOrEqualTo(ROUNDS);
+	}
+
+	private Callable<Boolean> insert(ConcurrentUniqueLookupIndex index, GenericEntity entity, String key) {
+		entity.setId(nextId++);
+
+		return () -> {
+			try {
+				index.addEntity(entity, key);
+				return true;
+
+			} catch (IllegalStateException e) {
+				return false;
+			}
+		};
+	}
+
+	private int countSuccesses(List<Callable<Boolean>> inserts) throws Exception {
+		int result = 0;
+		for (Future<Boolean> future : executor.invokeAll(inserts))
+			if (future.get())
+				result++;
+
+		return result;
+	}
+
+}
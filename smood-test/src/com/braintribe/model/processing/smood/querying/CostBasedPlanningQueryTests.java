@@ -0,0 +1,121 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.querying;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.planner.QueryPlanner;
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.utils.lcd.CollectionTools2;
+
+/**
+ * Tests for the Smood with {@link QueryPlanner#costBasedPlanning(boolean) cost-based planning} on skewed data, i.e. most of the persons work for
+ * the same company. The plans themselves are tested in the query-planner tests, here we make sure the results are correct.
+ */
+public class CostBasedPlanningQueryTests extends AbstractSelectQueryTests {
+
+	private static final int BIG_COMPANY_PERSONS = 300;
+	private static final int SMALL_COMPANY_PERSONS = 3;
+
+	private Company bigCompany;
+	private Company smallCompany;
+	private final List<Person> bigCompanyPersons = CollectionTools2.newList();
+	private final List<Person> smallCompanyPersons = CollectionTools2.newList();
+
+	@Override
+	protected void postConstruct() {
+		smood.setCostBasedQueryPlanning(true);
+
+		bigCompany = b.company("Big").indexedName("Big").create();
+		smallCompany = b.company("Small").indexedName("Small").create();
+		for (int i = 0; i < 5; i++)
+			b.company("Other" + i).indexedName("Other" + i).create();
+
+		for (int i = 0; i < BIG_COMPANY_PERSONS; i++)
+			bigCompanyPersons.add(b.person("Big" + i).indexedName("Big").create());
+
+		for (int i = 0; i < SMALL_COMPANY_PERSONS; i++)
+			smallCompanyPersons.add(b.person("Small" + i).indexedName("Small").create());
+	}
+
+	@Test
+	public void joinFilteredByCompany() {
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Small"));
+
+		for (Person p : smallCompanyPersons)
+			assertResultContains(p, smallCompany);
+		assertNoMoreResults();
+	}
+
+	@Test
+	public void joinFilteredByPerson() {
+		evaluate(personCompanyJoinWhere("p", "name", "Big7"));
+
+		assertResultContains(bigCompanyPersons.get(7), bigCompany);
+		assertNoMoreResults();
+	}
+
+	@Test
+	public void sameResultWithoutCostBasedPlanning() {
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Big"));
+		assertThat(results.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(BIG_COMPANY_PERSONS);
+
+		smood.setCostBasedQueryPlanning(false);
+
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Big"));
+		assertThat(results.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(BIG_COMPANY_PERSONS);
+	}
+
+	@Test
+	public void planCacheIsInvalidatedWhenPopulationGrows() {
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Small"));
+		long invalidations = smood.getQueryPlanCacheStatistics().getInvalidations();
+
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Small"));
+		assertThat(smood.getQueryPlanCacheStatistics().getInvalidations()).isEqualTo(invalidations);
+
+		for (int i = 0; i < 2 * BIG_COMPANY_PERSONS; i++)
+			b.person("New" + i).indexedName("Other1").create();
+
+		evaluate(personCompanyJoinWhere("c", "indexedName", "Small"));
+		assertThat(smood.getQueryPlanCacheStatistics().getInvalidations()).isGreaterThan(invalidations);
+
+		for (Person p : smallCompanyPersons)
+			assertResultContains(p, smallCompany);
+		assertNoMoreResults();
+	}
+
+	private SelectQuery personCompanyJoinWhere(String alias, String property, String value) {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.from(Company.T, "c")
+				.where()
+					.conjunction()
+						.property("p", "indexedName").eq().property("c", "indexedName")
+						.property(alias, property).eq(value)
+					.close()
+				.done();
+		// @formatter:on
+	}
+
+}
@@ -147,6 +147,59 @@ public class IndexJoinQueryTests extends AbstractSelectQueryTests {
 		assertNoMoreResults();
 	}
 
+	/** SeeIndexJoinTests#mergeLookupJoin_In() */
+	@Test
+	public void mergeLookupJoin_In() {
+		Company c1 = b.company("C1").personNames("P1", "P2").create();
+		Company c2 = b.company("C2").personNames("P2").create();
+		b.company("C3").create();
+
+		Person p1 = b.person("P1").create();
+		Person p2 = b.person("P2").create();
+		b.person("P3").create();
+
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.from(Person.T, "p")
+				.from(Company.class, "c")
+				.where()
+					.property("p", "name").in().property("c", "personNameSet")
+				.done();
+		// @formatter:on
+
+		evaluate(selectQuery);
+
+		assertResultContains(p1, c1);
+		assertResultContains(p2, c1);
+		assertResultContains(p2, c2);
+		assertNoMoreResults();
+	}
+
+	/** SeeIndexJoinTests#mergeLookupJoin_Contains() */
+	@Test
+	public void mergeLookupJoin_Contains() {
+		Company c1 = b.company("C1").personNames("P1", "P1", "P2").create();
+
+		Person p1 = b.person("P1").create();
+		Person p2 = b.person("P2").create();
+		b.person("P3").create();
+
+		// @formatter:off
+		SelectQuery selectQuery = query()
+				.from(Person.T, "p")
+				.from(Company.class, "c")
+				.where()
+					.property("c", "personNameList").contains().property("p", "name")
+				.done();
+		// @formatter:on
+
+		evaluate(selectQuery);
+
+		assertResultContains(p1, c1);
+		assertResultContains(p2, c1);
+		assertNoMoreResults();
+	}
+
 	/** SeeIndexJoinTests#mergeRangeJoin() */
 	@Test
 	public void mergeRangeJoin() {
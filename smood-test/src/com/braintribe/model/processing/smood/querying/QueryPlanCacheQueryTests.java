@@ -0,0 +1,170 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.querying;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCache;
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCacheStatistics;
+import com.braintribe.model.processing.query.test.model.Company;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.query.SelectQuery;
+
+/**
+ * Tests for the {@link QueryPlanCache} used by the Smood.
+ */
+public class QueryPlanCacheQueryTests extends AbstractSelectQueryTests {
+
+	@Test
+	public void indexLookup_ReusesPlanForDifferentLiteral() {
+		Person p1 = b.person("P1").indexedName("P1").create();
+		Person p2 = b.person("P2").indexedName("P2").create();
+
+		evaluate(byIndexedName("P1"));
+		assertResultContains(p1);
+		assertNoMoreResults();
+
+		evaluate(byIndexedName("P2"));
+		assertResultContains(p2);
+		assertNoMoreResults();
+
+		evaluate(byIndexedName("P3"));
+		assertNoMoreResults();
+
+		QueryPlanCacheStatistics stats = smood.getQueryPlanCacheStatistics();
+		assertThat(stats.getMisses()).isEqualTo(1);
+		assertThat(stats.getHits()).isEqualTo(2);
+		assertThat(stats.getUncacheable()).isZero();
+		assertThat(stats.getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void rangeAndFilter_ReusesPlanForDifferentLiterals() {
+		Person p1 = b.person("P1").indexedInteger(1).create();
+		Person p2 = b.person("P2").indexedInteger(2).create();
+		Person p3 = b.person("P3").indexedInteger(3).create();
+
+		evaluate(byIndexedIntegerAndNotName(1, "P3"));
+		assertResultContains(p2);
+		assertNoMoreResults();
+
+		evaluate(byIndexedIntegerAndNotName(0, "P2"));
+		assertResultContains(p1);
+		assertResultContains(p3);
+		assertNoMoreResults();
+
+		QueryPlanCacheStatistics stats = smood.getQueryPlanCacheStatistics();
+		assertThat(stats.getMisses()).isEqualTo(1);
+		assertThat(stats.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void entityOperand_IsNotCached() {
+		Company c1 = b.company("C1").create();
+		Company c2 = b.company("C2").create();
+
+		Person p1 = b.owner("P1").company(c1).create();
+		Person p2 = b.owner("P2").company(c2).create();
+
+		evaluate(byCompany(c1));
+		assertResultContains(p1);
+		assertNoMoreResults();
+
+		evaluate(byCompany(c2));
+		assertResultContains(p2);
+		assertNoMoreResults();
+
+		QueryPlanCacheStatistics stats = smood.getQueryPlanCacheStatistics();
+		assertThat(stats.getHits()).isZero();
+		assertThat(stats.getMisses()).isEqualTo(2);
+		assertThat(stats.getUncacheable()).isEqualTo(2);
+	}
+
+	@Test
+	public void newIndex_InvalidatesCache() {
+		Person p1 = b.person("P1").indexedName("P1").create();
+
+		evaluate(byIndexedName("P1"));
+		assertResultContains(p1);
+		assertNoMoreResults();
+
+		long invalidations = smood.getQueryPlanCacheStatistics().getInvalidations();
+
+		// first Company creates new indices
+		b.company("C1").create();
+
+		QueryPlanCacheStatistics stats = smood.getQueryPlanCacheStatistics();
+		assertThat(stats.getInvalidations()).isGreaterThan(invalidations);
+		assertThat(stats.getSize()).isZero();
+
+		evaluate(byIndexedName("P1"));
+		assertResultContains(p1);
+		assertNoMoreResults();
+
+		assertThat(smood.getQueryPlanCacheStatistics().getMisses()).isEqualTo(2);
+	}
+
+	@Test
+	public void cachingDisabled() {
+		smood.setQueryPlanCaching(false);
+
+		Person p1 = b.person("P1").indexedName("P1").create();
+
+		evaluate(byIndexedName("P1"));
+		evaluate(byIndexedName("P1"));
+		assertResultContains(p1);
+
+		QueryPlanCacheStatistics stats = smood.getQueryPlanCacheStatistics();
+		assertThat(stats.getHits()).isZero();
+		assertThat(stats.getMisses()).isZero();
+	}
+
+	private SelectQuery byIndexedName(String name) {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.where()
+					.property("p", "indexedName").eq(name)
+				.done();
+		// @formatter:on
+	}
+
+	private SelectQuery byIndexedIntegerAndNotName(int minInteger, String excludedName) {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.where()
+					.conjunction()
+						.property("p", "indexedInteger").gt(minInteger)
+						.property("p", "name").ne(excludedName)
+					.close()
+				.done();
+		// @formatter:on
+	}
+
+	private SelectQuery byCompany(Company company) {
+		// @formatter:off
+		return query()
+				.from(Person.T, "p")
+				.where()
+					.property("p", "company").eq().entity(company)
+				.done();
+		// @formatter:on
+	}
+
+}
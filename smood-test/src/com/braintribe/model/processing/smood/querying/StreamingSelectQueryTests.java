@@ -0,0 +1,108 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.querying;
+
+import static com.braintribe.utils.lcd.CollectionTools2.newList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.braintribe.model.access.SelectQueryResultStream;
+import com.braintribe.model.processing.query.test.model.Person;
+import com.braintribe.model.processing.smood.Smood;
+import com.braintribe.model.query.SelectQuery;
+import com.braintribe.model.query.SelectQueryResult;
+
+/**
+ * Runs all the {@link SimpleSelectQueryTests} via {@link Smood#queryStream(SelectQuery)}, plus checks the locking semantics of the stream.
+ */
+public class StreamingSelectQueryTests extends SimpleSelectQueryTests {
+
+	@Override
+	protected SelectQueryResult executeQuery(SelectQuery query) {
+		return collect(smood.queryStream(query));
+	}
+
+	static SelectQueryResult collect(SelectQueryResultStream stream) {
+		List<Object> rows = newList();
+		try (SelectQueryResultStream s = stream) {
+			s.forEachRemaining(rows::add);
+
+			SelectQueryResult result = SelectQueryResult.T.create();
+			result.setResults(rows);
+			result.setHasMore(s.hasMore());
+			return result;
+		}
+	}
+
+	@Test
+	public void writeIsBlockedWhileStreamIsOpen() throws Exception {
+		b.person("P1").create();
+		b.person("P2").create();
+
+		CompletableFuture<Person> write;
+
+		try (SelectQueryResultStream stream = smood.queryStream(allPersons())) {
+			assertThat(stream.hasNext()).isTrue();
+			stream.next();
+
+			write = CompletableFuture.supplyAsync(() -> b.person("P3").create());
+
+			Thread.sleep(200);
+			assertThat(write.isDone()).as("Write was not blocked while the stream is open.").isFalse();
+
+			assertThat(stream.hasNext()).isTrue();
+			stream.next();
+		}
+
+		write.get(10, TimeUnit.SECONDS);
+
+		evaluate(allPersons());
+		assertThat(results.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(3);
+	}
+
+	@Test
+	public void lockIsReleasedWhenStreamIsExhausted() throws Exception {
+		b.person("P1").create();
+
+		SelectQueryResultStream stream = smood.queryStream(allPersons());
+		stream.forEachRemaining(row -> { /* NO OP */ });
+
+		CompletableFuture.supplyAsync(() -> b.person("P2").create()).get(10, TimeUnit.SECONDS);
+
+		// no effect, already closed
+		stream.close();
+	}
+
+	@Test
+	public void hasMoreIsOnlyAvailableOnceIteratedThrough() throws Exception {
+		b.person("P1").create();
+
+		try (SelectQueryResultStream stream = smood.queryStream(allPersons())) {
+			assertThatThrownBy(stream::hasMore).isInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	private SelectQuery allPersons() {
+		return query().from(Person.T, "p").done();
+	}
+
+}
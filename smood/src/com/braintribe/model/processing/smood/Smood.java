@@ -37,11 +37,16 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import com.braintribe.cc.lcd.CodingMap;
 import com.braintribe.logging.Logger;
 import com.braintribe.model.access.IncrementalAccess;
+import com.braintribe.model.access.SelectQueryResultStream;
 import com.braintribe.model.accessapi.ManipulationRequest;
 import com.braintribe.model.accessapi.ManipulationResponse;
 import com.braintribe.model.accessapi.ReferencesCandidate;
@@ -97,15 +102,18 @@ import com.braintribe.model.processing.meta.cmd.CmdResolverImpl;
 import com.braintribe.model.processing.meta.oracle.BasicModelOracle;
 import com.braintribe.model.processing.meta.oracle.ModelOracle;
 import com.braintribe.model.processing.query.eval.api.EvalTupleSet;
-import com.braintribe.model.processing.query.eval.api.QueryEvaluationContext;
 import com.braintribe.model.processing.query.eval.api.function.QueryFunctionAspect;
 import com.braintribe.model.processing.query.eval.api.function.QueryFunctionExpert;
 import com.braintribe.model.processing.query.eval.api.function.aspect.LocaleQueryAspect;
 import com.braintribe.model.processing.query.eval.api.repo.IndexInfo;
 import com.braintribe.model.processing.query.eval.api.repo.ReflectiveIndexingRepository;
 import com.braintribe.model.processing.query.eval.api.repo.RepositoryInfo;
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
 import com.braintribe.model.processing.query.eval.context.BasicQueryEvaluationContext;
 import com.braintribe.model.processing.query.planner.QueryPlanner;
+import com.braintribe.model.processing.query.planner.cache.ParameterizedQueryPlan;
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCache;
+import com.braintribe.model.processing.query.planner.cache.QueryPlanCacheStatistics;
 import com.braintribe.model.processing.query.support.QueryAdaptingTools;
 import com.braintribe.model.processing.query.support.QueryFunctionTools;
 import com.braintribe.model.processing.query.support.QueryResultBuilder;
@@ -157,6 +165,12 @@ import com.braintribe.utils.i18n.I18nTools;
  * The r/w also indicates what kind of lock is needed for that method. (So basically every single underscore method is either called by another
  * underscore method, or by a method which is wrapped in a matching lock-related try-finally block).
  * 
+ * <h4>IMPLEMENTATION: Optimistic reads</h4>
+ * 
+ * Read methods do not acquire the read lock directly, but go via {@link #read(Supplier)} (or {@link #readIndex} in case of plain index lookups),
+ * and write methods change the indices via {@link #w_mutateIndices(Runnable)}. By default this is the same as using the {@link ReadWriteLock},
+ * see {@link #setOptimisticReads(boolean)} for the alternative.
+ * 
  * @author peter.gazdik
  * @author dirk.scheffler
  */
@@ -186,11 +200,20 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	private final ManipulationListenerImpl manipulationListener = new ManipulationListenerImpl();
 
 	private final QueryPlanner queryPlanner;
+	private final QueryPlanCache queryPlanCache = new QueryPlanCache();
+	private boolean queryPlanCaching = true;
+	private boolean costBasedQueryPlanning;
+	/** Population size when the cached query plans were last invalidated due to statistics change, see {@link #r_query(SelectQuery)}. */
+	private volatile int plannedPopulationSize;
+	private int parallelQueryEvaluationThreshold = BasicQueryEvaluationContext.DEFAULT_PARALLEL_EVALUATION_THRESHOLD;
 	private final PopulationManager populationManager;
 
 	private Lock readLock;
 	private Lock writeLock;
 
+	/** Only set if {@link #setOptimisticReads(boolean) optimistic reads} are enabled, write-locked only while the indices are being changed. */
+	private StampedLock indexStampLock;
+
 	/**
 	 * A smood instance needs two things to work - a {@link ReadWriteLock} and a {@link NotifyingGmSession}. Only the {@link ReadWriteLock} is
 	 * mandatory, if no session is given, a new one is created internally (but note that all entities inside this smood will be attached to that
@@ -222,6 +245,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		this.ignorePartitions = true;
 
 		this.populationManager = new PopulationManager(referenceByEntity.keySet());
+		this.populationManager.setIndexChangeListener(queryPlanCache::invalidate);
 
 		this.setLocaleProvider(I18nTools.localeProvider);
 	}
@@ -231,6 +255,141 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		this.writeLock = rwLock.writeLock();
 	}
 
+	/**
+	 * Enables the optimistic read mode, in which index lookups (finding an entity by id and the {@link ReflectiveIndexingRepository} methods) do not
+	 * acquire the read lock, as long as the index they read is {@link LookupIndex#isConcurrent() concurrent} (see
+	 * {@link #setConcurrentIndices(boolean)}). Instead, the reading is performed optimistically, the result is copied and only accepted if the
+	 * indices were not changed in the meantime, otherwise the reading is repeated while no index change is in progress. This means such readers
+	 * do not block writers and writers only block such readers for the duration of an actual index change (e.g. indexing a single entity), not
+	 * for the whole write operation.
+	 * <p>
+	 * Queries and all the other read methods always acquire the read lock, as they also read structures which are not thread-safe.
+	 * <p>
+	 * This mode only makes sense if the configured {@link ReadWriteLock} actually provides mutual exclusion for writers (e.g. a
+	 * {@link java.util.concurrent.locks.ReentrantReadWriteLock}), as writes are still serialized via its write lock.
+	 * <p>
+	 * Note that an optimistic reader might observe an inconsistent state of the index while it is being changed. A {@link RuntimeException} thrown
+	 * in such case is ignored and the read is repeated.
+	 * <p>
+	 * This must be configured before the smood is accessed by multiple threads. Default is <tt>false</tt>.
+	 */
+	public void setOptimisticReads(boolean optimisticReads) {
+		this.indexStampLock = optimisticReads ? new StampedLock() : null;
+	}
+
+	/**
+	 * Configures whether query plans are cached, so that select queries which only differ in their literal values are only planned once. The
+	 * cache is invalidated automatically whenever the indices or the partition settings change. See {@link QueryPlanCache}.
+	 * <p>
+	 * Default is <tt>true</tt>.
+	 */
+	public void setQueryPlanCaching(boolean queryPlanCaching) {
+		this.queryPlanCaching = queryPlanCaching;
+		this.queryPlanCache.invalidate();
+	}
+
+	public QueryPlanCacheStatistics getQueryPlanCacheStatistics() {
+		return queryPlanCache.getStatistics();
+	}
+
+	/**
+	 * Configures whether the query planner uses the statistics of this Smood (entity counts and numbers of distinct index keys, see
+	 * {@link #provideStatistics()}) to choose the order in which the sources are joined, and whether to join via an index lookup or via a filtered
+	 * scan. See {@link QueryPlanner#costBasedPlanning(boolean)}.
+	 * <p>
+	 * As such query plans depend on the data, cached query plans are invalidated whenever the total population size doubles or halves.
+	 * <p>
+	 * Default is <tt>false</tt>.
+	 */
+	public void setCostBasedQueryPlanning(boolean costBasedQueryPlanning) {
+		this.costBasedQueryPlanning = costBasedQueryPlanning;
+		this.queryPlanner.costBasedPlanning(costBasedQueryPlanning);
+		this.queryPlanCache.invalidate();
+	}
+
+	/**
+	 * Minimal population size for which a full scan (with a filter and projection on top of it) is evaluated in parallel, on the common
+	 * fork/join pool. See {@link BasicQueryEvaluationContext#setParallelEvaluationThreshold(int)}.
+	 * <p>
+	 * Default is {@value BasicQueryEvaluationContext#DEFAULT_PARALLEL_EVALUATION_THRESHOLD}, {@link Integer#MAX_VALUE} disables the parallel
+	 * evaluation.
+	 */
+	public void setParallelQueryEvaluationThreshold(int parallelQueryEvaluationThreshold) {
+		this.parallelQueryEvaluationThreshold = parallelQueryEvaluationThreshold;
+	}
+
+	private <T> T read(Supplier<T> reader) {
+		readLock.lock();
+		try {
+			return reader.get();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Reads from given index optimistically if {@link #setOptimisticReads(boolean) enabled} and the index is {@link LookupIndex#isConcurrent()
+	 * concurrent}, otherwise under the read lock. The result is copied with given copier, so that no live view of the index is returned.
+	 * <p>
+	 * If the optimistic read is invalidated by an index change, the read is repeated with the {@link #indexStampLock} read-locked, i.e. it only
+	 * waits for the index change to finish, not for the entire write operation.
+	 */
+	private <I extends LookupIndex, T> T readIndex(Supplier<I> indexSupplier, Function<? super I, T> reader, UnaryOperator<T> copier) {
+		StampedLock stampLock = indexStampLock;
+		if (stampLock == null)
+			return read(() -> reader.apply(indexSupplier.get()));
+
+		long stamp = stampLock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				I index = indexSupplier.get();
+				if (!index.isConcurrent())
+					return read(() -> reader.apply(indexSupplier.get()));
+
+				T result = copier.apply(reader.apply(index));
+				if (stampLock.validate(stamp))
+					return result;
+
+			} catch (RuntimeException e) {
+				// the index might have been in an inconsistent state due to a concurrent change, in which case we simply read again
+				if (stampLock.validate(stamp))
+					throw e;
+			}
+		}
+
+		stamp = stampLock.readLock();
+		try {
+			I index = indexSupplier.get();
+			if (index.isConcurrent())
+				return copier.apply(reader.apply(index));
+
+		} finally {
+			stampLock.unlockRead(stamp);
+		}
+
+		return read(() -> reader.apply(indexSupplier.get()));
+	}
+
+	/**
+	 * Performs given change of the indices. If {@link #setOptimisticReads(boolean) optimistic reads} are enabled, the {@link #indexStampLock} is
+	 * write-locked during the change, so that the optimistic readers notice it. As that lock is not reentrant, given mutation must not call this
+	 * method again.
+	 */
+	private void w_mutateIndices(Runnable mutation) {
+		StampedLock stampLock = indexStampLock;
+		if (stampLock == null) {
+			mutation.run();
+			return;
+		}
+
+		long stamp = stampLock.writeLock();
+		try {
+			mutation.run();
+		} finally {
+			stampLock.unlockWrite(stamp);
+		}
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public Set<GenericEntity> getAllEntities() {
@@ -249,12 +408,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	}
 
 	private <T extends GenericEntity> Collection<T> getEntitiesPerTypeInternal(EntityType<T> entityType) {
-		readLock.lock();
-		try {
-			return r_getEntitiesPerTypeInternal(entityType);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_getEntitiesPerTypeInternal(entityType));
 	}
 
 	private <T extends GenericEntity> Collection<T> r_getEntitiesPerTypeInternal(EntityType<T> entityType) {
@@ -319,6 +473,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	public void setIgnorePartitions(boolean ignorePartitions) {
 		this.ignorePartitions = ignorePartitions;
 		this.queryPlanner.ignorePartitions(ignorePartitions);
+		this.queryPlanCache.invalidate();
 
 		if (ignorePartitions)
 			entityByReference = CodingMap.create(PartitionIgnoringEntRefHashingComparator.INSTANCE);
@@ -571,7 +726,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 
 	private void w_unregisterEntity(GenericEntity entity) {
 		entityByReference.remove(referenceByEntity.remove(entity));
-		populationManager.w_removeEntity(entity);
+		w_mutateIndices(() -> populationManager.w_removeEntity(entity));
 	}
 
 	/** {@inheritDoc} */
@@ -587,12 +742,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public <T extends GenericEntity> T getEntity(EntityReference entityReference) {
-		readLock.lock();
-		try {
-			return r_getEntity(entityReference);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_getEntity(entityReference));
 	}
 
 	private <T extends GenericEntity> T r_getEntity(EntityReference entityReference) {
@@ -619,39 +769,83 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public SelectQueryResult query(SelectQuery query) {
-		readLock.lock();
-		try {
-			return r_query(query);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_query(query));
 	}
 
 	protected SelectQueryResult r_query(SelectQuery query) {
 		SmoodLogging.selectQuery(query);
 
-		QueryPlan queryPlan = queryPlanner.buildQueryPlan(query);
+		SelectQueryResult result = r_evaluate(query, parallelQueryEvaluationThreshold, QueryResultBuilder::buildQueryResult);
+
+		SmoodLogging.selectQueryEvaluationFinished();
+
+		return result;
+	}
+
+	/**
+	 * Lazily evaluated variant of {@link #query(SelectQuery)}, where the rows are only computed while the returned stream is being iterated.
+	 * <p>
+	 * The stream works on the live data rather than on a copy, so the read lock is acquired by this method and held until the stream is iterated
+	 * through or {@link SelectQueryResultStream#close() closed}. This means:
+	 * <ul>
+	 * <li>The stream sees a consistent state of this Smood, but all writes are blocked while it is open.
+	 * <li>The stream must be closed by the thread which opened it, as the read lock is typically owned by that thread.
+	 * <li>The thread which opened the stream must not write to this Smood while the stream is open, as the read lock cannot be upgraded to a write
+	 * lock, which would lead to a deadlock.
+	 * <li>{@link #setOptimisticReads(boolean) Optimistic reads} are not used, as a lazy evaluation cannot be repeated in case of a concurrent write.
+	 * </ul>
+	 * The query is never {@link #setParallelQueryEvaluationThreshold(int) evaluated in parallel}, as that would evaluate the entire population
+	 * eagerly.
+	 */
+	@Override
+	public SelectQueryResultStream queryStream(SelectQuery query) {
+		Lock lock = readLock;
+		lock.lock();
+		try {
+			SmoodLogging.selectQuery(query);
+
+			return r_evaluate(query, Integer.MAX_VALUE,
+					(tuples, tupleSize) -> QueryResultBuilder.buildQueryResultStream(tuples, tupleSize, lock::unlock));
+
+		} catch (RuntimeException | Error e) {
+			lock.unlock();
+			throw e;
+		}
+	}
+
+	private <R> R r_evaluate(SelectQuery query, int parallelEvaluationThreshold, BiFunction<EvalTupleSet, Integer, R> resultBuilder) {
+		if (costBasedQueryPlanning)
+			invalidatePlansIfStatisticsChanged();
+
+		ParameterizedQueryPlan plan = queryPlanCaching ? queryPlanCache.resolve(query, queryPlanner::buildQueryPlan)
+				: new ParameterizedQueryPlan(queryPlanner.buildQueryPlan(query));
+		QueryPlan queryPlan = plan.getQueryPlan();
 
 		SmoodLogging.queryPlan(queryPlan);
 
-		QueryEvaluationContext context = new BasicQueryEvaluationContext(this, queryPlan, functionExperts, functionAspectProviders);
+		BasicQueryEvaluationContext context = new BasicQueryEvaluationContext(this, queryPlan, functionExperts, functionAspectProviders,
+				plan.getParameterBindings());
+		context.setParallelEvaluationThreshold(parallelEvaluationThreshold);
+
 		EvalTupleSet tuples = context.resolveTupleSet(queryPlan.getTupleSet());
-		SelectQueryResult result = QueryResultBuilder.buildQueryResult(tuples, context.resultComponentsCount());
 
-		SmoodLogging.selectQueryEvaluationFinished();
+		return resultBuilder.apply(tuples, context.resultComponentsCount());
+	}
 
-		return result;
+	private void invalidatePlansIfStatisticsChanged() {
+		int size = referenceByEntity.size();
+		int plannedSize = plannedPopulationSize;
+
+		if (size > 2L * plannedSize || 2L * size < plannedSize) {
+			plannedPopulationSize = size;
+			queryPlanCache.invalidate();
+		}
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public PropertyQueryResult queryProperty(PropertyQuery query) {
-		readLock.lock();
-		try {
-			return r_queryProperty(query);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_queryProperty(query));
 	}
 
 	protected PropertyQueryResult r_queryProperty(PropertyQuery query) {
@@ -683,12 +877,10 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public <T extends GenericEntity> T findEntity(EntityType<T> entityType, Object id) {
-		readLock.lock();
-		try {
-			return r_findEntity(entityType, id);
-		} finally {
-			readLock.unlock();
-		}
+		if (id == null)
+			return null;
+
+		return readIndex(() -> populationManager.getIdIndex(entityType), index -> index.<T> getValue(id), UnaryOperator.identity());
 	}
 
 	protected <T extends GenericEntity> T r_findEntity(EntityType<T> entityType, Object id) {
@@ -701,12 +893,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public <T extends GenericEntity> T findEntity(EntityReference reference) {
-		readLock.lock();
-		try {
-			return r_findEntity(reference);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_findEntity(reference));
 	}
 
 	protected <T extends GenericEntity> T r_findEntity(EntityReference reference) {
@@ -718,12 +905,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 
 	@Override
 	public <T extends GenericEntity> T findEntityByGlobalId(String globalId) {
-		readLock.lock();
-		try {
-			return r_findEntity(GenericEntity.T.getTypeSignature(), globalId);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_findEntity(GenericEntity.T.getTypeSignature(), globalId));
 	}
 
 	private <T extends GenericEntity> T r_findEntity(String typeSignature, String globalId) {
@@ -1030,7 +1212,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		this.metaModel = metaModel;
 		this.modelOracle = newModelOracle(metaModel);
 		this.cmdResolver = newCmdResolver(modelOracle);
-		this.populationManager.w_setCmdResolver(cmdResolver);
+		w_mutateIndices(() -> populationManager.w_setCmdResolver(cmdResolver));
 		this.deleteManipulator = null;
 	}
 
@@ -1050,10 +1232,31 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		this.cmdResolver = cmdResolver;
 		this.modelOracle = cmdResolver.getModelOracle();
 		this.metaModel = modelOracle.getGmMetaModel();
-		this.populationManager.w_setCmdResolver(cmdResolver);
+		w_mutateIndices(() -> populationManager.w_setCmdResolver(cmdResolver));
 		this.deleteManipulator = null;
 	}
 
+	/**
+	 * Configures whether the property indices are backed by concurrent data structures (skip-lists and concurrent hash maps) rather than by plain
+	 * tree and hash maps. See {@link PopulationManager#w_setConcurrentIndices(boolean)}. Default is <tt>false</tt>.
+	 */
+	public void setConcurrentIndices(boolean concurrentIndices) {
+		writeLock.lock();
+		try {
+			w_mutateIndices(() -> populationManager.w_setConcurrentIndices(concurrentIndices));
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Minimal population size for which the re-indexing (done whenever the meta-data changes) is done in parallel, which is only possible with
+	 * {@link #setConcurrentIndices(boolean) concurrent indices}. See {@link PopulationManager#setParallelReIndexingThreshold(int)}.
+	 */
+	public void setParallelReIndexingThreshold(int parallelReIndexingThreshold) {
+		populationManager.setParallelReIndexingThreshold(parallelReIndexingThreshold);
+	}
+
 	private static ModelOracle newModelOracle(GmMetaModel metaModel) {
 		try {
 			return metaModel == null ? null : new BasicModelOracle(metaModel);
@@ -1178,8 +1381,12 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 				}
 			}
 
+			GenericEntity changedEntity = entity;
+			String changedProperty = propertyName;
 			Object oldValue = extractOldValue(changeValueManipulation);
-			populationManager.w_onChangeValue(entity, propertyName, oldValue, changeValueManipulation.getNewValue());
+			Object newValue = changeValueManipulation.getNewValue();
+
+			w_mutateIndices(() -> populationManager.w_onChangeValue(changedEntity, changedProperty, oldValue, newValue));
 		}
 
 		private Object extractOldValue(ChangeValueManipulation changeValueManipulation) {
@@ -1208,7 +1415,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		EntityReference entityReference = entity.reference();
 		w_updateReferenceMapping(entity, entityReference);
 
-		populationManager.w_registerEntity(entity);
+		w_mutateIndices(() -> populationManager.w_registerEntity(entity));
 
 		w_recognizeId(entity);
 	}
@@ -1304,12 +1511,9 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public Collection<? extends GenericEntity> getIndexRange(String indexId, Object from, Boolean fromInclusive, Object to, Boolean toInclusive) {
-		readLock.lock();
-		try {
-			return r_getIndexRange(indexId, from, fromInclusive, to, toInclusive);
-		} finally {
-			readLock.unlock();
-		}
+		return readIndex(() -> populationManager.getMetricIndex(indexId), //
+				index -> index.getRange(from, fromInclusive, to, toInclusive), //
+				Smood::copy);
 	}
 
 	protected Collection<? extends GenericEntity> r_getIndexRange(String indexId, Object from, Boolean fromInclusive, Object to,
@@ -1321,18 +1525,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 
 	@Override
 	public Collection<? extends GenericEntity> getFullRange(String indexId, boolean reverseOrder) {
-		readLock.lock();
-		try {
-			return r_getFullRange(indexId, reverseOrder);
-		} finally {
-			readLock.unlock();
-		}
-	}
-
-	private Collection<? extends GenericEntity> r_getFullRange(String indexId, boolean reverseOrder) {
-		MetricIndex index = populationManager.getMetricIndex(indexId);
-
-		return index.getFullRange(reverseOrder);
+		return readIndex(() -> populationManager.getMetricIndex(indexId), index -> index.getFullRange(reverseOrder), Smood::copy);
 	}
 
 	// ###########################################################################################
@@ -1342,35 +1535,36 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public GenericEntity getValueForIndex(String indexId, Object indexValue) {
-		readLock.lock();
-		try {
-			return r_getValueForIndex(indexId, indexValue);
-		} finally {
-			readLock.unlock();
-		}
+		return readIndex(() -> populationManager.getLookupIndex(indexId), //
+				index -> firstOrNull(index.getValues(indexValue)), //
+				UnaryOperator.identity());
 	}
 
 	protected GenericEntity r_getValueForIndex(String indexId, Object indexValue) {
-		Iterator<? extends GenericEntity> it = r_getAllValuesForIndex(indexId, indexValue).iterator();
+		return firstOrNull(r_getAllValuesForIndex(indexId, indexValue));
+	}
+
+	private static GenericEntity firstOrNull(Collection<? extends GenericEntity> values) {
+		Iterator<? extends GenericEntity> it = values.iterator();
 		return it.hasNext() ? it.next() : null;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Set<? extends GenericEntity> getAllValuesForIndices(String indexId, Collection<?> indexValues) {
-		readLock.lock();
-		try {
-			return r_getAllValuesForIndices(indexId, indexValues);
-		} finally {
-			readLock.unlock();
-		}
+		// the reader creates a new set, so no copying is needed
+		return readIndex(() -> populationManager.getLookupIndex(indexId), index -> valuesForIndices(index, indexValues), UnaryOperator.identity());
 	}
 
 	protected Set<? extends GenericEntity> r_getAllValuesForIndices(String indexId, Collection<?> indexValues) {
+		return valuesForIndices(populationManager.getLookupIndex(indexId), indexValues);
+	}
+
+	private static Set<? extends GenericEntity> valuesForIndices(LookupIndex index, Collection<?> indexValues) {
 		Set<GenericEntity> result = newSet();
 
 		for (Object value : indexValues)
-			result.addAll(r_getAllValuesForIndex(indexId, value));
+			result.addAll(index.getValues(value));
 
 		return result;
 	}
@@ -1378,12 +1572,7 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public Collection<? extends GenericEntity> getAllValuesForIndex(String indexId, Object indexValue) {
-		readLock.lock();
-		try {
-			return r_getAllValuesForIndex(indexId, indexValue);
-		} finally {
-			readLock.unlock();
-		}
+		return readIndex(() -> populationManager.getLookupIndex(indexId), index -> index.getValues(indexValue), Smood::copy);
 	}
 
 	protected Collection<? extends GenericEntity> r_getAllValuesForIndex(String indexId, Object indexValue) {
@@ -1392,6 +1581,10 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 		return index.getValues(indexValue);
 	}
 
+	private static Collection<? extends GenericEntity> copy(Collection<? extends GenericEntity> values) {
+		return newList(values);
+	}
+
 	// ###########################################################################################
 	// ## . . . . . . . . . . . . . . Indexing Repository . . . . . . . . . . . . . . . . . . . ##
 	// ###########################################################################################
@@ -1411,18 +1604,24 @@ public class Smood implements SmoodInterface, IncrementalAccess, ReflectiveIndex
 	/** {@inheritDoc} */
 	@Override
 	public IndexInfo provideIndexInfo(String typeSignature, String propertyName) {
-		readLock.lock();
-		try {
-			return r_provideIndexInfo(typeSignature, propertyName);
-		} finally {
-			readLock.unlock();
-		}
+		return read(() -> r_provideIndexInfo(typeSignature, propertyName));
 	}
 
 	protected IndexInfo r_provideIndexInfo(String typeSignature, String propertyName) {
 		return populationManager.provideIndexInfo(typeSignature, propertyName);
 	}
 
+	/**
+	 * Same as with {@link #provideRepositoryInfo()}, the values of the returned statistics are read without any synchronization, so this is only
+	 * intended to be used by the query planner.
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RepositoryStatistics provideStatistics() {
+		return populationManager;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public GenericEntity resolveReference(EntityReference reference) {
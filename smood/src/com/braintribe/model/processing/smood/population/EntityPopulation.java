@@ -22,6 +22,10 @@ import com.braintribe.model.generic.reflection.EntityType;
 import com.braintribe.model.generic.reflection.GenericModelType;
 import com.braintribe.model.generic.reflection.Property;
 import com.braintribe.model.meta.data.query.IndexType;
+import com.braintribe.model.processing.smood.population.index.ConcurrentMultiLookupIndex;
+import com.braintribe.model.processing.smood.population.index.ConcurrentMultiMetricIndex;
+import com.braintribe.model.processing.smood.population.index.ConcurrentUniqueLookupIndex;
+import com.braintribe.model.processing.smood.population.index.ConcurrentUniqueMetricIndex;
 import com.braintribe.model.processing.smood.population.index.IndexKind;
 import com.braintribe.model.processing.smood.population.index.LookupIndex;
 import com.braintribe.model.processing.smood.population.index.MetricIndex;
@@ -72,13 +76,37 @@ public class EntityPopulation {
 	}
 
 	public void w_registerEntity(GenericEntity entity) {
+		w_registerEntity(entity, true);
+	}
+
+	/**
+	 * @param includeGlobalId
+	 *            <tt>false</tt> iff the entities are being registered in parallel, because the globalId index is shared by all the types and is not
+	 *            thread-safe. In that case {@link #w_registerGlobalId(GenericEntity)} has to be called afterwards (by a single thread).
+	 */
+	public void w_registerEntity(GenericEntity entity, boolean includeGlobalId) {
 		for (Property p : et.getProperties()) {
 			// this should be cached so we don't have to call CMD each time
-			if (isIndexed(p))
+			if (isIndexed(p) && (includeGlobalId || !p.isGlobalId()))
 				w_addEntityToIndex(entity, p);
 		}
 	}
 
+	public void w_registerGlobalId(GenericEntity entity) {
+		w_addEntityToIndex(entity, et.getProperty(GenericEntity.globalId));
+	}
+
+	/**
+	 * Creates all the indices for this type (and thus also {@link EntityPopulation}s of all the super-types), and resolves all the relevant
+	 * meta-data. After this, registering entities of this type does not modify any shared structure but the indices themselves, so
+	 * {@link #w_registerEntity(GenericEntity, boolean)} can be invoked in parallel if the indices are concurrent.
+	 */
+	public void w_prepareIndices() {
+		for (Property p : et.getProperties())
+			if (isIndexed(p) && !p.isGlobalId())
+				w_acquireIndex(p);
+	}
+
 	/* only called if p is indexed property */
 	private void w_addEntityToIndex(GenericEntity entity, Property p) {
 		if (p.isAbsent(entity))
@@ -181,12 +209,25 @@ public class EntityPopulation {
 				return new UniqueLookupIndex();
 			case uniqueMetric:
 				return new UniqueMetricIndex(type);
+			case concurrentMultiLookup:
+				return new ConcurrentMultiLookupIndex(type);
+			case concurrentMultiMetric:
+				return new ConcurrentMultiMetricIndex(type);
+			case concurrentUniqueLookup:
+				return new ConcurrentUniqueLookupIndex();
+			case concurrentUniqueMetric:
+				return new ConcurrentUniqueMetricIndex(type);
 		}
 
 		throw new UnsupportedEnumException("Unknown index kind: " + indexKind + ". Property: " + propertyInfo(p));
 	}
 
 	private IndexKind getIndexKind(IndexType indexType, Property p) {
+		IndexKind result = getSequentialIndexKind(indexType, p);
+		return populationManager.concurrentIndices ? toConcurrent(result) : result;
+	}
+
+	private IndexKind getSequentialIndexKind(IndexType indexType, Property p) {
 		if (p.isIdentifier())
 			return indexType == IndexType.metric ? IndexKind.multiMetric : IndexKind.multiLookup;
 
@@ -207,6 +248,21 @@ public class EntityPopulation {
 		throw new UnsupportedEnumException("Unknown index type: " + indexType + ". Property: " + propertyInfo(p));
 	}
 
+	private static IndexKind toConcurrent(IndexKind indexKind) {
+		switch (indexKind) {
+			case multiLookup:
+				return IndexKind.concurrentMultiLookup;
+			case multiMetric:
+				return IndexKind.concurrentMultiMetric;
+			case uniqueLookup:
+				return IndexKind.concurrentUniqueLookup;
+			case uniqueMetric:
+				return IndexKind.concurrentUniqueMetric;
+			default:
+				return indexKind;
+		}
+	}
+
 	private String propertyInfo(Property p) {
 		return et.getTypeSignature() + "." + p.getName();
 	}
@@ -20,11 +20,15 @@ import static com.braintribe.utils.lcd.CollectionTools2.newConcurrentMap;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
+import com.braintribe.logging.Logger;
 import com.braintribe.model.generic.GMF;
 import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.generic.enhance.EnhancedEntity;
@@ -36,12 +40,14 @@ import com.braintribe.model.generic.reflection.Property;
 import com.braintribe.model.meta.data.query.Index;
 import com.braintribe.model.processing.meta.cmd.CmdResolver;
 import com.braintribe.model.processing.query.eval.api.repo.IndexInfo;
-import com.braintribe.model.processing.query.eval.api.repo.RepositoryInfo;
+import com.braintribe.model.processing.query.eval.api.repo.RepositoryStatistics;
 import com.braintribe.model.processing.smood.Smood;
 import com.braintribe.model.processing.smood.population.index.FilteringLookupIndex;
+import com.braintribe.model.processing.smood.population.index.IndexKind;
 import com.braintribe.model.processing.smood.population.index.LookupIndex;
 import com.braintribe.model.processing.smood.population.index.MetricIndex;
 import com.braintribe.model.processing.smood.population.index.MultiMetricIndex;
+import com.braintribe.model.processing.smood.population.index.SmoodIndex;
 import com.braintribe.model.processing.smood.population.index.UniqueLookupIndex;
 import com.braintribe.model.processing.smood.population.info.IndexInfoImpl;
 import com.braintribe.model.processing.smood.population.info.RepositoryInfoImpl;
@@ -58,11 +64,15 @@ import com.braintribe.model.query.PropertyQuery;
  * 
  * @see EntityPopulation
  */
-public class PopulationManager {
+public class PopulationManager implements RepositoryStatistics {
 
 	public static final String GLOBAL_ID_INDEX_ID = globalIdIndexId(GenericEntity.T.getTypeSignature());
 
-	public final RepositoryInfo repositoryInfo = new RepositoryInfoImpl();
+	public static final int DEFAULT_PARALLEL_RE_INDEXING_THRESHOLD = 10_000;
+
+	private static final Logger log = Logger.getLogger(PopulationManager.class);
+
+	public final RepositoryInfoImpl repositoryInfo = new RepositoryInfoImpl();
 
 	/** Population from the outside, used when re-indexing. */
 	private final Collection<GenericEntity> population;
@@ -79,6 +89,11 @@ public class PopulationManager {
 
 	protected final MetaDataResolver mdResolver = new MetaDataResolver();
 
+	/** @see #w_setConcurrentIndices(boolean) */
+	protected volatile boolean concurrentIndices;
+	private int parallelReIndexingThreshold = DEFAULT_PARALLEL_RE_INDEXING_THRESHOLD;
+	private Runnable indexChangeListener = () -> { /* NO OP */ };
+
 	private static final MetricIndex EMPTY_INDEX = new MultiMetricIndex(GenericModelTypeReflection.TYPE_INTEGER);
 
 	protected final LookupIndex globalIdIndex = newGlobalIdIndex();
@@ -113,6 +128,40 @@ public class PopulationManager {
 		w_forceReIndexing();
 	}
 
+	/**
+	 * Configures whether property indices should be thread-safe (backed by concurrent maps, see {@link IndexKind}), so that they can be read while
+	 * being modified, and modified by multiple threads as long as they do not touch the same entity. If the value changes, all the entities are
+	 * re-indexed.
+	 * <p>
+	 * Note that the globalId index is not affected by this setting.
+	 */
+	public void w_setConcurrentIndices(boolean concurrentIndices) {
+		if (this.concurrentIndices == concurrentIndices)
+			return;
+
+		this.concurrentIndices = concurrentIndices;
+
+		w_forceReIndexing();
+	}
+
+	/**
+	 * Minimal population size for which the re-indexing is done in parallel, given {@link #w_setConcurrentIndices(boolean) concurrent indices} are
+	 * used. Default is {@value #DEFAULT_PARALLEL_RE_INDEXING_THRESHOLD}.
+	 */
+	public void setParallelReIndexingThreshold(int parallelReIndexingThreshold) {
+		this.parallelReIndexingThreshold = parallelReIndexingThreshold;
+	}
+
+	/**
+	 * Sets a listener which is notified whenever the set of indices changes, i.e. when a new index is created or when the entire population is
+	 * re-indexed due to a meta-data change. This is used to invalidate cached query plans, which depend on the available indices.
+	 * <p>
+	 * The listener is invoked after the change was made, possibly from multiple threads in case of a parallel re-indexing.
+	 */
+	public void setIndexChangeListener(Runnable indexChangeListener) {
+		this.indexChangeListener = indexChangeListener;
+	}
+
 	/**
 	 * We re-index all the entities, but we keep the original id indices. That is necessary, because in some cases when
 	 * resolving meta-data for entities (regarding which properties are indexed), the "cortex" access might trigger a
@@ -120,6 +169,8 @@ public class PopulationManager {
 	 * missing in the Smood if we got rid of the id-index.
 	 */
 	private void w_forceReIndexing() {
+		long start = System.currentTimeMillis();
+
 		allIndices.clear();
 		metricIndices.clear();
 		entityPopulations.clear();
@@ -127,10 +178,57 @@ public class PopulationManager {
 		for (Entry<String, LookupIndex> entry : signatureToGlobalIdIndex.entrySet())
 			allIndices.put(globalIdIndexId(entry.getKey()), entry.getValue());
 
+		if (concurrentIndices && population.size() >= parallelReIndexingThreshold)
+			w_reIndexInParallel();
+		else
+			w_reIndexSequentially();
+
+		long durationMs = System.currentTimeMillis() - start;
+		repositoryInfo.onReIndexingFinished(durationMs);
+		indexChangeListener.run();
+
+		log.debug(() -> "Re-indexed " + population.size() + " entities in " + durationMs + "ms"
+				+ (repositoryInfo.isParallelReIndexing() ? " (in parallel)." : "."));
+	}
+
+	private void w_reIndexSequentially() {
+		repositoryInfo.onReIndexingStarted(population.size(), 0, false);
+
 		for (GenericEntity entity : population)
 			w_registerEntity(entity);
 	}
 
+	/**
+	 * Only possible with {@link #w_setConcurrentIndices(boolean) concurrent indices}. First all the {@link EntityPopulation}s and their indices are
+	 * created on the current thread (this also resolves all the relevant meta-data, which might query the Smood itself in case of a cortex access),
+	 * then the entities are registered in parallel, and finally the (non-concurrent) globalId index is filled.
+	 */
+	private void w_reIndexInParallel() {
+		Map<EntityType<?>, List<GenericEntity>> entitiesByType = population.stream() //
+				.collect(Collectors.groupingBy(GenericEntity::entityType));
+
+		repositoryInfo.onReIndexingStarted(population.size(), entitiesByType.size(), true);
+
+		for (EntityType<?> et : entitiesByType.keySet())
+			w_acquireEntityPopulation(et).w_prepareIndices();
+
+		entitiesByType.entrySet().parallelStream() //
+				.forEach(this::w_reIndexType);
+
+		for (GenericEntity entity : population)
+			entityPopulations.get(entity.entityType()).w_registerGlobalId(entity);
+	}
+
+	private void w_reIndexType(Entry<EntityType<?>, List<GenericEntity>> entry) {
+		EntityPopulation entityPopulation = entityPopulations.get(entry.getKey());
+		List<GenericEntity> entities = entry.getValue();
+
+		entities.parallelStream() //
+				.forEach(entity -> entityPopulation.w_registerEntity(entity, false));
+
+		repositoryInfo.onTypeReIndexed(entities.size());
+	}
+
 	public <T extends GenericEntity> Collection<T> getEntirePopulation(EntityType<?> entityType) {
 		return (Collection<T>) getIdIndex(entityType).allValues();
 	}
@@ -172,6 +270,34 @@ public class PopulationManager {
 		return index != null ? index.getIndexInfo() : null;
 	}
 
+	// ###########################################################################################
+	// ## . . . . . . . . . . . . . . . . . . Statistics . . . . . . . . . . . . . . . . . . . ##
+	// ###########################################################################################
+
+	/**
+	 * Returns the number of entities of given type, read from the size of the id index. As with {@link #provideIndexInfo(String, String)}, this is
+	 * not synchronized and is only intended to be called by someone who already owns a lock, e.g. the query planner.
+	 */
+	@Override
+	public long entityCount(String typeSignature) {
+		EntityType<?> et = GMF.getTypeReflection().findEntityType(typeSignature);
+		if (et == null)
+			return UNKNOWN;
+
+		return count(getIdIndex(et), SmoodIndex::entityCount);
+	}
+
+	/** Returns the number of distinct keys of given index. Same synchronization note as for {@link #entityCount(String)} applies. */
+	@Override
+	public long distinctKeyCount(String indexId) {
+		LookupIndex index = allIndices.get(indexId);
+		return index == null ? UNKNOWN : count(index, SmoodIndex::distinctKeyCount);
+	}
+
+	private static long count(LookupIndex index, ToIntFunction<SmoodIndex> counter) {
+		return index instanceof SmoodIndex ? counter.applyAsInt((SmoodIndex) index) : UNKNOWN;
+	}
+
 	private static String globalIdIndexId(String typeSignature) {
 		return typeSignature + ":" + GenericEntity.globalId;
 	}
@@ -268,6 +394,8 @@ public class PopulationManager {
 			metricIndices.put(indexInfo.getIndexId(), (MetricIndex) propertyIndex);
 
 		repositoryInfo.getIndexInfos().add(indexInfo);
+
+		indexChangeListener.run();
 	}
 
 }
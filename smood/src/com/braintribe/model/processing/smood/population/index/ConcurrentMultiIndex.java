@@ -0,0 +1,206 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.population.index;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.GenericModelType;
+import com.braintribe.model.generic.reflection.VdHolder;
+import com.braintribe.model.processing.query.eval.tools.EntityComparator;
+import com.braintribe.model.processing.smood.population.SmoodIndexTools;
+import com.braintribe.model.processing.smood.population.info.IndexInfoImpl;
+import com.braintribe.utils.collection.impl.NullHandlingComparator;
+
+/**
+ * Thread-safe counterpart of {@link MultiIndex}, backed by a {@link ConcurrentSkipListMap}.
+ * <p>
+ * As the skip-list cannot contain multiple values for the same key, the map keys are {@link MultiIndexKey}s, i.e. pairs of the actual index value
+ * and the indexed entity, ordered by the index value first and by the entity's {@link EntityComparator runtime id} second.
+ * 
+ * @see IndexKind#concurrentMultiLookup
+ * @see IndexKind#concurrentMultiMetric
+ */
+public abstract class ConcurrentMultiIndex extends SmoodIndex {
+
+	protected final IndexInfoImpl indexInfo;
+	protected final Comparator<Object> keyComparator;
+	protected final ConcurrentSkipListMap<Object, GenericEntity> map;
+	/** Number of entities per index value (keyed by {@link MultiIndexKey#lowerBound(Object)}), so that distinct keys are counted atomically. */
+	private final ConcurrentSkipListMap<Object, Integer> keyEntityCounts;
+
+	// counted explicitly, as the size of a ConcurrentSkipListMap is not computed in constant time
+	private final AtomicInteger entityCount = new AtomicInteger();
+	private final AtomicInteger distinctKeyCount = new AtomicInteger();
+
+	public ConcurrentMultiIndex(GenericModelType keyType) {
+		this.indexInfo = new IndexInfoImpl();
+		this.keyComparator = new NullHandlingComparator<>(SmoodIndexTools.getComparator(keyType));
+		this.map = new ConcurrentSkipListMap<>(new MultiIndexKeyComparator(keyComparator));
+		this.keyEntityCounts = new ConcurrentSkipListMap<>(new MultiIndexKeyComparator(keyComparator));
+	}
+
+	@Override
+	public void addEntity(GenericEntity entity, Object value) {
+		map.put(new MultiIndexKey(value, entity), entity);
+		entityCount.incrementAndGet();
+
+		if (keyEntityCounts.merge(MultiIndexKey.lowerBound(value), 1, Integer::sum) == 1)
+			distinctKeyCount.incrementAndGet();
+	}
+
+	@Override
+	public void removeEntity(GenericEntity entity, Object propertyValue) {
+		if (map.remove(new MultiIndexKey(propertyValue, entity)) == null)
+			throw new IllegalStateException("Entity was not in the index (" + indexInfo.getIndexId() + "), but should have been. Entity: " + entity
+					+ ", property value: " + propertyValue);
+
+		onRemoved(propertyValue);
+	}
+
+	private void onRemoved(Object value) {
+		entityCount.decrementAndGet();
+
+		if (keyEntityCounts.computeIfPresent(MultiIndexKey.lowerBound(value), (key, count) -> count == 1 ? null : count - 1) == null)
+			distinctKeyCount.decrementAndGet();
+	}
+
+	@Override
+	public void onChangeValue(GenericEntity entity, Object oldValue, Object newValue) {
+		if (!VdHolder.isVdHolder(oldValue)) {
+			if (map.remove(new MultiIndexKey(oldValue, entity)) == null)
+				throw new IllegalStateException("Entity was not in the index (" + indexInfo.getIndexId() + "), but should have been. Entity: "
+						+ entity + ", oldValue: " + oldValue + ", newValue: " + newValue);
+
+			onRemoved(oldValue);
+		}
+
+		addEntity(entity, newValue);
+	}
+
+	@Override
+	protected GenericEntity getThisLevelValue(Object indexValue) {
+		Entry<Object, GenericEntity> entry = map.higherEntry(MultiIndexKey.lowerBound(indexValue));
+		if (entry == null)
+			return null;
+
+		return keyComparator.compare(MultiIndexKey.rawKey(entry.getKey()), indexValue) == 0 ? entry.getValue() : null;
+	}
+
+	@Override
+	protected Collection<? extends GenericEntity> getThisLevelValues(Object indexValue) {
+		return map.subMap(MultiIndexKey.lowerBound(indexValue), MultiIndexKey.upperBound(indexValue)).values();
+	}
+
+	@Override
+	protected Collection<? extends GenericEntity> allThisLevelValues() {
+		return map.values();
+	}
+
+	@Override
+	protected boolean isThisLevelConcurrent() {
+		return true;
+	}
+
+	@Override
+	protected int thisLevelEntityCount() {
+		return entityCount.get();
+	}
+
+	@Override
+	protected int thisLevelDistinctKeyCount() {
+		return distinctKeyCount.get();
+	}
+
+	@Override
+	public IndexInfoImpl getIndexInfo() {
+		return indexInfo;
+	}
+
+	/**
+	 * Returns a comparator of index values, which also accepts {@link MultiIndexKey}s, comparing their {@link MultiIndexKey#key index values}. This
+	 * is needed when merging ranges from different levels, where some levels might be unique indices (with raw keys) and other
+	 * {@link ConcurrentMultiIndex}s.
+	 */
+	/* package */ static Comparator<Object> rawKeyComparator(Comparator<Object> keyComparator) {
+		return (k1, k2) -> keyComparator.compare(MultiIndexKey.rawKey(k1), MultiIndexKey.rawKey(k2));
+	}
+
+}
+
+/**
+ * Key of a {@link ConcurrentMultiIndex}. Besides keys for actual entries (with non-null {@link #entity}), there are also lower/upper bound keys,
+ * which are smaller/greater than all actual entries with the same {@link #key}.
+ */
+class MultiIndexKey {
+
+	final Object key;
+	final GenericEntity entity;
+	/** -1 for the lower bound, 1 for the upper bound, 0 for an actual entry. */
+	final int bound;
+
+	MultiIndexKey(Object key, GenericEntity entity) {
+		this(key, entity, 0);
+	}
+
+	private MultiIndexKey(Object key, GenericEntity entity, int bound) {
+		this.key = key;
+		this.entity = entity;
+		this.bound = bound;
+	}
+
+	static MultiIndexKey lowerBound(Object key) {
+		return new MultiIndexKey(key, null, -1);
+	}
+
+	static MultiIndexKey upperBound(Object key) {
+		return new MultiIndexKey(key, null, 1);
+	}
+
+	static Object rawKey(Object o) {
+		return o instanceof MultiIndexKey ? ((MultiIndexKey) o).key : o;
+	}
+
+}
+
+class MultiIndexKeyComparator implements Comparator<Object> {
+
+	private final Comparator<Object> keyComparator;
+
+	public MultiIndexKeyComparator(Comparator<Object> keyComparator) {
+		this.keyComparator = keyComparator;
+	}
+
+	@Override
+	public int compare(Object o1, Object o2) {
+		MultiIndexKey k1 = (MultiIndexKey) o1;
+		MultiIndexKey k2 = (MultiIndexKey) o2;
+
+		int result = keyComparator.compare(k1.key, k2.key);
+		if (result != 0)
+			return result;
+
+		if (k1.bound != 0 || k2.bound != 0)
+			return Integer.compare(k1.bound, k2.bound);
+
+		return EntityComparator.INSTANCE.compare(k1.entity, k2.entity);
+	}
+
+}
@@ -0,0 +1,82 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.population.index;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableMap;
+
+import com.braintribe.model.generic.GenericEntity;
+import com.braintribe.model.generic.reflection.GenericModelType;
+
+/**
+ * Thread-safe counterpart of {@link MultiMetricIndex}.
+ * <p>
+ * Note that the {@link #getNavigableMap() navigable map} is keyed by {@link MultiIndexKey}s, so the ranges are resolved with lower/upper bound keys
+ * rather than with the index values directly.
+ */
+public class ConcurrentMultiMetricIndex extends ConcurrentMultiIndex implements SmoodMetricIndex {
+
+	private final Comparator<Object> rawKeyComparator;
+
+	public ConcurrentMultiMetricIndex(GenericModelType keyType) {
+		super(keyType);
+
+		this.rawKeyComparator = rawKeyComparator(keyComparator);
+	}
+
+	@Override
+	public NavigableMap<Object, GenericEntity> getThisLevelRange(Object from, Boolean fromInclusive, Object to, Boolean toInclusive) {
+		if (fromInclusive == null) {
+			if (toInclusive == null)
+				return map;
+			else
+				return map.headMap(toBound(to, toInclusive), false);
+
+		} else if (toInclusive == null) {
+			return map.tailMap(fromBound(from, fromInclusive), false);
+
+		} else {
+			MultiIndexKey fromKey = fromBound(from, fromInclusive);
+			MultiIndexKey toKey = toBound(to, toInclusive);
+
+			// unlike TreeMap, the skip-list map does not accept an empty range like (x, x)
+			if (map.comparator().compare(fromKey, toKey) > 0)
+				return Collections.emptyNavigableMap();
+
+			return map.subMap(fromKey, false, toKey, false);
+		}
+	}
+
+	private static MultiIndexKey fromBound(Object from, boolean fromInclusive) {
+		return fromInclusive ? MultiIndexKey.lowerBound(from) : MultiIndexKey.upperBound(from);
+	}
+
+	private static MultiIndexKey toBound(Object to, boolean toInclusive) {
+		return toInclusive ? MultiIndexKey.upperBound(to) : MultiIndexKey.lowerBound(to);
+	}
+
+	@Override
+	public Comparator<Object> getKeyComparator() {
+		return rawKeyComparator;
+	}
+
+	@Override
+	public NavigableMap<Object, GenericEntity> getNavigableMap() {
+		return map;
+	}
+
+}
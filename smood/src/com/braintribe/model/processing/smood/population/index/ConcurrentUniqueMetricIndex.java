@@ -0,0 +1,54 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.model.processing.smood.population.index;
+
+import static com.braintribe.model.processing.smood.population.SmoodIndexTools.getComparator;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.braintribe.model.generic.reflection.GenericModelType;
+
+/**
+ * Thread-safe counterpart of {@link UniqueMetricIndex}, backed by a {@link ConcurrentSkipListMap}.
+ */
+public class ConcurrentUniqueMetricIndex extends UniqueMetricIndex {
+
+	private final Comparator<Object> rawKeyComparator;
+
+	public ConcurrentUniqueMetricIndex(GenericModelType keyType) {
+		this(getComparator(keyType));
+	}
+
+	protected ConcurrentUniqueMetricIndex(Comparator<Object> keyComparator) {
+		super(keyComparator, new ConcurrentSkipListMap<>(keyComparator), ConcurrentHashMap.newKeySet());
+
+		this.rawKeyComparator = ConcurrentMultiIndex.rawKeyComparator(keyComparator);
+	}
+
+	@Override
+	protected boolean isThisLevelConcurrent() {
+		return true;
+	}
+
+	/** Sub-type levels might be {@link ConcurrentMultiMetricIndex}s, so we have to be able to compare their keys as well. */
+	@Override
+	public Comparator<Object> getKeyComparator() {
+		return rawKeyComparator;
+	}
+
+}
@@ -79,4 +79,9 @@ public class FilteringLookupIndex implements LookupIndex {
 		return indexInfo;
 	}
 
+	@Override
+	public boolean isConcurrent() {
+		return delegate.isConcurrent();
+	}
+
 }
@@ -16,11 +16,17 @@
 package com.braintribe.model.processing.smood.population.index;
 
 /**
- * 
+ * Kind of index created for an indexed property. The <tt>concurrent*</tt> kinds are thread-safe counterparts of the regular ones, used iff
+ * {@link com.braintribe.model.processing.smood.population.PopulationManager#w_setConcurrentIndices(boolean) concurrent indices} are enabled.
  */
 public enum IndexKind {
 	uniqueLookup,
 	uniqueMetric,
 	multiLookup,
 	multiMetric,
+
+	concurrentUniqueLookup,
+	concurrentUniqueMetric,
+	concurrentMultiLookup,
+	concurrentMultiMetric,
 }
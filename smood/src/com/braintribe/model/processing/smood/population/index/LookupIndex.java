@@ -39,4 +39,9 @@ public interface LookupIndex {
 
 	IndexInfoImpl getIndexInfo();
 
+	/** Returns <tt>true</tt> iff this index (including its sub-type levels, if any) can safely be read while being modified. */
+	default boolean isConcurrent() {
+		return false;
+	}
+
 }
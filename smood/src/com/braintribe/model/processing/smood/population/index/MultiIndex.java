@@ -37,6 +37,10 @@ public abstract class MultiIndex extends SmoodIndex {
 	protected final Comparator<Object> keyComparator;
 	protected final NavigableMultiMap<Object, GenericEntity> map;
 
+	// only modified with a write-lock
+	private int entityCount;
+	private int distinctKeyCount;
+
 	public MultiIndex(GenericModelType keyType) {
 		this.indexInfo = new IndexInfoImpl();
 		this.keyComparator = new NullHandlingComparator<>(SmoodIndexTools.getComparator(keyType));
@@ -45,7 +49,11 @@ public abstract class MultiIndex extends SmoodIndex {
 
 	@Override
 	public void addEntity(GenericEntity entity, Object value) {
+		if (map.get(value) == null)
+			distinctKeyCount++;
+
 		map.put(value, entity);
+		entityCount++;
 	}
 
 	@Override
@@ -53,16 +61,28 @@ public abstract class MultiIndex extends SmoodIndex {
 		if (!map.remove(propertyValue, entity))
 			throw new IllegalStateException("Entity was not in the index (" + indexInfo.getIndexId() + "), but should have been. Entity: " + entity
 					+ ", property value: " + propertyValue);
+
+		onRemoved(propertyValue);
+	}
+
+	private void onRemoved(Object value) {
+		entityCount--;
+
+		if (map.get(value) == null)
+			distinctKeyCount--;
 	}
 
 	@Override
 	public void onChangeValue(GenericEntity entity, Object oldValue, Object newValue) {
-		if (!VdHolder.isVdHolder(oldValue))
+		if (!VdHolder.isVdHolder(oldValue)) {
 			if (!map.remove(oldValue, entity))
 				throw new IllegalStateException("Entity was not in the index (" + indexInfo.getIndexId() + "), but should have been. Entity: "
 						+ entity + ", oldValue: " + oldValue + ", newValue: " + newValue);
 
-		map.put(newValue, entity);
+			onRemoved(oldValue);
+		}
+
+		addEntity(entity, newValue);
 	}
 
 	@Override
@@ -80,6 +100,16 @@ public abstract class MultiIndex extends SmoodIndex {
 		return map.values();
 	}
 
+	@Override
+	protected int thisLevelEntityCount() {
+		return entityCount;
+	}
+
+	@Override
+	protected int thisLevelDistinctKeyCount() {
+		return distinctKeyCount;
+	}
+
 	@Override
 	public IndexInfoImpl getIndexInfo() {
 		return indexInfo;
@@ -19,8 +19,8 @@ import static com.braintribe.utils.lcd.CollectionTools2.asList;
 import static com.braintribe.utils.lcd.CollectionTools2.newList;
 
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.generic.reflection.EntityType;
@@ -39,8 +39,9 @@ import com.braintribe.model.generic.reflection.EntityType;
 public abstract class SmoodIndex implements LookupIndex {
 
 	protected EntityType<?> entityType = GenericEntity.T;
-	protected final List<SmoodIndex> superRootIndices = asList(this);
-	protected final List<SmoodIndex> meAndSubIndices = asList(this);
+	// copy-on-write, as these are only modified when a new index is created, but iterated by every lookup, possibly concurrently
+	protected final List<SmoodIndex> superRootIndices = new CopyOnWriteArrayList<>(asList(this));
+	protected final List<SmoodIndex> meAndSubIndices = new CopyOnWriteArrayList<>(asList(this));
 
 	public void setEntityType(EntityType<?> entityType) {
 		this.entityType = entityType;
@@ -55,13 +56,8 @@ public abstract class SmoodIndex implements LookupIndex {
 				return;
 
 		// the new superIndes is a new superRoot, now we remove all existing superRoots that are it's sub-types
-		Iterator<SmoodIndex> it = superRootIndices.iterator();
-		while (it.hasNext()) {
-			SmoodIndex superRootIndex = it.next();
-			// we skip indices for types assignable to superIndex.entityType, because they are covered by this new super index
-			if (superIndex.entityType.isAssignableFrom(superRootIndex.entityType))
-				it.remove();
-		}
+		// we skip indices for types assignable to superIndex.entityType, because they are covered by this new super index
+		superRootIndices.removeIf(superRootIndex -> superIndex.entityType.isAssignableFrom(superRootIndex.entityType));
 
 		superRootIndices.add(superIndex);
 	}
@@ -103,4 +99,42 @@ public abstract class SmoodIndex implements LookupIndex {
 
 	protected abstract Collection<? extends GenericEntity> allThisLevelValues();
 
+	/** Returns the number of entities in this index, including the entities of sub-types. */
+	public final int entityCount() {
+		int result = 0;
+		for (SmoodIndex index : meAndSubIndices)
+			result += index.thisLevelEntityCount();
+
+		return result;
+	}
+
+	/**
+	 * Returns the number of distinct keys of this index, including the keys of sub-types. This is an estimate, as the same key used on multiple
+	 * levels is counted multiple times.
+	 */
+	public final int distinctKeyCount() {
+		int result = 0;
+		for (SmoodIndex index : meAndSubIndices)
+			result += index.thisLevelDistinctKeyCount();
+
+		return result;
+	}
+
+	@Override
+	public final boolean isConcurrent() {
+		for (SmoodIndex index : meAndSubIndices)
+			if (!index.isThisLevelConcurrent())
+				return false;
+
+		return true;
+	}
+
+	protected boolean isThisLevelConcurrent() {
+		return false;
+	}
+
+	protected abstract int thisLevelEntityCount();
+
+	protected abstract int thisLevelDistinctKeyCount();
+
 }
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.braintribe.model.generic.GenericEntity;
 import com.braintribe.model.generic.reflection.VdHolder;
@@ -36,10 +37,17 @@ abstract class UniqueIndex extends SmoodIndex {
 	protected final Map<Object, GenericEntity> map;
 	protected final Set<GenericEntity> nullValueEntities;
 
+	// atomic, as the map might be a concurrent one, and is then modified without a write-lock
+	private final AtomicInteger keyCount = new AtomicInteger();
+
 	protected UniqueIndex(Map<Object, GenericEntity> map) {
+		this(map, newSet());
+	}
+
+	protected UniqueIndex(Map<Object, GenericEntity> map, Set<GenericEntity> nullValueEntities) {
 		this.indexInfo = new IndexInfoImpl();
 		this.map = map;
-		this.nullValueEntities = newSet();
+		this.nullValueEntities = nullValueEntities;
 	}
 
 	@Override
@@ -49,14 +57,45 @@ abstract class UniqueIndex extends SmoodIndex {
 			return;
 		}
 
+		// putIfAbsent, so that with a concurrent map two threads cannot both index a different entity for the same key
+		GenericEntity otherEntity = map.putIfAbsent(value, entity);
+		if (otherEntity != null) {
+			if (otherEntity != entity)
+				throw alreadyIndexed(indexInfo, value, entity, otherEntity);
+			return;
+		}
+
+		keyCount.incrementAndGet();
+
+		/* The key is claimed on this level before the other levels are checked, and rolled back in case of a conflict. This way, of two threads
+		 * indexing the same key on different levels concurrently, at least one sees the other, i.e. they cannot both succeed. */
 		for (SmoodIndex superRootIndex : superRootIndices) {
-			GenericEntity otherEntity = superRootIndex.getValue(value);
+			otherEntity = findOnOtherLevel(superRootIndex, value, entity);
+			if (otherEntity != null) {
+				if (map.remove(value, entity))
+					keyCount.decrementAndGet();
+
+				throw alreadyIndexed(superRootIndex.getIndexInfo(), value, entity, otherEntity);
+			}
+		}
+	}
+
+	private GenericEntity findOnOtherLevel(SmoodIndex superRootIndex, Object value, GenericEntity entity) {
+		for (SmoodIndex index : superRootIndex.meAndSubIndices) {
+			if (index == this)
+				continue;
+
+			GenericEntity otherEntity = index.getThisLevelValue(value);
 			if (otherEntity != null && otherEntity != entity)
-				throw new IllegalStateException("Another entity is already indexed (" + superRootIndex.getIndexInfo().getIndexId() + ") for key '"
-						+ value + "'. ADDED ENTITY: " + entity + ", INDEXED ENTITY: " + otherEntity);
+				return otherEntity;
 		}
 
-		map.put(value, entity);
+		return null;
+	}
+
+	private static IllegalStateException alreadyIndexed(IndexInfoImpl indexInfo, Object value, GenericEntity entity, GenericEntity otherEntity) {
+		return new IllegalStateException("Another entity is already indexed (" + indexInfo.getIndexId() + ") for key '" + value + "'. ADDED ENTITY: "
+				+ entity + ", INDEXED ENTITY: " + otherEntity);
 	}
 
 	@Override
@@ -75,14 +114,12 @@ abstract class UniqueIndex extends SmoodIndex {
 	@Override
 	public void removeEntity(GenericEntity entity, Object value) {
 		GenericEntity removedEntity = actualRemove(value, entity);
-		if (removedEntity != entity) {
-			// this can only happen if value != null, so we do not have to handle that case
-			map.put(value, removedEntity);
+		if (removedEntity != entity)
 			throw new IllegalStateException("Different entity found in index (" + indexInfo.getIndexId() + ") for key '" + value + "', EXPECTED: "
 					+ entity + ", FOUND : " + removedEntity);
-		}
 	}
 
+	/** Returns the removed entity, or the entity indexed for given key if it is not the given one, in which case nothing is removed. */
 	private GenericEntity actualRemove(Object key, GenericEntity entity) {
 		if (key == null) {
 			nullValueEntities.remove(entity);
@@ -91,8 +128,13 @@ abstract class UniqueIndex extends SmoodIndex {
 		} else if (VdHolder.isVdHolder(key)) {
 			return entity;
 
+		} else if (map.remove(key, entity)) {
+			// conditional remove, so that an entity indexed by another thread is never removed (and has to be put back)
+			keyCount.decrementAndGet();
+			return entity;
+
 		} else {
-			return map.remove(key);
+			return map.get(key);
 		}
 	}
 
@@ -129,6 +171,16 @@ abstract class UniqueIndex extends SmoodIndex {
 		return result;
 	}
 
+	@Override
+	protected int thisLevelEntityCount() {
+		return keyCount.get() + nullValueEntities.size();
+	}
+
+	@Override
+	protected int thisLevelDistinctKeyCount() {
+		return keyCount.get() + (nullValueEntities.isEmpty() ? 0 : 1);
+	}
+
 	@Override
 	public IndexInfoImpl getIndexInfo() {
 		return indexInfo;
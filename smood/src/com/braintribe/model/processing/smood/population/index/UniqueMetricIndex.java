@@ -16,9 +16,11 @@
 package com.braintribe.model.processing.smood.population.index;
 
 import static com.braintribe.model.processing.smood.population.SmoodIndexTools.getComparator;
+import static com.braintribe.utils.lcd.CollectionTools2.newSet;
 
 import java.util.Comparator;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
 
 import com.braintribe.model.generic.GenericEntity;
@@ -37,10 +39,15 @@ public class UniqueMetricIndex extends UniqueIndex implements SmoodMetricIndex {
 	}
 
 	protected UniqueMetricIndex(Comparator<Object> keyComparator) {
-		super(new TreeMap<>(keyComparator));
+		this(keyComparator, new TreeMap<>(keyComparator), newSet());
+	}
+
+	protected UniqueMetricIndex(Comparator<Object> keyComparator, NavigableMap<Object, GenericEntity> navigableMap,
+			Set<GenericEntity> nullValueEntities) {
+		super(navigableMap, nullValueEntities);
 
 		this.keyComparator = keyComparator;
-		this.navigableMap = (NavigableMap<Object, GenericEntity>) map;
+		this.navigableMap = navigableMap;
 	}
 
 	@Override
@@ -18,21 +18,85 @@ package com.braintribe.model.processing.smood.population.info;
 import static com.braintribe.utils.lcd.CollectionTools2.newConcurrentSet;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.braintribe.model.processing.query.eval.api.repo.IndexInfo;
 import com.braintribe.model.processing.query.eval.api.repo.RepositoryInfo;
 
 /**
- * 
+ * Besides the {@link IndexInfo}s this also offers information about the (last) re-indexing of the entire population, which happens every time the
+ * meta-data of the Smood changes. These values are updated during the re-indexing, so they can also be used to monitor its progress from another
+ * thread.
  */
 public class RepositoryInfoImpl implements RepositoryInfo {
 
 	private final Set<IndexInfo> indexInfos = newConcurrentSet();
-	
+
+	private volatile boolean reIndexing;
+	private volatile boolean parallelReIndexing;
+	private volatile int entitiesToReIndex;
+	private volatile int typesToReIndex;
+	private final AtomicInteger reIndexedTypes = new AtomicInteger();
+	private final AtomicLong reIndexedEntities = new AtomicLong();
+	private volatile long lastReIndexingDurationMs = -1;
+
 	@Override
 	public Set<IndexInfo> getIndexInfos() {
 		return indexInfos;
 	}
-	
-	
+
+	/** @param typeCount number of types which are re-indexed, or 0 if not tracked (sequential re-indexing) */
+	public void onReIndexingStarted(int entityCount, int typeCount, boolean parallel) {
+		entitiesToReIndex = entityCount;
+		typesToReIndex = typeCount;
+		parallelReIndexing = parallel;
+		reIndexedTypes.set(0);
+		reIndexedEntities.set(0);
+		reIndexing = true;
+	}
+
+	public void onTypeReIndexed(int entityCount) {
+		reIndexedTypes.incrementAndGet();
+		reIndexedEntities.addAndGet(entityCount);
+	}
+
+	public void onReIndexingFinished(long durationMs) {
+		reIndexedEntities.set(entitiesToReIndex);
+		lastReIndexingDurationMs = durationMs;
+		reIndexing = false;
+	}
+
+	/** Returns <tt>true</tt> iff re-indexing is in progress right now. */
+	public boolean isReIndexing() {
+		return reIndexing;
+	}
+
+	/** Returns <tt>true</tt> iff the current (or last) re-indexing is/was done in parallel. */
+	public boolean isParallelReIndexing() {
+		return parallelReIndexing;
+	}
+
+	public int getEntitiesToReIndex() {
+		return entitiesToReIndex;
+	}
+
+	public long getReIndexedEntities() {
+		return reIndexedEntities.get();
+	}
+
+	/** Returns 0 unless the re-indexing is {@link #isParallelReIndexing() parallel}. */
+	public int getTypesToReIndex() {
+		return typesToReIndex;
+	}
+
+	public int getReIndexedTypes() {
+		return reIndexedTypes.get();
+	}
+
+	/** Returns duration of the last finished re-indexing in milliseconds, or -1 if no re-indexing was done yet. */
+	public long getLastReIndexingDurationMs() {
+		return lastReIndexingDurationMs;
+	}
+
 }
@@ -72,8 +72,15 @@ public class ThresholdPersistenceMarshallerTest extends ResourceAwareMarshallerT
 	
 	@Test
 	public void testUnderThreshold() throws IOException {
-		ThresholdPersistenceMarshaller marshaller = testContract.thresholdPersistenceMarshaller();
-		
+		testUnderThreshold(testContract.thresholdPersistenceMarshaller());
+	}
+	
+	@Test
+	public void testDirectUnderThreshold() throws IOException {
+		testUnderThreshold(testContract.directThresholdPersistenceMarshaller());
+	}
+	
+	private void testUnderThreshold(ThresholdPersistenceMarshaller marshaller) throws IOException {
 		int size = 20;
 		
 		List<User> users = createUsers(size);
@@ -100,8 +107,15 @@ public class ThresholdPersistenceMarshallerTest extends ResourceAwareMarshallerT
 	
 	@Test
 	public void testAboveThreshold() throws IOException {
-		ThresholdPersistenceMarshaller marshaller = testContract.thresholdPersistenceMarshaller();
-		
+		testAboveThreshold(testContract.thresholdPersistenceMarshaller());
+	}
+	
+	@Test
+	public void testDirectAboveThreshold() throws IOException {
+		testAboveThreshold(testContract.directThresholdPersistenceMarshaller());
+	}
+	
+	private void testAboveThreshold(ThresholdPersistenceMarshaller marshaller) throws IOException {
 		int size = 10000;
 		
 		List<User> users = createUsers(size);
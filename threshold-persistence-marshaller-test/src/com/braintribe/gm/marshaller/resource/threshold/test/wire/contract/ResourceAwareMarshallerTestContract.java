@@ -28,5 +28,7 @@ public interface ResourceAwareMarshallerTestContract extends WireSpace {
 	PersistenceGmSessionFactory sessionFactory();
 
 	ThresholdPersistenceMarshaller thresholdPersistenceMarshaller();
+
+	ThresholdPersistenceMarshaller directThresholdPersistenceMarshaller();
 	
 }
@@ -127,6 +127,20 @@ public class ResourceAwareMarshallerTestSpace implements ResourceAwareMarshaller
 		return bean;
 	}
 	
+	@Managed
+	@Override
+	public ThresholdPersistenceMarshaller directThresholdPersistenceMarshaller() {
+		ThresholdPersistenceMarshaller bean = new ThresholdPersistenceMarshaller();
+		
+		bean.setAccessId(ThresholdPersistenceMarshallerTest.ACCESS_ID_MARSHALLING);
+		bean.setDelegate(yamlMarshaller());
+		bean.setEvaluator(commonServiceProcessing.evaluator());
+		bean.setThreshold(128 * 1024);
+		bean.setStreamDirectly(true);
+		bean.setCompressSubstitute(true);
+		return bean;
+	}
+	
 	@Managed
 	private YamlMarshaller yamlMarshaller() {
 		YamlMarshaller bean = new YamlMarshaller();
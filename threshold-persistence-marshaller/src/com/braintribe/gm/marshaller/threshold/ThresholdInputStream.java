@@ -0,0 +1,119 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.gm.marshaller.threshold;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the chunks written via {@link ThresholdOutputStream} and, when the chunks end with a substitute marker, continues transparently with
+ * the stream of the substitute resource which is opened lazily by the given {@link RemainderOpener}.
+ */
+/* package */ class ThresholdInputStream extends InputStream {
+
+	@FunctionalInterface
+	/* package */ interface RemainderOpener {
+		InputStream open(int marker) throws IOException;
+	}
+
+	private final InputStream in;
+	private final RemainderOpener remainderOpener;
+
+	private int chunkRemaining;
+	private InputStream remainder;
+	private boolean ended;
+
+	public ThresholdInputStream(InputStream in, RemainderOpener remainderOpener) {
+		this.in = in;
+		this.remainderOpener = remainderOpener;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!ensureAvailable())
+			return -1;
+
+		if (remainder != null)
+			return remainder.read();
+
+		int b = in.read();
+		if (b == -1)
+			throw new EOFException("Unexpected end of stream within a chunk");
+
+		chunkRemaining--;
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+
+		if (!ensureAvailable())
+			return -1;
+
+		if (remainder != null)
+			return remainder.read(b, off, len);
+
+		int read = in.read(b, off, Math.min(len, chunkRemaining));
+		if (read == -1)
+			throw new EOFException("Unexpected end of stream within a chunk");
+
+		chunkRemaining -= read;
+		return read;
+	}
+
+	/** @return <code>false</code> if the end of the data was reached */
+	private boolean ensureAvailable() throws IOException {
+		while (chunkRemaining == 0 && remainder == null) {
+			if (ended)
+				return false;
+
+			int length = readInt();
+
+			if (length > 0) {
+				chunkRemaining = length;
+
+			} else if (length == ThresholdPersistenceMarshaller.CHUNK_END) {
+				ended = true;
+
+			} else {
+				remainder = remainderOpener.open(length);
+			}
+		}
+
+		return true;
+	}
+
+	private int readInt() throws IOException {
+		int b1 = in.read();
+		int b2 = in.read();
+		int b3 = in.read();
+		int b4 = in.read();
+
+		if ((b1 | b2 | b3 | b4) < 0)
+			throw new EOFException("Unexpected end of stream while reading chunk header");
+
+		return (b1 << 24) | (b2 << 16) | (b3 << 8) | b4;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (remainder != null)
+			remainder.close();
+	}
+}
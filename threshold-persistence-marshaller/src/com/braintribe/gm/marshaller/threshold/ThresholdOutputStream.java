@@ -0,0 +1,174 @@
+// ============================================================================
+// Copyright BRAINTRIBE TECHNOLOGY GMBH, Austria, 2002-2022
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+// ============================================================================
+package com.braintribe.gm.marshaller.threshold;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.braintribe.utils.stream.CountingOutputStream;
+import com.braintribe.utils.stream.api.StreamPipe;
+import com.braintribe.utils.stream.api.StreamPipeFactory;
+
+/**
+ * Forwards everything written to it as length prefixed chunks to the target stream, as long as the total stays within the threshold. As
+ * soon as the threshold would be exceeded, all further data (including the currently buffered chunk) is spilled into a {@link StreamPipe},
+ * optionally gzip compressed.
+ * <p>
+ * Chunk format: an int length followed by that many bytes. The stream of chunks is terminated by one of the {@code CHUNK_END_*} markers
+ * written by the {@link ThresholdPersistenceMarshaller} after {@link #close() closing} this stream.
+ */
+/* package */ class ThresholdOutputStream extends OutputStream {
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private final OutputStream out;
+	private final long threshold;
+	private final StreamPipeFactory pipeFactory;
+	private final boolean compress;
+
+	private final byte[] buffer = new byte[CHUNK_SIZE];
+	private int buffered;
+	private long forwarded;
+
+	private StreamPipe pipe;
+	private CountingOutputStream spillCountOut;
+	private OutputStream spillOut;
+	private boolean closed;
+
+	public ThresholdOutputStream(OutputStream out, long threshold, StreamPipeFactory pipeFactory, boolean compress) {
+		this.out = out;
+		this.threshold = threshold;
+		this.pipeFactory = pipeFactory;
+		this.compress = compress;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (spillOut != null) {
+			spillOut.write(b);
+			return;
+		}
+
+		if (buffered == buffer.length)
+			flushChunkOrSpill(1);
+
+		if (spillOut != null)
+			spillOut.write(b);
+		else
+			buffer[buffered++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (spillOut != null) {
+			spillOut.write(b, off, len);
+			return;
+		}
+
+		if (buffered + len <= buffer.length) {
+			System.arraycopy(b, off, buffer, buffered, len);
+			buffered += len;
+			return;
+		}
+
+		flushChunkOrSpill(len);
+
+		if (spillOut != null) {
+			spillOut.write(b, off, len);
+
+		} else if (len >= buffer.length) {
+			// large writes go out as their own chunk without being copied into the buffer
+			writeChunk(b, off, len);
+
+		} else {
+			System.arraycopy(b, off, buffer, 0, len);
+			buffered = len;
+		}
+	}
+
+	/**
+	 * Writes the buffered bytes as a chunk if they and the announced additional bytes stay within the threshold, otherwise switches to
+	 * spilling and moves the buffered bytes to the pipe.
+	 */
+	private void flushChunkOrSpill(int additional) throws IOException {
+		if (forwarded + buffered + additional > threshold) {
+			startSpilling();
+			return;
+		}
+
+		if (buffered > 0) {
+			writeChunk(buffer, 0, buffered);
+			buffered = 0;
+		}
+	}
+
+	private void writeChunk(byte[] b, int off, int len) throws IOException {
+		writeInt(out, len);
+		out.write(b, off, len);
+		forwarded += len;
+	}
+
+	private void startSpilling() throws IOException {
+		pipe = pipeFactory.newPipe("threshold-marshalling");
+		spillCountOut = new CountingOutputStream(pipe.acquireOutputStream());
+		spillOut = compress ? new GZIPOutputStream(spillCountOut, CHUNK_SIZE) : spillCountOut;
+
+		spillOut.write(buffer, 0, buffered);
+		buffered = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (spillOut == null)
+			out.flush();
+	}
+
+	/** Writes a still buffered chunk or finishes the spilling, but does not close the target stream nor write any end marker. */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+
+		closed = true;
+
+		if (spillOut == null)
+			flushChunkOrSpill(0);
+
+		if (spillOut != null)
+			spillOut.close();
+	}
+
+	public boolean isSpilled() {
+		return pipe != null;
+	}
+
+	/** @return the pipe holding the spilled data or <code>null</code> if the threshold was not exceeded */
+	public StreamPipe getPipe() {
+		return pipe;
+	}
+
+	/** @return the number of bytes in the {@link #getPipe() pipe}, i.e. after compression if enabled */
+	public long getSpilledSize() {
+		return spillCountOut != null ? spillCountOut.getCount() : 0;
+	}
+
+	/* package */ static void writeInt(OutputStream out, int value) throws IOException {
+		out.write((value >>> 24) & 0xFF);
+		out.write((value >>> 16) & 0xFF);
+		out.write((value >>> 8) & 0xFF);
+		out.write(value & 0xFF);
+	}
+}
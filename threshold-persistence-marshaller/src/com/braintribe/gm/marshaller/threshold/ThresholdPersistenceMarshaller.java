@@ -22,6 +22,7 @@ import java.io.UncheckedIOException;
 import java.util.Date;
 import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
 
 import com.braintribe.cfg.Configurable;
 import com.braintribe.cfg.Required;
@@ -52,6 +53,10 @@ import com.braintribe.utils.stream.api.StreamPipes;
  * with {@link #setAccessId(String)}. After an initial signal header byte for substitute marshalling the created 
  * Resource will be marshalled as substitute with the {@link #setSubstituteResourceMarshaller(Marshaller) substitute marshaller}.
  * If the size is smaller the captured binary data will be directly transferred after an initial signal header byte for payload marshalling.
+ * <p>
+ * With {@link #setStreamDirectly(boolean) direct streaming} the delegate marshalling is not captured but forwarded in chunks to the output as
+ * long as the threshold is not exceeded. Only the data beyond the threshold is captured and uploaded (optionally
+ * {@link #setCompressSubstitute(boolean) compressed}), and the resulting Resource is marshalled after the chunks.
  * 
  * @author Roman Kurmanowytsch
  * @author Dirk Scheffler
@@ -59,6 +64,11 @@ import com.braintribe.utils.stream.api.StreamPipes;
 public class ThresholdPersistenceMarshaller implements Marshaller {
 	private static final int HEADER_PAYLOAD = 'P';
 	private static final int HEADER_SUBSTITUTE = 'S';
+	private static final int HEADER_CHUNKED = 'C';
+
+	/* package */ static final int CHUNK_END = 0;
+	private static final int CHUNK_END_SUBSTITUTE = -1;
+	private static final int CHUNK_END_COMPRESSED_SUBSTITUTE = -2;
 	
 	private Marshaller delegate;
 	private Marshaller substituteResourceMarshaller;
@@ -66,6 +76,8 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 	private long threshold = Numbers.MEGABYTE;
 	private String accessId;
 	private Evaluator<ServiceRequest> evaluator;
+	private boolean streamDirectly;
+	private boolean compressSubstitute;
 	
 	/**
 	 * Configures the optional substitute marshaller. If not configured the {@link #setDelegate(Marshaller) delegate marshaller}
@@ -100,6 +112,25 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 		this.accessId = accessId;
 	}
 	
+	/**
+	 * Configures whether the delegate marshalling is streamed directly to the output while it stays under the {@link #setThreshold(long)
+	 * threshold}, instead of being captured completely before deciding between payload and substitute marshalling. Only the data exceeding
+	 * the threshold is captured and uploaded in that case. Unmarshalling supports both modes regardless of this setting.
+	 */
+	@Configurable
+	public void setStreamDirectly(boolean streamDirectly) {
+		this.streamDirectly = streamDirectly;
+	}
+	
+	/**
+	 * Configures whether the data uploaded as substitute resource is gzip compressed when {@link #setStreamDirectly(boolean) streaming
+	 * directly}.
+	 */
+	@Configurable
+	public void setCompressSubstitute(boolean compressSubstitute) {
+		this.compressSubstitute = compressSubstitute;
+	}
+	
 	@Configurable
 	public void setStreamPipeFactory(StreamPipeFactory streamPipeFactory) {
 		this.streamPipeFactory = streamPipeFactory;
@@ -122,13 +153,13 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 	
 	@Override
 	public void marshall(OutputStream out, Object value, GmSerializationOptions options) throws MarshallException {
-		// TODO: think about zipping
+		if (streamDirectly) {
+			marshallDirectly(out, value, options);
+			return;
+		}
 		
 		StreamPipe pipe = getStreamPipeFactory().newPipe("threshold-marshalling");
 		
-		BiConsumer<String, Resource> onThresholdResourceCreated = options.findAttribute(OnThresholdResourceCreated.class) //
-				.orElse((a, r) -> { /* noop */ });
-		
 		long size = 0;
 		
 		try (CountingOutputStream captureOut = new CountingOutputStream(pipe.acquireOutputStream())) {
@@ -139,23 +170,7 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 		}
 		
 		if (size > threshold) {
-			Resource resource = Resource.createTransient(pipe::openInputStream);
-			resource.setFileSize(size);
-			resource.setMimeType("application/octet-stream");
-			resource.setCreated(new Date());
-
-			UploadResource uploadResource = UploadResource.T.create();
-			uploadResource.setDomainId(accessId);
-			uploadResource.setResource(resource);
-			uploadResource.setUseCase("threshold-marshalling");
-			
-			UploadResourceResponse response = uploadResource.eval(evaluator).get();
-			
-			Resource substitute = response.getResource();
-			
-			onThresholdResourceCreated.accept(accessId, substitute);
-			
-			Objects.requireNonNull(substitute, "UploadResource failed to deliver a Resource but did not throw an Exception");
+			Resource substitute = uploadSubstitute(pipe, size, "application/octet-stream", options);
 			
 			try {
 				out.write(HEADER_SUBSTITUTE);
@@ -176,6 +191,57 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 		}
 	}
 
+	private void marshallDirectly(OutputStream out, Object value, GmSerializationOptions options) {
+		try {
+			out.write(HEADER_CHUNKED);
+			
+			ThresholdOutputStream thresholdOut = new ThresholdOutputStream(out, threshold, getStreamPipeFactory(), compressSubstitute);
+			try {
+				delegate.marshall(thresholdOut, value, options);
+			} finally {
+				thresholdOut.close();
+			}
+			
+			if (!thresholdOut.isSpilled()) {
+				ThresholdOutputStream.writeInt(out, CHUNK_END);
+				return;
+			}
+			
+			String mimeType = compressSubstitute ? "application/gzip" : "application/octet-stream";
+			Resource substitute = uploadSubstitute(thresholdOut.getPipe(), thresholdOut.getSpilledSize(), mimeType, options);
+			
+			ThresholdOutputStream.writeInt(out, compressSubstitute ? CHUNK_END_COMPRESSED_SUBSTITUTE : CHUNK_END_SUBSTITUTE);
+			getSubstituteResourceMarshaller().marshall(out, substitute);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private Resource uploadSubstitute(StreamPipe pipe, long size, String mimeType, GmSerializationOptions options) {
+		BiConsumer<String, Resource> onThresholdResourceCreated = options.findAttribute(OnThresholdResourceCreated.class) //
+				.orElse((a, r) -> { /* noop */ });
+		
+		Resource resource = Resource.createTransient(pipe::openInputStream);
+		resource.setFileSize(size);
+		resource.setMimeType(mimeType);
+		resource.setCreated(new Date());
+
+		UploadResource uploadResource = UploadResource.T.create();
+		uploadResource.setDomainId(accessId);
+		uploadResource.setResource(resource);
+		uploadResource.setUseCase("threshold-marshalling");
+		
+		UploadResourceResponse response = uploadResource.eval(evaluator).get();
+		
+		Resource substitute = response.getResource();
+		
+		onThresholdResourceCreated.accept(accessId, substitute);
+		
+		Objects.requireNonNull(substitute, "UploadResource failed to deliver a Resource but did not throw an Exception");
+		
+		return substitute;
+	}
+
 	@Override
 	public Object unmarshall(InputStream in, GmDeserializationOptions options) throws MarshallException {
 		try {
@@ -186,6 +252,8 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 					return delegate.unmarshall(in, options);
 				case HEADER_SUBSTITUTE:
 					return unmarshallBySubstitute(in, options);
+				case HEADER_CHUNKED:
+					return unmarshallChunked(in, options);
 				default:
 					throw new IllegalStateException("Received unexpected header: " + header);
 			}
@@ -197,21 +265,41 @@ public class ThresholdPersistenceMarshaller implements Marshaller {
 	private Object unmarshallBySubstitute(InputStream in, GmDeserializationOptions options) throws IOException {
 		Resource resource = (Resource) getSubstituteResourceMarshaller().unmarshall(in);
 
+		try (InputStream payloadIn = openSubstitute(resource)) {
+			return delegate.unmarshall(payloadIn, options);
+		}
+	}
+
+	private Object unmarshallChunked(InputStream in, GmDeserializationOptions options) throws IOException {
+		try (InputStream payloadIn = new ThresholdInputStream(in, marker -> openChunkRemainder(in, marker))) {
+			return delegate.unmarshall(payloadIn, options);
+		}
+	}
+
+	private InputStream openChunkRemainder(InputStream in, int marker) throws IOException {
+		switch (marker) {
+			case CHUNK_END_SUBSTITUTE:
+				return openSubstitute((Resource) getSubstituteResourceMarshaller().unmarshall(in));
+			case CHUNK_END_COMPRESSED_SUBSTITUTE:
+				return new GZIPInputStream(openSubstitute((Resource) getSubstituteResourceMarshaller().unmarshall(in)));
+			default:
+				throw new IllegalStateException("Received unexpected chunk marker: " + marker);
+		}
+	}
+
+	private InputStream openSubstitute(Resource resource) {
 		GetResource getResource = GetResource.T.create();
 		getResource.setResource(resource);
 		getResource.setDomainId(accessId);
 		
 		try {
 			GetBinaryResponse response = getResource.eval(evaluator).get();
-			try (InputStream payloadIn = response.getResource().openStream()) {
-				return delegate.unmarshall(payloadIn, options);
-			}
+			return response.getResource().openStream();
 		}
 		catch (RuntimeException e) {
 			throw Exceptions.unchecked(e, "Error while unmarshalling transient message data. Could not get substitute resource [" +resource + "] from access [" + accessId + "]. "
 					+ "Most likely the resource was cleaned up already.");
 		}
-			
 	}
 
 }